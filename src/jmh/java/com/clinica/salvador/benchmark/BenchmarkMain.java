@@ -0,0 +1,30 @@
+package com.clinica.salvador.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Punto de entrada del jar de benchmarks.
+ *
+ * Acepta los mismos argumentos que org.openjdk.jmh.Main (filtros, -p, -f, ...)
+ * y añade siempre el perfilador de GC, para que cada resultado venga
+ * acompañado de su tasa de asignación (gc.alloc.rate.norm = bytes por operación).
+ */
+public final class BenchmarkMain {
+
+    /** Constructor privado para evitar instanciación */
+    private BenchmarkMain(){}
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
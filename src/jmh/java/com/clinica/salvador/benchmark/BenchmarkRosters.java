@@ -0,0 +1,95 @@
+package com.clinica.salvador.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import com.clinica.salvador.model.CommissionEmployee;
+import com.clinica.salvador.model.Employee;
+import com.clinica.salvador.model.HourlyEmployee;
+import com.clinica.salvador.model.SalariedEmployee;
+import com.clinica.salvador.model.TemporaryEmployee;
+
+/**
+ * Clase BenchmarkRosters
+ *
+ * Construye nóminas sintéticas y deterministas para los benchmarks.
+ * Con la misma semilla siempre se obtiene la misma lista, de modo que
+ * dos ejecuciones de JMH miden exactamente el mismo trabajo.
+ *
+ * La mezcla reparte los empleados en partes iguales entre los cuatro
+ * subtipos, intercalados, para que el sitio de llamada de calculateGross
+ * vea los cuatro tipos de receptor como en una nómina real.
+ */
+final class BenchmarkRosters {
+
+    /** Semilla fija usada por todos los benchmarks */
+    static final long SEED = 20240131L;
+
+    /** Constructor privado para evitar instanciación */
+    private BenchmarkRosters(){}
+
+    /**
+     * Genera una nómina mixta de tamaño fijo.
+     *
+     * @param size Número de empleados
+     * @param seed Semilla del generador
+     * @return Lista de empleados con los cuatro subtipos intercalados
+     */
+    static List<Employee> mixed(int size, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Employee> roster = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            roster.add(employee(i, random));
+        }
+        return roster;
+    }
+
+    /**
+     * Genera una nómina mixta "sucia": la misma que mixed, pero uno de cada
+     * dirtyEvery empleados por horas tiene horas negativas.
+     *
+     * @param size Número de empleados
+     * @param seed Semilla del generador
+     * @param dirtyEvery Cada cuántos empleados por horas hay uno inválido
+     * @return Lista de empleados con registros inválidos intercalados
+     */
+    static List<Employee> dirty(int size, long seed, int dirtyEvery) {
+        List<Employee> roster = mixed(size, seed);
+        for (int i = 1; i < size; i += 4 * dirtyEvery) {
+            HourlyEmployee h = (HourlyEmployee) roster.get(i);
+            roster.set(i, new HourlyEmployee(h.getId(), h.getName(), h.getHireDate(), h.isPermanent(),
+                    h.getHourlyRate(), h.getHoursWorked().negate(), h.getMonthsOfService(), h.isAcceptSavingsFund()));
+        }
+        return roster;
+    }
+
+    /**
+     * Crea el empleado i-ésimo de la nómina sintética.
+     */
+    private static Employee employee(int i, SplittableRandom random) {
+        String id = "E" + i;
+        LocalDate hireDate = LocalDate.of(2010 + random.nextInt(15), 1 + random.nextInt(12), 1);
+        boolean permanent = random.nextBoolean();
+        switch (i & 3) {
+            case 0:
+                return new SalariedEmployee(id, "Asalariado " + i, hireDate, permanent,
+                        BigDecimal.valueOf(2_000_000L + random.nextInt(6_000_000)));
+            case 1:
+                return new HourlyEmployee(id, "Por horas " + i, hireDate, permanent,
+                        BigDecimal.valueOf(15_000L + random.nextInt(10_000)),
+                        BigDecimal.valueOf(30 + random.nextInt(20)),
+                        random.nextInt(120), random.nextBoolean());
+            case 2:
+                return new CommissionEmployee(id, "Comisión " + i, hireDate, permanent,
+                        BigDecimal.valueOf(1_500_000L + random.nextInt(1_000_000)),
+                        BigDecimal.valueOf(random.nextInt(40_000_000)),
+                        new BigDecimal("0.05"));
+            default:
+                return new TemporaryEmployee(id, "Temporal " + i, hireDate, false,
+                        BigDecimal.valueOf(1_000_000L + random.nextInt(2_000_000)));
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.clinica.salvador.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.clinica.salvador.model.CommissionEmployee;
+import com.clinica.salvador.model.HourlyEmployee;
+import com.clinica.salvador.model.SalariedEmployee;
+import com.clinica.salvador.model.TemporaryEmployee;
+import com.clinica.salvador.util.PayrollRunContext;
+import com.clinica.salvador.util.RateTable;
+
+/**
+ * Microbenchmarks de calculateGross para cada subtipo de Employee.
+ *
+ * Los empleados se eligen para recorrer la rama más cara de cada fórmula:
+ * asalariado con más de 5 años y permanente, horas extra, ventas sobre el
+ * umbral de bonificación.
+ *
+ * salariedGrossTracingOff y salariedGrossPlain comparan el cálculo sin
+ * traza (calculateGross(context), que pasa PayLineRecorder.NONE) con la
+ * misma fórmula escrita sin registrador: deberían costar lo mismo.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmployeeGrossBenchmark {
+
+    private SalariedEmployee salaried;
+    private HourlyEmployee hourly;
+    private CommissionEmployee commission;
+    private TemporaryEmployee temporary;
+    private PayrollRunContext context;
+
+    @Setup
+    public void setUp() {
+        LocalDate hired = LocalDate.now().minusYears(8);
+        salaried = new SalariedEmployee("S1", "Asalariado", hired, true, new BigDecimal("5000000"));
+        hourly = new HourlyEmployee("H1", "Por horas", hired, false,
+                new BigDecimal("20000"), new BigDecimal("45"), 12, false);
+        commission = new CommissionEmployee("C1", "Comisión", hired, true,
+                new BigDecimal("2000000"), new BigDecimal("30000000"), new BigDecimal("0.10"));
+        temporary = new TemporaryEmployee("T1", "Temporal", hired, false, new BigDecimal("1200000"));
+        context = PayrollRunContext.of(LocalDate.now(), RateTable.defaults());
+    }
+
+    @Benchmark
+    public BigDecimal salariedGross() {
+        return salaried.calculateGross();
+    }
+
+    @Benchmark
+    public BigDecimal hourlyGross() {
+        return hourly.calculateGross();
+    }
+
+    @Benchmark
+    public BigDecimal commissionGross() {
+        return commission.calculateGross();
+    }
+
+    @Benchmark
+    public BigDecimal temporaryGross() {
+        return temporary.calculateGross();
+    }
+
+    @Benchmark
+    public BigDecimal salariedGrossTracingOff() {
+        return salaried.calculateGross(context);
+    }
+
+    @Benchmark
+    public BigDecimal salariedGrossPlain() {
+        RateTable rates = context.getRates();
+        BigDecimal gross = salaried.getMonthlySalary();
+        if (salaried.yearsOfService(context.getRunDate()) > rates.getTenureBonusYears()) {
+            gross = gross.add(salaried.getMonthlySalary().multiply(rates.getTenureBonusPercent()));
+        }
+        if (salaried.isPermanent()) {
+            gross = gross.add(rates.getFoodAllowance());
+        }
+        return gross;
+    }
+}
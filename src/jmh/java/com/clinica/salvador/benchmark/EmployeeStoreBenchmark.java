@@ -0,0 +1,122 @@
+package com.clinica.salvador.benchmark;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.clinica.salvador.io.EmployeeStore;
+import com.clinica.salvador.io.RosterCsvFormat;
+import com.clinica.salvador.model.Employee;
+
+/**
+ * Benchmark del arranque: cargar la nómina desde la foto de EmployeeStore
+ * frente a volver a leerla del archivo CSV de la fuente.
+ *
+ * El almacén se compacta en el setUp, así que abrirlo solo carga la foto;
+ * openWithLogTail mide además la reaplicación de un registro con el 10%
+ * de la nómina.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+// Cada operación retiene una nómina completa: con 2 GB domina el GC
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class EmployeeStoreBenchmark {
+
+    /** Tamaño de la nómina */
+    @Param({"1000000"})
+    public int rosterSize;
+
+    private Path dir;
+    private Path snapshotOnly;
+    private Path withLogTail;
+    private Path csv;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        List<Employee> roster = BenchmarkRosters.mixed(rosterSize, BenchmarkRosters.SEED);
+        dir = Files.createTempDirectory("employee-store");
+        snapshotOnly = dir.resolve("snapshot");
+        withLogTail = dir.resolve("tail");
+        csv = dir.resolve("roster.csv");
+
+        int tail = rosterSize / 10;
+        try (EmployeeStore store = EmployeeStore.open(snapshotOnly, Integer.MAX_VALUE);
+             EmployeeStore tailed = EmployeeStore.open(withLogTail, Integer.MAX_VALUE)) {
+            for (int i = 0; i < roster.size(); i++) {
+                store.hire(roster.get(i));
+                tailed.hire(roster.get(i));
+                if (i == roster.size() - tail - 1) tailed.compact();
+            }
+            store.compact();
+        }
+        try (BufferedWriter out = Files.newBufferedWriter(csv, StandardCharsets.UTF_8)) {
+            for (Employee e : roster) {
+                out.write(RosterCsvFormat.format(e));
+                out.write('\n');
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (var files = Files.walk(dir)) {
+            List<Path> paths = new ArrayList<>();
+            files.forEach(paths::add);
+            for (int i = paths.size() - 1; i >= 0; i--) {
+                Files.delete(paths.get(i));
+            }
+        }
+    }
+
+    /** Abre el almacén compactado: mapea y decodifica la foto */
+    @Benchmark
+    public List<Employee> openSnapshot() throws IOException {
+        try (EmployeeStore store = EmployeeStore.open(snapshotOnly, Integer.MAX_VALUE)) {
+            return store.roster();
+        }
+    }
+
+    /** Foto con el 90% de la nómina y registro con el 10% restante */
+    @Benchmark
+    public List<Employee> openWithLogTail() throws IOException {
+        try (EmployeeStore store = EmployeeStore.open(withLogTail, Integer.MAX_VALUE)) {
+            return store.roster();
+        }
+    }
+
+    /** Referencia: leer y convertir el CSV de la nómina línea por línea */
+    @Benchmark
+    public List<Employee> parseCsv() throws IOException {
+        List<Employee> roster = new ArrayList<>(rosterSize);
+        try (BufferedReader in = Files.newBufferedReader(csv, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                roster.add(RosterCsvFormat.parse(line));
+            }
+        }
+        return roster;
+    }
+}
@@ -0,0 +1,267 @@
+package com.clinica.salvador.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.clinica.salvador.model.Employee;
+import com.clinica.salvador.model.EmployeeBatch;
+import com.clinica.salvador.model.RuleBasedEmployee;
+import com.clinica.salvador.service.BatchPayrollCalculator;
+import com.clinica.salvador.service.CollectedPayrollRun;
+import com.clinica.salvador.service.FixedPointPayrollEngine;
+import com.clinica.salvador.service.PayrollBatchResult;
+import com.clinica.salvador.service.PayrollMatrix;
+import com.clinica.salvador.service.PayrollMetrics;
+import com.clinica.salvador.service.PayrollResult;
+import com.clinica.salvador.service.PayrollService;
+import com.clinica.salvador.service.PayrollTrace;
+import com.clinica.salvador.service.RateScenario;
+import com.clinica.salvador.service.ScenarioMatrix;
+import com.clinica.salvador.service.TypePartitionedPayrollCalculator;
+import com.clinica.salvador.util.Config;
+import com.clinica.salvador.util.PayrollRunContext;
+
+/**
+ * Benchmark de PayrollService sobre nóminas de 1k, 100k y 1M empleados.
+ *
+ * Cada operación procesa la nómina completa, por lo que el tiempo
+ * reportado es el de una corrida de nómina de ese tamaño.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class PayrollServiceBenchmark {
+
+    /** Tamaño de la nómina */
+    @Param({"1000", "100000", "1000000"})
+    public int rosterSize;
+
+    private List<Employee> roster;
+    private PayrollRunContext context;
+    private PayrollService service;
+    private PayrollService measuredService;
+    /** La misma nómina con empleados basados en reglas (PayRuleSet.standard) */
+    private PayrollService ruleBasedService;
+    /** Nómina con un 2,5% de registros inválidos (uno de cada diez por horas) */
+    private PayrollService dirtyService;
+    private List<Employee> dirtyRoster;
+    private FixedPointPayrollEngine fixedPointEngine;
+    private TypePartitionedPayrollCalculator partitioned;
+    private EmployeeBatch batch;
+    private BatchPayrollCalculator batchCalculator;
+    /** Ids de las correcciones: LOOKUPS empleados al azar de la nómina */
+    private String[] correctionIds;
+
+    /** Cierres de mes de un año, para los benchmarks de varios períodos */
+    private List<LocalDate> periods;
+
+    /** Escenarios de tasas: deducción de 3% a 7,95% en pasos de 0,05 puntos, con la ARL vigente */
+    private List<RateScenario> scenarios;
+
+    /** Traza reutilizada entre operaciones, como en corridas sucesivas */
+    private PayrollTrace trace;
+
+    /** Correcciones por operación en los benchmarks de búsqueda por id */
+    private static final int LOOKUPS = 1024;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        roster = BenchmarkRosters.mixed(rosterSize, BenchmarkRosters.SEED);
+        context = PayrollRunContext.today();
+        service = new PayrollService(roster, Config.DEDUCTION_RATE, Config.ARL_RATE);
+        measuredService = new PayrollService(roster, context, new PayrollMetrics());
+        List<Employee> ruleBased = new ArrayList<>(rosterSize);
+        for (Employee e : roster) {
+            ruleBased.add(RuleBasedEmployee.from(e));
+        }
+        ruleBasedService = new PayrollService(ruleBased, Config.DEDUCTION_RATE, Config.ARL_RATE);
+        dirtyRoster = BenchmarkRosters.dirty(rosterSize, BenchmarkRosters.SEED, 10);
+        dirtyService = new PayrollService(dirtyRoster, context);
+        fixedPointEngine = new FixedPointPayrollEngine(roster, Config.DEDUCTION_RATE, Config.ARL_RATE);
+        partitioned = new TypePartitionedPayrollCalculator(service.runContext());
+        batch = EmployeeBatch.from(roster);
+        batchCalculator = new BatchPayrollCalculator(Config.DEDUCTION_RATE, Config.ARL_RATE);
+        SplittableRandom random = new SplittableRandom(BenchmarkRosters.SEED);
+        correctionIds = new String[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            correctionIds[i] = roster.get(random.nextInt(rosterSize)).getId();
+        }
+        service.index();
+        periods = new ArrayList<>();
+        for (int m = 1; m <= 12; m++) {
+            periods.add(YearMonth.of(2025, m).atEndOfMonth());
+        }
+        trace = new PayrollTrace(rosterSize * 5);
+        scenarios = new ArrayList<>();
+        for (int k = 0; k < 100; k++) {
+            scenarios.add(RateScenario.of(new BigDecimal("0.03").add(BigDecimal.valueOf(k, 4).multiply(BigDecimal.valueOf(5))),
+                    Config.ARL_RATE));
+        }
+    }
+
+    /** Corrida completa con processAll */
+    @Benchmark
+    public List<PayrollResult> processAll() {
+        return service.processAll();
+    }
+
+    /** Corrida completa con la traza de conceptos por empleado */
+    @Benchmark
+    public List<PayrollResult> processAllTraced() {
+        return service.processAllTraced(trace);
+    }
+
+    /** Corrida completa agrupada por subtipo, con un ciclo monomórfico por grupo */
+    @Benchmark
+    public List<PayrollResult> processAllPartitioned() {
+        return partitioned.calculate(roster);
+    }
+
+    /** Corrida completa con las reglas de datos equivalentes a las subclases */
+    @Benchmark
+    public List<PayrollResult> processAllRuleBased() {
+        return ruleBasedService.processAll();
+    }
+
+    /** Corrida completa con métricas habilitadas (latencias y contadores) */
+    @Benchmark
+    public List<PayrollResult> processAllWithMetrics() {
+        return measuredService.processAll();
+    }
+
+    /** Corrida completa en paralelo sobre el pool común de fork-join */
+    @Benchmark
+    public List<PayrollResult> processAllParallel() {
+        return service.processAllParallel();
+    }
+
+    /** Corrida completa con el motor de punto fijo */
+    @Benchmark
+    public List<PayrollResult> fixedPointProcessAll() {
+        return fixedPointEngine.processAll();
+    }
+
+    /** Corrida completa sobre la representación columnar (sin materializar PayrollResult) */
+    @Benchmark
+    public PayrollBatchResult batchCalculate() {
+        return batchCalculator.calculate(batch);
+    }
+
+    /** Misma corrida invocando calculateFor empleado por empleado */
+    @Benchmark
+    public void calculateFor(Blackhole bh) {
+        for (Employee e : roster) {
+            bh.consume(service.calculateFor(e));
+        }
+    }
+
+    /** calculateFor empleado por empleado con el contexto de la corrida ya resuelto */
+    @Benchmark
+    public void calculateForWithContext(Blackhole bh) {
+        for (Employee e : roster) {
+            bh.consume(service.calculateFor(e, context));
+        }
+    }
+
+    /** LOOKUPS correcciones por id con el índice de PayrollService */
+    @Benchmark
+    public void calculateForIdIndexed(Blackhole bh) {
+        for (String id : correctionIds) {
+            bh.consume(service.calculateFor(id, context));
+        }
+    }
+
+    /** Las mismas correcciones buscando cada id con un recorrido de la lista */
+    @Benchmark
+    public void calculateForIdLinearScan(Blackhole bh) {
+        for (String id : correctionIds) {
+            for (Employee e : roster) {
+                if (e.getId().equals(id)) {
+                    bh.consume(service.calculateFor(e, context));
+                    break;
+                }
+            }
+        }
+    }
+
+    /** Doce períodos en un solo recorrido, reutilizando lo que no depende de la fecha */
+    @Benchmark
+    public PayrollMatrix processPeriods12() {
+        return service.processPeriods(periods);
+    }
+
+    /** Los mismos doce períodos con una corrida completa por período */
+    @Benchmark
+    public void processAllPerPeriod12(Blackhole bh) {
+        for (LocalDate period : periods) {
+            bh.consume(new PayrollService(roster, context.withRunDate(period)).processAll());
+        }
+    }
+
+    /** Nómina sucia en el modo que acumula errores sin lanzar excepciones */
+    @Benchmark
+    public CollectedPayrollRun processAllCollectingDirty() {
+        return dirtyService.processAllCollecting();
+    }
+
+    /** La misma nómina sucia con calculateFor y un try/catch por empleado */
+    @Benchmark
+    public void calculateForTryCatchDirty(Blackhole bh) {
+        for (Employee e : dirtyRoster) {
+            try {
+                bh.consume(dirtyService.calculateFor(e, context));
+            } catch (IllegalArgumentException ex) {
+                bh.consume(ex);
+            }
+        }
+    }
+
+    /** Cien escenarios de tasas: un bruto por empleado y los totales de cada escenario */
+    @Benchmark
+    public void evaluateScenarios100Totals(Blackhole bh) {
+        ScenarioMatrix matrix = service.evaluateScenarios(scenarios);
+        for (int k = 0; k < matrix.scenarioCount(); k++) {
+            bh.consume(matrix.total(k));
+        }
+    }
+
+    /** Los cien escenarios con la columna de netos en punto fijo de cada uno */
+    @Benchmark
+    public void evaluateScenarios100NetColumns(Blackhole bh) {
+        ScenarioMatrix matrix = service.evaluateScenarios(scenarios);
+        for (int k = 0; k < matrix.scenarioCount(); k++) {
+            bh.consume(matrix.netColumn(k));
+        }
+    }
+
+    /** Los mismos cien escenarios con una corrida completa (con resumen) por escenario */
+    @Benchmark
+    public void processAllPerScenario100(Blackhole bh) {
+        for (RateScenario s : scenarios) {
+            bh.consume(new PayrollService(roster, context.withRates(s.getDeductionRate(), s.getArlRate()))
+                    .processAllWithSummary());
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.clinica.salvador.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.clinica.salvador.io.CsvReportWriter;
+import com.clinica.salvador.io.CsvResultWriter;
+import com.clinica.salvador.io.JsonLinesReportWriter;
+import com.clinica.salvador.service.PayrollResult;
+import com.clinica.salvador.service.PayrollService;
+import com.clinica.salvador.util.PayrollRunContext;
+
+/**
+ * Benchmark de la exportación de los resultados de una corrida a archivo.
+ *
+ * Los resultados se calculan una vez; cada operación solo los escribe,
+ * para medir la codificación y la escritura y no el cálculo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ReportExportBenchmark {
+
+    /** Tamaño de la nómina */
+    @Param({"100000"})
+    public int rosterSize;
+
+    private List<PayrollResult> results;
+    private Path dir;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        results = new PayrollService(BenchmarkRosters.mixed(rosterSize, BenchmarkRosters.SEED),
+                PayrollRunContext.today()).processAll();
+        dir = Files.createTempDirectory("payroll-report");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (var files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(dir);
+    }
+
+    /** Una línea PayrollResult.toString (String.format) por empleado */
+    @Benchmark
+    public long toStringLines() throws IOException {
+        Path file = dir.resolve("tostring.txt");
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (PayrollResult r : results) {
+                out.write(r.toString());
+                out.write('\n');
+            }
+        }
+        return Files.size(file);
+    }
+
+    /** CSV con CsvResultWriter sobre un BufferedWriter */
+    @Benchmark
+    public long csvWriter() throws IOException {
+        Path file = dir.resolve("writer.csv");
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            CsvResultWriter writer = new CsvResultWriter(out);
+            writer.writeHeader();
+            for (PayrollResult r : results) {
+                writer.accept(r);
+            }
+        }
+        return Files.size(file);
+    }
+
+    /** CSV codificado a bytes y escrito por el FileChannel */
+    @Benchmark
+    public long csvReport() throws IOException {
+        Path file = dir.resolve("report.csv");
+        try (CsvReportWriter writer = new CsvReportWriter(file, false)) {
+            for (PayrollResult r : results) {
+                writer.accept(r);
+            }
+        }
+        return Files.size(file);
+    }
+
+    /** JSON Lines codificado a bytes y escrito por el FileChannel */
+    @Benchmark
+    public long jsonLinesReport() throws IOException {
+        Path file = dir.resolve("report.jsonl");
+        try (JsonLinesReportWriter writer = new JsonLinesReportWriter(file, false)) {
+            for (PayrollResult r : results) {
+                writer.accept(r);
+            }
+        }
+        return Files.size(file);
+    }
+
+    /** CSV codificado a bytes y comprimido con gzip */
+    @Benchmark
+    public long csvReportGzip() throws IOException {
+        Path file = dir.resolve("report.csv.gz");
+        try (CsvReportWriter writer = new CsvReportWriter(file, true)) {
+            for (PayrollResult r : results) {
+                writer.accept(r);
+            }
+        }
+        return Files.size(file);
+    }
+}
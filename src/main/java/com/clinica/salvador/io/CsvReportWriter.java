@@ -0,0 +1,44 @@
+package com.clinica.salvador.io;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import com.clinica.salvador.service.PayrollResult;
+
+/**
+ * Clase CsvReportWriter
+ *
+ * Reporte CSV de una corrida en un archivo: el encabezado de
+ * CsvResultWriter y una línea id,bruto,deducciones,neto por empleado. El
+ * contenido es byte a byte el mismo que el de CsvResultWriter (UTF-8),
+ * pero se codifica sin Strings intermedios (ver ByteReportWriter), salvo
+ * para los pocos ids que van entre comillas.
+ */
+public class CsvReportWriter extends ByteReportWriter {
+
+    /**
+     * Crea (o reemplaza) el archivo y escribe el encabezado.
+     *
+     * @param file Archivo destino
+     * @param gzip true para comprimir la salida con gzip
+     * @throws IOException si no se puede abrir o escribir el archivo
+     */
+    public CsvReportWriter(Path file, boolean gzip) throws IOException {
+        super(file, gzip);
+        putAscii(CsvResultWriter.HEADER);
+        putAscii('\n');
+    }
+
+    @Override
+    protected void encode(PayrollResult result) throws IOException {
+        String id = result.getEmployeeId();
+        putUtf8(CsvResultWriter.needsQuotes(id) ? CsvResultWriter.field(id) : id, false);
+        putAscii(',');
+        putAmount(result.getGross());
+        putAscii(',');
+        putAmount(result.getDeductions());
+        putAscii(',');
+        putAmount(result.getNet());
+        putAscii('\n');
+    }
+}
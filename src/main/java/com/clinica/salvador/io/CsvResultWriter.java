@@ -0,0 +1,69 @@
+package com.clinica.salvador.io;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import com.clinica.salvador.service.PayrollResult;
+import com.clinica.salvador.service.PayrollResultSink;
+
+/**
+ * Clase CsvResultWriter
+ *
+ * Destino de resultados que escribe una línea CSV por empleado:
+ * id,bruto,deducciones,neto. Los montos se escriben sin notación científica.
+ * Un id con comas, comillas o saltos de línea se escribe entre comillas,
+ * con las comillas internas duplicadas (RFC 4180).
+ * No cierra ni vacía el Writer: eso le corresponde a quien lo creó.
+ */
+public class CsvResultWriter implements PayrollResultSink {
+
+    /** Encabezado de las columnas */
+    public static final String HEADER = "id,gross,deductions,net";
+
+    private final Writer out;
+
+    /**
+     * Constructor de CsvResultWriter.
+     *
+     * @param out Writer de salida (se recomienda un BufferedWriter)
+     */
+    public CsvResultWriter(Writer out) {
+        this.out = out;
+    }
+
+    /**
+     * Escribe el encabezado de las columnas.
+     *
+     * @throws IOException si falla la escritura
+     */
+    public void writeHeader() throws IOException {
+        out.write(HEADER);
+        out.write('\n');
+    }
+
+    @Override
+    public void accept(PayrollResult result) throws IOException {
+        out.write(field(result.getEmployeeId()));
+        out.write(',');
+        out.write(result.getGross().toPlainString());
+        out.write(',');
+        out.write(result.getDeductions().toPlainString());
+        out.write(',');
+        out.write(result.getNet().toPlainString());
+        out.write('\n');
+    }
+
+    /** Campo de texto listo para el CSV: entre comillas solo si lo necesita */
+    static String field(String value) {
+        if (!needsQuotes(value)) return value;
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    static boolean needsQuotes(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') return true;
+        }
+        return false;
+    }
+}
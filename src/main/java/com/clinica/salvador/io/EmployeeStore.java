@@ -0,0 +1,514 @@
+package com.clinica.salvador.io;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+import com.clinica.salvador.model.Employee;
+
+/**
+ * Clase EmployeeStore
+ *
+ * Almacén local de empleados, para no reconstruir la nómina desde la
+ * fuente externa en cada arranque. Guarda los cuatro subtipos de empleado
+ * en un directorio con dos archivos (ver EmployeeStoreFormat):
+ *
+ * - employees.snapshot: foto binaria de todos los empleados, que se mapea
+ *   en memoria y se decodifica de una pasada al abrir;
+ * - employees.log: registro al que solo se agregan las altas (hire), los
+ *   cambios (update) y los retiros (terminate) posteriores a la foto.
+ *
+ * Cada operación se escribe en el registro con una sola escritura antes
+ * de aplicarse en memoria, y cada entrada lleva su crc32. Al abrir se
+ * carga la foto y se reaplica el registro; lo que venga después de la
+ * última entrada completa y válida (una escritura que quedó a medias al
+ * caerse el proceso) se descarta y el archivo se trunca en ese punto.
+ * El registro se fuerza a disco con sync, al compactar y al cerrar.
+ *
+ * Compactar (compact, y automáticamente cada compactAfterEntries
+ * entradas) escribe una foto nueva en un archivo temporal, la renombra
+ * de forma atómica sobre la anterior, fuerza el directorio a disco para
+ * que el renombre sea durable y solo después reinicia el registro. La foto y el
+ * registro llevan un número de generación: un registro de una generación
+ * anterior a la foto (el proceso se cayó entre el renombre y el reinicio)
+ * ya está incluido en ella y se ignora; uno de una generación posterior
+ * (falta la foto, o se restauró una anterior) hace fallar la apertura.
+ *
+ * El directorio se bloquea mientras el almacén está abierto, de modo que
+ * un solo proceso lo usa a la vez. Un almacén no es seguro para hilos.
+ */
+public final class EmployeeStore implements Closeable {
+
+    /** Nombre del archivo de la foto */
+    public static final String SNAPSHOT_FILE = "employees.snapshot";
+
+    /** Nombre del archivo del registro */
+    public static final String LOG_FILE = "employees.log";
+
+    /** Entradas del registro tras las cuales se compacta, por defecto */
+    public static final int DEFAULT_COMPACT_AFTER_ENTRIES = 100_000;
+
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path dir;
+    private final int compactAfterEntries;
+    private final FileChannel log;
+    private final FileLock lock;
+    private final LinkedHashMap<String, Employee> employees;
+    private final ByteArrayOutputStream entryBytes = new ByteArrayOutputStream(256);
+    private final DataOutputStream entryOut = new DataOutputStream(entryBytes);
+    private long generation;
+    private int logEntries;
+    private boolean closed;
+
+    private EmployeeStore(Path dir, int compactAfterEntries, FileChannel log, FileLock lock,
+                          LinkedHashMap<String, Employee> employees, long generation, int logEntries) {
+        this.dir = dir;
+        this.compactAfterEntries = compactAfterEntries;
+        this.log = log;
+        this.lock = lock;
+        this.employees = employees;
+        this.generation = generation;
+        this.logEntries = logEntries;
+    }
+
+    /**
+     * Abre el almacén de un directorio, o lo crea si no existe, compactando
+     * cada DEFAULT_COMPACT_AFTER_ENTRIES entradas.
+     *
+     * @param dir Directorio del almacén
+     * @return Almacén abierto, con los empleados de la foto y del registro
+     * @throws IOException si no se pueden leer o escribir los archivos, la
+     *         foto está corrupta o el directorio está en uso por otro proceso
+     */
+    public static EmployeeStore open(Path dir) throws IOException {
+        return open(dir, DEFAULT_COMPACT_AFTER_ENTRIES);
+    }
+
+    /**
+     * Abre el almacén de un directorio, o lo crea si no existe.
+     *
+     * @param dir Directorio del almacén
+     * @param compactAfterEntries Entradas del registro tras las cuales se compacta (mayor que 0)
+     * @return Almacén abierto, con los empleados de la foto y del registro
+     * @throws IOException si no se pueden leer o escribir los archivos, la
+     *         foto está corrupta o no corresponde al registro, o el
+     *         directorio está en uso por otro proceso
+     */
+    public static EmployeeStore open(Path dir, int compactAfterEntries) throws IOException {
+        if (compactAfterEntries <= 0) throw new IllegalArgumentException("compactAfterEntries debe ser mayor que 0");
+        Files.createDirectories(dir);
+        FileChannel log = FileChannel.open(dir.resolve(LOG_FILE), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            FileLock lock;
+            try {
+                lock = log.tryLock();
+            } catch (OverlappingFileLockException ex) {
+                lock = null;
+            }
+            if (lock == null) throw new IOException("El almacén de empleados está en uso: " + dir);
+
+            // Una foto temporal es de una compactación que no llegó a renombrarse
+            Files.deleteIfExists(dir.resolve(SNAPSHOT_FILE + TEMP_SUFFIX));
+            LinkedHashMap<String, Employee> employees = new LinkedHashMap<>();
+            long generation = loadSnapshot(dir.resolve(SNAPSHOT_FILE), employees);
+
+            int[] entries = new int[1];
+            long logGeneration = logGeneration(log);
+            if (logGeneration > generation) {
+                // Sus entradas son posteriores a una foto que ya no está: reiniciarlo las perdería
+                throw new IOException("El registro de empleados es de la generación " + logGeneration
+                        + " y la foto de la " + generation + ": falta la foto o es anterior");
+            }
+            if (logGeneration < generation) {
+                // Registro nuevo, de una generación anterior o sin encabezado completo
+                resetLog(log, generation);
+            } else {
+                long valid = replay(log, employees, entries);
+                if (valid < log.size()) log.truncate(valid);
+                log.position(valid);
+            }
+            return new EmployeeStore(dir, compactAfterEntries, log, lock, employees, generation, entries[0]);
+        } catch (IOException | RuntimeException ex) {
+            log.close();
+            throw ex;
+        }
+    }
+
+    // --- Consultas ---
+
+    /** @return Número de empleados */
+    public int size(){ return employees.size(); }
+
+    /** @return true si hay un empleado con ese id */
+    public boolean contains(String id){ return employees.containsKey(id); }
+
+    /** @return Empleado con ese id, o null si no existe */
+    public Employee get(String id){ return employees.get(id); }
+
+    /** @return Generación de la foto actual (0 si aún no se ha compactado) */
+    public long getGeneration(){ return generation; }
+
+    /** @return Entradas del registro desde la última compactación */
+    public int getLogEntries(){ return logEntries; }
+
+    /**
+     * Obtiene la nómina actual, lista para un PayrollService.
+     *
+     * @return Empleados en orden de alta (un cambio conserva la posición), no modificable
+     */
+    public List<Employee> roster(){
+        return List.copyOf(employees.values());
+    }
+
+    // --- Operaciones ---
+
+    /**
+     * Registra el alta de un empleado.
+     *
+     * @param employee Empleado de uno de los cuatro subtipos
+     * @throws IllegalArgumentException si ya existe un empleado con ese id o
+     *         el subtipo no es soportado
+     * @throws IOException si falla la escritura del registro (la operación
+     *         no se aplica) o la compactación automática que la sigue (la
+     *         operación ya quedó registrada y aplicada; ver compact)
+     */
+    public void hire(Employee employee) throws IOException {
+        String id = requireId(employee);
+        if (employees.containsKey(id)) throw new IllegalArgumentException("Ya existe un empleado con id " + id);
+        append(EmployeeStoreFormat.OP_HIRE, employee, null);
+        employees.put(id, employee);
+        afterAppend();
+    }
+
+    /**
+     * Reemplaza los datos de un empleado existente.
+     *
+     * @param employee Nuevos datos del empleado (mismo id; puede cambiar de subtipo)
+     * @throws IllegalArgumentException si no existe un empleado con ese id o
+     *         el subtipo no es soportado
+     * @throws IOException si falla la escritura del registro (la operación
+     *         no se aplica) o la compactación automática que la sigue (la
+     *         operación ya quedó registrada y aplicada; ver compact)
+     */
+    public void update(Employee employee) throws IOException {
+        String id = requireId(employee);
+        if (!employees.containsKey(id)) throw new IllegalArgumentException("No existe un empleado con id " + id);
+        append(EmployeeStoreFormat.OP_UPDATE, employee, null);
+        employees.put(id, employee);
+        afterAppend();
+    }
+
+    /**
+     * Registra el retiro de un empleado.
+     *
+     * @param id Identificador del empleado
+     * @throws IllegalArgumentException si no existe un empleado con ese id
+     * @throws IOException si falla la escritura del registro (la operación
+     *         no se aplica) o la compactación automática que la sigue (la
+     *         operación ya quedó registrada y aplicada; ver compact)
+     */
+    public void terminate(String id) throws IOException {
+        requireOpen();
+        if (id == null || !employees.containsKey(id)) throw new IllegalArgumentException("No existe un empleado con id " + id);
+        append(EmployeeStoreFormat.OP_TERMINATE, null, id);
+        employees.remove(id);
+        afterAppend();
+    }
+
+    /**
+     * Fuerza a disco las entradas escritas en el registro.
+     *
+     * @throws IOException si falla la escritura
+     */
+    public void sync() throws IOException {
+        requireOpen();
+        log.force(false);
+    }
+
+    /**
+     * Escribe una foto nueva con todos los empleados y reinicia el registro.
+     *
+     * @throws IOException si falla la escritura. Si falla antes de renombrar
+     *         la foto, el almacén sigue siendo válido con la foto y el
+     *         registro anteriores; si falla después, el almacén queda cerrado
+     *         y al volver a abrirlo se carga la foto nueva
+     */
+    public void compact() throws IOException {
+        requireOpen();
+        long next = generation + 1;
+        Path temp = dir.resolve(SNAPSHOT_FILE + TEMP_SUFFIX);
+        writeSnapshot(temp, next, employees);
+        Files.move(temp, dir.resolve(SNAPSHOT_FILE), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        // Desde aquí el registro es de la generación anterior y se ignoraría al abrir
+        generation = next;
+        logEntries = 0;
+        try {
+            // Orden: foto en disco, renombre en disco, y solo entonces registro vacío. El renombre
+            // vive en el directorio; si el registro se reiniciara antes de forzarlo, una caída podría
+            // dejar la foto anterior con un registro vacío y perder las entradas que la nueva incluía
+            try (FileChannel directory = FileChannel.open(dir, StandardOpenOption.READ)) {
+                directory.force(true);
+            }
+            resetLog(log, next);
+        } catch (IOException | RuntimeException ex) {
+            // Las entradas que se agregaran al registro viejo se perderían al abrir: no se admiten más
+            closed = true;
+            try {
+                log.close();
+            } catch (IOException suppressed) {
+                ex.addSuppressed(suppressed);
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Fuerza el registro a disco, libera el directorio y cierra el almacén.
+     *
+     * @throws IOException si falla la escritura
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        try {
+            log.force(true);
+            lock.release();
+        } finally {
+            log.close();
+        }
+    }
+
+    // --- Registro ---
+
+    private String requireId(Employee employee) {
+        requireOpen();
+        if (employee == null) throw new IllegalArgumentException("El empleado no puede ser nulo");
+        if (employee.getId() == null) throw new IllegalArgumentException("El id del empleado no puede ser nulo");
+        return employee.getId();
+    }
+
+    private void requireOpen() {
+        if (closed) throw new IllegalStateException("El almacén de empleados ya está cerrado");
+    }
+
+    /** Codifica una entrada y la agrega al registro con una sola escritura */
+    private void append(byte op, Employee employee, String id) throws IOException {
+        entryBytes.reset();
+        entryOut.writeLong(0L); // longitud y crc32, se completan abajo
+        entryOut.writeByte(op);
+        if (employee != null) {
+            EmployeeStoreFormat.writeEmployee(entryOut, employee);
+        } else {
+            EmployeeStoreFormat.writeText(entryOut, id);
+        }
+        byte[] bytes = entryBytes.toByteArray();
+        int length = bytes.length - EmployeeStoreFormat.ENTRY_HEADER_SIZE;
+        CRC32 crc = new CRC32();
+        crc.update(bytes, EmployeeStoreFormat.ENTRY_HEADER_SIZE, length);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        buffer.putInt(0, length).putInt(4, (int) crc.getValue());
+
+        long start = log.position();
+        try {
+            while (buffer.hasRemaining()) {
+                log.write(buffer);
+            }
+        } catch (IOException ex) {
+            // No dejar una entrada a medias delante de las siguientes
+            try {
+                log.truncate(start);
+                log.position(start);
+            } catch (IOException suppressed) {
+                ex.addSuppressed(suppressed);
+            }
+            throw ex;
+        }
+    }
+
+    /** Compacta si toca; si falla, se reintenta en la siguiente operación */
+    private void afterAppend() throws IOException {
+        if (++logEntries < compactAfterEntries) return;
+        try {
+            compact();
+        } catch (IOException ex) {
+            throw new IOException("La operación quedó registrada y aplicada, pero falló la compactación automática", ex);
+        }
+    }
+
+    /** Deja el registro vacío con el encabezado de una generación */
+    private static void resetLog(FileChannel log, long generation) throws IOException {
+        log.truncate(0);
+        ByteBuffer header = ByteBuffer.allocate(EmployeeStoreFormat.LOG_HEADER_SIZE);
+        header.put(EmployeeStoreFormat.LOG_MAGIC).putLong(generation).flip();
+        while (header.hasRemaining()) {
+            log.write(header, header.position());
+        }
+        log.position(EmployeeStoreFormat.LOG_HEADER_SIZE);
+        log.force(true);
+    }
+
+    /** @return Generación del encabezado del registro, o -1 si el encabezado no está completo */
+    private static long logGeneration(FileChannel log) throws IOException {
+        if (log.size() < EmployeeStoreFormat.LOG_HEADER_SIZE) return -1;
+        ByteBuffer header = read(log, 0, EmployeeStoreFormat.LOG_HEADER_SIZE);
+        byte[] magic = new byte[EmployeeStoreFormat.LOG_MAGIC.length];
+        header.get(magic);
+        if (!Arrays.equals(magic, EmployeeStoreFormat.LOG_MAGIC)) {
+            throw new IOException("El archivo no es un registro de empleados: " + LOG_FILE);
+        }
+        return header.getLong();
+    }
+
+    /**
+     * Reaplica las entradas completas y válidas del registro.
+     *
+     * @return Posición donde termina la última entrada válida
+     */
+    private static long replay(FileChannel log, LinkedHashMap<String, Employee> employees, int[] entries)
+            throws IOException {
+        if (log.size() > Integer.MAX_VALUE) throw new IOException("El registro de empleados es demasiado grande; compacte con más frecuencia");
+        ByteBuffer in = read(log, 0, (int) log.size());
+        in.position(EmployeeStoreFormat.LOG_HEADER_SIZE);
+        long valid = in.position();
+        CRC32 crc = new CRC32();
+        while (in.remaining() >= EmployeeStoreFormat.ENTRY_HEADER_SIZE) {
+            int length = in.getInt();
+            int expected = in.getInt();
+            if (length <= 0 || length > in.remaining()) break;
+            ByteBuffer entry = in.slice(in.position(), length);
+            crc.reset();
+            crc.update(entry.duplicate());
+            if ((int) crc.getValue() != expected) break;
+            try {
+                apply(entry, employees);
+            } catch (IllegalArgumentException | BufferUnderflowException ex) {
+                // El crc coincide: la entrada se escribió así y no es una escritura a medias
+                throw new IOException("Entrada inconsistente en el registro de empleados en la posición " + valid, ex);
+            }
+            in.position(in.position() + length);
+            valid = in.position();
+            entries[0]++;
+        }
+        return valid;
+    }
+
+    private static void apply(ByteBuffer entry, LinkedHashMap<String, Employee> employees) {
+        byte op = entry.get();
+        if (op == EmployeeStoreFormat.OP_TERMINATE) {
+            String id = EmployeeStoreFormat.readText(entry);
+            if (employees.remove(id) == null) throw new IllegalArgumentException("Retiro de un id inexistente: " + id);
+        } else {
+            Employee e = EmployeeStoreFormat.readEmployee(entry);
+            if (op == EmployeeStoreFormat.OP_HIRE) {
+                if (employees.putIfAbsent(e.getId(), e) != null) throw new IllegalArgumentException("Alta de un id repetido: " + e.getId());
+            } else if (op == EmployeeStoreFormat.OP_UPDATE) {
+                if (employees.replace(e.getId(), e) == null) throw new IllegalArgumentException("Cambio de un id inexistente: " + e.getId());
+            } else {
+                throw new IllegalArgumentException("Operación desconocida: " + op);
+            }
+        }
+        if (entry.hasRemaining()) throw new IllegalArgumentException("Entrada con bytes sobrantes");
+    }
+
+    // --- Foto ---
+
+    private static void writeSnapshot(Path file, long generation, LinkedHashMap<String, Employee> employees)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            // El encabezado se escribe al final; mientras tanto se reserva su espacio
+            channel.position(EmployeeStoreFormat.SNAPSHOT_HEADER_SIZE);
+            CRC32 crc = new CRC32();
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    new CheckedOutputStream(Channels.newOutputStream(channel), crc), 1 << 16));
+            for (Employee e : employees.values()) {
+                EmployeeStoreFormat.writeEmployee(out, e);
+            }
+            out.flush();
+
+            ByteBuffer header = ByteBuffer.allocate(EmployeeStoreFormat.SNAPSHOT_HEADER_SIZE);
+            header.put(EmployeeStoreFormat.SNAPSHOT_MAGIC)
+                  .putInt(EmployeeStoreFormat.VERSION)
+                  .putInt(employees.size())
+                  .putLong(generation)
+                  .putLong(crc.getValue())
+                  .flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            channel.force(true);
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(file);
+            throw ex;
+        }
+    }
+
+    /**
+     * Carga la foto, si existe.
+     *
+     * @return Generación de la foto, o 0 si no hay foto
+     */
+    private static long loadSnapshot(Path file, LinkedHashMap<String, Employee> employees) throws IOException {
+        if (!Files.exists(file)) return 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < EmployeeStoreFormat.SNAPSHOT_HEADER_SIZE) throw new IOException("Foto de empleados incompleta: falta el encabezado");
+            ByteBuffer header = read(channel, 0, EmployeeStoreFormat.SNAPSHOT_HEADER_SIZE);
+            byte[] magic = new byte[EmployeeStoreFormat.SNAPSHOT_MAGIC.length];
+            header.get(magic);
+            if (!Arrays.equals(magic, EmployeeStoreFormat.SNAPSHOT_MAGIC)) throw new IOException("El archivo no es una foto de empleados");
+            int version = header.getInt();
+            if (version != EmployeeStoreFormat.VERSION) throw new IOException("Versión de foto no soportada: " + version);
+            int count = header.getInt();
+            long generation = header.getLong();
+            long expectedCrc = header.getLong();
+
+            long bodySize = channel.size() - EmployeeStoreFormat.SNAPSHOT_HEADER_SIZE;
+            if (bodySize > Integer.MAX_VALUE) throw new IOException("La foto de empleados es demasiado grande para mapearse");
+            MappedByteBuffer body = channel.map(FileChannel.MapMode.READ_ONLY, EmployeeStoreFormat.SNAPSHOT_HEADER_SIZE, bodySize);
+            CRC32 crc = new CRC32();
+            crc.update(body.duplicate());
+            if (count < 0 || crc.getValue() != expectedCrc) throw new IOException("Foto de empleados corrupta: crc32 distinto");
+
+            employees.clear();
+            try {
+                for (int i = 0; i < count; i++) {
+                    Employee e = EmployeeStoreFormat.readEmployee(body);
+                    if (employees.put(e.getId(), e) != null) throw new IllegalArgumentException("Id repetido: " + e.getId());
+                }
+            } catch (IllegalArgumentException | BufferUnderflowException ex) {
+                throw new IOException("Foto de empleados corrupta", ex);
+            }
+            if (body.hasRemaining()) throw new IOException("Foto de empleados corrupta: bytes sobrantes");
+            return generation;
+        }
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) throw new IOException("Fin de archivo inesperado");
+        }
+        return buffer.flip();
+    }
+}
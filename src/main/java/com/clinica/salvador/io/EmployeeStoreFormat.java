@@ -0,0 +1,209 @@
+package com.clinica.salvador.io;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import com.clinica.salvador.model.CommissionEmployee;
+import com.clinica.salvador.model.Employee;
+import com.clinica.salvador.model.EmployeeType;
+import com.clinica.salvador.model.HourlyEmployee;
+import com.clinica.salvador.model.SalariedEmployee;
+import com.clinica.salvador.model.TemporaryEmployee;
+
+/**
+ * Clase EmployeeStoreFormat
+ *
+ * Formato binario de los archivos de EmployeeStore y codificación de un
+ * empleado, compartida por la foto (snapshot) y el registro (log). Todo en
+ * big-endian, de modo que lo que escribe un DataOutput se lee con un
+ * ByteBuffer (incluido uno mapeado).
+ *
+ * <pre>
+ * Foto (employees.snapshot)
+ *   0  magic        8 bytes  "EMPSNAP1"
+ *   8  version      int
+ *  12  count        int      empleados
+ *  16  generation   long     generación de la foto
+ *  24  crc32        long     de los bytes de los empleados
+ *  32  empleados    uno tras otro, codificados como abajo
+ *
+ * Registro (employees.log)
+ *   0  magic        8 bytes  "EMPLOG01"
+ *   8  generation   long     generación de la foto a la que se aplica
+ *  16  entradas     longitud int, crc32 int, operación byte, datos
+ *
+ * Empleado
+ *   type byte (TYPE_*: 0 asalariado, 1 por horas, 2 comisión, 3 temporal),
+ *   id, name, hireDate, permanent byte,
+ *   y los campos del subtipo en el orden de RosterCsvFormat
+ *
+ * Textos: longitud short sin signo y bytes UTF-8 (0xFFFF = null)
+ * Fechas: long con el día de época (Long.MIN_VALUE = null)
+ * Montos: escala int, longitud byte y bytes de BigInteger.toByteArray
+ * </pre>
+ */
+final class EmployeeStoreFormat {
+
+    static final byte[] SNAPSHOT_MAGIC = "EMPSNAP1".getBytes(StandardCharsets.US_ASCII);
+    static final byte[] LOG_MAGIC = "EMPLOG01".getBytes(StandardCharsets.US_ASCII);
+    static final int VERSION = 1;
+    static final int SNAPSHOT_HEADER_SIZE = 32;
+    static final int LOG_HEADER_SIZE = 16;
+    /** Longitud y crc32 de cada entrada del registro */
+    static final int ENTRY_HEADER_SIZE = 8;
+
+    static final byte OP_HIRE = 1;
+    static final byte OP_UPDATE = 2;
+    static final byte OP_TERMINATE = 3;
+
+    /** Códigos del tipo de empleado: fijos, no dependen del orden de EmployeeType */
+    static final byte TYPE_SALARIED = 0;
+    static final byte TYPE_HOURLY = 1;
+    static final byte TYPE_COMMISSION = 2;
+    static final byte TYPE_TEMPORARY = 3;
+
+    private static final int NULL_TEXT = 0xFFFF;
+
+    /** Constructor privado para evitar instanciación */
+    private EmployeeStoreFormat(){}
+
+    /**
+     * Codifica un empleado. Su clase debe ser exactamente uno de los cuatro
+     * subtipos: una subclase se leería de vuelta como su tipo base y
+     * perdería sus propios cálculos.
+     *
+     * @throws IllegalArgumentException si el subtipo no es uno de los cuatro
+     *         soportados o un texto es demasiado largo
+     */
+    static void writeEmployee(DataOutput out, Employee e) throws IOException {
+        EmployeeType type = EmployeeType.exactOf(e);
+        if (type == null) throw new IllegalArgumentException("Tipo de empleado no soportado: " + e.getClass().getName());
+        out.writeByte(code(type));
+        writeText(out, e.getId());
+        writeText(out, e.getName());
+        out.writeLong(e.getHireDate() == null ? Long.MIN_VALUE : e.getHireDate().toEpochDay());
+        out.writeBoolean(e.isPermanent());
+        switch (type) {
+            case SALARIED:
+                writeAmount(out, ((SalariedEmployee) e).getMonthlySalary());
+                break;
+            case HOURLY:
+                HourlyEmployee h = (HourlyEmployee) e;
+                writeAmount(out, h.getHourlyRate());
+                writeAmount(out, h.getHoursWorked());
+                out.writeInt(h.getMonthsOfService());
+                out.writeBoolean(h.isAcceptSavingsFund());
+                break;
+            case COMMISSION:
+                CommissionEmployee c = (CommissionEmployee) e;
+                writeAmount(out, c.getBaseSalary());
+                writeAmount(out, c.getSalesAmount());
+                writeAmount(out, c.getCommissionPercent());
+                break;
+            default:
+                writeAmount(out, ((TemporaryEmployee) e).getMonthlySalary());
+        }
+    }
+
+    /**
+     * Decodifica un empleado desde la posición actual del buffer.
+     *
+     * @throws IllegalArgumentException si los bytes no son un empleado válido
+     */
+    static Employee readEmployee(ByteBuffer in) {
+        EmployeeType type = type(in.get());
+        String id = readText(in);
+        String name = readText(in);
+        long day = in.getLong();
+        LocalDate hireDate = day == Long.MIN_VALUE ? null : LocalDate.ofEpochDay(day);
+        boolean permanent = in.get() != 0;
+        switch (type) {
+            case SALARIED:
+                return new SalariedEmployee(id, name, hireDate, permanent, readAmount(in));
+            case HOURLY:
+                return new HourlyEmployee(id, name, hireDate, permanent,
+                        readAmount(in), readAmount(in), in.getInt(), in.get() != 0);
+            case COMMISSION:
+                return new CommissionEmployee(id, name, hireDate, permanent,
+                        readAmount(in), readAmount(in), readAmount(in));
+            default:
+                return new TemporaryEmployee(id, name, hireDate, permanent, readAmount(in));
+        }
+    }
+
+    private static byte code(EmployeeType type) {
+        switch (type) {
+            case SALARIED: return TYPE_SALARIED;
+            case HOURLY: return TYPE_HOURLY;
+            case COMMISSION: return TYPE_COMMISSION;
+            case TEMPORARY: return TYPE_TEMPORARY;
+            default: throw new IllegalArgumentException("Tipo de empleado no soportado: " + type);
+        }
+    }
+
+    private static EmployeeType type(byte code) {
+        switch (code) {
+            case TYPE_SALARIED: return EmployeeType.SALARIED;
+            case TYPE_HOURLY: return EmployeeType.HOURLY;
+            case TYPE_COMMISSION: return EmployeeType.COMMISSION;
+            case TYPE_TEMPORARY: return EmployeeType.TEMPORARY;
+            default: throw new IllegalArgumentException("Tipo de empleado inválido: " + code);
+        }
+    }
+
+    static void writeText(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeShort(NULL_TEXT);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length >= NULL_TEXT) throw new IllegalArgumentException("Texto demasiado largo para el almacén: " + bytes.length + " bytes");
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    static String readText(ByteBuffer in) {
+        int length = Short.toUnsignedInt(in.getShort());
+        if (length == NULL_TEXT) return null;
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeAmount(DataOutput out, BigDecimal amount) throws IOException {
+        // Los constructores aceptan montos nulos (validateInputs los rechaza al calcular)
+        if (amount == null) {
+            out.writeInt(0);
+            out.writeByte(-1);
+            return;
+        }
+        byte[] unscaled = amount.unscaledValue().toByteArray();
+        if (unscaled.length > Byte.MAX_VALUE) throw new IllegalArgumentException("Monto demasiado grande para el almacén: " + amount);
+        out.writeInt(amount.scale());
+        out.writeByte(unscaled.length);
+        out.write(unscaled);
+    }
+
+    private static BigDecimal readAmount(ByteBuffer in) {
+        int scale = in.getInt();
+        int length = in.get();
+        if (length < 0) return null;
+        if (length == 0) throw new IllegalArgumentException("Monto inválido en el almacén");
+        if (length <= 8) {
+            // Camino común: el valor sin escala cabe en un long
+            long unscaled = in.get();
+            for (int i = 1; i < length; i++) {
+                unscaled = (unscaled << 8) | (in.get() & 0xFF);
+            }
+            return BigDecimal.valueOf(unscaled, scale);
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new BigDecimal(new BigInteger(bytes), scale);
+    }
+}
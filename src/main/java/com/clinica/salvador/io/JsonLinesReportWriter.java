@@ -0,0 +1,46 @@
+package com.clinica.salvador.io;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import com.clinica.salvador.service.PayrollResult;
+
+/**
+ * Clase JsonLinesReportWriter
+ *
+ * Reporte JSON Lines de una corrida: un objeto JSON por línea y empleado,
+ *
+ * <pre>
+ * {"id":"E1","gross":3300000.00,"deductions":132000.0000,"net":3168000.0000}
+ * </pre>
+ *
+ * Los montos son números JSON con la escala de BigDecimal.toPlainString y
+ * el id se escapa como string JSON. Se codifica sin Strings intermedios
+ * (ver ByteReportWriter).
+ */
+public class JsonLinesReportWriter extends ByteReportWriter {
+
+    /**
+     * Crea (o reemplaza) el archivo del reporte.
+     *
+     * @param file Archivo destino
+     * @param gzip true para comprimir la salida con gzip
+     * @throws IOException si no se puede abrir el archivo
+     */
+    public JsonLinesReportWriter(Path file, boolean gzip) throws IOException {
+        super(file, gzip);
+    }
+
+    @Override
+    protected void encode(PayrollResult result) throws IOException {
+        putAscii("{\"id\":\"");
+        putUtf8(result.getEmployeeId(), true);
+        putAscii("\",\"gross\":");
+        putAmount(result.getGross());
+        putAscii(",\"deductions\":");
+        putAmount(result.getDeductions());
+        putAscii(",\"net\":");
+        putAmount(result.getNet());
+        putAscii("}\n");
+    }
+}
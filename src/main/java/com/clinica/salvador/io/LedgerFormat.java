@@ -0,0 +1,53 @@
+package com.clinica.salvador.io;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Clase LedgerFormat
+ *
+ * Constantes del formato binario del libro de nómina (ledger), compartidas
+ * por PayrollLedgerWriter y PayrollLedgerReader. Todo en big-endian.
+ *
+ * <pre>
+ * Encabezado (32 bytes)
+ *   0  magic        8 bytes  "PAYLEDG1"
+ *   8  version      int
+ *  12  recordSize   int      (64)
+ *  16  recordCount  long
+ *  24  reservado    8 bytes
+ *
+ * Registro (64 bytes, uno por empleado)
+ *   0  idLength     byte     bytes UTF-8 del id (máx. 31)
+ *   1  id           31 bytes relleno con ceros
+ *  32  gross        long     valor sin escala
+ *  40  deductions   long     valor sin escala
+ *  48  net          long     valor sin escala
+ *  56  grossScale   byte
+ *  57  dedScale     byte
+ *  58  netScale     byte
+ *  59  reservado    5 bytes
+ * </pre>
+ *
+ * El ancho fijo permite ubicar el registro i en HEADER_SIZE + i * RECORD_SIZE
+ * sin índice adicional.
+ */
+final class LedgerFormat {
+
+    static final byte[] MAGIC = "PAYLEDG1".getBytes(StandardCharsets.US_ASCII);
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    static final int RECORD_SIZE = 64;
+    static final int COUNT_OFFSET = 16;
+
+    static final int MAX_ID_BYTES = 31;
+    static final int ID_OFFSET = 1;
+    static final int GROSS_OFFSET = 32;
+    static final int DEDUCTIONS_OFFSET = 40;
+    static final int NET_OFFSET = 48;
+    static final int GROSS_SCALE_OFFSET = 56;
+    static final int DEDUCTIONS_SCALE_OFFSET = 57;
+    static final int NET_SCALE_OFFSET = 58;
+
+    /** Constructor privado para evitar instanciación */
+    private LedgerFormat(){}
+}
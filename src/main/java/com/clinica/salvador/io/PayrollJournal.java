@@ -0,0 +1,248 @@
+package com.clinica.salvador.io;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+import com.clinica.salvador.service.PayrollResult;
+import com.clinica.salvador.util.RateTable;
+
+/**
+ * Clase PayrollJournal
+ *
+ * Diario de avance de una corrida de nómina: guarda los resultados ya
+ * calculados por lotes, para que una corrida interrumpida continúe donde
+ * quedó en lugar de empezar de nuevo. Es un archivo de texto UTF-8 al que
+ * solo se agregan líneas:
+ *
+ * <pre>
+ * #payroll-journal,1,fechaCorrida,huellaTasas
+ * id,bruto,deducciones,neto            (un resultado por línea)
+ * ...
+ * #commit,totalResultados,crc32        (cierra un lote)
+ * </pre>
+ *
+ * Los montos se escriben con BigDecimal.toString, que conserva la escala,
+ * así que los resultados recuperados son iguales a los calculados. El crc32
+ * cubre los bytes de las líneas del lote.
+ *
+ * Al abrir un diario existente se leen los lotes cerrados y válidos; lo que
+ * venga después del último (un lote que quedó a medias al caerse el
+ * proceso) se descarta y el archivo se trunca en ese punto. Los lotes se
+ * escriben con una sola escritura y se fuerzan a disco cada
+ * syncEveryBatches lotes y al cerrar: si el proceso muere, se pierden a lo
+ * sumo los lotes aún no forzados.
+ */
+public final class PayrollJournal implements Closeable {
+
+    private static final String HEADER_PREFIX = "#payroll-journal,1,";
+    private static final String COMMIT_PREFIX = "#commit,";
+
+    private final FileChannel channel;
+    private final List<PayrollResult> recovered;
+    private final int syncEveryBatches;
+    private long committed;
+    private int batchesSinceSync;
+
+    private PayrollJournal(FileChannel channel, List<PayrollResult> recovered, int syncEveryBatches) {
+        this.channel = channel;
+        this.recovered = recovered;
+        this.syncEveryBatches = syncEveryBatches;
+        this.committed = recovered.size();
+    }
+
+    /**
+     * Abre el diario de una corrida, o lo crea si no existe.
+     *
+     * @param file Archivo del diario
+     * @param runDate Fecha de la corrida
+     * @param rates Tabla de tasas de la corrida
+     * @param syncEveryBatches Lotes entre cada escritura forzada a disco (mayor que 0)
+     * @return Diario abierto, con los resultados recuperados
+     * @throws IOException si no se puede leer o escribir el archivo
+     * @throws IllegalArgumentException si el diario es de otra corrida (otra fecha u otras tasas)
+     */
+    public static PayrollJournal open(Path file, LocalDate runDate, RateTable rates, int syncEveryBatches) throws IOException {
+        if (syncEveryBatches <= 0) throw new IllegalArgumentException("syncEveryBatches debe ser mayor que 0");
+        String header = HEADER_PREFIX + runDate + "," + fingerprint(rates) + "\n";
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            List<PayrollResult> recovered = new ArrayList<>();
+            long valid = channel.size() == 0 ? 0 : recover(channel, header, recovered);
+            if (valid < channel.size()) channel.truncate(valid);
+            channel.position(valid);
+            if (valid == 0) {
+                // Diario nuevo, o uno cuyo encabezado no alcanzó a escribirse
+                write(channel, header.getBytes(StandardCharsets.UTF_8));
+                channel.force(true);
+            }
+            return new PayrollJournal(channel, recovered, syncEveryBatches);
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Lee los lotes cerrados del diario.
+     *
+     * @return Posición donde termina el último lote válido
+     */
+    private static long recover(FileChannel channel, String expectedHeader, List<PayrollResult> recovered) throws IOException {
+        channel.position(0);
+        InputStream in = new BufferedInputStream(Channels.newInputStream(channel), 1 << 16);
+        ByteArrayOutputStream line = new ByteArrayOutputStream(128);
+        ByteArrayOutputStream batchBytes = new ByteArrayOutputStream(1 << 16);
+        List<PayrollResult> batch = new ArrayList<>();
+
+        if (!readLine(in, line)) return 0;
+        String header = line.toString(StandardCharsets.UTF_8) + "\n";
+        if (!header.equals(expectedHeader)) {
+            throw new IllegalArgumentException("El diario es de otra corrida: " + header.trim());
+        }
+        long offset = line.size() + 1L;
+        long valid = offset;
+
+        while (readLine(in, line)) {
+            offset += line.size() + 1L;
+            String text = line.toString(StandardCharsets.UTF_8);
+            if (text.startsWith(COMMIT_PREFIX)) {
+                String[] f = text.split(",", -1);
+                CRC32 crc = new CRC32();
+                crc.update(batchBytes.toByteArray());
+                if (f.length != 3
+                        || !f[1].equals(Long.toString(recovered.size() + (long) batch.size()))
+                        || !f[2].equals(Long.toHexString(crc.getValue()))) {
+                    break;
+                }
+                recovered.addAll(batch);
+                batch.clear();
+                batchBytes.reset();
+                valid = offset;
+            } else {
+                PayrollResult r = parse(text);
+                if (r == null) break;
+                batch.add(r);
+                line.writeTo(batchBytes);
+                batchBytes.write('\n');
+            }
+        }
+        return valid;
+    }
+
+    /** Lee una línea completa (sin el salto); false si no hay una línea terminada en '\n' */
+    private static boolean readLine(InputStream in, ByteArrayOutputStream line) throws IOException {
+        line.reset();
+        int b;
+        while ((b = in.read()) >= 0) {
+            if (b == '\n') return true;
+            line.write(b);
+        }
+        return false;
+    }
+
+    private static PayrollResult parse(String line) {
+        String[] f = line.split(",", -1);
+        if (f.length != 4) return null;
+        try {
+            return new PayrollResult(f[0], new BigDecimal(f[1]), new BigDecimal(f[2]), new BigDecimal(f[3]));
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    /** Huella de la tabla de tasas: crc32 de sus propiedades ordenadas */
+    private static String fingerprint(RateTable rates) {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<Object, Object> entry : new TreeMap<>(rates.toProperties()).entrySet()) {
+            sb.append(entry.getKey()).append('=').append(entry.getValue()).append('\n');
+        }
+        CRC32 crc = new CRC32();
+        crc.update(sb.toString().getBytes(StandardCharsets.UTF_8));
+        return Long.toHexString(crc.getValue());
+    }
+
+    /** @return Resultados recuperados de una ejecución anterior, en orden */
+    public List<PayrollResult> getRecovered(){ return recovered; }
+
+    /** @return Resultados guardados en el diario, recuperados y nuevos */
+    public long getCommittedCount(){ return committed; }
+
+    /**
+     * Agrega un lote de resultados y lo cierra con su línea #commit.
+     *
+     * @param batch Resultados, en el orden de la corrida
+     * @throws IOException si falla la escritura
+     * @throws IllegalArgumentException si un id contiene comas o saltos de línea
+     */
+    public void commit(List<PayrollResult> batch) throws IOException {
+        if (batch.isEmpty()) return;
+        StringBuilder sb = new StringBuilder(batch.size() * 48);
+        for (PayrollResult r : batch) {
+            String id = r.getEmployeeId();
+            if (id.indexOf(',') >= 0 || id.indexOf('\n') >= 0 || id.indexOf('\r') >= 0) {
+                throw new IllegalArgumentException("El id no puede contener comas ni saltos de línea: " + id);
+            }
+            sb.append(id).append(',')
+              .append(r.getGross()).append(',')
+              .append(r.getDeductions()).append(',')
+              .append(r.getNet()).append('\n');
+        }
+        byte[] lines = sb.toString().getBytes(StandardCharsets.UTF_8);
+        CRC32 crc = new CRC32();
+        crc.update(lines);
+        byte[] commit = (COMMIT_PREFIX + (committed + batch.size()) + "," + Long.toHexString(crc.getValue()) + "\n")
+                .getBytes(StandardCharsets.UTF_8);
+
+        ByteBuffer buffer = ByteBuffer.allocate(lines.length + commit.length);
+        buffer.put(lines).put(commit).flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        committed += batch.size();
+        if (++batchesSinceSync >= syncEveryBatches) sync();
+    }
+
+    /**
+     * Fuerza a disco los lotes escritos.
+     *
+     * @throws IOException si falla la escritura
+     */
+    public void sync() throws IOException {
+        channel.force(false);
+        batchesSinceSync = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!channel.isOpen()) return;
+        try {
+            sync();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private static void write(FileChannel channel, byte[] bytes) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
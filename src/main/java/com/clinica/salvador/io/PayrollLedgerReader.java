@@ -0,0 +1,179 @@
+package com.clinica.salvador.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import com.clinica.salvador.service.PayrollResult;
+import com.clinica.salvador.util.FixedPoint;
+
+/**
+ * Clase PayrollLedgerReader
+ *
+ * Lector de un ledger de nómina (ver LedgerFormat). El archivo se mapea en
+ * memoria en modo solo lectura y los campos se leen directamente del mapeo
+ * con lecturas absolutas, sin deserializar objetos: el acceso aleatorio al
+ * registro i es una multiplicación y una lectura. Solo se crean String,
+ * BigDecimal o PayrollResult cuando se piden explícitamente.
+ *
+ * Las lecturas no modifican el estado del lector, por lo que puede usarse
+ * desde varios hilos a la vez.
+ */
+public class PayrollLedgerReader implements Closeable {
+
+    /** Registros por segmento mapeado (cada segmento ocupa menos de 2 GB) */
+    private static final int RECORDS_PER_SEGMENT = (1 << 30) / LedgerFormat.RECORD_SIZE;
+
+    /**
+     * Interfaz LedgerVisitor
+     *
+     * Recibe los montos de cada registro durante un recorrido secuencial,
+     * como primitivos, sin crear objetos.
+     */
+    @FunctionalInterface
+    public interface LedgerVisitor {
+        void visit(int index, long gross, int grossScale, long deductions, int deductionsScale,
+                   long net, int netScale);
+    }
+
+    private final FileChannel channel;
+    private final MappedByteBuffer[] segments;
+    private final int size;
+
+    private PayrollLedgerReader(FileChannel channel, MappedByteBuffer[] segments, int size) {
+        this.channel = channel;
+        this.segments = segments;
+        this.size = size;
+    }
+
+    /**
+     * Abre y mapea un archivo de ledger.
+     *
+     * @param file Archivo de ledger
+     * @return Lector del ledger
+     * @throws IOException si el archivo no se puede leer o no es un ledger válido
+     */
+    public static PayrollLedgerReader open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(LedgerFormat.HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header, header.position()) >= 0) {
+                // lectura completa del encabezado
+            }
+            if (header.hasRemaining()) throw new IOException("Ledger incompleto: falta el encabezado");
+            header.flip();
+
+            byte[] magic = new byte[LedgerFormat.MAGIC.length];
+            header.get(magic);
+            if (!Arrays.equals(magic, LedgerFormat.MAGIC)) throw new IOException("El archivo no es un ledger de nómina");
+            int version = header.getInt();
+            int recordSize = header.getInt();
+            long count = header.getLong();
+            if (version != LedgerFormat.VERSION || recordSize != LedgerFormat.RECORD_SIZE) {
+                throw new IOException("Versión de ledger no soportada: " + version);
+            }
+            long expectedSize = LedgerFormat.HEADER_SIZE + count * LedgerFormat.RECORD_SIZE;
+            if (count < 0 || count > Integer.MAX_VALUE || channel.size() < expectedSize) {
+                throw new IOException("Ledger truncado o corrupto: " + count + " registros declarados");
+            }
+
+            int records = (int) count;
+            int segmentCount = (records + RECORDS_PER_SEGMENT - 1) / RECORDS_PER_SEGMENT;
+            MappedByteBuffer[] segments = new MappedByteBuffer[segmentCount];
+            for (int s = 0; s < segmentCount; s++) {
+                long first = (long) s * RECORDS_PER_SEGMENT;
+                int inSegment = (int) Math.min(RECORDS_PER_SEGMENT, records - first);
+                segments[s] = channel.map(FileChannel.MapMode.READ_ONLY,
+                        LedgerFormat.HEADER_SIZE + first * LedgerFormat.RECORD_SIZE,
+                        (long) inSegment * LedgerFormat.RECORD_SIZE);
+            }
+            return new PayrollLedgerReader(channel, segments, records);
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    /** @return Número de registros */
+    public int size(){ return size; }
+
+    // --- Acceso aleatorio por campo ---
+
+    public long grossUnscaled(int index){ return segment(index).getLong(offset(index) + LedgerFormat.GROSS_OFFSET); }
+    public long deductionsUnscaled(int index){ return segment(index).getLong(offset(index) + LedgerFormat.DEDUCTIONS_OFFSET); }
+    public long netUnscaled(int index){ return segment(index).getLong(offset(index) + LedgerFormat.NET_OFFSET); }
+    public int grossScale(int index){ return segment(index).get(offset(index) + LedgerFormat.GROSS_SCALE_OFFSET); }
+    public int deductionsScale(int index){ return segment(index).get(offset(index) + LedgerFormat.DEDUCTIONS_SCALE_OFFSET); }
+    public int netScale(int index){ return segment(index).get(offset(index) + LedgerFormat.NET_SCALE_OFFSET); }
+
+    /** @return Salario bruto del registro */
+    public BigDecimal gross(int index){ return FixedPoint.toBigDecimal(grossUnscaled(index), grossScale(index)); }
+
+    /** @return Total de deducciones del registro */
+    public BigDecimal deductions(int index){ return FixedPoint.toBigDecimal(deductionsUnscaled(index), deductionsScale(index)); }
+
+    /** @return Salario neto del registro */
+    public BigDecimal net(int index){ return FixedPoint.toBigDecimal(netUnscaled(index), netScale(index)); }
+
+    /**
+     * Lee el identificador del empleado de un registro.
+     *
+     * @param index Índice del registro
+     * @return Identificador del empleado
+     */
+    public String employeeId(int index){
+        ByteBuffer segment = segment(index);
+        int base = offset(index);
+        int length = segment.get(base);
+        byte[] id = new byte[length];
+        segment.get(base + LedgerFormat.ID_OFFSET, id);
+        return new String(id, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Materializa un registro como PayrollResult.
+     *
+     * @param index Índice del registro
+     * @return PayrollResult con los mismos valores y escalas que se escribieron
+     */
+    public PayrollResult toResult(int index){
+        return new PayrollResult(employeeId(index), gross(index), deductions(index), net(index));
+    }
+
+    /**
+     * Recorre todos los registros en orden entregando sus montos como primitivos.
+     *
+     * @param visitor Receptor de cada registro
+     */
+    public void scan(LedgerVisitor visitor){
+        for (int i = 0; i < size; i++) {
+            ByteBuffer segment = segment(i);
+            int base = offset(i);
+            visitor.visit(i,
+                    segment.getLong(base + LedgerFormat.GROSS_OFFSET), segment.get(base + LedgerFormat.GROSS_SCALE_OFFSET),
+                    segment.getLong(base + LedgerFormat.DEDUCTIONS_OFFSET), segment.get(base + LedgerFormat.DEDUCTIONS_SCALE_OFFSET),
+                    segment.getLong(base + LedgerFormat.NET_OFFSET), segment.get(base + LedgerFormat.NET_SCALE_OFFSET));
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private ByteBuffer segment(int index){
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Registro fuera de rango: " + index);
+        return segments[index / RECORDS_PER_SEGMENT];
+    }
+
+    private static int offset(int index){
+        return (index % RECORDS_PER_SEGMENT) * LedgerFormat.RECORD_SIZE;
+    }
+}
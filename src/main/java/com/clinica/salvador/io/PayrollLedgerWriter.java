@@ -0,0 +1,144 @@
+package com.clinica.salvador.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import com.clinica.salvador.service.PayrollResult;
+import com.clinica.salvador.service.PayrollResultSink;
+import com.clinica.salvador.util.FixedPoint;
+
+/**
+ * Clase PayrollLedgerWriter
+ *
+ * Escribe los resultados de una corrida de nómina en el formato binario de
+ * ancho fijo descrito en LedgerFormat. Los registros se codifican en un
+ * buffer directo reutilizable y se vuelcan al FileChannel por bloques; al
+ * cerrar se escribe el número de registros en el encabezado y se fuerza
+ * el archivo a disco.
+ *
+ * Como es un PayrollResultSink, puede recibir directamente la salida de
+ * StreamingPayrollProcessor.
+ */
+public class PayrollLedgerWriter implements PayrollResultSink, Closeable {
+
+    /** Registros por bloque de escritura */
+    private static final int RECORDS_PER_FLUSH = 1024;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private long count;
+    private boolean closed;
+
+    /**
+     * Crea (o reemplaza) un archivo de ledger.
+     *
+     * @param file Archivo destino
+     * @throws IOException si no se puede abrir el archivo
+     */
+    public PayrollLedgerWriter(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.buffer = ByteBuffer.allocateDirect(LedgerFormat.RECORD_SIZE * RECORDS_PER_FLUSH);
+        // El encabezado se escribe al cerrar; mientras tanto se reserva su espacio
+        channel.position(LedgerFormat.HEADER_SIZE);
+    }
+
+    /**
+     * Agrega el resultado de un empleado al ledger.
+     *
+     * @param result Resultado de nómina
+     * @throws IllegalArgumentException si el id ocupa más de 31 bytes en UTF-8
+     *         o un monto no cabe en un long o su escala en un byte
+     * @throws IOException si falla la escritura
+     */
+    @Override
+    public void accept(PayrollResult result) throws IOException {
+        if (closed) throw new IllegalStateException("El ledger ya está cerrado");
+        byte[] id = result.getEmployeeId().getBytes(StandardCharsets.UTF_8);
+        if (id.length > LedgerFormat.MAX_ID_BYTES) {
+            throw new IllegalArgumentException("El id no cabe en el ledger (máx. 31 bytes): " + result.getEmployeeId());
+        }
+        long gross = unscaled(result.getGross());
+        long deductions = unscaled(result.getDeductions());
+        long net = unscaled(result.getNet());
+        byte grossScale = scale(result.getGross());
+        byte deductionsScale = scale(result.getDeductions());
+        byte netScale = scale(result.getNet());
+
+        if (!buffer.hasRemaining()) flush();
+        int base = buffer.position();
+        buffer.put((byte) id.length);
+        buffer.put(id);
+        for (int i = id.length; i < LedgerFormat.MAX_ID_BYTES; i++) {
+            buffer.put((byte) 0);
+        }
+        buffer.putLong(gross);
+        buffer.putLong(deductions);
+        buffer.putLong(net);
+        buffer.put(grossScale);
+        buffer.put(deductionsScale);
+        buffer.put(netScale);
+        buffer.position(base + LedgerFormat.RECORD_SIZE);
+        count++;
+    }
+
+    /** @return Número de registros escritos hasta ahora */
+    public long getCount(){ return count; }
+
+    /**
+     * Vuelca los registros pendientes, escribe el encabezado y cierra el archivo.
+     *
+     * @throws IOException si falla la escritura
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        try {
+            flush();
+            ByteBuffer header = ByteBuffer.allocate(LedgerFormat.HEADER_SIZE);
+            header.put(LedgerFormat.MAGIC)
+                  .putInt(LedgerFormat.VERSION)
+                  .putInt(LedgerFormat.RECORD_SIZE)
+                  .putLong(count)
+                  .putLong(0L)
+                  .flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            channel.force(true);
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static long unscaled(BigDecimal amount) {
+        try {
+            return FixedPoint.unscaled(amount);
+        } catch (ArithmeticException ex) {
+            throw new IllegalArgumentException("El monto no cabe en el ledger: " + amount);
+        }
+    }
+
+    private static byte scale(BigDecimal amount) {
+        int scale = amount.scale();
+        if (scale < Byte.MIN_VALUE || scale > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("La escala del monto no cabe en el ledger: " + amount);
+        }
+        return (byte) scale;
+    }
+}
@@ -0,0 +1,182 @@
+package com.clinica.salvador.io;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+import com.clinica.salvador.model.CommissionEmployee;
+import com.clinica.salvador.model.Employee;
+import com.clinica.salvador.model.EmployeeType;
+import com.clinica.salvador.model.HourlyEmployee;
+import com.clinica.salvador.model.SalariedEmployee;
+import com.clinica.salvador.model.TemporaryEmployee;
+
+/**
+ * Clase RosterCsvFormat
+ *
+ * Formato de texto de la nómina: un empleado por línea, campos separados
+ * por coma. Los cinco primeros campos son comunes y el resto depende del tipo:
+ *
+ * <pre>
+ * SALARIED,id,nombre,fechaIngreso,permanente,salarioMensual
+ * HOURLY,id,nombre,fechaIngreso,permanente,tarifaHora,horas,mesesServicio,fondoAhorro
+ * COMMISSION,id,nombre,fechaIngreso,permanente,salarioBase,ventas,porcentajeComision
+ * TEMPORARY,id,nombre,fechaIngreso,permanente,salarioMensual
+ * </pre>
+ *
+ * Las fechas van en formato ISO (2024-01-31) y los booleanos como true/false.
+ * Las líneas vacías y las que empiezan por # se ignoran. No hay comillas:
+ * ningún campo puede contener comas ni saltos de línea.
+ */
+public final class RosterCsvFormat {
+
+    /** Separador de campos */
+    public static final char SEPARATOR = ',';
+
+    /** Constructor privado para evitar instanciación */
+    private RosterCsvFormat(){}
+
+    /**
+     * Indica si una línea no contiene un empleado (vacía o comentario).
+     *
+     * @param line Línea del archivo
+     * @return true si la línea debe ignorarse
+     */
+    public static boolean isSkippable(String line) {
+        String trimmed = line.trim();
+        return trimmed.isEmpty() || trimmed.charAt(0) == '#';
+    }
+
+    /**
+     * Convierte una línea en un empleado.
+     *
+     * @param line Línea del archivo
+     * @return Empleado del subtipo indicado en el primer campo
+     * @throws IllegalArgumentException si la línea está mal formada
+     */
+    public static Employee parse(String line) {
+        String[] f = line.split(",", -1);
+        if (f.length < 5) throw new IllegalArgumentException("Se esperaban al menos 5 campos y hay " + f.length);
+
+        EmployeeType type;
+        try {
+            type = EmployeeType.valueOf(f[0].trim().toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Tipo de empleado desconocido: " + f[0].trim());
+        }
+
+        String id = f[1].trim();
+        String name = f[2].trim();
+        if (id.isEmpty()) throw new IllegalArgumentException("El id no puede estar vacío");
+        LocalDate hireDate = date(f[3]);
+        boolean permanent = bool(f[4]);
+
+        switch (type) {
+            case SALARIED:
+                fields(f, 6, type);
+                return new SalariedEmployee(id, name, hireDate, permanent, amount(f[5]));
+            case HOURLY:
+                fields(f, 9, type);
+                return new HourlyEmployee(id, name, hireDate, permanent,
+                        amount(f[5]), amount(f[6]), integer(f[7]), bool(f[8]));
+            case COMMISSION:
+                fields(f, 8, type);
+                return new CommissionEmployee(id, name, hireDate, permanent,
+                        amount(f[5]), amount(f[6]), amount(f[7]));
+            default:
+                fields(f, 6, type);
+                return new TemporaryEmployee(id, name, hireDate, permanent, amount(f[5]));
+        }
+    }
+
+    /**
+     * Convierte un empleado en una línea del formato (sin salto de línea).
+     *
+     * Solo acepta empleados cuya clase es exactamente uno de los cuatro
+     * subtipos: una subclase se leería de vuelta como su tipo base y
+     * perdería sus propios cálculos.
+     *
+     * @param e Empleado de uno de los cuatro subtipos
+     * @return Línea con los campos del empleado
+     * @throws IllegalArgumentException si el subtipo no es soportado o un
+     *         texto contiene comas o saltos de línea
+     */
+    public static String format(Employee e) {
+        EmployeeType type = EmployeeType.exactOf(e);
+        if (type == null) throw new IllegalArgumentException("Tipo de empleado no soportado: " + e.getClass().getName());
+
+        StringBuilder sb = new StringBuilder(96);
+        sb.append(type.name()).append(SEPARATOR)
+          .append(text(e.getId())).append(SEPARATOR)
+          .append(text(e.getName())).append(SEPARATOR)
+          .append(e.getHireDate()).append(SEPARATOR)
+          .append(e.isPermanent());
+        switch (type) {
+            case SALARIED:
+                sb.append(SEPARATOR).append(((SalariedEmployee) e).getMonthlySalary().toPlainString());
+                break;
+            case HOURLY:
+                HourlyEmployee h = (HourlyEmployee) e;
+                sb.append(SEPARATOR).append(h.getHourlyRate().toPlainString())
+                  .append(SEPARATOR).append(h.getHoursWorked().toPlainString())
+                  .append(SEPARATOR).append(h.getMonthsOfService())
+                  .append(SEPARATOR).append(h.isAcceptSavingsFund());
+                break;
+            case COMMISSION:
+                CommissionEmployee c = (CommissionEmployee) e;
+                sb.append(SEPARATOR).append(c.getBaseSalary().toPlainString())
+                  .append(SEPARATOR).append(c.getSalesAmount().toPlainString())
+                  .append(SEPARATOR).append(c.getCommissionPercent().toPlainString());
+                break;
+            default:
+                sb.append(SEPARATOR).append(((TemporaryEmployee) e).getMonthlySalary().toPlainString());
+        }
+        return sb.toString();
+    }
+
+    // --- Conversión de campos ---
+
+    private static void fields(String[] f, int expected, EmployeeType type) {
+        if (f.length != expected) {
+            throw new IllegalArgumentException("Un empleado " + type + " tiene " + expected + " campos y hay " + f.length);
+        }
+    }
+
+    private static String text(String value) {
+        if (value.indexOf(SEPARATOR) >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            throw new IllegalArgumentException("El texto no puede contener comas ni saltos de línea: " + value);
+        }
+        return value;
+    }
+
+    private static BigDecimal amount(String field) {
+        try {
+            return new BigDecimal(field.trim());
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Monto inválido: " + field.trim());
+        }
+    }
+
+    private static int integer(String field) {
+        try {
+            return Integer.parseInt(field.trim());
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Entero inválido: " + field.trim());
+        }
+    }
+
+    private static boolean bool(String field) {
+        String v = field.trim();
+        if (v.equalsIgnoreCase("true")) return true;
+        if (v.equalsIgnoreCase("false")) return false;
+        throw new IllegalArgumentException("Booleano inválido: " + v);
+    }
+
+    private static LocalDate date(String field) {
+        try {
+            return LocalDate.parse(field.trim());
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("Fecha inválida: " + field.trim());
+        }
+    }
+}
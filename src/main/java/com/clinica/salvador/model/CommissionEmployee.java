@@ -2,7 +2,8 @@ package com.clinica.salvador.model;
 
 import java.math.BigDecimal;
 
-import com.clinica.salvador.util.Config;
+import com.clinica.salvador.util.PayrollRunContext;
+import com.clinica.salvador.util.RateTable;
 
 /**
  * Clase CommissionEmployee
@@ -18,18 +19,20 @@ import com.clinica.salvador.util.Config;
 public class CommissionEmployee extends Employee {
 
     // Constantes
-    private static final BigDecimal BONUS_THRESHOLD = new BigDecimal("20000000");
-    private static final BigDecimal BONUS_PERCENT = new BigDecimal("0.03");
+    /** Ventas que hay que superar para recibir la bonificación (valor por defecto de RateTable) */
+    public static final BigDecimal BONUS_THRESHOLD = new BigDecimal("20000000");
+    /** Porcentaje de la bonificación sobre las ventas (valor por defecto de RateTable) */
+    public static final BigDecimal BONUS_PERCENT = new BigDecimal("0.03");
 
 
     /** Salario base fijo del empleado */
-    private BigDecimal baseSalary;
+    private final BigDecimal baseSalary;
 
     /** Monto total de las ventas realizadas por el empleado */
-    private BigDecimal salesAmount;
+    private final BigDecimal salesAmount;
 
     /** Porcentaje de comisión aplicada a las ventas */
-    private BigDecimal commissionPercent;
+    private final BigDecimal commissionPercent;
 
     /**
      * Constructor de CommissionEmployee.
@@ -50,6 +53,19 @@ public class CommissionEmployee extends Employee {
         this.commissionPercent = commissionPercent;
     }
 
+    // --- Métodos de acceso (Getters) ---
+    public BigDecimal getBaseSalary(){ return baseSalary; }
+    public BigDecimal getSalesAmount(){ return salesAmount; }
+    public BigDecimal getCommissionPercent(){ return commissionPercent; }
+
+    /**
+     * @return NEGATIVE_SALES si las ventas son negativas; null si no
+     */
+    @Override
+    public PayrollRule validateInputs() {
+        return salesAmount.signum() < 0 ? PayrollRule.NEGATIVE_SALES : null;
+    }
+
     /**
      * Calcula el salario bruto del empleado (gross salary).
      * Esta fórmula incluye:
@@ -62,20 +78,57 @@ public class CommissionEmployee extends Employee {
      */
     @Override
     public BigDecimal calculateGross() {
+        // No depende de la fecha: basta la tabla por defecto, sin leer el reloj
+        return calculateGross(RateTable.defaults(), PayLineRecorder.NONE);
+    }
+
+    /**
+     * Calcula el salario bruto con la bonificación por ventas y el auxilio de
+     * alimentación de la tabla de tasas de la corrida.
+     *
+     * @param context Contexto de la corrida
+     * @return Salario bruto (BigDecimal)
+     */
+    @Override
+    public BigDecimal calculateGross(PayrollRunContext context) {
+        return calculateGross(context, PayLineRecorder.NONE);
+    }
+
+    /**
+     * Calcula el salario bruto registrando el salario base, la comisión, la
+     * bonificación por ventas (con las ventas como cantidad) y el auxilio de
+     * alimentación.
+     *
+     * @param context Contexto de la corrida
+     * @param lines Registrador de los conceptos
+     * @return Salario bruto (BigDecimal)
+     */
+    @Override
+    public BigDecimal calculateGross(PayrollRunContext context, PayLineRecorder lines) {
+        return calculateGross(context.getRates(), lines);
+    }
+
+    private BigDecimal calculateGross(RateTable rates, PayLineRecorder lines) {
         // Validación: las ventas no pueden ser negativas
-        if(salesAmount.compareTo(BigDecimal.ZERO) < 0) throw new IllegalArgumentException("Sales cannot be negative");
+        if(validateInputs() != null) throw new IllegalArgumentException("Sales cannot be negative");
 
         // Salario bruto = baseSalary + (ventas * porcentaje de comisión)
-        BigDecimal gross = baseSalary.add(salesAmount.multiply(commissionPercent));
+        BigDecimal commission = salesAmount.multiply(commissionPercent);
+        lines.line(PayLineItem.BASE_SALARY, null, baseSalary);
+        lines.line(PayLineItem.COMMISSION, salesAmount, commission);
+        BigDecimal gross = baseSalary.add(commission);
 
         // Si las ventas superan 20 millones, se da una bonificación del 3%
-        if (salesAmount.compareTo(BONUS_THRESHOLD) > 0) {
-        gross = gross.add(salesAmount.multiply(BONUS_PERCENT));
-    }
+        if (salesAmount.compareTo(rates.getCommissionBonusThreshold()) > 0) {
+            BigDecimal bonus = salesAmount.multiply(rates.getCommissionBonusPercent());
+            lines.line(PayLineItem.SALES_BONUS, salesAmount, bonus);
+            gross = gross.add(bonus);
+        }
 
         // Si el empleado es permanente, se adiciona el auxilio de alimentación
         if(isPermanent()){
-            gross = gross.add(Config.FOOD_ALLOWANCE);
+            lines.line(PayLineItem.FOOD_ALLOWANCE, null, rates.getFoodAllowance());
+            gross = gross.add(rates.getFoodAllowance());
         }
         return gross;
     }
@@ -0,0 +1,167 @@
+package com.clinica.salvador.model;
+
+import java.math.BigDecimal;
+
+import com.clinica.salvador.util.PayrollRunContext;
+
+/**
+ * Clase CompiledPayRules
+ *
+ * Reglas de un PayRuleSet compiladas para una tabla de tasas: un arreglo
+ * de componentes, cada uno una lambda que ya tiene resueltos sus operandos.
+ * Los operandos constantes (números y claves rate:) se capturan como
+ * BigDecimal y los datos del empleado como posiciones del arreglo de
+ * valores. Cuando los operandos que no son el dato principal son
+ * constantes, se usa una variante del componente que no pasa por Operand.
+ *
+ * Cada componente aplica la misma operación de BigDecimal, en el mismo
+ * orden, que la subclase equivalente, para que el resultado tenga la misma
+ * escala.
+ */
+final class CompiledPayRules {
+
+    /** Componente del salario bruto; null si no aplica a este empleado */
+    interface Term {
+        BigDecimal apply(RuleBasedEmployee e, BigDecimal[] v, PayrollRunContext context);
+    }
+
+    /** Operando de un componente */
+    interface Operand {
+        BigDecimal value(BigDecimal[] v);
+    }
+
+    /** Operando constante */
+    private static final class Constant implements Operand {
+        final BigDecimal value;
+
+        Constant(BigDecimal value) {
+            this.value = value;
+        }
+
+        @Override
+        public BigDecimal value(BigDecimal[] v) {
+            return value;
+        }
+    }
+
+    private final Term[] terms;
+
+    CompiledPayRules(Term[] terms) {
+        this.terms = terms;
+    }
+
+    static Operand constant(BigDecimal value) {
+        return new Constant(value);
+    }
+
+    static Operand input(int slot) {
+        return v -> v[slot];
+    }
+
+    /**
+     * Calcula el salario bruto: la suma de los componentes que aplican, en
+     * orden. El primero que aplica es el valor inicial (no se suma a cero,
+     * que podría cambiar la escala).
+     */
+    BigDecimal gross(RuleBasedEmployee e, BigDecimal[] v, PayrollRunContext context) {
+        BigDecimal gross = null;
+        for (Term term : terms) {
+            BigDecimal part = term.apply(e, v, context);
+            if (part != null) gross = gross == null ? part : gross.add(part);
+        }
+        return gross == null ? BigDecimal.ZERO : gross;
+    }
+
+    /**
+     * Compila un componente.
+     *
+     * @param op Operación (ver PayRuleSet)
+     * @param ops Operandos, ya validados en número
+     */
+    static Term term(String op, Operand[] ops) {
+        switch (op) {
+            case "amount":
+                return amount(ops[0]);
+            case "product":
+                return product(ops[0], ops[1]);
+            case "tiered":
+                return tiered(ops[0], ops[1], ops[2], ops[3]);
+            case "bonusAbove":
+                return bonusAbove(ops[0], ops[1], ops[2]);
+            case "tenureBonus":
+                return tenureBonus(ops[0], ops[1], ops[2]);
+            case "permanentAllowance":
+                return permanentAllowance(ops[0]);
+            default:
+                throw new IllegalArgumentException("Operación desconocida: " + op);
+        }
+    }
+
+    private static Term amount(Operand a) {
+        if (a instanceof Constant) {
+            BigDecimal c = ((Constant) a).value;
+            return (e, v, ctx) -> c;
+        }
+        return (e, v, ctx) -> a.value(v);
+    }
+
+    private static Term product(Operand a, Operand b) {
+        if (b instanceof Constant) {
+            BigDecimal c = ((Constant) b).value;
+            return (e, v, ctx) -> a.value(v).multiply(c);
+        }
+        return (e, v, ctx) -> a.value(v).multiply(b.value(v));
+    }
+
+    private static Term tiered(Operand quantity, Operand rate, Operand threshold, Operand multiplier) {
+        if (threshold instanceof Constant && multiplier instanceof Constant) {
+            BigDecimal t = ((Constant) threshold).value;
+            BigDecimal m = ((Constant) multiplier).value;
+            return (e, v, ctx) -> {
+                BigDecimal q = quantity.value(v);
+                BigDecimal r = rate.value(v);
+                return q.min(t).multiply(r).add(q.subtract(t).max(BigDecimal.ZERO).multiply(r).multiply(m));
+            };
+        }
+        return (e, v, ctx) -> {
+            BigDecimal q = quantity.value(v);
+            BigDecimal r = rate.value(v);
+            BigDecimal t = threshold.value(v);
+            return q.min(t).multiply(r).add(q.subtract(t).max(BigDecimal.ZERO).multiply(r).multiply(multiplier.value(v)));
+        };
+    }
+
+    private static Term bonusAbove(Operand a, Operand threshold, Operand percent) {
+        if (threshold instanceof Constant && percent instanceof Constant) {
+            BigDecimal t = ((Constant) threshold).value;
+            BigDecimal p = ((Constant) percent).value;
+            return (e, v, ctx) -> {
+                BigDecimal x = a.value(v);
+                return x.compareTo(t) > 0 ? x.multiply(p) : null;
+            };
+        }
+        return (e, v, ctx) -> {
+            BigDecimal x = a.value(v);
+            return x.compareTo(threshold.value(v)) > 0 ? x.multiply(percent.value(v)) : null;
+        };
+    }
+
+    private static Term tenureBonus(Operand a, Operand years, Operand percent) {
+        if (years instanceof Constant && percent instanceof Constant) {
+            int y;
+            try {
+                y = ((Constant) years).value.intValueExact();
+            } catch (ArithmeticException ex) {
+                throw new IllegalArgumentException("Los años de tenureBonus deben ser un entero: " + ((Constant) years).value);
+            }
+            BigDecimal p = ((Constant) percent).value;
+            return (e, v, ctx) -> e.yearsOfService(ctx.getRunDate()) > y ? a.value(v).multiply(p) : null;
+        }
+        return (e, v, ctx) -> BigDecimal.valueOf(e.yearsOfService(ctx.getRunDate())).compareTo(years.value(v)) > 0
+                ? a.value(v).multiply(percent.value(v)) : null;
+    }
+
+    private static Term permanentAllowance(Operand a) {
+        return (e, v, ctx) -> e.isPermanent() ? a.value(v) : null;
+    }
+}
@@ -3,6 +3,8 @@ package com.clinica.salvador.model;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
+import com.clinica.salvador.util.PayrollRunContext;
+
 /**
  * Clase abstracta Employee
  * 
@@ -18,20 +20,24 @@ import java.time.LocalDate;
  *   subclases (ej. empleados por comisión, por horas, asalariados).
  * - LSP (Liskov Substitution Principle): cualquier subclase puede 
  *   sustituir a Employee sin romper el sistema.
+ *
+ * Todos los atributos (aquí y en las subclases) son final: un empleado ya
+ * construido es inmutable y puede compartirse entre hilos, por ejemplo en
+ * el procesamiento paralelo de la nómina, sin sincronización adicional.
  */
 public abstract class Employee {
     
     /** Identificador único del empleado */
-    private String id;
+    private final String id;
     
     /** Nombre completo del empleado */
-    private String name;
+    private final String name;
     
     /** Fecha de contratación del empleado */
-    private LocalDate hireDate;
+    private final LocalDate hireDate;
     
     /** Indica si el empleado es permanente */
-    private boolean permanent;
+    private final boolean permanent;
 
     /**
      * Constructor de Employee.
@@ -60,7 +66,30 @@ public abstract class Employee {
      * @return años de servicio (int)
      */
     public int yearsOfService(){
-        return LocalDate.now().getYear() - hireDate.getYear();
+        return yearsOfService(LocalDate.now());
+    }
+
+    /**
+     * Calcula los años de servicio del empleado a una fecha dada, por
+     * ejemplo la fecha de la corrida de nómina.
+     *
+     * @param asOf Fecha de referencia
+     * @return años de servicio (int)
+     */
+    public int yearsOfService(LocalDate asOf){
+        return asOf.getYear() - hireDate.getYear();
+    }
+
+    /**
+     * Valida los datos de entrada del cálculo sin lanzar excepciones. Las
+     * subclases con validaciones propias lo sobrescriben; calculateGross
+     * lanza IllegalArgumentException exactamente cuando este método
+     * devuelve una regla.
+     *
+     * @return Regla incumplida, o null si los datos son válidos
+     */
+    public PayrollRule validateInputs(){
+        return null;
     }
 
     /**
@@ -85,6 +114,28 @@ public abstract class Employee {
         return total;
     }
 
+    /**
+     * Calcula las deducciones con las tasas de una corrida. El resultado es
+     * igual (incluida la escala) al de calculateDeductions con las mismas
+     * tasas, pero omite la ARL cuando el contexto indica que no la altera.
+     *
+     * @param gross Salario bruto
+     * @param context Contexto de la corrida
+     * @return Total de deducciones
+     * @throws IllegalArgumentException si el salario bruto es null
+     */
+    public BigDecimal calculateDeductions(BigDecimal gross, PayrollRunContext context){
+        if(gross == null) throw new IllegalArgumentException("El salario bruto no puede ser nulo");
+
+        BigDecimal total = gross.multiply(context.getDeductionRate());
+
+        if(context.isArlApplied()) {
+            total = total.add(gross.multiply(context.getArlRate()));
+        }
+
+        return total;
+    }
+
     /**
      * Calcula el salario neto después de deducciones.
      *
@@ -108,4 +159,33 @@ public abstract class Employee {
      * @return salario bruto (BigDecimal)
      */
     public abstract BigDecimal calculateGross();
+
+    /**
+     * Calcula el salario bruto con los datos de una corrida (fecha y valores
+     * de configuración). Los subtipos cuyo bruto depende de la fecha o de
+     * Config lo sobrescriben; por defecto equivale a calculateGross().
+     *
+     * @param context Contexto de la corrida
+     * @return salario bruto (BigDecimal)
+     */
+    public BigDecimal calculateGross(PayrollRunContext context){
+        return calculateGross();
+    }
+
+    /**
+     * Calcula el salario bruto con los datos de una corrida y entrega cada
+     * concepto que lo compone a un registrador. Los subtipos que detallan
+     * sus componentes lo sobrescriben y calculateGross(context) lo llama con
+     * PayLineRecorder.NONE; por defecto registra el bruto completo como
+     * OTHER_GROSS.
+     *
+     * @param context Contexto de la corrida
+     * @param lines Registrador de los conceptos
+     * @return salario bruto (BigDecimal), igual al de calculateGross(context)
+     */
+    public BigDecimal calculateGross(PayrollRunContext context, PayLineRecorder lines){
+        BigDecimal gross = calculateGross(context);
+        lines.line(PayLineItem.OTHER_GROSS, null, gross);
+        return gross;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,166 @@
+package com.clinica.salvador.model;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import com.clinica.salvador.util.FixedPoint;
+
+/**
+ * Clase EmployeeBatch
+ *
+ * Representación columnar (struct-of-arrays) de una nómina. En lugar de un
+ * objeto por empleado con sus BigDecimal dispersos en el heap, cada atributo
+ * se guarda en un arreglo primitivo y la fila i de todos los arreglos
+ * corresponde al empleado i de la lista original.
+ *
+ * Los montos se guardan en punto fijo (ver FixedPoint) con una escala común
+ * por columna: la mayor escala de los valores de esa columna. Así todas las
+ * filas de una columna comparten escala y los recorridos no tienen que
+ * alinear escalas fila por fila.
+ *
+ * Una fila que no puede representarse (clase que no es exactamente uno de
+ * los cuatro subtipos, monto que no cabe en un long o asalariado sin fecha
+ * de ingreso) queda con tipo UNSUPPORTED y se calcula con el objeto
+ * original, que se conserva solo como respaldo.
+ */
+public final class EmployeeBatch {
+
+    /** Etiqueta de tipo para filas que no se pueden representar en columnas */
+    public static final byte UNSUPPORTED = -1;
+
+    private final int size;
+    private final String[] ids;
+    /** Ordinal de EmployeeType, o UNSUPPORTED */
+    private final byte[] types;
+    private final boolean[] permanent;
+    private final int[] hireYear;
+    /** Salario mensual (asalariado, temporal) o salario base (comisión) */
+    private final long[] salary;
+    private final long[] hourlyRate;
+    private final long[] hoursWorked;
+    private final long[] salesAmount;
+    private final long[] commissionPercent;
+
+    private final int salaryScale;
+    private final int hourlyRateScale;
+    private final int hoursScale;
+    private final int salesScale;
+    private final int commissionPercentScale;
+
+    /** Objetos originales, usados únicamente como respaldo */
+    private final Employee[] source;
+
+    private EmployeeBatch(List<Employee> employees) {
+        this.size = employees.size();
+        this.source = employees.toArray(new Employee[0]);
+        this.ids = new String[size];
+        this.types = new byte[size];
+        this.permanent = new boolean[size];
+        this.hireYear = new int[size];
+        this.salary = new long[size];
+        this.hourlyRate = new long[size];
+        this.hoursWorked = new long[size];
+        this.salesAmount = new long[size];
+        this.commissionPercent = new long[size];
+
+        // Primera pasada: escala común de cada columna
+        int salaryS = 0, rateS = 0, hoursS = 0, salesS = 0, percentS = 0;
+        for (Employee e : source) {
+            EmployeeType type = EmployeeType.exactOf(e);
+            if (type == EmployeeType.SALARIED) {
+                salaryS = Math.max(salaryS, ((SalariedEmployee) e).getMonthlySalary().scale());
+            } else if (type == EmployeeType.HOURLY) {
+                rateS = Math.max(rateS, ((HourlyEmployee) e).getHourlyRate().scale());
+                hoursS = Math.max(hoursS, ((HourlyEmployee) e).getHoursWorked().scale());
+            } else if (type == EmployeeType.COMMISSION) {
+                CommissionEmployee c = (CommissionEmployee) e;
+                salaryS = Math.max(salaryS, c.getBaseSalary().scale());
+                salesS = Math.max(salesS, c.getSalesAmount().scale());
+                percentS = Math.max(percentS, c.getCommissionPercent().scale());
+            } else if (type == EmployeeType.TEMPORARY) {
+                salaryS = Math.max(salaryS, ((TemporaryEmployee) e).getMonthlySalary().scale());
+            }
+        }
+        this.salaryScale = salaryS;
+        this.hourlyRateScale = rateS;
+        this.hoursScale = hoursS;
+        this.salesScale = salesS;
+        this.commissionPercentScale = percentS;
+
+        // Segunda pasada: llenado de columnas
+        for (int i = 0; i < size; i++) {
+            Employee e = source[i];
+            ids[i] = e.getId();
+            permanent[i] = e.isPermanent();
+            EmployeeType type = EmployeeType.exactOf(e);
+            if (e.getHireDate() != null) {
+                hireYear[i] = e.getHireDate().getYear();
+            } else if (type == EmployeeType.SALARIED) {
+                // Solo el asalariado usa la antigüedad; sin fecha va por el objeto
+                type = null;
+            }
+            try {
+                types[i] = type == null ? UNSUPPORTED : (byte) type.ordinal();
+                if (type == EmployeeType.SALARIED) {
+                    salary[i] = column(((SalariedEmployee) e).getMonthlySalary(), salaryS);
+                } else if (type == EmployeeType.HOURLY) {
+                    hourlyRate[i] = column(((HourlyEmployee) e).getHourlyRate(), rateS);
+                    hoursWorked[i] = column(((HourlyEmployee) e).getHoursWorked(), hoursS);
+                } else if (type == EmployeeType.COMMISSION) {
+                    CommissionEmployee c = (CommissionEmployee) e;
+                    salary[i] = column(c.getBaseSalary(), salaryS);
+                    salesAmount[i] = column(c.getSalesAmount(), salesS);
+                    commissionPercent[i] = column(c.getCommissionPercent(), percentS);
+                } else if (type == EmployeeType.TEMPORARY) {
+                    salary[i] = column(((TemporaryEmployee) e).getMonthlySalary(), salaryS);
+                }
+            } catch (ArithmeticException tooLarge) {
+                types[i] = UNSUPPORTED;
+            }
+        }
+    }
+
+    /**
+     * Construye la representación columnar de una lista de empleados.
+     *
+     * @param employees Lista de empleados
+     * @return EmployeeBatch con una fila por empleado, en el mismo orden
+     */
+    public static EmployeeBatch from(List<Employee> employees) {
+        return new EmployeeBatch(employees);
+    }
+
+    /** Convierte un monto a la escala de su columna */
+    private static long column(BigDecimal value, int scale) {
+        return FixedPoint.rescale(FixedPoint.unscaled(value), value.scale(), scale);
+    }
+
+    // --- Métodos de acceso a las columnas ---
+    // Se exponen los arreglos internos sin copiar para poder recorrerlos en
+    // bucles ajustados; no deben modificarse.
+
+    public int size(){ return size; }
+    public String[] ids(){ return ids; }
+    public byte[] types(){ return types; }
+    public boolean[] permanent(){ return permanent; }
+    public int[] hireYear(){ return hireYear; }
+    public long[] salary(){ return salary; }
+    public long[] hourlyRate(){ return hourlyRate; }
+    public long[] hoursWorked(){ return hoursWorked; }
+    public long[] salesAmount(){ return salesAmount; }
+    public long[] commissionPercent(){ return commissionPercent; }
+
+    public int salaryScale(){ return salaryScale; }
+    public int hourlyRateScale(){ return hourlyRateScale; }
+    public int hoursScale(){ return hoursScale; }
+    public int salesScale(){ return salesScale; }
+    public int commissionPercentScale(){ return commissionPercentScale; }
+
+    /**
+     * Devuelve el empleado original de una fila.
+     *
+     * @param row Índice de la fila
+     * @return Empleado original
+     */
+    public Employee employee(int row){ return source[row]; }
+}
@@ -0,0 +1,109 @@
+package com.clinica.salvador.model;
+
+import java.util.List;
+
+/**
+ * Clase EmployeeIndex
+ *
+ * Índice por id de una nómina con direccionamiento abierto sobre arreglos
+ * primitivos. Cada empleado ocupa la posición (slot) que tiene en la lista
+ * original; la tabla guarda slot + 1 (0 es una celda vacía) y se recorre
+ * con sondeo lineal. No hay entradas ni enteros envueltos en objetos: una
+ * búsqueda es el hash del id, unas pocas lecturas de int[] y un equals.
+ *
+ * - La tabla tiene al menos el doble de celdas que empleados (carga máxima
+ *   del 50%), así que los recorridos de sondeo son cortos.
+ * - El hash de cada slot se guarda aparte y se compara antes del equals.
+ * - Es inmutable una vez construido: varios hilos pueden consultarlo a la
+ *   vez, también mientras una corrida está en curso, sin sincronización.
+ *
+ * El índice refleja la nómina en el momento de construirlo. Los ids deben
+ * ser únicos: un id repetido hace ambigua cualquier corrección y se rechaza.
+ */
+public final class EmployeeIndex {
+
+    private final Employee[] employees;
+    private final int[] hashes;
+    /** slot + 1 de cada celda; 0 si está vacía */
+    private final int[] table;
+    private final int mask;
+
+    private EmployeeIndex(List<Employee> roster) {
+        int n = roster.size();
+        this.employees = roster.toArray(new Employee[0]);
+        this.hashes = new int[n];
+        int capacity = Integer.highestOneBit(Math.max(2, n) * 2 - 1) << 1;
+        this.table = new int[capacity];
+        this.mask = capacity - 1;
+
+        for (int slot = 0; slot < n; slot++) {
+            String id = employees[slot].getId();
+            int h = hash(id);
+            hashes[slot] = h;
+            int i = h & mask;
+            int s;
+            while ((s = table[i]) != 0) {
+                if (hashes[s - 1] == h && employees[s - 1].getId().equals(id)) {
+                    throw new IllegalArgumentException("Id de empleado repetido en la nómina: " + id);
+                }
+                i = (i + 1) & mask;
+            }
+            table[i] = slot + 1;
+        }
+    }
+
+    /**
+     * Construye el índice de una nómina.
+     *
+     * @param employees Empleados, con ids únicos
+     * @return Índice por id
+     * @throws IllegalArgumentException si hay ids repetidos
+     */
+    public static EmployeeIndex of(List<Employee> employees) {
+        return new EmployeeIndex(employees);
+    }
+
+    /** Dispersa los bits altos del hash, porque la tabla usa solo los bajos */
+    private static int hash(String id) {
+        int h = id.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Posición de un empleado en la nómina.
+     *
+     * @param id Identificador del empleado
+     * @return Slot del empleado, o -1 si no está
+     */
+    public int slotOf(String id) {
+        int h = hash(id);
+        int i = h & mask;
+        int s;
+        while ((s = table[i]) != 0) {
+            int slot = s - 1;
+            if (hashes[slot] == h && employees[slot].getId().equals(id)) return slot;
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Busca un empleado por id.
+     *
+     * @param id Identificador del empleado
+     * @return Empleado, o null si no está
+     */
+    public Employee get(String id) {
+        int slot = slotOf(id);
+        return slot < 0 ? null : employees[slot];
+    }
+
+    /** @return true si hay un empleado con ese id */
+    public boolean contains(String id){ return slotOf(id) >= 0; }
+
+    /** @return Empleado de un slot (su posición en la nómina) */
+    public Employee employeeAt(int slot){ return employees[slot]; }
+
+    /** @return Número de empleados */
+    public int size(){ return employees.length; }
+}
@@ -0,0 +1,47 @@
+package com.clinica.salvador.model;
+
+/**
+ * Enum EmployeeType
+ *
+ * Identifica el subtipo concreto de un empleado. Permite clasificar
+ * empleados (por ejemplo en representaciones columnares o en totales
+ * por tipo) sin depender de instanceof en cada lugar que lo necesite.
+ */
+public enum EmployeeType {
+    SALARIED,
+    HOURLY,
+    COMMISSION,
+    TEMPORARY;
+
+    /**
+     * Obtiene el tipo de un empleado.
+     *
+     * @param e Empleado
+     * @return Tipo del empleado, o null si es un subtipo no reconocido
+     */
+    public static EmployeeType of(Employee e) {
+        if (e instanceof SalariedEmployee) return SALARIED;
+        if (e instanceof HourlyEmployee) return HOURLY;
+        if (e instanceof CommissionEmployee) return COMMISSION;
+        if (e instanceof TemporaryEmployee) return TEMPORARY;
+        return null;
+    }
+
+    /**
+     * Obtiene el tipo de un empleado solo si su clase es exactamente una de
+     * las cuatro. Una subclase puede redefinir calculateGross o
+     * calculateDeductions, así que los cálculos que reproducen las fórmulas
+     * de los subtipos deben tratarla como un tipo desconocido.
+     *
+     * @param e Empleado
+     * @return Tipo del empleado, o null si su clase no es exactamente una de las cuatro
+     */
+    public static EmployeeType exactOf(Employee e) {
+        Class<?> type = e.getClass();
+        if (type == SalariedEmployee.class) return SALARIED;
+        if (type == HourlyEmployee.class) return HOURLY;
+        if (type == CommissionEmployee.class) return COMMISSION;
+        if (type == TemporaryEmployee.class) return TEMPORARY;
+        return null;
+    }
+}
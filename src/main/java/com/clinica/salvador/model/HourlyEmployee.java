@@ -2,6 +2,9 @@ package com.clinica.salvador.model;
 
 import java.math.BigDecimal;
 
+import com.clinica.salvador.util.PayrollRunContext;
+import com.clinica.salvador.util.RateTable;
+
 /**
  * Clase HourlyEmployee
  * 
@@ -18,18 +21,24 @@ import java.math.BigDecimal;
  *   sustituida en cualquier parte donde se use un empleado genérico.
  */
 public class HourlyEmployee extends Employee {
+
+    /** Horas a partir de las cuales se pagan horas extra (valor por defecto de RateTable) */
+    public static final BigDecimal REGULAR_HOURS = new BigDecimal("40");
+
+    /** Multiplicador de la tarifa para las horas extra, 150% (valor por defecto de RateTable) */
+    public static final BigDecimal OVERTIME_MULTIPLIER = new BigDecimal("1.5");
     
     /** Tarifa horaria del empleado */
-    private BigDecimal hourlyRate;
+    private final BigDecimal hourlyRate;
     
     /** Cantidad de horas trabajadas en el período */
-    private BigDecimal hoursWorked;
+    private final BigDecimal hoursWorked;
     
     /** Meses de servicio en la empresa (para beneficios futuros) */
-    private int monthsOfService;
+    private final int monthsOfService;
     
     /** Indica si el empleado acepta fondo de ahorros */
-    private boolean acceptSavingsFund;
+    private final boolean acceptSavingsFund;
 
     /**
      * Constructor de HourlyEmployee.
@@ -52,6 +61,20 @@ public class HourlyEmployee extends Employee {
         this.acceptSavingsFund = acceptSavingsFund;
     }
 
+    // --- Métodos de acceso (Getters) ---
+    public BigDecimal getHourlyRate(){ return hourlyRate; }
+    public BigDecimal getHoursWorked(){ return hoursWorked; }
+    public int getMonthsOfService(){ return monthsOfService; }
+    public boolean isAcceptSavingsFund(){ return acceptSavingsFund; }
+
+    /**
+     * @return NEGATIVE_HOURS si las horas trabajadas son negativas; null si no
+     */
+    @Override
+    public PayrollRule validateInputs() {
+        return hoursWorked.signum() < 0 ? PayrollRule.NEGATIVE_HOURS : null;
+    }
+
     /**
      * Calcula el salario bruto de un empleado por horas.
      * Fórmula:
@@ -63,20 +86,56 @@ public class HourlyEmployee extends Employee {
      */
     @Override
     public BigDecimal calculateGross() {
+        return calculateGross(REGULAR_HOURS, OVERTIME_MULTIPLIER, PayLineRecorder.NONE);
+    }
+
+    /**
+     * Calcula el salario bruto con las horas normales y el recargo de horas
+     * extra de la tabla de tasas de la corrida.
+     *
+     * @param context Contexto de la corrida
+     * @return Salario bruto (BigDecimal)
+     * @throws IllegalArgumentException si las horas trabajadas son negativas
+     */
+    @Override
+    public BigDecimal calculateGross(PayrollRunContext context) {
+        RateTable rates = context.getRates();
+        return calculateGross(rates.getRegularHours(), rates.getOvertimeMultiplier(), PayLineRecorder.NONE);
+    }
+
+    /**
+     * Calcula el salario bruto registrando las horas normales y las horas
+     * extra (con su cantidad de horas).
+     *
+     * @param context Contexto de la corrida
+     * @param lines Registrador de los conceptos
+     * @return Salario bruto (BigDecimal)
+     * @throws IllegalArgumentException si las horas trabajadas son negativas
+     */
+    @Override
+    public BigDecimal calculateGross(PayrollRunContext context, PayLineRecorder lines) {
+        RateTable rates = context.getRates();
+        return calculateGross(rates.getRegularHours(), rates.getOvertimeMultiplier(), lines);
+    }
+
+    private BigDecimal calculateGross(BigDecimal regularHours, BigDecimal overtimeMultiplier, PayLineRecorder lines) {
         // Validación: las horas trabajadas no pueden ser negativas
-        if (hoursWorked.compareTo(BigDecimal.ZERO) < 0) {
-            throw new IllegalArgumentException("Las horas trabajadas no pueden ser negativas");
+        if (validateInputs() != null) {
+            throw new IllegalArgumentException(PayrollRule.NEGATIVE_HOURS.getDescription());
         }
 
         // Horas normales (máximo 40)
-        BigDecimal baseHours = hoursWorked.min(new BigDecimal("40"));
+        BigDecimal baseHours = hoursWorked.min(regularHours);
 
         // Horas extras (mayores a 40)
-        BigDecimal overtimeHours = hoursWorked.subtract(new BigDecimal("40")).max(BigDecimal.ZERO);
+        BigDecimal overtimeHours = hoursWorked.subtract(regularHours).max(BigDecimal.ZERO);
 
         // Salario bruto = horas normales * tarifa + horas extra * tarifa * 1.5
-        BigDecimal gross = baseHours.multiply(hourlyRate)
-                .add(overtimeHours.multiply(hourlyRate).multiply(new BigDecimal("1.5")));
+        BigDecimal regularPay = baseHours.multiply(hourlyRate);
+        BigDecimal overtimePay = overtimeHours.multiply(hourlyRate).multiply(overtimeMultiplier);
+        lines.line(PayLineItem.REGULAR_HOURS, baseHours, regularPay);
+        lines.line(PayLineItem.OVERTIME, overtimeHours, overtimePay);
+        BigDecimal gross = regularPay.add(overtimePay);
                 
         // Este empleado no recibe bonificaciones adicionales 
 
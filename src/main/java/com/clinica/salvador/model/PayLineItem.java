@@ -0,0 +1,45 @@
+package com.clinica.salvador.model;
+
+/**
+ * Enum PayLineItem
+ *
+ * Conceptos de un desprendible de pago: los componentes del salario bruto
+ * que calcula cada subtipo de Employee y las deducciones de la corrida.
+ * Ver PayLineRecorder.
+ */
+public enum PayLineItem {
+    /** Salario base mensual (asalariados, comisión y temporales) */
+    BASE_SALARY("Salario base", false),
+    /** Horas normales a la tarifa horaria */
+    REGULAR_HOURS("Horas normales", false),
+    /** Horas extra con su recargo */
+    OVERTIME("Horas extra", false),
+    /** Comisión sobre las ventas */
+    COMMISSION("Comisión", false),
+    /** Bonificación por ventas sobre el umbral de la tabla de tasas */
+    SALES_BONUS("Bonificación por ventas", false),
+    /** Bono de antigüedad */
+    TENURE_BONUS("Bono de antigüedad", false),
+    /** Auxilio de alimentación de los permanentes */
+    FOOD_ALLOWANCE("Auxilio de alimentación", false),
+    /** Salario bruto de un subtipo que no detalla sus componentes */
+    OTHER_GROSS("Salario bruto", false),
+    /** Deducciones generales */
+    DEDUCTIONS("Deducciones", true),
+    /** Deducción por ARL */
+    ARL("ARL", true);
+
+    private final String description;
+    private final boolean deduction;
+
+    PayLineItem(String description, boolean deduction) {
+        this.description = description;
+        this.deduction = deduction;
+    }
+
+    /** @return Descripción del concepto */
+    public String getDescription(){ return description; }
+
+    /** @return true si el concepto se resta del bruto */
+    public boolean isDeduction(){ return deduction; }
+}
@@ -0,0 +1,28 @@
+package com.clinica.salvador.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Interfaz PayLineRecorder
+ *
+ * Recibe los conceptos con los que Employee.calculateGross construye el
+ * salario bruto, en el orden en que se suman. calculateGross(context) usa
+ * NONE, que no hace nada: el JIT lo conoce como constante y elimina la
+ * llamada, así que el cálculo sin traza no paga ni una rama ni una
+ * asignación por ella.
+ */
+@FunctionalInterface
+public interface PayLineRecorder {
+
+    /** Registrador que descarta los conceptos */
+    PayLineRecorder NONE = (item, quantity, amount) -> { };
+
+    /**
+     * Registra un concepto.
+     *
+     * @param item Concepto
+     * @param quantity Cantidad asociada (ej. horas), o null si no aplica
+     * @param amount Monto del concepto
+     */
+    void line(PayLineItem item, BigDecimal quantity, BigDecimal amount);
+}
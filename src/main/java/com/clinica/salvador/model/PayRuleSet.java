@@ -0,0 +1,320 @@
+package com.clinica.salvador.model;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.WeakHashMap;
+
+import com.clinica.salvador.util.RateTable;
+
+/**
+ * Clase PayRuleSet
+ *
+ * Reglas de pago de una categoría de empleados definidas como datos, en
+ * lugar de una subclase de Employee. Se leen de un archivo .properties:
+ *
+ * <pre>
+ * name=hourly
+ * inputs=hourlyRate,hoursWorked
+ * validate.1=nonNegative hoursWorked NEGATIVE_HOURS
+ * gross.1=tiered hoursWorked hourlyRate rate:hourly.regular.hours rate:hourly.overtime.multiplier
+ * </pre>
+ *
+ * - inputs: nombres de los datos de cada empleado (RuleBasedEmployee).
+ * - validate.N: nonNegative dato REGLA, con una regla de PayrollRule.
+ * - gross.N: componentes del salario bruto, que se suman en orden:
+ *   <pre>
+ *   amount a                      a
+ *   product a b                   a * b
+ *   tiered q r umbral mult        min(q, umbral) * r + max(q - umbral, 0) * r * mult
+ *   bonusAbove a umbral pct       a * pct, si a &gt; umbral
+ *   tenureBonus a años pct        a * pct, si la antigüedad en la fecha de la corrida &gt; años
+ *   permanentAllowance a          a, si el empleado es permanente
+ *   </pre>
+ *
+ * Cada operando es un dato declarado en inputs, un número, o rate:clave
+ * con una clave de RateTable (ej. rate:food.allowance). Los componentes
+ * condicionales que no aplican no se suman, igual que en las subclases.
+ *
+ * Las reglas se compilan una vez por tabla de tasas: los operandos rate:
+ * se resuelven a constantes y los datos a posiciones de un arreglo, así
+ * que evaluar un empleado no busca nombres ni interpreta texto. Con las
+ * reglas de standard, un RuleBasedEmployee da el mismo bruto (incluida la
+ * escala) que la subclase equivalente.
+ */
+public final class PayRuleSet {
+
+    /** Prefijo de los operandos que son claves de la tabla de tasas */
+    private static final String RATE_PREFIX = "rate:";
+
+    /** Operaciones de los componentes gross.N y su número de operandos */
+    private static final Map<String, Integer> ARITY = Map.of(
+            "amount", 1, "product", 2, "tiered", 4, "bonusAbove", 3, "tenureBonus", 3, "permanentAllowance", 1);
+
+    /** Reglas de standard, leídas la primera vez que se piden */
+    private static final Map<EmployeeType, PayRuleSet> STANDARD = new EnumMap<>(EmployeeType.class);
+
+    private final String name;
+    private final List<String> inputs;
+    private final int[] validatedSlots;
+    private final PayrollRule[] validationRules;
+    private final List<String[]> terms;
+
+    /** Compilación para una tabla de tasas */
+    private static final class Compilation {
+        final RateTable rates;
+        final CompiledPayRules rules;
+
+        Compilation(RateTable rates, CompiledPayRules rules) {
+            this.rates = rates;
+            this.rules = rules;
+        }
+    }
+
+    /** Última compilación usada: se lee sin bloqueo mientras la tabla no cambie */
+    private volatile Compilation last;
+
+    /**
+     * Compilaciones por tabla (por identidad: RateTable no redefine equals).
+     * Las claves son débiles y la compilación no referencia su tabla, así
+     * que una tabla que ya no usa ninguna corrida se libera con ella.
+     */
+    private final Map<RateTable, CompiledPayRules> byTable = new WeakHashMap<>();
+
+    private PayRuleSet(String name, List<String> inputs, int[] validatedSlots, PayrollRule[] validationRules,
+            List<String[]> terms) {
+        this.name = name;
+        this.inputs = inputs;
+        this.validatedSlots = validatedSlots;
+        this.validationRules = validationRules;
+        this.terms = terms;
+    }
+
+    /**
+     * Reglas equivalentes a una de las subclases de Employee, leídas de
+     * los archivos rules/*.properties del classpath.
+     *
+     * @param type Subtipo de empleado
+     * @return Reglas de ese subtipo
+     */
+    public static PayRuleSet standard(EmployeeType type) {
+        synchronized (STANDARD) {
+            PayRuleSet rules = STANDARD.get(type);
+            if (rules == null) {
+                String resource = "rules/" + type.name().toLowerCase() + ".properties";
+                try (InputStream in = PayRuleSet.class.getResourceAsStream(resource)) {
+                    if (in == null) throw new IllegalStateException("No se encontró el recurso " + resource);
+                    rules = read(new InputStreamReader(in, StandardCharsets.UTF_8));
+                } catch (IOException ex) {
+                    throw new IllegalStateException("No se pudo leer el recurso " + resource, ex);
+                }
+                STANDARD.put(type, rules);
+            }
+            return rules;
+        }
+    }
+
+    /**
+     * Lee reglas de un archivo .properties en UTF-8.
+     *
+     * @param file Archivo de reglas
+     * @return Reglas leídas
+     * @throws IOException si no se puede leer el archivo
+     * @throws IllegalArgumentException si las reglas no son válidas
+     */
+    public static PayRuleSet load(Path file) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return read(reader);
+        }
+    }
+
+    private static PayRuleSet read(Reader reader) throws IOException {
+        Properties properties = new Properties();
+        properties.load(reader);
+        return fromProperties(properties);
+    }
+
+    /**
+     * Construye reglas a partir de propiedades (ver el formato en la
+     * descripción de la clase). Se valida todo lo que no depende de la
+     * tabla de tasas: datos declarados, operaciones y número de operandos.
+     *
+     * @param p Propiedades
+     * @return Reglas
+     * @throws IllegalArgumentException si las reglas no son válidas
+     */
+    public static PayRuleSet fromProperties(Properties p) {
+        String name = p.getProperty("name");
+        if (name == null || name.isBlank()) throw new IllegalArgumentException("Falta la clave name");
+        String declared = p.getProperty("inputs", "");
+        List<String> inputs = new ArrayList<>();
+        for (String input : declared.split(",")) {
+            String trimmed = input.trim();
+            if (trimmed.isEmpty()) continue;
+            if (inputs.contains(trimmed)) throw new IllegalArgumentException("Dato repetido en inputs: " + trimmed);
+            inputs.add(trimmed);
+        }
+
+        List<String[]> validations = numbered(p, "validate.");
+        int[] slots = new int[validations.size()];
+        PayrollRule[] rules = new PayrollRule[validations.size()];
+        for (int k = 0; k < slots.length; k++) {
+            String[] v = validations.get(k);
+            if (v.length != 3 || !v[0].equals("nonNegative")) {
+                throw new IllegalArgumentException("Validación inválida: " + String.join(" ", v));
+            }
+            slots[k] = slotOf(inputs, v[1]);
+            try {
+                rules[k] = PayrollRule.valueOf(v[2]);
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException("Regla desconocida: " + v[2]);
+            }
+        }
+
+        List<String[]> terms = numbered(p, "gross.");
+        if (terms.isEmpty()) throw new IllegalArgumentException("Las reglas deben tener al menos un componente gross.N");
+        for (String[] term : terms) {
+            Integer arity = ARITY.get(term[0]);
+            if (arity == null) throw new IllegalArgumentException("Operación desconocida: " + term[0]);
+            if (term.length != arity + 1) {
+                throw new IllegalArgumentException(term[0] + " recibe " + arity + " operandos: " + String.join(" ", term));
+            }
+            for (int k = 1; k < term.length; k++) {
+                if (term[k].startsWith(RATE_PREFIX)) continue;
+                if (isNumber(term[k])) number(term[k]);
+                else slotOf(inputs, term[k]);
+            }
+        }
+        return new PayRuleSet(name.trim(), Collections.unmodifiableList(inputs), slots, rules, terms);
+    }
+
+    /** Valores de prefijo.1, prefijo.2, ... hasta el primer número que falte, separados en palabras */
+    private static List<String[]> numbered(Properties p, String prefix) {
+        List<String[]> values = new ArrayList<>();
+        for (int k = 1; ; k++) {
+            String value = p.getProperty(prefix + k);
+            if (value == null) return values;
+            values.add(value.trim().split("\\s+"));
+        }
+    }
+
+    private static int slotOf(List<String> inputs, String input) {
+        int slot = inputs.indexOf(input);
+        if (slot < 0) throw new IllegalArgumentException("Dato no declarado en inputs: " + input);
+        return slot;
+    }
+
+    private static BigDecimal number(String token) {
+        try {
+            return new BigDecimal(token);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Número inválido en las reglas: " + token);
+        }
+    }
+
+    private static boolean isNumber(String token) {
+        char c = token.charAt(0);
+        return (c >= '0' && c <= '9') || c == '-' || c == '+' || c == '.';
+    }
+
+    // --- Métodos de acceso (Getters) ---
+    public String getName(){ return name; }
+
+    /** @return Nombres de los datos de cada empleado, en orden */
+    public List<String> getInputs(){ return inputs; }
+
+    /**
+     * Verifica las validaciones de las reglas sobre los datos de un empleado.
+     *
+     * @param values Datos del empleado, en el orden de getInputs
+     * @return Primera regla incumplida, o null
+     */
+    PayrollRule validate(BigDecimal[] values) {
+        int k = failedValidation(values);
+        return k < 0 ? null : validationRules[k];
+    }
+
+    /**
+     * @param values Datos del empleado, en el orden de getInputs
+     * @return Nombre del dato de la primera validación incumplida, o null
+     */
+    String failedInput(BigDecimal[] values) {
+        int k = failedValidation(values);
+        return k < 0 ? null : inputs.get(validatedSlots[k]);
+    }
+
+    private int failedValidation(BigDecimal[] values) {
+        for (int k = 0; k < validatedSlots.length; k++) {
+            if (values[validatedSlots[k]].signum() < 0) return k;
+        }
+        return -1;
+    }
+
+    /**
+     * Reglas compiladas para una tabla de tasas, una vez por tabla. Varias
+     * corridas con tablas distintas (ej. alrededor de una recarga de
+     * RateTableSource) se alternan sin volver a compilar: si la tabla no es
+     * la de la última compilación se busca la suya en byTable.
+     *
+     * @param rates Tabla de tasas de la corrida
+     * @return Reglas compiladas
+     * @throws IllegalArgumentException si un operando rate: no es una clave de la tabla
+     */
+    CompiledPayRules compiled(RateTable rates) {
+        Compilation c = last;
+        if (c != null && c.rates == rates) return c.rules;
+        CompiledPayRules rules;
+        synchronized (byTable) {
+            rules = byTable.get(rates);
+            if (rules == null) {
+                rules = compile(rates);
+                byTable.put(rates, rules);
+            }
+        }
+        last = new Compilation(rates, rules);
+        return rules;
+    }
+
+    private CompiledPayRules compile(RateTable rates) {
+        Properties table = rates.toProperties();
+        CompiledPayRules.Term[] compiledTerms = new CompiledPayRules.Term[terms.size()];
+        for (int k = 0; k < compiledTerms.length; k++) {
+            String[] t = terms.get(k);
+            CompiledPayRules.Operand[] ops = new CompiledPayRules.Operand[t.length - 1];
+            for (int j = 1; j < t.length; j++) {
+                ops[j - 1] = operand(t[j], table);
+            }
+            compiledTerms[k] = CompiledPayRules.term(t[0], ops);
+        }
+        return new CompiledPayRules(compiledTerms);
+    }
+
+    private CompiledPayRules.Operand operand(String token, Properties table) {
+        if (token.startsWith(RATE_PREFIX)) {
+            String key = token.substring(RATE_PREFIX.length());
+            String value = table.getProperty(key);
+            if (value == null || value.isEmpty()) {
+                throw new IllegalArgumentException("Las reglas " + name + " usan " + token + ", que no está en la tabla de tasas");
+            }
+            return CompiledPayRules.constant(new BigDecimal(value));
+        }
+        if (isNumber(token)) return CompiledPayRules.constant(number(token));
+        return CompiledPayRules.input(inputs.indexOf(token));
+    }
+
+    @Override
+    public String toString(){
+        return "PayRuleSet[" + name + ", inputs=" + inputs + "]";
+    }
+}
@@ -0,0 +1,29 @@
+package com.clinica.salvador.model;
+
+/**
+ * Enum PayrollRule
+ *
+ * Reglas de validación del cálculo de nómina. En el modo estricto una
+ * regla incumplida lanza IllegalArgumentException; en el modo que acumula
+ * errores (PayrollService.processAllCollecting) se informa como un
+ * PayrollError con la regla y los valores que la incumplieron.
+ */
+public enum PayrollRule {
+    /** Horas trabajadas negativas (HourlyEmployee) */
+    NEGATIVE_HOURS("Las horas trabajadas no pueden ser negativas"),
+    /** Ventas negativas (CommissionEmployee) */
+    NEGATIVE_SALES("Las ventas no pueden ser negativas"),
+    /** Deducciones mayores que el salario bruto */
+    NEGATIVE_NET("El salario neto no puede ser negativo"),
+    /** Validación propia de un subtipo no reconocido */
+    INVALID_INPUT("Datos del empleado no válidos");
+
+    private final String description;
+
+    PayrollRule(String description) {
+        this.description = description;
+    }
+
+    /** @return Descripción de la regla */
+    public String getDescription(){ return description; }
+}
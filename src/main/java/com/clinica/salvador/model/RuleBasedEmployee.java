@@ -0,0 +1,150 @@
+package com.clinica.salvador.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import com.clinica.salvador.util.PayrollRunContext;
+
+/**
+ * Clase RuleBasedEmployee
+ *
+ * Empleado cuyo salario bruto se calcula con reglas definidas como datos
+ * (PayRuleSet) en lugar de una subclase propia. Una categoría nueva es un
+ * archivo de reglas, sin escribir ni desplegar código.
+ *
+ * Los datos del empleado se guardan en un arreglo en el orden de los
+ * inputs de las reglas. El cálculo usa las reglas compiladas para la tabla
+ * de tasas de la corrida, que se compilan una vez y se reutilizan para
+ * todos los empleados con las mismas reglas.
+ *
+ * Las deducciones y el neto son los de Employee, igual que en los demás
+ * subtipos. Para el resto del sistema (EmployeeType, formatos de archivo)
+ * es un subtipo no reconocido.
+ */
+public class RuleBasedEmployee extends Employee {
+
+    /** Reglas de la categoría del empleado */
+    private final PayRuleSet rules;
+
+    /** Datos del empleado, en el orden de rules.getInputs() */
+    private final BigDecimal[] values;
+
+    /**
+     * Constructor de RuleBasedEmployee.
+     *
+     * @param id Identificador único del empleado
+     * @param name Nombre del empleado
+     * @param hireDate Fecha de contratación
+     * @param permanent True si es permanente, False si es temporal
+     * @param rules Reglas de la categoría del empleado
+     * @param inputs Valor de cada dato declarado en las reglas
+     * @throws IllegalArgumentException si falta un dato o sobra uno que las reglas no declaran
+     */
+    public RuleBasedEmployee(String id, String name, LocalDate hireDate, boolean permanent,
+            PayRuleSet rules, Map<String, BigDecimal> inputs) {
+        super(id, name, hireDate, permanent);
+        if (rules == null) throw new IllegalArgumentException("Las reglas no pueden ser nulas");
+        List<String> declared = rules.getInputs();
+        BigDecimal[] v = new BigDecimal[declared.size()];
+        for (int k = 0; k < v.length; k++) {
+            v[k] = inputs.get(declared.get(k));
+            if (v[k] == null) throw new IllegalArgumentException("Falta el dato " + declared.get(k) + " de las reglas " + rules.getName());
+        }
+        if (inputs.size() != v.length) {
+            throw new IllegalArgumentException("Datos no declarados en las reglas " + rules.getName() + ": " + inputs.keySet());
+        }
+        this.rules = rules;
+        this.values = v;
+    }
+
+    /**
+     * Convierte un empleado de uno de los cuatro subtipos en el empleado
+     * equivalente con las reglas de PayRuleSet.standard. La clase debe ser
+     * exactamente uno de los cuatro: las reglas estándar no reproducen lo
+     * que redefina una subclase.
+     *
+     * @param e Empleado de un subtipo reconocido
+     * @return Empleado equivalente basado en reglas
+     * @throws IllegalArgumentException si el subtipo no es reconocido o es una subclase
+     */
+    public static RuleBasedEmployee from(Employee e) {
+        EmployeeType type = EmployeeType.exactOf(e);
+        if (type == null) throw new IllegalArgumentException("Subtipo no reconocido: " + e.getClass().getName());
+        Map<String, BigDecimal> inputs;
+        switch (type) {
+            case SALARIED:
+                inputs = Map.of("monthlySalary", ((SalariedEmployee) e).getMonthlySalary());
+                break;
+            case HOURLY:
+                HourlyEmployee h = (HourlyEmployee) e;
+                inputs = Map.of("hourlyRate", h.getHourlyRate(), "hoursWorked", h.getHoursWorked());
+                break;
+            case COMMISSION:
+                CommissionEmployee c = (CommissionEmployee) e;
+                inputs = Map.of("baseSalary", c.getBaseSalary(), "salesAmount", c.getSalesAmount(),
+                        "commissionPercent", c.getCommissionPercent());
+                break;
+            default:
+                inputs = Map.of("monthlySalary", ((TemporaryEmployee) e).getMonthlySalary());
+                break;
+        }
+        return new RuleBasedEmployee(e.getId(), e.getName(), e.getHireDate(), e.isPermanent(),
+                PayRuleSet.standard(type), inputs);
+    }
+
+    // --- Métodos de acceso (Getters) ---
+    public PayRuleSet getRules(){ return rules; }
+
+    /**
+     * @param input Nombre de un dato de las reglas
+     * @return Valor del dato
+     * @throws IllegalArgumentException si las reglas no declaran ese dato
+     */
+    public BigDecimal getInput(String input){
+        int slot = rules.getInputs().indexOf(input);
+        if (slot < 0) throw new IllegalArgumentException("Las reglas " + rules.getName() + " no declaran el dato " + input);
+        return values[slot];
+    }
+
+    /**
+     * @return Nombre del dato que incumple la primera validación de las reglas; null si ninguno
+     */
+    public String getInvalidInput(){
+        return rules.failedInput(values);
+    }
+
+    /**
+     * @return Primera validación de las reglas que incumplen los datos; null si ninguna
+     */
+    @Override
+    public PayrollRule validateInputs() {
+        return rules.validate(values);
+    }
+
+    /**
+     * Calcula el salario bruto con la fecha de hoy y las tasas por defecto.
+     *
+     * @return Salario bruto (BigDecimal)
+     */
+    @Override
+    public BigDecimal calculateGross() {
+        return calculateGross(PayrollRunContext.today());
+    }
+
+    /**
+     * Calcula el salario bruto con las reglas compiladas para la tabla de
+     * tasas de la corrida.
+     *
+     * @param context Contexto de la corrida
+     * @return Salario bruto (BigDecimal)
+     * @throws IllegalArgumentException si los datos incumplen una validación de las reglas
+     */
+    @Override
+    public BigDecimal calculateGross(PayrollRunContext context) {
+        PayrollRule rule = validateInputs();
+        if (rule != null) throw new IllegalArgumentException(rule.getDescription());
+        return rules.compiled(context.getRates()).gross(this, values, context);
+    }
+}
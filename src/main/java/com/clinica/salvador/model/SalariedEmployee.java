@@ -1,6 +1,7 @@
 package com.clinica.salvador.model;
 
-import com.clinica.salvador.util.Config;
+import com.clinica.salvador.util.PayrollRunContext;
+import com.clinica.salvador.util.RateTable;
 import java.math.BigDecimal;
 
 /**
@@ -20,8 +21,14 @@ import java.math.BigDecimal;
  */
 public class SalariedEmployee extends Employee {
 
+    /** Años de servicio que hay que superar para recibir el bono de antigüedad (valor por defecto de RateTable) */
+    public static final int TENURE_BONUS_YEARS = 5;
+
+    /** Porcentaje del bono de antigüedad sobre el salario mensual (valor por defecto de RateTable) */
+    public static final BigDecimal TENURE_BONUS_PERCENT = new BigDecimal("0.10");
+
     /** Salario mensual fijo del empleado */
-    private BigDecimal monthlySalary;
+    private final BigDecimal monthlySalary;
 
     /**
      * Constructor de SalariedEmployee.
@@ -37,6 +44,9 @@ public class SalariedEmployee extends Employee {
         this.monthlySalary = monthlySalary;
     }
 
+    /** @return Salario mensual fijo */
+    public BigDecimal getMonthlySalary(){ return monthlySalary; }
+
     /**
      * Calcula el salario bruto de un empleado asalariado.
      * Fórmula:
@@ -48,16 +58,51 @@ public class SalariedEmployee extends Employee {
      */
     @Override
     public BigDecimal calculateGross() {
+        // Una lectura del reloj por llamada, como antes, sin construir un contexto
+        return calculateGross(RateTable.defaults(), java.time.LocalDate.now(), PayLineRecorder.NONE);
+    }
+
+    /**
+     * Calcula el salario bruto con la fecha de la corrida para la antigüedad
+     * y el bono y el auxilio de alimentación de la tabla de tasas de la
+     * corrida.
+     *
+     * @param context Contexto de la corrida
+     * @return Salario bruto (BigDecimal)
+     */
+    @Override
+    public BigDecimal calculateGross(PayrollRunContext context) {
+        return calculateGross(context, PayLineRecorder.NONE);
+    }
+
+    /**
+     * Calcula el salario bruto registrando el salario base, el bono de
+     * antigüedad y el auxilio de alimentación.
+     *
+     * @param context Contexto de la corrida
+     * @param lines Registrador de los conceptos
+     * @return Salario bruto (BigDecimal)
+     */
+    @Override
+    public BigDecimal calculateGross(PayrollRunContext context, PayLineRecorder lines) {
+        return calculateGross(context.getRates(), context.getRunDate(), lines);
+    }
+
+    private BigDecimal calculateGross(RateTable rates, java.time.LocalDate runDate, PayLineRecorder lines) {
         BigDecimal gross = monthlySalary;
+        lines.line(PayLineItem.BASE_SALARY, null, monthlySalary);
 
         // Bono del 10% por antigüedad (> 5 años de servicio)
-        if (yearsOfService() > 5) {
-            gross = gross.add(monthlySalary.multiply(new BigDecimal("0.10"))); // bono 10%
+        if (yearsOfService(runDate) > rates.getTenureBonusYears()) {
+            BigDecimal bonus = monthlySalary.multiply(rates.getTenureBonusPercent()); // bono 10%
+            lines.line(PayLineItem.TENURE_BONUS, null, bonus);
+            gross = gross.add(bonus);
         }
 
         // Si el empleado es permanente, se adiciona auxilio de alimentación
         if(isPermanent()){
-            gross = gross.add(Config.FOOD_ALLOWANCE);
+            lines.line(PayLineItem.FOOD_ALLOWANCE, null, rates.getFoodAllowance());
+            gross = gross.add(rates.getFoodAllowance());
         }
         return gross;
     }
@@ -3,6 +3,8 @@ package com.clinica.salvador.model;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
+import com.clinica.salvador.util.PayrollRunContext;
+
 /**
  * Clase que representa a un Empleado Temporal.
  * - Tiene un salario mensual fijo (monthlySalary).
@@ -10,7 +12,7 @@ import java.time.LocalDate;
  */
 public class TemporaryEmployee extends Employee {
     // Salario mensual del empleado temporal
-    private BigDecimal monthlySalary;
+    private final BigDecimal monthlySalary;
 
     /**
      * Constructor de un empleado temporal.
@@ -36,6 +38,9 @@ public class TemporaryEmployee extends Employee {
         this.monthlySalary = monthlySalary;
     }
 
+    /** @return Salario mensual fijo */
+    public BigDecimal getMonthlySalary(){ return monthlySalary; }
+
     /**
      * Calcula el salario bruto del empleado temporal.
      * Para este tipo de empleado, el salario bruto es exactamente el salario mensual.
@@ -46,4 +51,18 @@ public class TemporaryEmployee extends Employee {
     public BigDecimal calculateGross() {
         return monthlySalary;
     }
+
+    /**
+     * Calcula el salario bruto registrando el salario mensual como salario
+     * base.
+     *
+     * @param context Contexto de la corrida
+     * @param lines Registrador de los conceptos
+     * @return Salario bruto (monthlySalary)
+     */
+    @Override
+    public BigDecimal calculateGross(PayrollRunContext context, PayLineRecorder lines) {
+        lines.line(PayLineItem.BASE_SALARY, null, monthlySalary);
+        return monthlySalary;
+    }
 }
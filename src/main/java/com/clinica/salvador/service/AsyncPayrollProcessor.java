@@ -0,0 +1,246 @@
+package com.clinica.salvador.service;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.clinica.salvador.model.Employee;
+import com.clinica.salvador.util.PayrollRunContext;
+
+/**
+ * Clase AsyncPayrollProcessor
+ *
+ * Etapa asíncrona de nómina basada en java.util.concurrent.Flow: se suscribe
+ * a un Flow.Publisher de empleados y publica sus PayrollResult, calculando
+ * cada empleado en el Executor indicado (por ejemplo uno de hilos virtuales,
+ * ver virtualThreadExecutor).
+ *
+ * Contrapresión (backpressure):
+ * - Nunca hay más de maxInFlight empleados pedidos a la fuente y todavía no
+ *   entregados al suscriptor, sumando los que se están calculando y los ya
+ *   calculados en espera. No hay colas sin límite.
+ * - Los resultados solo se entregan cuando el suscriptor los pide; si el
+ *   suscriptor no pide, la etapa deja de pedir empleados a la fuente.
+ *
+ * Los resultados se entregan en el mismo orden en que llegaron los
+ * empleados. Si un cálculo falla (ej. horas negativas) se cancela la
+ * fuente y el suscriptor recibe onError con la excepción original.
+ *
+ * La fecha de la corrida es la del día en que se crea la etapa.
+ * Admite una sola fuente y un solo suscriptor.
+ */
+public class AsyncPayrollProcessor implements Flow.Processor<Employee, PayrollResult> {
+
+    /** Cálculo de nómina por empleado */
+    private final PayrollService calculator;
+
+    /** Contexto de la corrida, resuelto al crear la etapa */
+    private final PayrollRunContext context;
+
+    /** Executor donde se calcula cada empleado */
+    private final Executor executor;
+
+    /** Máximo de empleados pedidos y aún no entregados */
+    private final int maxInFlight;
+
+    /** Resultados calculados, en la posición (secuencia % maxInFlight) */
+    private final AtomicReferenceArray<PayrollResult> slots;
+
+    /** Contador de trabajo pendiente que serializa drain() */
+    private final AtomicInteger wip = new AtomicInteger();
+
+    /** Demanda pendiente del suscriptor */
+    private final AtomicLong demand = new AtomicLong();
+
+    private volatile Flow.Subscription upstream;
+    private volatile Flow.Subscriber<? super PayrollResult> downstream;
+    private volatile boolean upstreamDone;
+    private volatile boolean cancelled;
+    private volatile Throwable error;
+
+    /** Empleados recibidos de la fuente (solo lo escribe onNext) */
+    private volatile long received;
+
+    // Estado que solo se modifica dentro de drain()
+    private long emitted;
+    private long requested;
+    private boolean terminated;
+
+    /**
+     * Constructor de AsyncPayrollProcessor.
+     *
+     * @param deductionRate Porcentaje de deducciones generales
+     * @param arlRate Porcentaje de deducciones por ARL
+     * @param executor Executor donde se calcula cada empleado
+     * @param maxInFlight Máximo de empleados en curso (mayor que 0)
+     */
+    public AsyncPayrollProcessor(BigDecimal deductionRate, BigDecimal arlRate, Executor executor, int maxInFlight) {
+        if (executor == null) throw new IllegalArgumentException("El executor no puede ser nulo");
+        if (maxInFlight <= 0) throw new IllegalArgumentException("maxInFlight debe ser mayor que 0");
+        this.calculator = new PayrollService(List.of(), deductionRate, arlRate);
+        this.context = calculator.runContext();
+        this.executor = executor;
+        this.maxInFlight = maxInFlight;
+        this.slots = new AtomicReferenceArray<>(maxInFlight);
+    }
+
+    /**
+     * Crea un executor de hilos virtuales (un hilo por tarea) cuando la JVM
+     * los soporta (Java 21 o superior). En versiones anteriores devuelve un
+     * pool de hilos daemon que crece según la demanda.
+     *
+     * @return ExecutorService que quien lo pide debe cerrar
+     */
+    public static ExecutorService virtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException notAvailable) {
+            return Executors.newCachedThreadPool(task -> {
+                Thread t = new Thread(task, "payroll-async");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+
+    // --- Lado suscriptor (fuente de empleados) ---
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        if (upstream != null) {
+            subscription.cancel();
+            return;
+        }
+        upstream = subscription;
+        drain();
+    }
+
+    @Override
+    public void onNext(Employee employee) {
+        if (employee == null) throw new NullPointerException("El empleado no puede ser nulo");
+        long seq = received;
+        int slot = (int) (seq % maxInFlight);
+        received = seq + 1;
+        try {
+            executor.execute(() -> {
+                try {
+                    slots.set(slot, calculator.calculateFor(employee, context));
+                } catch (RuntimeException | Error ex) {
+                    fail(ex);
+                }
+                drain();
+            });
+        } catch (RejectedExecutionException ex) {
+            fail(ex);
+            drain();
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        upstreamDone = true;
+        fail(throwable);
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        upstreamDone = true;
+        drain();
+    }
+
+    // --- Lado publicador (resultados) ---
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super PayrollResult> subscriber) {
+        if (downstream != null) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override public void request(long n) { }
+                @Override public void cancel() { }
+            });
+            subscriber.onError(new IllegalStateException("AsyncPayrollProcessor admite un solo suscriptor"));
+            return;
+        }
+        downstream = subscriber;
+        subscriber.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+                if (n <= 0) {
+                    fail(new IllegalArgumentException("La demanda debe ser positiva: " + n));
+                } else {
+                    demand.getAndAccumulate(n, (current, add) -> current + add < 0 ? Long.MAX_VALUE : current + add);
+                }
+                drain();
+            }
+
+            @Override
+            public void cancel() {
+                cancelled = true;
+                drain();
+            }
+        });
+        drain();
+    }
+
+    private void fail(Throwable ex) {
+        if (error == null) error = ex;
+    }
+
+    /**
+     * Entrega los resultados listos, en orden y según la demanda, y pide más
+     * empleados a la fuente. Solo un hilo a la vez ejecuta el cuerpo.
+     */
+    private void drain() {
+        if (wip.getAndIncrement() != 0) return;
+        int missed = 1;
+        do {
+            Flow.Subscriber<? super PayrollResult> d = downstream;
+            Flow.Subscription up = upstream;
+            if (d != null && !terminated) {
+                if (cancelled) {
+                    terminated = true;
+                    if (up != null) up.cancel();
+                } else if (error != null) {
+                    terminated = true;
+                    if (up != null && !upstreamDone) up.cancel();
+                    d.onError(error);
+                } else {
+                    emitReady(d);
+                    if (!cancelled && error == null) {
+                        if (upstreamDone && emitted == received) {
+                            terminated = true;
+                            d.onComplete();
+                        } else if (up != null && !upstreamDone) {
+                            long toRequest = emitted + maxInFlight - requested;
+                            if (toRequest > 0) {
+                                requested += toRequest;
+                                up.request(toRequest);
+                            }
+                        }
+                    }
+                }
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    /** Entrega, en orden de llegada, los resultados ya calculados que el suscriptor pidió */
+    private void emitReady(Flow.Subscriber<? super PayrollResult> d) {
+        while (!cancelled && error == null && demand.get() > 0) {
+            int slot = (int) (emitted % maxInFlight);
+            PayrollResult result = slots.get(slot);
+            if (result == null) return;
+            slots.set(slot, null);
+            emitted++;
+            if (demand.get() != Long.MAX_VALUE) demand.decrementAndGet();
+            d.onNext(result);
+        }
+    }
+}
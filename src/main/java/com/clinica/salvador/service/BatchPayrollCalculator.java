@@ -0,0 +1,224 @@
+package com.clinica.salvador.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import com.clinica.salvador.model.EmployeeBatch;
+import com.clinica.salvador.model.EmployeeType;
+import com.clinica.salvador.util.FixedPoint;
+import com.clinica.salvador.util.PayrollRunContext;
+import com.clinica.salvador.util.RateTable;
+
+/**
+ * Clase BatchPayrollCalculator
+ *
+ * Calcula la nómina de un EmployeeBatch completo en tres recorridos sobre
+ * arreglos primitivos, sin crear objetos por empleado:
+ * 1. Bruto de cada fila según su tipo.
+ * 2. Deducciones y neto de todas las filas.
+ * 3. Filas de respaldo (montos que no caben en un long, validaciones que
+ *    fallan o subtipos desconocidos), que se calculan con PayrollService.
+ *
+ * Las fórmulas son las de las subclases de Employee, con las reglas de la
+ * tabla de tasas del contexto de la corrida. Todos los brutos del
+ * lote se expresan en una misma escala, y deducciones y neto en otra, por
+ * lo que los resultados son numéricamente iguales a los de PayrollService.
+ * Igual que processAll, una fila inválida lanza la excepción del cálculo
+ * con BigDecimal.
+ */
+public class BatchPayrollCalculator {
+
+    private static final byte SALARIED = (byte) EmployeeType.SALARIED.ordinal();
+    private static final byte HOURLY = (byte) EmployeeType.HOURLY.ordinal();
+    private static final byte COMMISSION = (byte) EmployeeType.COMMISSION.ordinal();
+    private static final byte TEMPORARY = (byte) EmployeeType.TEMPORARY.ordinal();
+
+    /** Cálculo de referencia para las filas de respaldo */
+    private final PayrollService reference;
+
+    private final BigDecimal deductionRate;
+    private final BigDecimal arlRate;
+
+    /**
+     * Constructor de BatchPayrollCalculator.
+     *
+     * @param deductionRate Porcentaje de deducciones generales
+     * @param arlRate Porcentaje de deducciones por ARL (puede ser null)
+     */
+    public BatchPayrollCalculator(BigDecimal deductionRate, BigDecimal arlRate) {
+        this.reference = new PayrollService(List.of(), deductionRate, arlRate);
+        this.deductionRate = deductionRate;
+        this.arlRate = arlRate;
+    }
+
+    /**
+     * Calcula el lote con la fecha de hoy y las tasas del constructor.
+     *
+     * @param batch Lote de empleados
+     * @return Resultado columnar
+     */
+    public PayrollBatchResult calculate(EmployeeBatch batch) {
+        return calculate(batch, PayrollRunContext.of(LocalDate.now(), deductionRate, arlRate));
+    }
+
+    /**
+     * Calcula el lote con la fecha, las tasas y el auxilio de alimentación
+     * de una corrida (las tasas del contexto reemplazan las del constructor).
+     *
+     * @param batch Lote de empleados
+     * @param context Contexto de la corrida
+     * @return Resultado columnar
+     */
+    public PayrollBatchResult calculate(EmployeeBatch batch, PayrollRunContext context) {
+        try {
+            return calculateColumns(batch, context);
+        } catch (ArithmeticException scalesTooLarge) {
+            // Las escalas del lote no permiten trabajar en un long: todo por respaldo
+            int n = batch.size();
+            PayrollResult[] fallback = new PayrollResult[n];
+            for (int i = 0; i < n; i++) {
+                fallback[i] = reference.calculateFor(batch.employee(i), context);
+            }
+            return new PayrollBatchResult(batch.ids(), new long[n], new long[n], new long[n], 0, 0, fallback);
+        }
+    }
+
+    /** Cálculo por columnas; las escalas fuera de rango se detectan antes de los recorridos */
+    private PayrollBatchResult calculateColumns(EmployeeBatch batch, PayrollRunContext context) {
+        int n = batch.size();
+        int runYear = context.getRunDate().getYear();
+        BigDecimal deductionRate = context.getDeductionRate();
+        BigDecimal arlRate = context.isArlApplied() ? context.getArlRate() : null;
+        BigDecimal foodAllowance = context.getFoodAllowance();
+        RateTable rates = context.getRates();
+        BigDecimal regularHoursRule = rates.getRegularHours();
+        BigDecimal overtimeRule = rates.getOvertimeMultiplier();
+        BigDecimal tenureRule = rates.getTenureBonusPercent();
+        int tenureYears = rates.getTenureBonusYears();
+        BigDecimal thresholdRule = rates.getCommissionBonusThreshold();
+        BigDecimal bonusRule = rates.getCommissionBonusPercent();
+        byte[] types = batch.types();
+        boolean[] permanent = batch.permanent();
+        int[] hireYear = batch.hireYear();
+        long[] salary = batch.salary();
+        long[] rate = batch.hourlyRate();
+        long[] hours = batch.hoursWorked();
+        long[] sales = batch.salesAmount();
+        long[] percent = batch.commissionPercent();
+
+        // --- Escalas y constantes del lote ---
+        int salS = batch.salaryScale();
+        int rateS = batch.hourlyRateScale();
+        int hoursS = Math.max(batch.hoursScale(), regularHoursRule.scale());
+        int salesS = Math.max(batch.salesScale(), thresholdRule.scale());
+        int pctS = batch.commissionPercentScale();
+        int tenureS = tenureRule.scale();
+        int overtimeS = overtimeRule.scale();
+        int bonusS = bonusRule.scale();
+        int foodS = foodAllowance.scale();
+
+        // Escala común de los brutos: la mayor de todos los términos posibles
+        int g = Math.max(Math.max(salS + tenureS, foodS),
+                Math.max(Math.max(salesS + pctS, salesS + bonusS), hoursS + rateS + overtimeS));
+        g = Math.max(g, salS);
+
+        long salToG = FixedPoint.pow10(g - salS);
+        long tenureToG = FixedPoint.pow10(g - salS - tenureS);
+        long tenureU = FixedPoint.unscaled(tenureRule);
+        long food = FixedPoint.rescale(FixedPoint.unscaled(foodAllowance), foodS, g);
+        long hoursUp = FixedPoint.pow10(hoursS - batch.hoursScale());
+        long regularHours = FixedPoint.rescale(FixedPoint.unscaled(regularHoursRule), regularHoursRule.scale(), hoursS);
+        long basePayToG = FixedPoint.pow10(g - hoursS - rateS);
+        long overtimeU = FixedPoint.unscaled(overtimeRule);
+        long overtimeToG = FixedPoint.pow10(g - hoursS - rateS - overtimeS);
+        long salesUp = FixedPoint.pow10(salesS - batch.salesScale());
+        long threshold = FixedPoint.rescale(FixedPoint.unscaled(thresholdRule), thresholdRule.scale(), salesS);
+        long commissionToG = FixedPoint.pow10(g - salesS - pctS);
+        long bonusU = FixedPoint.unscaled(bonusRule);
+        long bonusToG = FixedPoint.pow10(g - salesS - bonusS);
+
+        long[] gross = new long[n];
+        boolean[] needsFallback = new boolean[n];
+
+        // --- Recorrido 1: bruto ---
+        for (int i = 0; i < n; i++) {
+            byte type = types[i];
+            try {
+                if (type == SALARIED) {
+                    long gu = Math.multiplyExact(salary[i], salToG);
+                    if (runYear - hireYear[i] > tenureYears) {
+                        gu = Math.addExact(gu, Math.multiplyExact(Math.multiplyExact(salary[i], tenureU), tenureToG));
+                    }
+                    gross[i] = permanent[i] ? Math.addExact(gu, food) : gu;
+                } else if (type == HOURLY) {
+                    long h = Math.multiplyExact(hours[i], hoursUp);
+                    if (h < 0) {
+                        needsFallback[i] = true;
+                        continue;
+                    }
+                    long base = Math.min(h, regularHours);
+                    long overtime = Math.max(h - regularHours, 0);
+                    long basePay = Math.multiplyExact(Math.multiplyExact(base, rate[i]), basePayToG);
+                    long overtimePay = Math.multiplyExact(Math.multiplyExact(Math.multiplyExact(overtime, rate[i]), overtimeU), overtimeToG);
+                    gross[i] = Math.addExact(basePay, overtimePay);
+                } else if (type == COMMISSION) {
+                    long s = Math.multiplyExact(sales[i], salesUp);
+                    if (s < 0) {
+                        needsFallback[i] = true;
+                        continue;
+                    }
+                    long gu = Math.addExact(Math.multiplyExact(salary[i], salToG),
+                            Math.multiplyExact(Math.multiplyExact(s, percent[i]), commissionToG));
+                    if (s > threshold) {
+                        gu = Math.addExact(gu, Math.multiplyExact(Math.multiplyExact(s, bonusU), bonusToG));
+                    }
+                    gross[i] = permanent[i] ? Math.addExact(gu, food) : gu;
+                } else if (type == TEMPORARY) {
+                    gross[i] = Math.multiplyExact(salary[i], salToG);
+                } else {
+                    needsFallback[i] = true;
+                }
+            } catch (ArithmeticException overflow) {
+                needsFallback[i] = true;
+            }
+        }
+
+        // --- Recorrido 2: deducciones y neto ---
+        // gross * deductionRate + gross * arlRate == gross * (deductionRate + arlRate)
+        int r = arlRate == null ? deductionRate.scale() : Math.max(deductionRate.scale(), arlRate.scale());
+        long combinedRate = FixedPoint.rescale(FixedPoint.unscaled(deductionRate), deductionRate.scale(), r);
+        if (arlRate != null) {
+            combinedRate = Math.addExact(combinedRate, FixedPoint.rescale(FixedPoint.unscaled(arlRate), arlRate.scale(), r));
+        }
+        long grossToAmount = FixedPoint.pow10(r);
+
+        long[] deductions = new long[n];
+        long[] net = new long[n];
+        for (int i = 0; i < n; i++) {
+            if (needsFallback[i]) continue;
+            try {
+                long d = Math.multiplyExact(gross[i], combinedRate);
+                long nu = Math.subtractExact(Math.multiplyExact(gross[i], grossToAmount), d);
+                if (nu < 0) {
+                    needsFallback[i] = true;
+                } else {
+                    deductions[i] = d;
+                    net[i] = nu;
+                }
+            } catch (ArithmeticException overflow) {
+                needsFallback[i] = true;
+            }
+        }
+
+        // --- Recorrido 3: filas de respaldo ---
+        PayrollResult[] fallback = new PayrollResult[n];
+        for (int i = 0; i < n; i++) {
+            if (needsFallback[i]) {
+                fallback[i] = reference.calculateFor(batch.employee(i), context);
+            }
+        }
+
+        return new PayrollBatchResult(batch.ids(), gross, deductions, net, g, g + r, fallback);
+    }
+}
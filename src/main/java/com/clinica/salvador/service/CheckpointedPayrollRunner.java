@@ -0,0 +1,123 @@
+package com.clinica.salvador.service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.clinica.salvador.io.PayrollJournal;
+import com.clinica.salvador.model.Employee;
+import com.clinica.salvador.util.PayrollRunContext;
+
+/**
+ * Clase CheckpointedPayrollRunner
+ *
+ * Procesa la nómina guardando el avance en un PayrollJournal cada
+ * batchSize empleados. Si la corrida se interrumpe (una validación que
+ * falla, como un neto negativo, o el proceso que se cae), al ejecutarla de
+ * nuevo con el mismo diario se recuperan los resultados ya guardados y se
+ * continúa con el primer empleado que no alcanzó a guardarse.
+ *
+ * - Cuando el cálculo de un empleado falla, el lote en curso se guarda
+ *   antes de propagar la excepción: se conserva todo lo calculado.
+ * - El diario lleva la fecha y las tasas de la corrida, así que solo se
+ *   reanuda con el mismo contexto; los resultados recuperados son iguales,
+ *   con sus escalas, a los de una corrida sin interrupciones.
+ * - Los ids recuperados deben coincidir con el inicio de la lista de
+ *   empleados; si no, la lista cambió y se lanza IllegalArgumentException.
+ *
+ * Un diario completo se reutiliza tal cual en las siguientes ejecuciones;
+ * borrarlo cuando la corrida ya no se necesite le corresponde a quien lo creó.
+ */
+public class CheckpointedPayrollRunner {
+
+    /** Empleados por lote guardado, por defecto */
+    public static final int DEFAULT_BATCH_SIZE = 1024;
+
+    /** Lotes entre cada escritura forzada a disco, por defecto */
+    public static final int DEFAULT_SYNC_EVERY_BATCHES = 8;
+
+    private final Path journalFile;
+    private final int batchSize;
+    private final int syncEveryBatches;
+
+    /**
+     * Constructor de CheckpointedPayrollRunner con lotes y sincronización por defecto.
+     *
+     * @param journalFile Archivo del diario
+     */
+    public CheckpointedPayrollRunner(Path journalFile) {
+        this(journalFile, DEFAULT_BATCH_SIZE, DEFAULT_SYNC_EVERY_BATCHES);
+    }
+
+    /**
+     * Constructor de CheckpointedPayrollRunner.
+     *
+     * @param journalFile Archivo del diario
+     * @param batchSize Empleados por lote guardado (mayor que 0)
+     * @param syncEveryBatches Lotes entre cada escritura forzada a disco (mayor que 0)
+     */
+    public CheckpointedPayrollRunner(Path journalFile, int batchSize, int syncEveryBatches) {
+        if (batchSize <= 0) throw new IllegalArgumentException("El tamaño de lote debe ser mayor que 0");
+        if (syncEveryBatches <= 0) throw new IllegalArgumentException("syncEveryBatches debe ser mayor que 0");
+        this.journalFile = journalFile;
+        this.batchSize = batchSize;
+        this.syncEveryBatches = syncEveryBatches;
+    }
+
+    /**
+     * Procesa la nómina, continuando desde el diario si ya existe.
+     *
+     * @param employees Lista de empleados a procesar
+     * @param context Contexto de la corrida (el mismo en cada reanudación)
+     * @return Resultados en el orden de entrada y cuántos se recuperaron
+     * @throws IOException si falla la lectura o escritura del diario
+     * @throws IllegalArgumentException si el diario es de otra corrida o el cálculo de un empleado falla
+     */
+    public CheckpointedRun run(List<Employee> employees, PayrollRunContext context) throws IOException {
+        try (PayrollJournal journal = PayrollJournal.open(journalFile, context.getRunDate(), context.getRates(),
+                syncEveryBatches)) {
+            List<PayrollResult> recovered = journal.getRecovered();
+            checkPrefix(employees, recovered);
+
+            List<PayrollResult> results = new ArrayList<>(employees.size());
+            results.addAll(recovered);
+            PayrollService calculator = new PayrollService(List.of(), context);
+            List<PayrollResult> batch = new ArrayList<>(batchSize);
+            try {
+                for (int i = recovered.size(); i < employees.size(); i++) {
+                    batch.add(calculator.calculateFor(employees.get(i), context));
+                    if (batch.size() == batchSize) {
+                        journal.commit(batch);
+                        results.addAll(batch);
+                        batch.clear();
+                    }
+                }
+            } catch (RuntimeException ex) {
+                // Se guarda lo calculado antes del empleado que falló; si eso también falla, manda el error del cálculo
+                try {
+                    journal.commit(batch);
+                } catch (IOException | RuntimeException commitFailure) {
+                    ex.addSuppressed(commitFailure);
+                }
+                throw ex;
+            }
+            journal.commit(batch);
+            results.addAll(batch);
+            return new CheckpointedRun(results, recovered.size());
+        }
+    }
+
+    private static void checkPrefix(List<Employee> employees, List<PayrollResult> recovered) {
+        if (recovered.size() > employees.size()) {
+            throw new IllegalArgumentException("El diario tiene " + recovered.size() + " resultados y la nómina "
+                    + employees.size() + " empleados");
+        }
+        for (int i = 0; i < recovered.size(); i++) {
+            if (!employees.get(i).getId().equals(recovered.get(i).getEmployeeId())) {
+                throw new IllegalArgumentException("El empleado " + i + " del diario (" + recovered.get(i).getEmployeeId()
+                        + ") no coincide con la nómina (" + employees.get(i).getId() + ")");
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.clinica.salvador.service;
+
+import java.util.List;
+
+/**
+ * Clase CheckpointedRun
+ *
+ * Resultado de una corrida con diario de avance: los resultados de todos
+ * los empleados, en el orden de entrada, y cuántos se recuperaron del
+ * diario de una ejecución anterior en lugar de calcularse.
+ */
+public class CheckpointedRun {
+
+    private final List<PayrollResult> results;
+    private final int resumed;
+
+    CheckpointedRun(List<PayrollResult> results, int resumed) {
+        this.results = results;
+        this.resumed = resumed;
+    }
+
+    /** @return Resultados en el orden de la lista de empleados */
+    public List<PayrollResult> getResults(){ return results; }
+
+    /** @return Empleados recuperados del diario */
+    public int getResumed(){ return resumed; }
+
+    /** @return Empleados calculados en esta ejecución */
+    public int getCalculated(){ return results.size() - resumed; }
+
+    @Override
+    public String toString(){
+        return "CheckpointedRun[employees=" + results.size() + ", resumed=" + resumed + "]";
+    }
+}
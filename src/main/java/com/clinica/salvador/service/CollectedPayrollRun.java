@@ -0,0 +1,40 @@
+package com.clinica.salvador.service;
+
+import java.util.List;
+
+/**
+ * Clase CollectedPayrollRun
+ *
+ * Resultado de una corrida que acumula errores en lugar de detenerse: los
+ * resultados de los empleados válidos y los errores de los rechazados,
+ * ambos en el orden de entrada, con los totales de los válidos.
+ */
+public class CollectedPayrollRun {
+
+    private final List<PayrollResult> results;
+    private final List<PayrollError> errors;
+    private final PayrollSummary summary;
+
+    CollectedPayrollRun(List<PayrollResult> results, List<PayrollError> errors, PayrollSummary summary) {
+        this.results = results;
+        this.errors = errors;
+        this.summary = summary;
+    }
+
+    /** @return Resultados de los empleados válidos, en el orden de entrada */
+    public List<PayrollResult> getResults(){ return results; }
+
+    /** @return Errores de los empleados rechazados, en el orden de entrada */
+    public List<PayrollError> getErrors(){ return errors; }
+
+    /** @return Totales de los empleados válidos */
+    public PayrollSummary getSummary(){ return summary; }
+
+    /** @return true si ningún empleado fue rechazado */
+    public boolean isClean(){ return errors.isEmpty(); }
+
+    @Override
+    public String toString(){
+        return "CollectedPayrollRun[processed=" + results.size() + ", rejected=" + errors.size() + "]";
+    }
+}
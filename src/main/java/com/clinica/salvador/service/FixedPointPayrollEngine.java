@@ -0,0 +1,279 @@
+package com.clinica.salvador.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.clinica.salvador.model.CommissionEmployee;
+import com.clinica.salvador.model.Employee;
+import com.clinica.salvador.model.HourlyEmployee;
+import com.clinica.salvador.model.SalariedEmployee;
+import com.clinica.salvador.model.TemporaryEmployee;
+import com.clinica.salvador.util.FixedPoint;
+import com.clinica.salvador.util.PayrollRunContext;
+import com.clinica.salvador.util.RateTable;
+
+/**
+ * Clase FixedPointPayrollEngine
+ *
+ * Motor de cálculo de nómina alternativo que trabaja con montos de punto
+ * fijo sobre long (ver FixedPoint) en lugar de encadenar operaciones de
+ * BigDecimal. Solo se crean BigDecimal para los tres montos del resultado.
+ *
+ * Reproduce exactamente las fórmulas de Employee y sus subclases, con las
+ * mismas reglas de escala, por lo que cada PayrollResult es igual (equals,
+ * incluida la escala) al que produce PayrollService. Cuando un cálculo no
+ * cabe en un long, o el empleado no pasa una validación (horas o ventas
+ * negativas, neto negativo), o es de un subtipo desconocido, el empleado
+ * se calcula con PayrollService, que además lanza la misma excepción.
+ *
+ * Con un PayrollRunContext fijo (fecha, tasas y auxilio ya resueltos) el
+ * cálculo de un empleado no lee el reloj ni crea objetos intermedios.
+ *
+ * Es de uso opcional: PayrollService sigue siendo la referencia.
+ */
+public class FixedPointPayrollEngine {
+
+    /** Lista de empleados que se procesarán en la nómina */
+    private final List<Employee> employees;
+
+    /** Cálculo de referencia con BigDecimal, usado como respaldo */
+    private final PayrollService fallback;
+
+    /** Constantes del contexto fijo; null para resolverlas en cada corrida */
+    private final RunConstants fixed;
+
+    /**
+     * Valores de un PayrollRunContext ya convertidos a punto fijo, para no
+     * convertirlos empleado por empleado.
+     */
+    private static final class RunConstants {
+        final PayrollRunContext context;
+        /** Indica si las tasas y el auxilio caben en punto fijo; si no, todo va por el respaldo */
+        final boolean fit;
+        final long deductionRateU;
+        final int deductionRateS;
+        final boolean hasArl;
+        final long arlRateU;
+        final int arlRateS;
+        final long foodU;
+        final int foodS;
+        // Reglas de las subclases
+        final long regularHoursU;
+        final int regularHoursS;
+        final long overtimeU;
+        final int overtimeS;
+        final int tenureYears;
+        final long tenurePercentU;
+        final int tenurePercentS;
+        final long bonusThresholdU;
+        final int bonusThresholdS;
+        final long bonusPercentU;
+        final int bonusPercentS;
+
+        RunConstants(PayrollRunContext context) {
+            this.context = context;
+            BigDecimal deductionRate = context.getDeductionRate();
+            BigDecimal arlRate = context.getArlRate();
+            BigDecimal food = context.getFoodAllowance();
+            RateTable rates = context.getRates();
+            boolean ok = true;
+            long dU = 0, aU = 0, fU = 0, hU = 0, oU = 0, tU = 0, thU = 0, bU = 0;
+            try {
+                dU = FixedPoint.unscaled(deductionRate);
+                if (context.isArlApplied()) aU = FixedPoint.unscaled(arlRate);
+                fU = FixedPoint.unscaled(food);
+                hU = FixedPoint.unscaled(rates.getRegularHours());
+                oU = FixedPoint.unscaled(rates.getOvertimeMultiplier());
+                tU = FixedPoint.unscaled(rates.getTenureBonusPercent());
+                thU = FixedPoint.unscaled(rates.getCommissionBonusThreshold());
+                bU = FixedPoint.unscaled(rates.getCommissionBonusPercent());
+            } catch (ArithmeticException tooLarge) {
+                ok = false;
+            }
+            this.fit = ok;
+            this.deductionRateU = dU;
+            this.deductionRateS = deductionRate.scale();
+            this.hasArl = context.isArlApplied();
+            this.arlRateU = aU;
+            this.arlRateS = hasArl ? arlRate.scale() : 0;
+            this.foodU = fU;
+            this.foodS = food.scale();
+            this.regularHoursU = hU;
+            this.regularHoursS = rates.getRegularHours().scale();
+            this.overtimeU = oU;
+            this.overtimeS = rates.getOvertimeMultiplier().scale();
+            this.tenureYears = rates.getTenureBonusYears();
+            this.tenurePercentU = tU;
+            this.tenurePercentS = rates.getTenureBonusPercent().scale();
+            this.bonusThresholdU = thU;
+            this.bonusThresholdS = rates.getCommissionBonusThreshold().scale();
+            this.bonusPercentU = bU;
+            this.bonusPercentS = rates.getCommissionBonusPercent().scale();
+        }
+    }
+
+    /**
+     * Constructor de FixedPointPayrollEngine. Cada corrida toma la fecha del
+     * día en que se ejecuta.
+     *
+     * @param employees Lista de empleados a procesar
+     * @param deductionRate Porcentaje de deducciones generales
+     * @param arlRate Porcentaje de deducciones por ARL (puede ser null)
+     */
+    public FixedPointPayrollEngine(List<Employee> employees, BigDecimal deductionRate, BigDecimal arlRate) {
+        this.employees = employees;
+        this.fallback = new PayrollService(employees, deductionRate, arlRate);
+        this.fixed = null;
+    }
+
+    /**
+     * Constructor de FixedPointPayrollEngine con un contexto fijo. Sus
+     * constantes se convierten una sola vez y calculateFor no crea más
+     * objetos que el PayrollResult y sus tres montos.
+     *
+     * @param employees Lista de empleados a procesar
+     * @param context Contexto de la corrida
+     */
+    public FixedPointPayrollEngine(List<Employee> employees, PayrollRunContext context) {
+        this.employees = employees;
+        this.fallback = new PayrollService(employees, context);
+        this.fixed = new RunConstants(context);
+    }
+
+    /**
+     * Calcula el resultado de nómina de un empleado específico.
+     *
+     * @param e Empleado a calcular
+     * @return PayrollResult igual al de PayrollService.calculateFor
+     */
+    public PayrollResult calculateFor(Employee e) {
+        return calculateFor(e, fixed != null ? fixed : new RunConstants(fallback.runContext()));
+    }
+
+    /**
+     * Procesa la nómina de todos los empleados registrados en la lista.
+     *
+     * @return Lista de PayrollResult en el mismo orden que la lista de empleados
+     */
+    public List<PayrollResult> processAll() {
+        RunConstants run = fixed != null ? fixed : new RunConstants(fallback.runContext());
+        List<PayrollResult> results = new ArrayList<>(employees.size());
+        for (Employee e : employees) {
+            results.add(calculateFor(e, run));
+        }
+        return results;
+    }
+
+    private PayrollResult calculateFor(Employee e, RunConstants run) {
+        PayrollResult result = null;
+        if (run.fit) {
+            try {
+                result = calculateFixed(e, run);
+            } catch (ArithmeticException overflow) {
+                // El monto no cabe en un long: se resuelve con BigDecimal
+                result = null;
+            }
+        }
+        return result != null ? result : fallback.calculateFor(e, run.context);
+    }
+
+    /**
+     * Cálculo en punto fijo. Devuelve null si el empleado debe resolverse
+     * con el cálculo de referencia.
+     *
+     * Solo se reconocen las cuatro clases exactas: una subclase puede
+     * redefinir calculateGross o calculateDeductions, así que va por el
+     * cálculo de referencia.
+     */
+    private PayrollResult calculateFixed(Employee e, RunConstants run) {
+        long gU;
+        int gS;
+        Class<?> type = e.getClass();
+
+        if (type == SalariedEmployee.class) {
+            BigDecimal salary = ((SalariedEmployee) e).getMonthlySalary();
+            long sU = FixedPoint.unscaled(salary);
+            int sS = salary.scale();
+            gU = sU;
+            gS = sS;
+            if (e.yearsOfService(run.context.getRunDate()) > run.tenureYears) {
+                gU = FixedPoint.add(gU, gS, FixedPoint.multiply(sU, run.tenurePercentU), sS + run.tenurePercentS);
+                gS = Math.max(gS, sS + run.tenurePercentS);
+            }
+            if (e.isPermanent()) {
+                gU = FixedPoint.add(gU, gS, run.foodU, run.foodS);
+                gS = Math.max(gS, run.foodS);
+            }
+        } else if (type == HourlyEmployee.class) {
+            HourlyEmployee h = (HourlyEmployee) e;
+            long hU = FixedPoint.unscaled(h.getHoursWorked());
+            int hS = h.getHoursWorked().scale();
+            long rU = FixedPoint.unscaled(h.getHourlyRate());
+            int rS = h.getHourlyRate().scale();
+            if (hU < 0) return null;
+
+            // Horas normales: hoursWorked.min(REGULAR_HOURS)
+            boolean underLimit = FixedPoint.compare(hU, hS, run.regularHoursU, run.regularHoursS) <= 0;
+            long bU = underLimit ? hU : run.regularHoursU;
+            int bS = underLimit ? hS : run.regularHoursS;
+
+            // Horas extra: hoursWorked.subtract(REGULAR_HOURS).max(ZERO)
+            int dS = Math.max(hS, run.regularHoursS);
+            long dU = FixedPoint.subtract(hU, hS, run.regularHoursU, run.regularHoursS);
+            long oU = dU >= 0 ? dU : 0;
+            int oS = dU >= 0 ? dS : 0;
+
+            long basePay = FixedPoint.multiply(bU, rU);
+            int basePayS = bS + rS;
+            long overtimePay = FixedPoint.multiply(FixedPoint.multiply(oU, rU), run.overtimeU);
+            int overtimePayS = oS + rS + run.overtimeS;
+            gU = FixedPoint.add(basePay, basePayS, overtimePay, overtimePayS);
+            gS = Math.max(basePayS, overtimePayS);
+        } else if (type == CommissionEmployee.class) {
+            CommissionEmployee c = (CommissionEmployee) e;
+            long salesU = FixedPoint.unscaled(c.getSalesAmount());
+            int salesS = c.getSalesAmount().scale();
+            if (salesU < 0) return null;
+            long baseU = FixedPoint.unscaled(c.getBaseSalary());
+            int baseS = c.getBaseSalary().scale();
+            long pctU = FixedPoint.unscaled(c.getCommissionPercent());
+            int pctS = c.getCommissionPercent().scale();
+
+            gU = FixedPoint.add(baseU, baseS, FixedPoint.multiply(salesU, pctU), salesS + pctS);
+            gS = Math.max(baseS, salesS + pctS);
+            if (FixedPoint.compare(salesU, salesS, run.bonusThresholdU, run.bonusThresholdS) > 0) {
+                gU = FixedPoint.add(gU, gS, FixedPoint.multiply(salesU, run.bonusPercentU), salesS + run.bonusPercentS);
+                gS = Math.max(gS, salesS + run.bonusPercentS);
+            }
+            if (e.isPermanent()) {
+                gU = FixedPoint.add(gU, gS, run.foodU, run.foodS);
+                gS = Math.max(gS, run.foodS);
+            }
+        } else if (type == TemporaryEmployee.class) {
+            BigDecimal salary = ((TemporaryEmployee) e).getMonthlySalary();
+            gU = FixedPoint.unscaled(salary);
+            gS = salary.scale();
+        } else {
+            return null;
+        }
+
+        // Deducciones: gross * deductionRate (+ gross * arlRate)
+        long dedU = FixedPoint.multiply(gU, run.deductionRateU);
+        int dedS = gS + run.deductionRateS;
+        if (run.hasArl) {
+            dedU = FixedPoint.add(dedU, dedS, FixedPoint.multiply(gU, run.arlRateU), gS + run.arlRateS);
+            dedS = Math.max(dedS, gS + run.arlRateS);
+        }
+
+        // Neto: gross - deducciones
+        long netU = FixedPoint.subtract(gU, gS, dedU, dedS);
+        int netS = Math.max(gS, dedS);
+        if (netU < 0) return null;
+
+        return new PayrollResult(e.getId(),
+                FixedPoint.toBigDecimal(gU, gS),
+                FixedPoint.toBigDecimal(dedU, dedS),
+                FixedPoint.toBigDecimal(netU, netS));
+    }
+}
@@ -0,0 +1,231 @@
+package com.clinica.salvador.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+
+import com.clinica.salvador.model.CommissionEmployee;
+import com.clinica.salvador.model.Employee;
+import com.clinica.salvador.model.EmployeeType;
+import com.clinica.salvador.model.HourlyEmployee;
+import com.clinica.salvador.model.SalariedEmployee;
+import com.clinica.salvador.model.TemporaryEmployee;
+import com.clinica.salvador.util.FixedPoint;
+import com.clinica.salvador.util.PayrollRunContext;
+import com.clinica.salvador.util.RateTable;
+
+/**
+ * Clase IncrementalPayrollCalculator
+ *
+ * Calcula la nómina de forma incremental: guarda de una corrida a la
+ * siguiente el resultado de cada empleado junto con una huella (fingerprint)
+ * de 64 bits de todo lo que interviene en su cálculo, y solo recalcula los
+ * empleados cuya huella cambió o que no estaban en la corrida anterior.
+ *
+ * La huella combina:
+ * - el tipo de empleado, si es permanente y sus montos (salario, tarifa,
+ *   horas, ventas, porcentaje), con valor y escala;
+ * - para asalariados, si en esta corrida supera los años de antigüedad del
+ *   bono, de modo que cruzar el umbral con el paso del tiempo invalida el
+ *   resultado guardado;
+ * - todas las tasas y reglas de la RateTable fijada en el PayrollRunContext
+ *   de la corrida (deducción, ARL, auxilio, horas extra, bonos).
+ *
+ * La huella solo descarta rápido: cuando coincide, además se comparan los
+ * datos guardados con los actuales (montos con equals, que incluye la
+ * escala) y las tasas con las de la corrida anterior, de modo que una
+ * colisión de huellas nunca devuelve el resultado de otros datos. Solo se
+ * reutilizan las cuatro clases exactas (EmployeeType.exactOf): una
+ * subclase puede calcular con datos que la huella no ve y se recalcula
+ * siempre.
+ *
+ * Los empleados que dejan de aparecer se descartan del caché. La clase no
+ * es segura para uso concurrente: cada corrida reemplaza el caché.
+ */
+public class IncrementalPayrollCalculator {
+
+    /** Entrada del caché: huella, datos del empleado y resultado calculado con ellos */
+    private static final class Entry {
+        final long fingerprint;
+        final Employee employee;
+        final boolean tenured;
+        final PayrollResult result;
+
+        Entry(long fingerprint, Employee employee, boolean tenured, PayrollResult result) {
+            this.fingerprint = fingerprint;
+            this.employee = employee;
+            this.tenured = tenured;
+            this.result = result;
+        }
+    }
+
+    /** Resultados de la corrida anterior, por id de empleado */
+    private Map<String, Entry> previous = new HashMap<>();
+    /** Reglas y ARL de la corrida anterior */
+    private Properties previousRules;
+    private BigDecimal previousArl;
+
+    /**
+     * Ejecuta una corrida incremental.
+     *
+     * @param employees Lista de empleados a procesar
+     * @param deductionRate Porcentaje de deducciones generales
+     * @param arlRate Porcentaje de deducciones por ARL (puede ser null)
+     * @return Resultados en el orden de entrada y conteo de aciertos y fallos
+     */
+    public IncrementalRun run(List<Employee> employees, BigDecimal deductionRate, BigDecimal arlRate) {
+        return run(employees, PayrollRunContext.of(LocalDate.now(), deductionRate, arlRate));
+    }
+
+    /**
+     * Ejecuta una corrida incremental con el contexto indicado; la fecha del
+     * contexto define la antigüedad de todos los empleados de la corrida.
+     *
+     * @param employees Lista de empleados a procesar
+     * @param context Contexto de la corrida
+     * @return Resultados en el orden de entrada y conteo de aciertos y fallos
+     */
+    public IncrementalRun run(List<Employee> employees, PayrollRunContext context) {
+        PayrollService calculator = new PayrollService(List.of(), context);
+        BigDecimal arl = context.isArlApplied() ? context.getArlRate() : null;
+        long runFingerprint = mix(rulesFingerprint(context.getRates()), arl);
+        int tenureYears = context.getRates().getTenureBonusYears();
+        LocalDate runDate = context.getRunDate();
+        Properties rules = context.getRates().toProperties();
+        // La versión no afecta los montos y la ARL que aplica es la del contexto
+        rules.remove("version");
+        rules.remove("arl.rate");
+        Map<String, Entry> reusable = rules.equals(previousRules) && Objects.equals(arl, previousArl)
+                ? previous : Map.of();
+
+        Map<String, Entry> current = new HashMap<>(Math.max(16, employees.size() * 4 / 3 + 1));
+        List<PayrollResult> results = new ArrayList<>(employees.size());
+        int hits = 0;
+        int misses = 0;
+
+        for (Employee e : employees) {
+            EmployeeType type = EmployeeType.exactOf(e);
+            if (type == null) {
+                // Subtipo desconocido o subclase: no se sabe qué usa su cálculo, nunca se reutiliza
+                results.add(calculator.calculateFor(e, context));
+                misses++;
+                continue;
+            }
+            boolean tenured = type == EmployeeType.SALARIED && e.yearsOfService(runDate) > tenureYears;
+            long fingerprint = fingerprint(e, type, tenured, runFingerprint);
+            Entry entry = reusable.get(e.getId());
+            if (entry != null && entry.fingerprint == fingerprint && entry.tenured == tenured
+                    && sameInputs(type, entry.employee, e)) {
+                hits++;
+            } else {
+                entry = new Entry(fingerprint, e, tenured, calculator.calculateFor(e, context));
+                misses++;
+            }
+            current.put(e.getId(), entry);
+            results.add(entry.result);
+        }
+
+        previous = current;
+        previousRules = rules;
+        previousArl = arl;
+        return new IncrementalRun(results, hits, misses);
+    }
+
+    /** @return Número de empleados guardados en el caché */
+    public int cachedCount(){ return previous.size(); }
+
+    /** Descarta todos los resultados guardados */
+    public void clear(){
+        previous = new HashMap<>();
+        previousRules = null;
+        previousArl = null;
+    }
+
+    /**
+     * Huella de los datos de un empleado (de uno de los cuatro subtipos)
+     * que afectan su nómina.
+     */
+    private static long fingerprint(Employee e, EmployeeType type, boolean tenured, long seed) {
+        long h = mix(seed, type.ordinal());
+        h = mix(h, e.isPermanent() ? 1 : 0);
+        switch (type) {
+            case SALARIED:
+                SalariedEmployee s = (SalariedEmployee) e;
+                h = mix(h, s.getMonthlySalary());
+                return mix(h, tenured ? 1 : 0);
+            case HOURLY:
+                HourlyEmployee hr = (HourlyEmployee) e;
+                return mix(mix(h, hr.getHourlyRate()), hr.getHoursWorked());
+            case COMMISSION:
+                CommissionEmployee c = (CommissionEmployee) e;
+                return mix(mix(mix(h, c.getBaseSalary()), c.getSalesAmount()), c.getCommissionPercent());
+            default:
+                return mix(h, ((TemporaryEmployee) e).getMonthlySalary());
+        }
+    }
+
+    /**
+     * Compara los datos que intervienen en el cálculo de dos empleados de
+     * la misma clase exacta (la antigüedad se compara aparte).
+     */
+    private static boolean sameInputs(EmployeeType type, Employee before, Employee now) {
+        if (before.getClass() != now.getClass() || before.isPermanent() != now.isPermanent()) return false;
+        switch (type) {
+            case SALARIED:
+                return Objects.equals(((SalariedEmployee) before).getMonthlySalary(),
+                        ((SalariedEmployee) now).getMonthlySalary());
+            case HOURLY:
+                HourlyEmployee hb = (HourlyEmployee) before;
+                HourlyEmployee hn = (HourlyEmployee) now;
+                return Objects.equals(hb.getHourlyRate(), hn.getHourlyRate())
+                        && Objects.equals(hb.getHoursWorked(), hn.getHoursWorked());
+            case COMMISSION:
+                CommissionEmployee cb = (CommissionEmployee) before;
+                CommissionEmployee cn = (CommissionEmployee) now;
+                return Objects.equals(cb.getBaseSalary(), cn.getBaseSalary())
+                        && Objects.equals(cb.getSalesAmount(), cn.getSalesAmount())
+                        && Objects.equals(cb.getCommissionPercent(), cn.getCommissionPercent());
+            default:
+                return Objects.equals(((TemporaryEmployee) before).getMonthlySalary(),
+                        ((TemporaryEmployee) now).getMonthlySalary());
+        }
+    }
+
+    /** Huella de las tasas y reglas de la tabla (la ARL se agrega aparte) */
+    private static long rulesFingerprint(RateTable rates) {
+        long h = 0x5EED_CAFE_F00DL;
+        h = mix(h, rates.getDeductionRate());
+        h = mix(h, rates.getFoodAllowance());
+        h = mix(h, rates.getRegularHours());
+        h = mix(h, rates.getOvertimeMultiplier());
+        h = mix(h, rates.getTenureBonusYears());
+        h = mix(h, rates.getTenureBonusPercent());
+        h = mix(h, rates.getCommissionBonusThreshold());
+        return mix(h, rates.getCommissionBonusPercent());
+    }
+
+    /** Combina un monto (valor y escala) en la huella; null es un valor distinto de cero */
+    private static long mix(long h, BigDecimal value) {
+        if (value == null) return mix(h, 0x6E756C6CL);
+        long unscaled;
+        try {
+            unscaled = FixedPoint.unscaled(value);
+        } catch (ArithmeticException tooLarge) {
+            unscaled = value.unscaledValue().hashCode() * 0x9E3779B97F4A7C15L;
+        }
+        return mix(mix(h, unscaled), value.scale());
+    }
+
+    /** Paso de mezcla: finalizador de SplitMix64 aplicado al acumulado */
+    private static long mix(long h, long value) {
+        long z = h ^ value;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
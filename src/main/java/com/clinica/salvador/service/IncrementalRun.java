@@ -0,0 +1,37 @@
+package com.clinica.salvador.service;
+
+import java.util.List;
+
+/**
+ * Clase IncrementalRun
+ *
+ * Resultado de una corrida incremental: los resultados de todos los
+ * empleados, en el orden de entrada, y cuántos se reutilizaron de la
+ * corrida anterior (aciertos) o se calcularon de nuevo (fallos).
+ */
+public class IncrementalRun {
+
+    private final List<PayrollResult> results;
+    private final int hits;
+    private final int misses;
+
+    IncrementalRun(List<PayrollResult> results, int hits, int misses) {
+        this.results = results;
+        this.hits = hits;
+        this.misses = misses;
+    }
+
+    /** @return Resultados en el orden de la lista de empleados */
+    public List<PayrollResult> getResults(){ return results; }
+
+    /** @return Empleados cuyo resultado se reutilizó */
+    public int getHits(){ return hits; }
+
+    /** @return Empleados nuevos o con cambios, que se calcularon de nuevo */
+    public int getMisses(){ return misses; }
+
+    @Override
+    public String toString(){
+        return "IncrementalRun[employees=" + results.size() + ", hits=" + hits + ", misses=" + misses + "]";
+    }
+}
@@ -0,0 +1,96 @@
+package com.clinica.salvador.service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.clinica.salvador.model.Employee;
+import com.clinica.salvador.model.EmployeeType;
+import com.clinica.salvador.util.PayrollRunContext;
+import com.clinica.salvador.util.RateTable;
+
+/**
+ * Clase MultiPeriodPayrollCalculator
+ *
+ * Calcula la nómina de varios períodos (retroactivos o proyectados) en un
+ * solo recorrido de la lista de empleados. Cada período se calcula como
+ * una corrida con su propia fecha (PayrollRunContext) y la misma tabla de
+ * tasas, así que cada celda es igual al resultado de PayrollService con el
+ * contexto de ese período.
+ *
+ * Solo el bono de antigüedad de los asalariados depende de la fecha; el
+ * resto del cálculo es igual en todos los períodos y se hace una vez:
+ * - por horas, comisión y temporales: un cálculo por empleado;
+ * - asalariados: la antigüedad se evalúa en cada período, y se calcula a
+ *   lo sumo un resultado sin bono y uno con bono;
+ * - subtipos no reconocidos, incluidas las subclases de los cuatro (pueden
+ *   redefinir el cálculo y depender de la fecha): un cálculo por período,
+ *   sin reutilizar nada.
+ *
+ * Los resultados quedan en un PayrollMatrix. Igual que processAll, un
+ * empleado inválido lanza la excepción de su cálculo.
+ */
+public class MultiPeriodPayrollCalculator {
+
+    private final RateTable rates;
+
+    /**
+     * Constructor de MultiPeriodPayrollCalculator.
+     *
+     * @param rates Tabla de tasas de todos los períodos
+     */
+    public MultiPeriodPayrollCalculator(RateTable rates) {
+        if (rates == null) throw new IllegalArgumentException("La tabla de tasas no puede ser nula");
+        this.rates = rates;
+    }
+
+    /**
+     * Calcula la matriz empleados × períodos.
+     *
+     * @param employees Lista de empleados
+     * @param periods Fechas de los períodos (al menos una)
+     * @return Resultados por empleado y período
+     */
+    public PayrollMatrix calculate(List<Employee> employees, List<LocalDate> periods) {
+        if (periods.isEmpty()) throw new IllegalArgumentException("Debe indicarse al menos un período");
+        List<LocalDate> dates = List.copyOf(periods);
+        int n = employees.size();
+        int p = dates.size();
+
+        PayrollRunContext[] contexts = new PayrollRunContext[p];
+        for (int k = 0; k < p; k++) {
+            contexts[k] = PayrollRunContext.of(dates.get(k), rates);
+        }
+        PayrollService calculator = new PayrollService(List.of(), contexts[0]);
+        int tenureYears = rates.getTenureBonusYears();
+
+        Employee[] roster = employees.toArray(new Employee[0]);
+        PayrollResult[] base = new PayrollResult[n];
+        PayrollResult[] tenure = new PayrollResult[n];
+        long[][] tenureBits = new long[p][(n + 63) >>> 6];
+        PayrollResult[][] perPeriod = new PayrollResult[n][];
+
+        for (int i = 0; i < n; i++) {
+            Employee e = roster[i];
+            EmployeeType type = EmployeeType.exactOf(e);
+            if (type == EmployeeType.SALARIED) {
+                for (int k = 0; k < p; k++) {
+                    if (e.yearsOfService(dates.get(k)) > tenureYears) {
+                        if (tenure[i] == null) tenure[i] = calculator.calculateFor(e, contexts[k]);
+                        tenureBits[k][i >>> 6] |= 1L << i;
+                    } else if (base[i] == null) {
+                        base[i] = calculator.calculateFor(e, contexts[k]);
+                    }
+                }
+            } else if (type != null) {
+                base[i] = calculator.calculateFor(e, contexts[0]);
+            } else {
+                PayrollResult[] own = new PayrollResult[p];
+                for (int k = 0; k < p; k++) {
+                    own[k] = calculator.calculateFor(e, contexts[k]);
+                }
+                perPeriod[i] = own;
+            }
+        }
+        return new PayrollMatrix(roster, dates, base, tenure, tenureBits, perPeriod);
+    }
+}
@@ -0,0 +1,39 @@
+package com.clinica.salvador.service;
+
+import java.math.BigDecimal;
+
+import com.clinica.salvador.model.PayLineItem;
+
+/**
+ * Clase PayLine
+ *
+ * Un concepto del desprendible de un empleado, tal como quedó en un
+ * PayrollTrace. Es inmutable.
+ */
+public final class PayLine {
+
+    private final PayLineItem item;
+    private final BigDecimal quantity;
+    private final BigDecimal amount;
+
+    PayLine(PayLineItem item, BigDecimal quantity, BigDecimal amount) {
+        this.item = item;
+        this.quantity = quantity;
+        this.amount = amount;
+    }
+
+    /** @return Concepto */
+    public PayLineItem getItem(){ return item; }
+
+    /** @return Cantidad asociada (horas, ventas o tasa de la deducción), o null si no aplica */
+    public BigDecimal getQuantity(){ return quantity; }
+
+    /** @return Monto del concepto */
+    public BigDecimal getAmount(){ return amount; }
+
+    @Override
+    public String toString(){
+        return item.getDescription() + (quantity == null ? "" : " (" + quantity.toPlainString() + ")")
+                + ": " + (item.isDeduction() ? "-" : "") + amount.toPlainString();
+    }
+}
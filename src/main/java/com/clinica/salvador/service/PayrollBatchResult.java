@@ -0,0 +1,88 @@
+package com.clinica.salvador.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.clinica.salvador.util.FixedPoint;
+
+/**
+ * Clase PayrollBatchResult
+ *
+ * Resultado columnar del cálculo de un EmployeeBatch: bruto, deducciones
+ * y neto de cada fila en arreglos de long con escala común. Los BigDecimal
+ * y los PayrollResult solo se crean cuando se piden.
+ *
+ * Las filas que se calcularon con BigDecimal (respaldo) guardan
+ * directamente su PayrollResult.
+ */
+public final class PayrollBatchResult {
+
+    private final String[] ids;
+    private final long[] gross;
+    private final long[] deductions;
+    private final long[] net;
+    private final int grossScale;
+    private final int amountScale;
+    /** PayrollResult de las filas calculadas con respaldo; null en las demás */
+    private final PayrollResult[] fallback;
+
+    PayrollBatchResult(String[] ids, long[] gross, long[] deductions, long[] net,
+                       int grossScale, int amountScale, PayrollResult[] fallback) {
+        this.ids = ids;
+        this.gross = gross;
+        this.deductions = deductions;
+        this.net = net;
+        this.grossScale = grossScale;
+        this.amountScale = amountScale;
+        this.fallback = fallback;
+    }
+
+    /** @return Número de filas */
+    public int size(){ return ids.length; }
+
+    /** @return Identificador del empleado de la fila */
+    public String getEmployeeId(int row){ return ids[row]; }
+
+    /** @return Salario bruto de la fila */
+    public BigDecimal getGross(int row){
+        return fallback[row] != null ? fallback[row].getGross() : FixedPoint.toBigDecimal(gross[row], grossScale);
+    }
+
+    /** @return Total de deducciones de la fila */
+    public BigDecimal getDeductions(int row){
+        return fallback[row] != null ? fallback[row].getDeductions() : FixedPoint.toBigDecimal(deductions[row], amountScale);
+    }
+
+    /** @return Salario neto de la fila */
+    public BigDecimal getNet(int row){
+        return fallback[row] != null ? fallback[row].getNet() : FixedPoint.toBigDecimal(net[row], amountScale);
+    }
+
+    /**
+     * Materializa la fila como PayrollResult.
+     *
+     * @param row Índice de la fila
+     * @return PayrollResult con los montos de la fila
+     */
+    public PayrollResult toResult(int row){
+        if (fallback[row] != null) return fallback[row];
+        return new PayrollResult(ids[row], getGross(row), getDeductions(row), getNet(row));
+    }
+
+    /**
+     * Materializa todas las filas como PayrollResult, en el orden del lote.
+     *
+     * Los montos son numéricamente iguales (compareTo) a los de
+     * PayrollService, pero vienen en la escala común de la columna.
+     *
+     * @return Lista de PayrollResult
+     */
+    public List<PayrollResult> toResults(){
+        List<PayrollResult> results = new ArrayList<>(ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            results.add(toResult(i));
+        }
+        return results;
+    }
+}
@@ -0,0 +1,85 @@
+package com.clinica.salvador.service;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.clinica.salvador.model.PayrollRule;
+
+/**
+ * Clase PayrollError
+ *
+ * Empleado rechazado por el modo que acumula errores: su posición en la
+ * nómina, su id, la regla que incumplió y los valores que la incumplieron
+ * (ej. hoursWorked=-3, o gross, deductions y net para un neto negativo).
+ * Se construye sin excepciones ni trazas de pila.
+ */
+public final class PayrollError {
+
+    private final int position;
+    private final String employeeId;
+    private final PayrollRule rule;
+    private final Map<String, BigDecimal> values;
+    private final String detail;
+
+    private PayrollError(int position, String employeeId, PayrollRule rule, Map<String, BigDecimal> values, String detail) {
+        this.position = position;
+        this.employeeId = employeeId;
+        this.rule = rule;
+        this.values = values;
+        this.detail = detail;
+    }
+
+    static PayrollError of(int position, String employeeId, PayrollRule rule, String name, BigDecimal value) {
+        return new PayrollError(position, employeeId, rule, Collections.singletonMap(name, value), null);
+    }
+
+    static PayrollError of(int position, String employeeId, PayrollRule rule) {
+        return new PayrollError(position, employeeId, rule, Collections.emptyMap(), null);
+    }
+
+    static PayrollError negativeNet(int position, String employeeId, BigDecimal gross, BigDecimal deductions, BigDecimal net) {
+        Map<String, BigDecimal> values = new LinkedHashMap<>(4);
+        values.put("gross", gross);
+        values.put("deductions", deductions);
+        values.put("net", net);
+        return new PayrollError(position, employeeId, PayrollRule.NEGATIVE_NET, Collections.unmodifiableMap(values), null);
+    }
+
+    static PayrollError invalidInput(int position, String employeeId, String detail) {
+        return new PayrollError(position, employeeId, PayrollRule.INVALID_INPUT, Collections.emptyMap(), detail);
+    }
+
+    // --- Métodos de acceso (Getters) ---
+
+    /** @return Posición del empleado en la lista de entrada */
+    public int getPosition(){ return position; }
+    public String getEmployeeId(){ return employeeId; }
+    public PayrollRule getRule(){ return rule; }
+
+    /** @return Valores que incumplieron la regla, por nombre y en orden */
+    public Map<String, BigDecimal> getValues(){ return values; }
+
+    /** @return Descripción de la regla con los valores, o el mensaje del subtipo */
+    public String getMessage(){
+        StringBuilder sb = new StringBuilder(rule.getDescription());
+        if (detail != null) sb.append(": ").append(detail);
+        if (!values.isEmpty()) {
+            sb.append(" (");
+            boolean first = true;
+            for (Map.Entry<String, BigDecimal> v : values.entrySet()) {
+                if (!first) sb.append(", ");
+                sb.append(v.getKey()).append('=').append(v.getValue().toPlainString());
+                first = false;
+            }
+            sb.append(')');
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString(){
+        return "Empleado " + employeeId + " (posición " + position + "): " + getMessage();
+    }
+}
@@ -0,0 +1,120 @@
+package com.clinica.salvador.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.clinica.salvador.model.Employee;
+
+/**
+ * Clase PayrollMatrix
+ *
+ * Resultados de una nómina en varios períodos (empleados × períodos),
+ * calculados por MultiPeriodPayrollCalculator. No guarda un resultado por
+ * celda: cada empleado tiene a lo sumo dos resultados distintos (sin y con
+ * bono de antigüedad), y cada período guarda un bit por empleado que indica
+ * cuál de los dos le corresponde. Solo los subtipos no reconocidos, cuyo
+ * cálculo podría depender de la fecha de otra forma, tienen un resultado
+ * por período.
+ *
+ * Es inmutable; las vistas por período (period, summary) se construyen al
+ * pedirlas.
+ */
+public class PayrollMatrix {
+
+    private final Employee[] employees;
+    private final List<LocalDate> periods;
+    /** Resultado del empleado en los períodos sin bono de antigüedad */
+    private final PayrollResult[] base;
+    /** Resultado del empleado en los períodos con bono (null si nunca aplica) */
+    private final PayrollResult[] tenure;
+    /** Por período, un bit por empleado: 1 si le corresponde el resultado con bono */
+    private final long[][] tenureBits;
+    /** Resultados por período de los subtipos no reconocidos (null para los demás) */
+    private final PayrollResult[][] perPeriod;
+
+    PayrollMatrix(Employee[] employees, List<LocalDate> periods, PayrollResult[] base, PayrollResult[] tenure,
+                  long[][] tenureBits, PayrollResult[][] perPeriod) {
+        this.employees = employees;
+        this.periods = periods;
+        this.base = base;
+        this.tenure = tenure;
+        this.tenureBits = tenureBits;
+        this.perPeriod = perPeriod;
+    }
+
+    /** @return Número de empleados */
+    public int employeeCount(){ return employees.length; }
+
+    /** @return Número de períodos */
+    public int periodCount(){ return periods.size(); }
+
+    /** @return Fechas de los períodos, en el orden pedido */
+    public List<LocalDate> getPeriods(){ return periods; }
+
+    /**
+     * Resultado de un empleado en un período.
+     *
+     * @param employee Posición del empleado en la lista de entrada
+     * @param period Posición del período
+     * @return Resultado de esa celda
+     */
+    public PayrollResult get(int employee, int period){
+        PayrollResult[] own = perPeriod[employee];
+        if (own != null) return own[period];
+        long word = tenureBits[period][employee >>> 6];
+        return (word & (1L << employee)) != 0 ? tenure[employee] : base[employee];
+    }
+
+    /**
+     * Resultados de todos los empleados en un período.
+     *
+     * @param period Posición del período
+     * @return Resultados en el orden de la lista de empleados
+     */
+    public List<PayrollResult> period(int period){
+        List<PayrollResult> results = new ArrayList<>(employees.length);
+        for (int i = 0; i < employees.length; i++) {
+            results.add(get(i, period));
+        }
+        return results;
+    }
+
+    /**
+     * Totales de un período por tipo y permanencia.
+     *
+     * @param period Posición del período
+     * @return Resumen del período
+     */
+    public PayrollSummary summary(int period){
+        PayrollSummary summary = new PayrollSummary();
+        for (int i = 0; i < employees.length; i++) {
+            summary.accept(employees[i], get(i, period));
+        }
+        return summary;
+    }
+
+    /**
+     * Número de resultados distintos que guarda la matriz (no el número de
+     * celdas): mide cuánto cálculo se reutilizó entre períodos.
+     *
+     * @return Resultados calculados
+     */
+    public int distinctResults(){
+        int count = 0;
+        for (int i = 0; i < employees.length; i++) {
+            if (perPeriod[i] != null) {
+                count += perPeriod[i].length;
+            } else {
+                if (base[i] != null) count++;
+                if (tenure[i] != null) count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public String toString(){
+        return "PayrollMatrix[employees=" + employees.length + ", periods=" + periods.size() + "]";
+    }
+}
@@ -0,0 +1,360 @@
+package com.clinica.salvador.service;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import com.clinica.salvador.model.Employee;
+import com.clinica.salvador.model.EmployeeType;
+import com.clinica.salvador.model.PayrollRule;
+
+/**
+ * Clase PayrollMetrics
+ *
+ * Métricas de las corridas de nómina: empleados calculados, empleados por
+ * segundo, histogramas de latencia de calculateFor por subtipo y rechazos
+ * por validación (horas negativas, ventas negativas, neto negativo). Se
+ * publican por JMX con register (ver PayrollMetricsMBean).
+ *
+ * Todos los contadores son LongAdder, que reparten las actualizaciones
+ * entre celdas por hilo, así que las corridas en paralelo no compiten por
+ * un mismo contador. Los histogramas usan intervalos de potencias de 2
+ * (en nanosegundos), por lo que registrar una latencia es un incremento
+ * sin búsqueda ni bloqueo.
+ *
+ * Los conteos son exactos, pero la latencia se mide solo en una muestra de
+ * los cálculos (uno de cada latencySampleEvery, al azar): leer el reloj
+ * cuesta del mismo orden que calcular un empleado, y medirlos todos
+ * duplicaría el tiempo de la corrida.
+ *
+ * El registro deshabilitado (disabled) no acumula nada: PayrollService
+ * consulta isEnabled una vez y, si es false, no lee el reloj ni llama a
+ * ningún método de registro.
+ */
+public class PayrollMetrics implements PayrollMetricsMBean {
+
+    /** Motivos de rechazo de un cálculo */
+    public enum Failure {
+        NEGATIVE_HOURS,
+        NEGATIVE_SALES,
+        NEGATIVE_NET,
+        OTHER
+    }
+
+    /** Intervalos del histograma: el último acumula todo lo que dura 2^39 ns o más */
+    static final int BUCKETS = 40;
+
+    /** Posición de los subtipos no reconocidos por EmployeeType */
+    private static final int OTHER_TYPE = EmployeeType.values().length;
+
+    /** Muestreo de latencia por defecto: uno de cada 16 cálculos */
+    public static final int DEFAULT_LATENCY_SAMPLE_EVERY = 16;
+
+    private static final PayrollMetrics DISABLED = new PayrollMetrics(false, 1);
+
+    /** Duración y tamaño de una corrida completa */
+    private static final class RunSample {
+        final long employees;
+        final long nanos;
+
+        RunSample(long employees, long nanos) {
+            this.employees = employees;
+            this.nanos = nanos;
+        }
+    }
+
+    private final boolean enabled;
+    /** latencySampleEvery - 1; como es potencia de 2 sirve de máscara */
+    private final int sampleMask;
+    private final LongAdder[] processed = adders(OTHER_TYPE + 1);
+    private final LongAdder[] failures = adders(Failure.values().length);
+    private final LongAdder runsCompleted = new LongAdder();
+    private final LongAdder[][] latency = new LongAdder[OTHER_TYPE + 1][];
+
+    private volatile long sinceNanos = System.nanoTime();
+    private volatile RunSample lastRun = new RunSample(0, 0);
+    private volatile ObjectName registeredName;
+
+    /** Crea un registro de métricas habilitado con el muestreo por defecto */
+    public PayrollMetrics() {
+        this(true, DEFAULT_LATENCY_SAMPLE_EVERY);
+    }
+
+    /**
+     * Crea un registro de métricas habilitado.
+     *
+     * @param latencySampleEvery Se mide la latencia de uno de cada tantos
+     *        cálculos; potencia de 2 (1 para medirlos todos)
+     */
+    public PayrollMetrics(int latencySampleEvery) {
+        this(true, latencySampleEvery);
+    }
+
+    private PayrollMetrics(boolean enabled, int latencySampleEvery) {
+        if (latencySampleEvery <= 0 || Integer.bitCount(latencySampleEvery) != 1) {
+            throw new IllegalArgumentException("latencySampleEvery debe ser una potencia de 2");
+        }
+        this.enabled = enabled;
+        this.sampleMask = latencySampleEvery - 1;
+        for (int t = 0; t < latency.length; t++) {
+            latency[t] = adders(BUCKETS);
+        }
+    }
+
+    /**
+     * Registro compartido que no acumula nada.
+     *
+     * @return Registro deshabilitado
+     */
+    public static PayrollMetrics disabled() {
+        return DISABLED;
+    }
+
+    /** @return true si el registro acumula métricas */
+    public boolean isEnabled(){ return enabled; }
+
+    private static LongAdder[] adders(int n) {
+        LongAdder[] adders = new LongAdder[n];
+        for (int i = 0; i < n; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    // --- Registro (lo usan los servicios de nómina) ---
+
+    /** Indica si se debe medir la latencia del próximo cálculo */
+    boolean sampleLatency() {
+        return (ThreadLocalRandom.current().nextInt() & sampleMask) == 0;
+    }
+
+    /**
+     * Registra un cálculo exitoso.
+     *
+     * @param nanos Latencia medida, o -1 si este cálculo no se midió
+     */
+    void recordSuccess(Employee e, long nanos) {
+        int type = typeIndex(EmployeeType.of(e));
+        processed[type].increment();
+        if (nanos >= 0) latency[type][bucket(nanos)].increment();
+    }
+
+    /** Registra un cálculo rechazado */
+    void recordFailure(Failure failure) {
+        failures[failure.ordinal()].increment();
+    }
+
+    /** Registra una corrida completa */
+    void recordRun(long employees, long nanos) {
+        lastRun = new RunSample(employees, nanos);
+        runsCompleted.increment();
+    }
+
+    /**
+     * Motivo de rechazo cuando falla el cálculo del bruto: las únicas
+     * validaciones del bruto son las horas y las ventas negativas.
+     */
+    static Failure grossFailure(Employee e) {
+        EmployeeType type = EmployeeType.of(e);
+        if (type == EmployeeType.HOURLY) return Failure.NEGATIVE_HOURS;
+        if (type == EmployeeType.COMMISSION) return Failure.NEGATIVE_SALES;
+        return Failure.OTHER;
+    }
+
+    /** Motivo de rechazo de una regla del modo que acumula errores */
+    static Failure failureOf(PayrollRule rule) {
+        switch (rule) {
+            case NEGATIVE_HOURS: return Failure.NEGATIVE_HOURS;
+            case NEGATIVE_SALES: return Failure.NEGATIVE_SALES;
+            case NEGATIVE_NET: return Failure.NEGATIVE_NET;
+            default: return Failure.OTHER;
+        }
+    }
+
+    /** Intervalo del histograma: floor(log2(nanos)), acotado a [0, BUCKETS - 1] */
+    static int bucket(long nanos) {
+        if (nanos <= 1) return 0;
+        return Math.min(BUCKETS - 1, 63 - Long.numberOfLeadingZeros(nanos));
+    }
+
+    private static int typeIndex(EmployeeType type) {
+        return type == null ? OTHER_TYPE : type.ordinal();
+    }
+
+    private static int typeIndex(String name) {
+        if ("OTHER".equals(name)) return OTHER_TYPE;
+        try {
+            return EmployeeType.valueOf(name).ordinal();
+        } catch (IllegalArgumentException | NullPointerException ex) {
+            throw new IllegalArgumentException("Tipo de empleado desconocido: " + name);
+        }
+    }
+
+    // --- JMX ---
+
+    /**
+     * Publica el registro en el servidor MBean de la plataforma con el
+     * nombre com.clinica.salvador:type=PayrollMetrics,name=&lt;name&gt;.
+     *
+     * @param name Nombre que distingue este registro
+     * @return Nombre JMX con el que quedó publicado
+     * @throws IllegalStateException si no se pudo publicar
+     */
+    public ObjectName register(String name) {
+        try {
+            ObjectName objectName = new ObjectName("com.clinica.salvador:type=PayrollMetrics,name=" + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+            registeredName = objectName;
+            return objectName;
+        } catch (JMException ex) {
+            throw new IllegalStateException("No se pudo publicar PayrollMetrics por JMX", ex);
+        }
+    }
+
+    /** Retira el registro del servidor MBean, si estaba publicado */
+    public void unregister() {
+        ObjectName objectName = registeredName;
+        if (objectName == null) return;
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            if (server.isRegistered(objectName)) server.unregisterMBean(objectName);
+        } catch (JMException ex) {
+            throw new IllegalStateException("No se pudo retirar PayrollMetrics de JMX", ex);
+        }
+        registeredName = null;
+    }
+
+    // --- Lecturas (PayrollMetricsMBean) ---
+
+    @Override
+    public long getEmployeesProcessed(){
+        long total = 0;
+        for (LongAdder p : processed) total += p.sum();
+        return total;
+    }
+
+    /**
+     * @param type Tipo de empleado, o null para los subtipos no reconocidos
+     * @return Empleados de ese tipo calculados con éxito
+     */
+    public long getEmployeesProcessed(EmployeeType type){ return processed[typeIndex(type)].sum(); }
+
+    @Override
+    public int getLatencySampleEvery(){ return sampleMask + 1; }
+
+    @Override
+    public long getFailures(){
+        long total = 0;
+        for (LongAdder f : failures) total += f.sum();
+        return total;
+    }
+
+    /**
+     * @param failure Motivo de rechazo
+     * @return Cálculos rechazados por ese motivo
+     */
+    public long getFailures(Failure failure){ return failures[failure.ordinal()].sum(); }
+
+    @Override
+    public long getNegativeHoursFailures(){ return getFailures(Failure.NEGATIVE_HOURS); }
+
+    @Override
+    public long getNegativeSalesFailures(){ return getFailures(Failure.NEGATIVE_SALES); }
+
+    @Override
+    public long getNegativeNetFailures(){ return getFailures(Failure.NEGATIVE_NET); }
+
+    @Override
+    public long getRunsCompleted(){ return runsCompleted.sum(); }
+
+    @Override
+    public long getLastRunEmployees(){ return lastRun.employees; }
+
+    @Override
+    public double getLastRunMillis(){ return lastRun.nanos / 1_000_000.0; }
+
+    @Override
+    public double getLastRunEmployeesPerSecond(){
+        RunSample run = lastRun;
+        return run.nanos == 0 ? 0.0 : run.employees * 1_000_000_000.0 / run.nanos;
+    }
+
+    @Override
+    public double getEmployeesPerSecond(){
+        long elapsed = System.nanoTime() - sinceNanos;
+        return elapsed <= 0 ? 0.0 : getEmployeesProcessed() * 1_000_000_000.0 / elapsed;
+    }
+
+    @Override
+    public String[] getEmployeeTypes(){
+        EmployeeType[] types = EmployeeType.values();
+        String[] names = new String[types.length + 1];
+        for (int i = 0; i < types.length; i++) {
+            names[i] = types[i].name();
+        }
+        names[types.length] = "OTHER";
+        return names;
+    }
+
+    @Override
+    public long[] latencyHistogram(String employeeType){
+        return histogram(typeIndex(employeeType));
+    }
+
+    /**
+     * @param type Tipo de empleado, o null para los subtipos no reconocidos
+     * @return Histograma de latencias del tipo (ver latencyHistogram)
+     */
+    public long[] latencyHistogram(EmployeeType type){
+        return histogram(typeIndex(type));
+    }
+
+    @Override
+    public long latencyPercentileNanos(String employeeType, double percentile){
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("El percentil debe estar entre 0 y 100");
+        }
+        long[] counts = histogram(typeIndex(employeeType));
+        long total = 0;
+        for (long c : counts) total += c;
+        if (total == 0) return 0;
+
+        long rank = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            // El último intervalo acumula todo lo que lo supera: no tiene cota superior
+            if (seen >= rank) return i == BUCKETS - 1 ? Long.MAX_VALUE : (1L << (i + 1)) - 1;
+        }
+        return Long.MAX_VALUE;
+    }
+
+    private long[] histogram(int typeIndex){
+        LongAdder[] buckets = latency[typeIndex];
+        long[] counts = new long[buckets.length];
+        for (int i = 0; i < buckets.length; i++) {
+            counts[i] = buckets[i].sum();
+        }
+        return counts;
+    }
+
+    /**
+     * Pone todos los contadores en cero. Las actualizaciones concurrentes
+     * con el reinicio pueden quedar contadas o no.
+     */
+    @Override
+    public void reset(){
+        for (LongAdder p : processed) p.reset();
+        runsCompleted.reset();
+        for (LongAdder f : failures) f.reset();
+        for (LongAdder[] buckets : latency) {
+            for (LongAdder b : buckets) b.reset();
+        }
+        lastRun = new RunSample(0, 0);
+        sinceNanos = System.nanoTime();
+    }
+}
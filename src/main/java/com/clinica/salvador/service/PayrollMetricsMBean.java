@@ -0,0 +1,69 @@
+package com.clinica.salvador.service;
+
+/**
+ * Interfaz PayrollMetricsMBean
+ *
+ * Vista JMX de PayrollMetrics (MBean estándar). Los tipos de empleado se
+ * indican por su nombre en EmployeeType (ej. "HOURLY") u "OTHER" para los
+ * subtipos no reconocidos.
+ */
+public interface PayrollMetricsMBean {
+
+    /** @return Empleados calculados con éxito */
+    long getEmployeesProcessed();
+
+    /** @return Cálculos rechazados por una validación, de cualquier tipo */
+    long getFailures();
+
+    /** @return Rechazos por horas trabajadas negativas */
+    long getNegativeHoursFailures();
+
+    /** @return Rechazos por ventas negativas */
+    long getNegativeSalesFailures();
+
+    /** @return Rechazos por salario neto negativo */
+    long getNegativeNetFailures();
+
+    /** @return Corridas completas (processAll y variantes) terminadas */
+    long getRunsCompleted();
+
+    /** @return Empleados de la última corrida completa */
+    long getLastRunEmployees();
+
+    /** @return Duración de la última corrida completa en milisegundos */
+    double getLastRunMillis();
+
+    /** @return Empleados por segundo de la última corrida completa */
+    double getLastRunEmployeesPerSecond();
+
+    /** @return Empleados por segundo desde que se creó o reinició el registro */
+    double getEmployeesPerSecond();
+
+    /** @return Se mide la latencia de uno de cada tantos cálculos */
+    int getLatencySampleEvery();
+
+    /** @return Nombres de los tipos de empleado con histograma */
+    String[] getEmployeeTypes();
+
+    /**
+     * Estima un percentil de la latencia de calculateFor para un tipo.
+     *
+     * @param employeeType Nombre del tipo de empleado
+     * @param percentile Percentil entre 0 y 100
+     * @return Cota superior del intervalo del histograma que contiene el percentil, en nanosegundos
+     *         (Long.MAX_VALUE si es el último intervalo, que no tiene cota)
+     */
+    long latencyPercentileNanos(String employeeType, double percentile);
+
+    /**
+     * Histograma de latencias de un tipo: la posición i cuenta los cálculos
+     * medidos que tardaron entre 2^i y 2^(i+1) - 1 nanosegundos.
+     *
+     * @param employeeType Nombre del tipo de empleado
+     * @return Conteo por intervalo
+     */
+    long[] latencyHistogram(String employeeType);
+
+    /** Pone todos los contadores en cero */
+    void reset();
+}
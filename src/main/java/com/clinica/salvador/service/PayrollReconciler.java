@@ -0,0 +1,396 @@
+package com.clinica.salvador.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+import com.clinica.salvador.io.PayrollLedgerReader;
+import com.clinica.salvador.io.PayrollLedgerWriter;
+
+/**
+ * Clase PayrollReconciler
+ *
+ * Concilia dos corridas de nómina (la anterior y la actual) por id de
+ * empleado y entrega las diferencias: empleados nuevos, empleados que ya
+ * no están y empleados cuyo neto cambió más que un umbral. Las corridas
+ * pueden ser más grandes que la memoria:
+ *
+ * 1. cada corrida se lee en tramos de a lo sumo maxResultsInMemory
+ *    resultados, que se ordenan por id en memoria y se escriben a disco
+ *    como ledgers (PayrollLedgerWriter) en un directorio temporal;
+ * 2. los tramos se mezclan de a fanIn a la vez (los ledgers se leen
+ *    mapeados, fuera del heap), en varias pasadas si hay más tramos;
+ * 3. las dos secuencias ordenadas se recorren juntas (merge join) y cada
+ *    diferencia se entrega a un ReconciliationSink a medida que aparece.
+ *
+ * Si una corrida cabe en un solo tramo se ordena en memoria, sin tocar el
+ * disco; en el peor caso hay dos tramos en memoria, uno por corrida. Los
+ * tramos a disco tienen los límites del ledger: ids de hasta 31 bytes en
+ * UTF-8 y montos que caben en un long. Un id repetido dentro de una misma
+ * corrida lanza IllegalArgumentException.
+ *
+ * El directorio temporal se borra al terminar, también si falla.
+ */
+public class PayrollReconciler {
+
+    /** Resultados por tramo en memoria, por defecto */
+    public static final int DEFAULT_MAX_RESULTS_IN_MEMORY = 100_000;
+
+    /** Tramos que se mezclan a la vez, por defecto */
+    public static final int DEFAULT_FAN_IN = 64;
+
+    private static final Comparator<PayrollResult> BY_ID = Comparator.comparing(PayrollResult::getEmployeeId);
+
+    private final Path workDir;
+    private final int maxResultsInMemory;
+    private final int fanIn;
+    private final BigDecimal netThreshold;
+
+    /**
+     * Constructor de PayrollReconciler con tramos y mezcla por defecto.
+     *
+     * @param workDir Directorio donde se crean los archivos temporales
+     * @param netThreshold Cambio del neto (en valor absoluto) a partir del cual se informa un empleado
+     */
+    public PayrollReconciler(Path workDir, BigDecimal netThreshold) {
+        this(workDir, netThreshold, DEFAULT_MAX_RESULTS_IN_MEMORY, DEFAULT_FAN_IN);
+    }
+
+    /**
+     * Constructor de PayrollReconciler.
+     *
+     * @param workDir Directorio donde se crean los archivos temporales
+     * @param netThreshold Cambio del neto (en valor absoluto) a partir del cual se informa un
+     *        empleado; con cero se informa cualquier cambio
+     * @param maxResultsInMemory Resultados por tramo en memoria (mayor que 0)
+     * @param fanIn Tramos que se mezclan a la vez (al menos 2)
+     */
+    public PayrollReconciler(Path workDir, BigDecimal netThreshold, int maxResultsInMemory, int fanIn) {
+        if (workDir == null) throw new IllegalArgumentException("El directorio de trabajo no puede ser nulo");
+        if (netThreshold == null || netThreshold.signum() < 0) {
+            throw new IllegalArgumentException("El umbral debe ser un monto no negativo");
+        }
+        if (maxResultsInMemory < 1) throw new IllegalArgumentException("El tamaño del tramo debe ser positivo");
+        if (fanIn < 2) throw new IllegalArgumentException("Deben mezclarse al menos dos tramos a la vez");
+        this.workDir = workDir;
+        this.netThreshold = netThreshold;
+        this.maxResultsInMemory = maxResultsInMemory;
+        this.fanIn = fanIn;
+    }
+
+    /**
+     * Concilia dos ledgers de nómina (ver PayrollLedgerWriter).
+     *
+     * @param previousLedger Ledger de la corrida anterior
+     * @param currentLedger Ledger de la corrida actual
+     * @param sink Destino de las diferencias, en orden de id
+     * @return Conteos de la conciliación
+     * @throws IOException si falla la lectura o la escritura de los tramos
+     */
+    public ReconciliationReport reconcile(Path previousLedger, Path currentLedger, ReconciliationSink sink)
+            throws IOException {
+        try (PayrollLedgerReader previous = PayrollLedgerReader.open(previousLedger);
+             PayrollLedgerReader current = PayrollLedgerReader.open(currentLedger)) {
+            return reconcile(results(previous), results(current), sink);
+        }
+    }
+
+    /**
+     * Concilia dos secuencias de resultados en cualquier orden (ej. la
+     * salida de StreamingPayrollProcessor o una lista).
+     *
+     * @param previous Resultados de la corrida anterior
+     * @param current Resultados de la corrida actual
+     * @param sink Destino de las diferencias, en orden de id
+     * @return Conteos de la conciliación
+     * @throws IOException si falla la escritura de los tramos o el destino
+     * @throws IllegalArgumentException si una corrida repite un id
+     */
+    public ReconciliationReport reconcile(Iterator<PayrollResult> previous, Iterator<PayrollResult> current,
+                                          ReconciliationSink sink) throws IOException {
+        Spill spill = new Spill(Files.createTempDirectory(workDir, "reconciliation"));
+        try {
+            long[] previousCount = new long[1];
+            long[] currentCount = new long[1];
+            try (Cursor before = sort(previous, spill, previousCount);
+                 Cursor after = sort(current, spill, currentCount)) {
+                return join(before, after, sink, previousCount[0], currentCount[0], spill.runs);
+            }
+        } finally {
+            spill.delete();
+        }
+    }
+
+    /** Recorre las dos secuencias ordenadas y entrega las diferencias */
+    private ReconciliationReport join(Cursor before, Cursor after, ReconciliationSink sink,
+                                      long previousCount, long currentCount, int spilledRuns) throws IOException {
+        long added = 0, removed = 0, changed = 0, within = 0;
+        PayrollResult a = before.head();
+        PayrollResult b = after.head();
+        while (a != null || b != null) {
+            int cmp = a == null ? 1 : b == null ? -1 : a.getEmployeeId().compareTo(b.getEmployeeId());
+            if (cmp < 0) {
+                removed++;
+                sink.accept(new ReconciliationEntry(ReconciliationEntry.Kind.REMOVED, a, null));
+                a = advance(before, a, "anterior");
+            } else if (cmp > 0) {
+                added++;
+                sink.accept(new ReconciliationEntry(ReconciliationEntry.Kind.ADDED, null, b));
+                b = advance(after, b, "actual");
+            } else {
+                if (b.getNet().subtract(a.getNet()).abs().compareTo(netThreshold) > 0) {
+                    changed++;
+                    sink.accept(new ReconciliationEntry(ReconciliationEntry.Kind.CHANGED, a, b));
+                } else {
+                    within++;
+                }
+                a = advance(before, a, "anterior");
+                b = advance(after, b, "actual");
+            }
+        }
+        return new ReconciliationReport(previousCount, currentCount, added, removed, changed, within, spilledRuns);
+    }
+
+    /** Avanza una secuencia ordenada; los ids repetidos quedan contiguos */
+    private static PayrollResult advance(Cursor cursor, PayrollResult last, String run) throws IOException {
+        cursor.advance();
+        PayrollResult next = cursor.head();
+        if (next != null && next.getEmployeeId().equals(last.getEmployeeId())) {
+            throw new IllegalArgumentException("Id repetido en la corrida " + run + ": " + last.getEmployeeId());
+        }
+        return next;
+    }
+
+    /** Ordena una corrida: en memoria si cabe en un tramo, si no en tramos a disco mezclados */
+    private Cursor sort(Iterator<PayrollResult> input, Spill spill, long[] count) throws IOException {
+        PayrollResult[] buffer = new PayrollResult[Math.min(maxResultsInMemory, 1 << 16)];
+        List<Path> runs = new ArrayList<>();
+        int n = 0;
+        while (input.hasNext()) {
+            if (n == buffer.length) {
+                if (n < maxResultsInMemory) {
+                    buffer = Arrays.copyOf(buffer, (int) Math.min(maxResultsInMemory, 2L * n));
+                } else {
+                    runs.add(spill.write(buffer, n));
+                    n = 0;
+                }
+            }
+            buffer[n++] = input.next();
+            count[0]++;
+        }
+        if (runs.isEmpty()) {
+            Arrays.sort(buffer, 0, n, BY_ID);
+            return new ArrayCursor(buffer, n);
+        }
+        if (n > 0) runs.add(spill.write(buffer, n));
+        buffer = null;
+
+        while (runs.size() > fanIn) {
+            List<Path> merged = new ArrayList<>();
+            for (int i = 0; i < runs.size(); i += fanIn) {
+                List<Path> group = runs.subList(i, Math.min(i + fanIn, runs.size()));
+                merged.add(group.size() == 1 ? group.get(0) : spill.merge(group));
+            }
+            runs = merged;
+        }
+        return MergeCursor.open(runs);
+    }
+
+    /** Resultados de un ledger en orden, materializados de a uno */
+    private static Iterator<PayrollResult> results(PayrollLedgerReader reader) {
+        return new Iterator<>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < reader.size();
+            }
+
+            @Override
+            public PayrollResult next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                return reader.toResult(next++);
+            }
+        };
+    }
+
+    /** Archivos temporales de una conciliación */
+    private static final class Spill {
+        private final Path dir;
+        private int files;
+        /** Tramos escritos desde memoria (sin contar las mezclas intermedias) */
+        private int runs;
+
+        Spill(Path dir) {
+            this.dir = dir;
+        }
+
+        /** Ordena un tramo en memoria y lo escribe como ledger */
+        Path write(PayrollResult[] buffer, int n) throws IOException {
+            Arrays.sort(buffer, 0, n, BY_ID);
+            Path file = next();
+            try (PayrollLedgerWriter writer = new PayrollLedgerWriter(file)) {
+                for (int i = 0; i < n; i++) {
+                    writer.accept(buffer[i]);
+                }
+            }
+            runs++;
+            return file;
+        }
+
+        /** Mezcla varios tramos en uno y borra los originales */
+        Path merge(List<Path> group) throws IOException {
+            Path file = next();
+            try (MergeCursor cursor = MergeCursor.open(group);
+                 PayrollLedgerWriter writer = new PayrollLedgerWriter(file)) {
+                for (PayrollResult r = cursor.head(); r != null; r = cursor.head()) {
+                    writer.accept(r);
+                    cursor.advance();
+                }
+            }
+            for (Path run : group) {
+                Files.delete(run);
+            }
+            return file;
+        }
+
+        private Path next() {
+            return dir.resolve("run-" + (files++) + ".ledger");
+        }
+
+        void delete() throws IOException {
+            try (var entries = Files.list(dir)) {
+                for (Path file : (Iterable<Path>) entries::iterator) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(dir);
+        }
+    }
+
+    /** Secuencia ordenada por id */
+    private interface Cursor extends Closeable {
+        /** @return Resultado actual, o null al final */
+        PayrollResult head();
+
+        void advance() throws IOException;
+    }
+
+    /** Tramo ordenado en memoria */
+    private static final class ArrayCursor implements Cursor {
+        private final PayrollResult[] results;
+        private final int size;
+        private int position;
+
+        ArrayCursor(PayrollResult[] results, int size) {
+            this.results = results;
+            this.size = size;
+        }
+
+        @Override
+        public PayrollResult head() {
+            return position < size ? results[position] : null;
+        }
+
+        @Override
+        public void advance() {
+            results[position++] = null;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /** Tramo ordenado en un ledger */
+    private static final class LedgerCursor implements Cursor {
+        private final PayrollLedgerReader reader;
+        private int position;
+        private PayrollResult head;
+
+        LedgerCursor(PayrollLedgerReader reader) {
+            this.reader = reader;
+            this.head = reader.size() > 0 ? reader.toResult(0) : null;
+        }
+
+        @Override
+        public PayrollResult head() {
+            return head;
+        }
+
+        @Override
+        public void advance() {
+            position++;
+            head = position < reader.size() ? reader.toResult(position) : null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    /** Mezcla de varios tramos ordenados por el id de su resultado actual */
+    private static final class MergeCursor implements Cursor {
+        private final List<LedgerCursor> sources;
+        private final PriorityQueue<Cursor> queue;
+
+        private MergeCursor(List<LedgerCursor> sources) {
+            this.sources = sources;
+            this.queue = new PriorityQueue<>(Math.max(1, sources.size()), (x, y) -> BY_ID.compare(x.head(), y.head()));
+            for (LedgerCursor source : sources) {
+                if (source.head() != null) queue.add(source);
+            }
+        }
+
+        static MergeCursor open(List<Path> runs) throws IOException {
+            List<LedgerCursor> sources = new ArrayList<>(runs.size());
+            try {
+                for (Path run : runs) {
+                    sources.add(new LedgerCursor(PayrollLedgerReader.open(run)));
+                }
+            } catch (IOException | RuntimeException ex) {
+                for (LedgerCursor source : sources) {
+                    source.close();
+                }
+                throw ex;
+            }
+            return new MergeCursor(sources);
+        }
+
+        @Override
+        public PayrollResult head() {
+            Cursor top = queue.peek();
+            return top == null ? null : top.head();
+        }
+
+        @Override
+        public void advance() throws IOException {
+            Cursor top = queue.poll();
+            top.advance();
+            if (top.head() != null) queue.add(top);
+        }
+
+        @Override
+        public void close() throws IOException {
+            IOException failure = null;
+            for (LedgerCursor source : sources) {
+                try {
+                    source.close();
+                } catch (IOException ex) {
+                    if (failure == null) failure = ex; else failure.addSuppressed(ex);
+                }
+            }
+            if (failure != null) throw failure;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.clinica.salvador.service;
+
+import java.io.IOException;
+
+/**
+ * Interfaz PayrollResultSink
+ *
+ * Destino de resultados de nómina que se entregan de uno en uno, a medida
+ * que se calculan, sin acumular la lista completa en memoria.
+ */
+@FunctionalInterface
+public interface PayrollResultSink {
+
+    /**
+     * Recibe el resultado de un empleado.
+     *
+     * @param result Resultado de nómina
+     * @throws IOException si el destino no puede escribirlo
+     */
+    void accept(PayrollResult result) throws IOException;
+}
@@ -0,0 +1,32 @@
+package com.clinica.salvador.service;
+
+import java.util.List;
+
+/**
+ * Clase PayrollRun
+ *
+ * Resultado de una corrida de nómina con resumen: los resultados de todos
+ * los empleados, en el orden de entrada, y los totales acumulados durante
+ * el mismo recorrido del cálculo.
+ */
+public class PayrollRun {
+
+    private final List<PayrollResult> results;
+    private final PayrollSummary summary;
+
+    PayrollRun(List<PayrollResult> results, PayrollSummary summary) {
+        this.results = results;
+        this.summary = summary;
+    }
+
+    /** @return Resultados en el orden de la lista de empleados */
+    public List<PayrollResult> getResults(){ return results; }
+
+    /** @return Totales de la corrida */
+    public PayrollSummary getSummary(){ return summary; }
+
+    @Override
+    public String toString(){
+        return "PayrollRun[employees=" + results.size() + ", " + summary + "]";
+    }
+}
@@ -1,8 +1,25 @@
 package com.clinica.salvador.service;
 
+import com.clinica.salvador.model.CommissionEmployee;
 import com.clinica.salvador.model.Employee;
+import com.clinica.salvador.model.EmployeeIndex;
+import com.clinica.salvador.model.HourlyEmployee;
+import com.clinica.salvador.model.PayLineItem;
+import com.clinica.salvador.model.PayrollRule;
+import com.clinica.salvador.model.RuleBasedEmployee;
+import com.clinica.salvador.util.PayrollRunContext;
+import com.clinica.salvador.util.RateTableSource;
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
 /**
@@ -19,9 +36,19 @@ import java.util.stream.Collectors;
  *   sin modificar esta clase, ya que depende de la abstracción Employee.
  * - DIP (Dependency Inversion Principle): depende de la abstracción (Employee),
  *   no de implementaciones concretas.
+ *
+ * Cada corrida (processAll, processAllParallel) resuelve un único
+ * PayrollRunContext al inicio: todos los empleados se calculan con la misma
+ * fecha y las mismas tasas aunque la corrida cruce la medianoche.
+ *
+ * Opcionalmente acumula métricas en un PayrollMetrics (ver constructor);
+ * sin él, el cálculo no lee el reloj.
  */
 public class PayrollService {
 
+    /** Tamaño de bloque por defecto en el procesamiento paralelo */
+    public static final int DEFAULT_CHUNK_SIZE = 1024;
+
     /** Lista de empleados que se procesarán en la nómina */
     private final List<Employee> employees;
 
@@ -31,8 +58,21 @@ public class PayrollService {
     /** Porcentaje de deducción adicional (ej. ARL) */
     private final BigDecimal arlRate;
 
+    /** Contexto fijo de las corridas; null para usar la fecha de cada corrida */
+    private final PayrollRunContext context;
+
+    /** Tablas de tasas recargables; null si las tasas son las del constructor */
+    private final RateTableSource rateSource;
+
+    /** Métricas de los cálculos y las corridas (deshabilitadas por defecto) */
+    private final PayrollMetrics metrics;
+
+    /** Índice por id de la nómina; se construye en la primera búsqueda */
+    private volatile EmployeeIndex index;
+
     /**
-     * Constructor de PayrollService.
+     * Constructor de PayrollService. Cada corrida toma la fecha del día en
+     * que se ejecuta.
      *
      * @param employees Lista de empleados a procesar
      * @param deductionRate Porcentaje de deducciones generales
@@ -42,6 +82,71 @@ public class PayrollService {
         this.employees = employees;
         this.deductionRate = deductionRate;
         this.arlRate = arlRate;
+        this.context = null;
+        this.rateSource = null;
+        this.metrics = PayrollMetrics.disabled();
+    }
+
+    /**
+     * Constructor de PayrollService con un contexto fijo: todas las corridas
+     * usan su fecha y sus tasas.
+     *
+     * @param employees Lista de empleados a procesar
+     * @param context Contexto de la corrida
+     */
+    public PayrollService(List<Employee> employees, PayrollRunContext context) {
+        this(employees, context, PayrollMetrics.disabled());
+    }
+
+    /**
+     * Constructor de PayrollService con un contexto fijo y un registro de
+     * métricas donde se acumulan latencias, rechazos y corridas.
+     *
+     * @param employees Lista de empleados a procesar
+     * @param context Contexto de la corrida
+     * @param metrics Registro de métricas (PayrollMetrics.disabled() para no medir)
+     */
+    public PayrollService(List<Employee> employees, PayrollRunContext context, PayrollMetrics metrics) {
+        if (context == null) throw new IllegalArgumentException("El contexto de la corrida no puede ser nulo");
+        if (metrics == null) throw new IllegalArgumentException("El registro de métricas no puede ser nulo");
+        this.employees = employees;
+        this.deductionRate = context.getDeductionRate();
+        this.arlRate = context.getArlRate();
+        this.context = context;
+        this.rateSource = null;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Constructor de PayrollService con tablas de tasas recargables: cada
+     * corrida fija la versión vigente al empezar y la usa hasta el final.
+     *
+     * @param employees Lista de empleados a procesar
+     * @param rateSource Fuente de la tabla de tasas
+     * @param metrics Registro de métricas (PayrollMetrics.disabled() para no medir)
+     */
+    public PayrollService(List<Employee> employees, RateTableSource rateSource, PayrollMetrics metrics) {
+        if (rateSource == null) throw new IllegalArgumentException("La fuente de tasas no puede ser nula");
+        if (metrics == null) throw new IllegalArgumentException("El registro de métricas no puede ser nulo");
+        this.employees = employees;
+        this.deductionRate = null;
+        this.arlRate = null;
+        this.context = null;
+        this.rateSource = rateSource;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Devuelve el contexto con el que se ejecuta una corrida: el contexto
+     * fijo si se indicó uno; si no, uno nuevo con la fecha de hoy y la tabla
+     * de tasas vigente o las tasas del constructor.
+     *
+     * @return Contexto de la corrida
+     */
+    public PayrollRunContext runContext(){
+        if (context != null) return context;
+        if (rateSource != null) return rateSource.newRunContext();
+        return PayrollRunContext.of(LocalDate.now(), deductionRate, arlRate);
     }
 
     /**
@@ -51,11 +156,104 @@ public class PayrollService {
      * @return PayrollResult con bruto, deducciones y neto
      */
     public PayrollResult calculateFor(Employee e){
+        return calculateFor(e, runContext());
+    }
+
+    /**
+     * Calcula el resultado de nómina de un empleado con el contexto de una
+     * corrida ya resuelto, sin leer el reloj ni la configuración.
+     *
+     * @param e Empleado a calcular
+     * @param context Contexto de la corrida
+     * @return PayrollResult con bruto, deducciones y neto
+     */
+    public PayrollResult calculateFor(Employee e, PayrollRunContext context){
+        if (!metrics.isEnabled()) return calculate(e, context);
+        return calculateMeasured(e, context);
+    }
+
+    /**
+     * Índice por id de la nómina del servicio. Se construye la primera vez
+     * que se pide y refleja la lista de empleados en ese momento; después se
+     * consulta sin bloqueo desde cualquier hilo, también durante una corrida.
+     *
+     * @return Índice por id
+     * @throws IllegalArgumentException si la nómina tiene ids repetidos
+     */
+    public EmployeeIndex index(){
+        EmployeeIndex built = index;
+        if (built == null) {
+            synchronized (this) {
+                built = index;
+                if (built == null) {
+                    built = EmployeeIndex.of(employees);
+                    index = built;
+                }
+            }
+        }
+        return built;
+    }
+
+    /**
+     * Calcula el resultado de nómina de un empleado de la nómina por su id.
+     *
+     * @param id Identificador del empleado
+     * @return PayrollResult con bruto, deducciones y neto
+     * @throws IllegalArgumentException si no hay un empleado con ese id
+     */
+    public PayrollResult calculateFor(String id){
+        return calculateFor(id, runContext());
+    }
+
+    /**
+     * Calcula el resultado de nómina de un empleado por su id con el
+     * contexto de una corrida ya resuelto.
+     *
+     * @param id Identificador del empleado
+     * @param context Contexto de la corrida
+     * @return PayrollResult con bruto, deducciones y neto
+     * @throws IllegalArgumentException si no hay un empleado con ese id
+     */
+    public PayrollResult calculateFor(String id, PayrollRunContext context){
+        return calculateFor(employeeById(index(), id), context);
+    }
+
+    /**
+     * Recalcula un grupo de empleados por id, todos con el mismo contexto.
+     * Los ids se validan antes de calcular: si alguno no existe no se
+     * calcula ninguno.
+     *
+     * @param ids Identificadores de los empleados
+     * @return Resultados en el orden de los ids
+     * @throws IllegalArgumentException si algún id no está en la nómina
+     */
+    public List<PayrollResult> recalculate(Collection<String> ids){
+        EmployeeIndex idx = index();
+        List<Employee> selected = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            selected.add(employeeById(idx, id));
+        }
+        PayrollRunContext run = runContext();
+        List<PayrollResult> results = new ArrayList<>(selected.size());
+        for (Employee e : selected) {
+            results.add(calculateFor(e, run));
+        }
+        return results;
+    }
+
+    private static Employee employeeById(EmployeeIndex idx, String id){
+        Employee e = idx.get(id);
+        if (e == null) throw new IllegalArgumentException("No hay un empleado con id " + id);
+        return e;
+    }
+
+    /** Cálculo sin métricas */
+    private PayrollResult calculate(Employee e, PayrollRunContext context){
         // Calcula salario bruto según el tipo de empleado
-        BigDecimal gross = e.calculateGross();
+        BigDecimal gross = e.calculateGross(context);
         
         // Calcula deducciones aplicables (ej. seguridad social, ARL)
-        BigDecimal deductions = e.calculateDeductions(gross, deductionRate, arlRate);
+        BigDecimal deductions = e.calculateDeductions(gross, context);
         
         // Calcula salario neto
         BigDecimal net = e.calculateNet(gross, deductions);
@@ -64,12 +262,339 @@ public class PayrollService {
         return new PayrollResult(e.getId(), gross, deductions, net);
     }
 
+    /** Cálculo con métricas: latencia por subtipo y motivo de cada rechazo */
+    private PayrollResult calculateMeasured(Employee e, PayrollRunContext context){
+        boolean timed = metrics.sampleLatency();
+        long start = timed ? System.nanoTime() : 0;
+        BigDecimal gross;
+        try {
+            gross = e.calculateGross(context);
+        } catch (IllegalArgumentException ex) {
+            metrics.recordFailure(PayrollMetrics.grossFailure(e));
+            throw ex;
+        }
+        BigDecimal deductions = e.calculateDeductions(gross, context);
+        BigDecimal net;
+        try {
+            net = e.calculateNet(gross, deductions);
+        } catch (IllegalArgumentException ex) {
+            metrics.recordFailure(PayrollMetrics.Failure.NEGATIVE_NET);
+            throw ex;
+        }
+        PayrollResult result = new PayrollResult(e.getId(), gross, deductions, net);
+        metrics.recordSuccess(e, timed ? System.nanoTime() - start : -1);
+        return result;
+    }
+
+    /**
+     * Procesa la nómina en varios períodos en un solo recorrido, con las
+     * tasas de este servicio y la fecha de cada período (ver
+     * MultiPeriodPayrollCalculator).
+     *
+     * @param periods Fechas de los períodos
+     * @return Resultados por empleado y período
+     */
+    public PayrollMatrix processPeriods(List<LocalDate> periods){
+        return new MultiPeriodPayrollCalculator(runContext().getRates()).calculate(employees, periods);
+    }
+
+    /**
+     * Evalúa la nómina en varios escenarios de tasas de deducción y ARL,
+     * con la fecha y las demás reglas de este servicio (ver
+     * RateScenarioCalculator).
+     *
+     * @param scenarios Escenarios de tasas
+     * @return Resultados por empleado y escenario
+     */
+    public ScenarioMatrix evaluateScenarios(List<RateScenario> scenarios){
+        return new RateScenarioCalculator(runContext()).evaluate(employees, scenarios);
+    }
+
     /**
      * Procesa la nómina de todos los empleados registrados en la lista.
      *
      * @return Lista de PayrollResult con los cálculos de todos los empleados
      */
     public List<PayrollResult> processAll(){
-        return employees.stream().map(this::calculateFor).collect(Collectors.toList());
+        long start = metrics.isEnabled() ? System.nanoTime() : 0;
+        PayrollRunContext run = runContext();
+        List<PayrollResult> results = employees.stream().map(e -> calculateFor(e, run)).collect(Collectors.toList());
+        if (metrics.isEnabled()) metrics.recordRun(results.size(), System.nanoTime() - start);
+        return results;
+    }
+
+    /**
+     * Procesa la nómina como processAll y registra en una traza los
+     * conceptos del bruto y las deducciones de cada empleado, para
+     * explicarlos después por id (PayrollTrace.explain). La traza se vacía
+     * al empezar; si un empleado es inválido, conserva los anteriores a él
+     * y descarta los conceptos que alcanzó a registrar el inválido, que no
+     * queda en la traza. Esta corrida no registra métricas.
+     *
+     * @param trace Traza a llenar (reutilizable entre corridas)
+     * @return Lista de PayrollResult, igual a la de processAll
+     */
+    public List<PayrollResult> processAllTraced(PayrollTrace trace){
+        trace.clear();
+        PayrollRunContext run = runContext();
+        List<PayrollResult> results = new ArrayList<>(employees.size());
+        for (Employee e : employees) {
+            results.add(calculateTraced(e, run, trace));
+        }
+        return results;
+    }
+
+    /**
+     * Cálculo con traza. Las deducciones se registran por separado, general
+     * y ARL, si suman lo que devolvió calculateDeductions; un subtipo que la
+     * redefine con otro resultado se registra con un solo concepto
+     * DEDUCTIONS por ese total, sin tasa.
+     */
+    private static PayrollResult calculateTraced(Employee e, PayrollRunContext context, PayrollTrace trace){
+        trace.begin(e.getId());
+        try {
+            BigDecimal gross = e.calculateGross(context, trace);
+            BigDecimal deductions = e.calculateDeductions(gross, context);
+            BigDecimal general = gross.multiply(context.getDeductionRate());
+            BigDecimal arl = context.isArlApplied() ? gross.multiply(context.getArlRate()) : null;
+            if ((arl == null ? general : general.add(arl)).compareTo(deductions) != 0) {
+                trace.line(PayLineItem.DEDUCTIONS, null, deductions);
+            } else {
+                trace.line(PayLineItem.DEDUCTIONS, context.getDeductionRate(), general);
+                if (arl != null) trace.line(PayLineItem.ARL, context.getArlRate(), arl);
+            }
+            BigDecimal net = e.calculateNet(gross, deductions);
+            return new PayrollResult(e.getId(), gross, deductions, net);
+        } catch (RuntimeException ex) {
+            // Un tramo incompleto explicaría un desprendible que no existe
+            trace.discardCurrent();
+            throw ex;
+        }
+    }
+
+    /**
+     * Procesa la nómina entregando cada resultado a un destino a medida que
+     * se calcula, en el orden de la lista, sin acumular la lista de
+     * resultados (ej. un CsvReportWriter o un PayrollLedgerWriter).
+     *
+     * @param sink Destino de los resultados
+     * @return Totales de la corrida
+     * @throws IOException si el destino no puede escribir un resultado
+     */
+    public PayrollSummary processAllTo(PayrollResultSink sink) throws IOException {
+        long start = metrics.isEnabled() ? System.nanoTime() : 0;
+        PayrollRunContext run = runContext();
+        PayrollSummary summary = new PayrollSummary();
+        for (Employee e : employees) {
+            PayrollResult result = calculateFor(e, run);
+            sink.accept(result);
+            summary.accept(e, result);
+        }
+        if (metrics.isEnabled()) metrics.recordRun(employees.size(), System.nanoTime() - start);
+        return summary;
+    }
+
+    /**
+     * Procesa la nómina de todos los empleados y acumula sus totales
+     * (PayrollSummary) en el mismo recorrido.
+     *
+     * @return Resultados en el orden de la lista de empleados y su resumen
+     */
+    public PayrollRun processAllWithSummary(){
+        long start = metrics.isEnabled() ? System.nanoTime() : 0;
+        PayrollRunContext run = runContext();
+        List<PayrollResult> results = new ArrayList<>(employees.size());
+        PayrollSummary summary = new PayrollSummary();
+        for (Employee e : employees) {
+            PayrollResult result = calculateFor(e, run);
+            results.add(result);
+            summary.accept(e, result);
+        }
+        if (metrics.isEnabled()) metrics.recordRun(results.size(), System.nanoTime() - start);
+        return new PayrollRun(results, summary);
+    }
+
+    /**
+     * Procesa la nómina sin detenerse en los empleados inválidos: cada
+     * regla incumplida (ver PayrollRule) se registra como un PayrollError
+     * con sus valores y la corrida continúa. Las reglas conocidas se
+     * verifican antes de calcular (Employee.validateInputs) y el neto se
+     * compara antes de crearlo, así que un empleado rechazado no lanza ni
+     * construye ninguna excepción. Solo la validación propia de un subtipo
+     * no reconocido se detecta con su excepción.
+     *
+     * Los empleados válidos obtienen el mismo resultado que con processAll
+     * (el neto es bruto - deducciones, la fórmula de Employee.calculateNet).
+     *
+     * @return Resultados de los válidos, errores de los rechazados y totales
+     */
+    public CollectedPayrollRun processAllCollecting(){
+        long start = metrics.isEnabled() ? System.nanoTime() : 0;
+        PayrollRunContext run = runContext();
+        List<PayrollResult> results = new ArrayList<>(employees.size());
+        List<PayrollError> errors = new ArrayList<>();
+        PayrollSummary summary = new PayrollSummary();
+        int position = 0;
+        for (Employee e : employees) {
+            PayrollResult result = calculateCollecting(e, run, position++, errors);
+            if (result != null) {
+                results.add(result);
+                summary.accept(e, result);
+            }
+        }
+        if (metrics.isEnabled()) metrics.recordRun(results.size(), System.nanoTime() - start);
+        return new CollectedPayrollRun(results, errors, summary);
+    }
+
+    /**
+     * Cálculo que no lanza por las reglas de PayrollRule.
+     *
+     * @param position Posición del empleado, para el error
+     * @param errors Lista donde se agrega el error si el empleado se rechaza
+     * @return Resultado, o null si el empleado se rechazó
+     */
+    PayrollResult calculateCollecting(Employee e, PayrollRunContext context, int position, List<PayrollError> errors){
+        PayrollRule rule = e.validateInputs();
+        if (rule != null) {
+            errors.add(inputError(e, rule, position));
+            if (metrics.isEnabled()) metrics.recordFailure(PayrollMetrics.failureOf(rule));
+            return null;
+        }
+        BigDecimal gross;
+        try {
+            gross = e.calculateGross(context);
+        } catch (IllegalArgumentException ex) {
+            errors.add(PayrollError.invalidInput(position, e.getId(), ex.getMessage()));
+            if (metrics.isEnabled()) metrics.recordFailure(PayrollMetrics.Failure.OTHER);
+            return null;
+        }
+        BigDecimal deductions = e.calculateDeductions(gross, context);
+        BigDecimal net;
+        try {
+            // calculateNet, como en processAll: una subclase puede redefinirlo
+            net = e.calculateNet(gross, deductions);
+        } catch (IllegalArgumentException ex) {
+            BigDecimal difference = gross.subtract(deductions);
+            if (difference.signum() < 0) {
+                errors.add(PayrollError.negativeNet(position, e.getId(), gross, deductions, difference));
+                if (metrics.isEnabled()) metrics.recordFailure(PayrollMetrics.Failure.NEGATIVE_NET);
+            } else {
+                errors.add(PayrollError.invalidInput(position, e.getId(), ex.getMessage()));
+                if (metrics.isEnabled()) metrics.recordFailure(PayrollMetrics.Failure.OTHER);
+            }
+            return null;
+        }
+        if (metrics.isEnabled()) metrics.recordSuccess(e, -1);
+        return new PayrollResult(e.getId(), gross, deductions, net);
+    }
+
+    private static PayrollError inputError(Employee e, PayrollRule rule, int position){
+        if (e instanceof HourlyEmployee && rule == PayrollRule.NEGATIVE_HOURS) {
+            return PayrollError.of(position, e.getId(), rule, "hoursWorked", ((HourlyEmployee) e).getHoursWorked());
+        }
+        if (e instanceof CommissionEmployee && rule == PayrollRule.NEGATIVE_SALES) {
+            return PayrollError.of(position, e.getId(), rule, "salesAmount", ((CommissionEmployee) e).getSalesAmount());
+        }
+        if (e instanceof RuleBasedEmployee) {
+            RuleBasedEmployee r = (RuleBasedEmployee) e;
+            String input = r.getInvalidInput();
+            return PayrollError.of(position, e.getId(), rule, input, r.getInput(input));
+        }
+        return PayrollError.of(position, e.getId(), rule);
+    }
+
+    /**
+     * Procesa la nómina en paralelo sobre el pool común de fork-join,
+     * con el tamaño de bloque por defecto.
+     *
+     * @return Lista de PayrollResult en el mismo orden que la lista de empleados
+     */
+    public List<PayrollResult> processAllParallel(){
+        return processAllParallel(ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Procesa la nómina en paralelo, repartiendo la lista en bloques
+     * contiguos de chunkSize empleados que se ejecutan en el executor dado.
+     *
+     * Cada bloque escribe sus resultados en las mismas posiciones que ocupan
+     * sus empleados, así que la salida conserva el orden de entrada y es
+     * idéntica a la de processAll. La lista se copia a un arreglo antes de
+     * repartir el trabajo; como los empleados son inmutables (atributos final)
+     * y la entrega al executor establece una relación happens-before, los
+     * hilos de trabajo ven siempre el estado completo de cada empleado.
+     *
+     * @param executor Executor donde se ejecutan los bloques
+     * @param chunkSize Número de empleados por bloque (mayor que 0)
+     * @return Lista de PayrollResult en el mismo orden que la lista de empleados
+     * @throws IllegalArgumentException si el executor es null o chunkSize no es positivo,
+     *         o la misma excepción que lanzaría processAll para un empleado inválido
+     */
+    public List<PayrollResult> processAllParallel(Executor executor, int chunkSize){
+        return runParallel(executor, chunkSize, false).getResults();
+    }
+
+    /**
+     * Procesa la nómina en paralelo, como processAllParallel, y acumula los
+     * totales en el mismo recorrido: cada bloque suma en su propio
+     * PayrollSummary parcial y los parciales se unen al final.
+     *
+     * @param executor Executor donde se ejecutan los bloques
+     * @param chunkSize Número de empleados por bloque (mayor que 0)
+     * @return Resultados en el orden de la lista de empleados y su resumen
+     * @throws IllegalArgumentException en los mismos casos que processAllParallel
+     */
+    public PayrollRun processAllParallelWithSummary(Executor executor, int chunkSize){
+        return runParallel(executor, chunkSize, true);
+    }
+
+    /** Corrida en paralelo por bloques; el resumen es null si no se pide */
+    private PayrollRun runParallel(Executor executor, int chunkSize, boolean summarize){
+        if(executor == null) throw new IllegalArgumentException("El executor no puede ser nulo");
+        if(chunkSize <= 0) throw new IllegalArgumentException("El tamaño de bloque debe ser mayor que 0");
+
+        long start = metrics.isEnabled() ? System.nanoTime() : 0;
+        PayrollRunContext run = runContext();
+        Employee[] snapshot = employees.toArray(new Employee[0]);
+        PayrollResult[] results = new PayrollResult[snapshot.length];
+
+        int chunks = (snapshot.length + chunkSize - 1) / chunkSize;
+        PayrollSummary[] partials = summarize ? new PayrollSummary[chunks] : null;
+        CompletableFuture<?>[] tasks = new CompletableFuture<?>[chunks];
+        for (int c = 0; c < chunks; c++) {
+            int chunk = c;
+            int from = c * chunkSize;
+            int to = Math.min(from + chunkSize, snapshot.length);
+            tasks[c] = CompletableFuture.runAsync(() -> {
+                PayrollSummary partial = summarize ? new PayrollSummary() : null;
+                for (int i = from; i < to; i++) {
+                    PayrollResult result = calculateFor(snapshot[i], run);
+                    results[i] = result;
+                    if (partial != null) partial.accept(snapshot[i], result);
+                }
+                if (partial != null) partials[chunk] = partial;
+            }, executor);
+        }
+
+        try {
+            CompletableFuture.allOf(tasks).join();
+        } catch (CompletionException ex) {
+            // Se relanza la excepción original del cálculo (ej. neto negativo)
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw ex;
+        }
+
+        PayrollSummary summary = null;
+        if (summarize) {
+            // join() garantiza que los parciales escritos por los bloques son visibles aquí
+            summary = new PayrollSummary();
+            for (PayrollSummary partial : partials) {
+                summary.combine(partial);
+            }
+        }
+        if (metrics.isEnabled()) metrics.recordRun(results.length, System.nanoTime() - start);
+        return new PayrollRun(Arrays.asList(results), summary);
     }
 }
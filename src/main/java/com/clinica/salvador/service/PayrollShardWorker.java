@@ -0,0 +1,166 @@
+package com.clinica.salvador.service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.clinica.salvador.io.RosterCsvFormat;
+import com.clinica.salvador.model.Employee;
+import com.clinica.salvador.util.PayrollRunContext;
+import com.clinica.salvador.util.RateTable;
+
+/**
+ * Clase PayrollShardWorker
+ *
+ * Worker de un shard de ShardedPayrollCoordinator: lee la nómina del shard
+ * (RosterCsvFormat) y la tabla de tasas, calcula con PayrollService usando
+ * la fecha de la corrida y escribe un resultado por línea, en el mismo
+ * orden de la nómina:
+ *
+ * <pre>
+ * id,bruto,deducciones,neto
+ * ...
+ * #end,cantidad
+ * </pre>
+ *
+ * Los montos se escriben con BigDecimal.toString, que conserva la escala.
+ * El archivo se escribe aparte y se mueve a su nombre final al terminar;
+ * con la línea #end el coordinador distingue un resultado completo de uno
+ * que quedó a medias porque el worker murió.
+ *
+ * Se ejecuta como programa principal en la JVM del worker:
+ * PayrollShardWorker &lt;nómina&gt; &lt;tasas&gt; &lt;fecha&gt; &lt;resultados&gt;.
+ * Termina con EXIT_OK, con EXIT_INVALID_DATA si la nómina no es válida
+ * (el mensaje va a la salida de error) o con EXIT_FAILED en cualquier otro caso.
+ */
+public final class PayrollShardWorker {
+
+    public static final int EXIT_OK = 0;
+    public static final int EXIT_FAILED = 1;
+    public static final int EXIT_INVALID_DATA = 2;
+
+    /** Prefijo de la línea final del archivo de resultados */
+    static final String END_MARKER = "#end,";
+
+    /** Constructor privado para evitar instanciación */
+    private PayrollShardWorker(){}
+
+    public static void main(String[] args) {
+        if (args.length != 4) {
+            System.err.println("Uso: PayrollShardWorker <nómina> <tasas> <fecha> <resultados>");
+            System.exit(EXIT_FAILED);
+        }
+        int status;
+        try {
+            run(Path.of(args[0]), Path.of(args[1]), date(args[2]), Path.of(args[3]));
+            status = EXIT_OK;
+        } catch (IllegalArgumentException ex) {
+            System.err.println(ex.getMessage());
+            status = EXIT_INVALID_DATA;
+        } catch (Exception | Error ex) {
+            ex.printStackTrace();
+            status = EXIT_FAILED;
+        }
+        System.exit(status);
+    }
+
+    /**
+     * Calcula un shard.
+     *
+     * @param rosterFile Nómina del shard
+     * @param ratesFile Tabla de tasas (.properties)
+     * @param runDate Fecha de la corrida
+     * @param resultFile Archivo de resultados
+     * @throws IOException si falla la lectura o la escritura
+     * @throws IllegalArgumentException si una línea o un cálculo no es válido
+     */
+    public static void run(Path rosterFile, Path ratesFile, LocalDate runDate, Path resultFile) throws IOException {
+        PayrollRunContext context = PayrollRunContext.of(runDate, RateTable.load(ratesFile));
+        List<PayrollResult> results = new PayrollService(readRoster(rosterFile), context).processAll();
+
+        Path partial = resultFile.resolveSibling(resultFile.getFileName() + ".partial");
+        try (BufferedWriter out = Files.newBufferedWriter(partial, StandardCharsets.UTF_8)) {
+            for (PayrollResult r : results) {
+                out.write(r.getEmployeeId());
+                out.write(',');
+                out.write(r.getGross().toString());
+                out.write(',');
+                out.write(r.getDeductions().toString());
+                out.write(',');
+                out.write(r.getNet().toString());
+                out.write('\n');
+            }
+            out.write(END_MARKER);
+            out.write(Integer.toString(results.size()));
+            out.write('\n');
+        }
+        Files.move(partial, resultFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Lee un archivo de resultados completo.
+     *
+     * @param resultFile Archivo de resultados
+     * @param expected Cantidad de resultados esperada
+     * @return Resultados en el orden del archivo
+     * @throws IOException si falta el archivo, está incompleto o no tiene la cantidad esperada
+     */
+    static List<PayrollResult> readResults(Path resultFile, int expected) throws IOException {
+        List<PayrollResult> results = new ArrayList<>(expected);
+        try (BufferedReader in = Files.newBufferedReader(resultFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.startsWith(END_MARKER)) {
+                    if (!line.equals(END_MARKER + results.size()) || results.size() != expected) {
+                        throw new IOException("Resultados incompletos en " + resultFile + ": " + results.size()
+                                + " de " + expected);
+                    }
+                    return results;
+                }
+                String[] f = line.split(",", -1);
+                if (f.length != 4) throw new IOException("Línea de resultados inválida en " + resultFile + ": " + line);
+                try {
+                    results.add(new PayrollResult(f[0], new BigDecimal(f[1]), new BigDecimal(f[2]), new BigDecimal(f[3])));
+                } catch (NumberFormatException ex) {
+                    throw new IOException("Monto inválido en " + resultFile + ": " + line);
+                }
+            }
+        }
+        throw new IOException("Resultados sin línea final en " + resultFile);
+    }
+
+    private static List<Employee> readRoster(Path rosterFile) throws IOException {
+        List<Employee> employees = new ArrayList<>();
+        try (BufferedReader in = Files.newBufferedReader(rosterFile, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = in.readLine()) != null) {
+                lineNumber++;
+                if (RosterCsvFormat.isSkippable(line)) continue;
+                try {
+                    employees.add(RosterCsvFormat.parse(line));
+                } catch (IllegalArgumentException ex) {
+                    throw new IllegalArgumentException("Línea " + lineNumber + " de " + rosterFile + ": " + ex.getMessage());
+                }
+            }
+        }
+        return employees;
+    }
+
+    private static LocalDate date(String value) {
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("Fecha inválida: " + value);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.clinica.salvador.service;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import com.clinica.salvador.model.Employee;
+import com.clinica.salvador.model.EmployeeType;
+
+/**
+ * Clase PayrollSummary
+ *
+ * Acumula los totales de una corrida de nómina a medida que se calcula
+ * cada empleado, sin volver a recorrer la lista de resultados: total
+ * general, por tipo de empleado y por permanencia (permanentes y no
+ * permanentes), con conteos.
+ *
+ * Internamente guarda una celda por combinación de tipo y permanencia; los
+ * totales por grupo se obtienen sumando celdas al consultarlos. Las sumas
+ * son exactas (BigDecimal) y coinciden, valor y escala, con sumar uno a uno
+ * los PayrollResult del grupo partiendo de BigDecimal.ZERO.
+ *
+ * No es segura para uso concurrente. Para corridas en paralelo cada hilo
+ * acumula en su propio PayrollSummary y al final se unen con combine; como
+ * la suma exacta es asociativa y conmutativa, el resultado no depende de
+ * cómo se repartió el trabajo.
+ */
+public final class PayrollSummary {
+
+    /** Posición de los subtipos no reconocidos por EmployeeType */
+    private static final int OTHER = EmployeeType.values().length;
+
+    private static final int CELLS = (OTHER + 1) * 2;
+
+    private final long[] count = new long[CELLS];
+    private final BigDecimal[] gross = new BigDecimal[CELLS];
+    private final BigDecimal[] deductions = new BigDecimal[CELLS];
+    private final BigDecimal[] net = new BigDecimal[CELLS];
+
+    /** Crea un resumen vacío */
+    public PayrollSummary() {
+        Arrays.fill(gross, BigDecimal.ZERO);
+        Arrays.fill(deductions, BigDecimal.ZERO);
+        Arrays.fill(net, BigDecimal.ZERO);
+    }
+
+    /**
+     * Agrega el resultado de un empleado.
+     *
+     * @param e Empleado calculado
+     * @param result Su resultado de nómina
+     */
+    public void accept(Employee e, PayrollResult result) {
+        int cell = cell(EmployeeType.of(e), e.isPermanent());
+        count[cell]++;
+        gross[cell] = gross[cell].add(result.getGross());
+        deductions[cell] = deductions[cell].add(result.getDeductions());
+        net[cell] = net[cell].add(result.getNet());
+    }
+
+    /**
+     * Suma a este resumen los totales de otro (por ejemplo el parcial de
+     * otro hilo). El otro resumen no se modifica.
+     *
+     * @param other Resumen a sumar
+     * @return Este mismo resumen
+     */
+    public PayrollSummary combine(PayrollSummary other) {
+        for (int i = 0; i < CELLS; i++) {
+            count[i] += other.count[i];
+            gross[i] = gross[i].add(other.gross[i]);
+            deductions[i] = deductions[i].add(other.deductions[i]);
+            net[i] = net[i].add(other.net[i]);
+        }
+        return this;
+    }
+
+    /** @return Totales de todos los empleados */
+    public PayrollTotals total() {
+        return totals(0, CELLS, 1);
+    }
+
+    /**
+     * Totales de un tipo de empleado.
+     *
+     * @param type Tipo de empleado, o null para los subtipos no reconocidos
+     * @return Totales del tipo
+     */
+    public PayrollTotals byType(EmployeeType type) {
+        int first = cell(type, false);
+        return totals(first, first + 2, 1);
+    }
+
+    /**
+     * Totales por permanencia.
+     *
+     * @param permanent true para los permanentes, false para los demás
+     * @return Totales del grupo
+     */
+    public PayrollTotals byPermanence(boolean permanent) {
+        return totals(permanent ? 1 : 0, CELLS, 2);
+    }
+
+    /** Celda de un tipo y permanencia: los dos grupos de un tipo quedan contiguos */
+    private static int cell(EmployeeType type, boolean permanent) {
+        return (type == null ? OTHER : type.ordinal()) * 2 + (permanent ? 1 : 0);
+    }
+
+    private PayrollTotals totals(int from, int to, int step) {
+        long c = 0;
+        BigDecimal g = BigDecimal.ZERO;
+        BigDecimal d = BigDecimal.ZERO;
+        BigDecimal n = BigDecimal.ZERO;
+        for (int i = from; i < to; i += step) {
+            c += count[i];
+            g = g.add(gross[i]);
+            d = d.add(deductions[i]);
+            n = n.add(net[i]);
+        }
+        return new PayrollTotals(c, g, d, n);
+    }
+
+    @Override
+    public String toString() {
+        return "PayrollSummary[" + total() + "]";
+    }
+}
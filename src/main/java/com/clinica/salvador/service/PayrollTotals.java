@@ -0,0 +1,42 @@
+package com.clinica.salvador.service;
+
+import java.math.BigDecimal;
+
+/**
+ * Clase PayrollTotals
+ *
+ * Totales de un grupo de empleados: cuántos son y la suma exacta de sus
+ * salarios brutos, deducciones y netos. Es inmutable.
+ */
+public final class PayrollTotals {
+
+    private final long count;
+    private final BigDecimal gross;
+    private final BigDecimal deductions;
+    private final BigDecimal net;
+
+    PayrollTotals(long count, BigDecimal gross, BigDecimal deductions, BigDecimal net) {
+        this.count = count;
+        this.gross = gross;
+        this.deductions = deductions;
+        this.net = net;
+    }
+
+    /** @return Número de empleados del grupo */
+    public long getCount(){ return count; }
+
+    /** @return Suma de los salarios brutos */
+    public BigDecimal getGross(){ return gross; }
+
+    /** @return Suma de las deducciones */
+    public BigDecimal getDeductions(){ return deductions; }
+
+    /** @return Suma de los salarios netos */
+    public BigDecimal getNet(){ return net; }
+
+    @Override
+    public String toString(){
+        return "PayrollTotals[count=" + count + ", gross=" + gross.toPlainString()
+                + ", deductions=" + deductions.toPlainString() + ", net=" + net.toPlainString() + "]";
+    }
+}
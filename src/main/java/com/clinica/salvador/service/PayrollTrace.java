@@ -0,0 +1,179 @@
+package com.clinica.salvador.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.clinica.salvador.model.PayLineItem;
+import com.clinica.salvador.model.PayLineRecorder;
+
+/**
+ * Clase PayrollTrace
+ *
+ * Traza opcional de una corrida (PayrollService.processAllTraced): guarda
+ * los conceptos con los que se construyó el bruto de cada empleado y sus
+ * deducciones, para explicar un desprendible después de la corrida
+ * (explain).
+ *
+ * Los conceptos se guardan en arreglos paralelos (concepto, cantidad,
+ * monto) que crecen al doble y se reutilizan entre corridas: clear solo
+ * reinicia los contadores, así que una traza reutilizada no asigna nada
+ * por concepto una vez alcanzado su tamaño. Cada empleado ocupa un tramo
+ * contiguo; el índice por id se construye la primera vez que se consulta.
+ *
+ * No es segura para hilos: una traza sirve a una corrida a la vez.
+ */
+public final class PayrollTrace implements PayLineRecorder {
+
+    private static final PayLineItem[] ITEMS = PayLineItem.values();
+
+    private byte[] items;
+    private BigDecimal[] quantities;
+    private BigDecimal[] amounts;
+    private int lines;
+
+    private String[] ids;
+    /** Primer concepto de cada empleado */
+    private int[] firstLine;
+    private int employees;
+
+    /** Posición de cada id en ids (null hasta la primera consulta) */
+    private Map<String, Integer> index;
+
+    /**
+     * Crea una traza con espacio para 1024 conceptos.
+     */
+    public PayrollTrace() {
+        this(1024);
+    }
+
+    /**
+     * Crea una traza con un espacio inicial.
+     *
+     * @param initialLines Conceptos que caben antes de crecer (ej. 5 por empleado)
+     */
+    public PayrollTrace(int initialLines) {
+        if (initialLines < 1) throw new IllegalArgumentException("La capacidad inicial debe ser positiva");
+        items = new byte[initialLines];
+        quantities = new BigDecimal[initialLines];
+        amounts = new BigDecimal[initialLines];
+        int initialEmployees = Math.max(1, initialLines / 4);
+        ids = new String[initialEmployees];
+        firstLine = new int[initialEmployees];
+    }
+
+    /** Empieza el tramo de un empleado: los conceptos siguientes son suyos */
+    void begin(String employeeId) {
+        if (employees == ids.length) {
+            int capacity = employees * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            firstLine = Arrays.copyOf(firstLine, capacity);
+        }
+        ids[employees] = employeeId;
+        firstLine[employees] = lines;
+        employees++;
+        index = null;
+    }
+
+    /**
+     * Descarta el tramo del empleado en curso (su cálculo falló): la traza
+     * queda como estaba antes de su begin.
+     */
+    void discardCurrent() {
+        if (employees == 0) return;
+        employees--;
+        int from = firstLine[employees];
+        Arrays.fill(quantities, from, lines, null);
+        Arrays.fill(amounts, from, lines, null);
+        ids[employees] = null;
+        lines = from;
+        index = null;
+    }
+
+    /**
+     * Registra un concepto del empleado en curso.
+     *
+     * @throws IllegalStateException si no hay un empleado en curso
+     */
+    @Override
+    public void line(PayLineItem item, BigDecimal quantity, BigDecimal amount) {
+        if (employees == 0) throw new IllegalStateException("No hay un empleado en curso en la traza");
+        if (lines == items.length) {
+            int capacity = lines * 2;
+            items = Arrays.copyOf(items, capacity);
+            quantities = Arrays.copyOf(quantities, capacity);
+            amounts = Arrays.copyOf(amounts, capacity);
+        }
+        items[lines] = (byte) item.ordinal();
+        quantities[lines] = quantity;
+        amounts[lines] = amount;
+        lines++;
+    }
+
+    /**
+     * Vacía la traza para reutilizarla, conservando su capacidad.
+     */
+    public void clear() {
+        Arrays.fill(quantities, 0, lines, null);
+        Arrays.fill(amounts, 0, lines, null);
+        Arrays.fill(ids, 0, employees, null);
+        lines = 0;
+        employees = 0;
+        index = null;
+    }
+
+    /** @return Empleados trazados */
+    public int employeeCount(){ return employees; }
+
+    /** @return Conceptos registrados */
+    public int lineCount(){ return lines; }
+
+    /**
+     * @param employeeId Identificador del empleado
+     * @return true si el empleado está en la traza
+     */
+    public boolean contains(String employeeId){
+        return index().containsKey(employeeId);
+    }
+
+    /**
+     * Conceptos de un empleado en el orden en que se sumaron: primero los
+     * del bruto y luego las deducciones. Si el id se repite en la corrida,
+     * son los de su primera aparición.
+     *
+     * @param employeeId Identificador del empleado
+     * @return Conceptos del empleado
+     * @throws IllegalArgumentException si el empleado no está en la traza
+     */
+    public List<PayLine> explain(String employeeId){
+        Integer position = index().get(employeeId);
+        if (position == null) throw new IllegalArgumentException("No hay un empleado con id " + employeeId + " en la traza");
+        int from = firstLine[position];
+        int to = position + 1 < employees ? firstLine[position + 1] : lines;
+        List<PayLine> result = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            result.add(new PayLine(ITEMS[items[i]], quantities[i], amounts[i]));
+        }
+        return result;
+    }
+
+    private Map<String, Integer> index(){
+        Map<String, Integer> built = index;
+        if (built == null) {
+            built = new HashMap<>(employees * 2);
+            for (int i = 0; i < employees; i++) {
+                built.putIfAbsent(ids[i], i);
+            }
+            index = built;
+        }
+        return built;
+    }
+
+    @Override
+    public String toString(){
+        return "PayrollTrace[employees=" + employees + ", lines=" + lines + "]";
+    }
+}
@@ -0,0 +1,104 @@
+package com.clinica.salvador.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Clase ProcessShardLauncher
+ *
+ * Ejecuta cada shard en una JVM aparte en la misma máquina con
+ * ProcessBuilder: java [opciones] -cp &lt;classpath&gt; PayrollShardWorker ...
+ * La salida de error del worker queda en el archivo de log del intento y la
+ * salida estándar se descarta, así que el worker nunca se bloquea por un
+ * pipe lleno.
+ *
+ * Si el worker termina con un código distinto de cero, lo mata el sistema o
+ * supera el tiempo máximo, el intento falla con IOException y el
+ * coordinador lo reintenta. Si la nómina del shard no es válida
+ * (EXIT_INVALID_DATA) se lanza IllegalArgumentException, que no se reintenta.
+ */
+public class ProcessShardLauncher implements ShardLauncher {
+
+    private final String javaCommand;
+    private final String classPath;
+    private final List<String> jvmOptions;
+    private final long timeoutMillis;
+
+    /**
+     * Constructor de ProcessShardLauncher.
+     *
+     * @param javaCommand Ejecutable java
+     * @param classPath Classpath del worker
+     * @param jvmOptions Opciones de la JVM del worker (ej. -Xmx512m)
+     * @param timeoutMillis Tiempo máximo de un intento en milisegundos
+     */
+    public ProcessShardLauncher(String javaCommand, String classPath, List<String> jvmOptions, long timeoutMillis) {
+        if (timeoutMillis <= 0) throw new IllegalArgumentException("El tiempo máximo debe ser mayor que 0");
+        this.javaCommand = javaCommand;
+        this.classPath = classPath;
+        this.jvmOptions = List.copyOf(jvmOptions);
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Workers con el mismo ejecutable java y el mismo classpath del proceso actual.
+     *
+     * @param jvmOptions Opciones de la JVM del worker
+     * @param timeoutMillis Tiempo máximo de un intento en milisegundos
+     * @return Launcher de procesos
+     */
+    public static ProcessShardLauncher currentJvm(List<String> jvmOptions, long timeoutMillis) {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        return new ProcessShardLauncher(java, System.getProperty("java.class.path"), jvmOptions, timeoutMillis);
+    }
+
+    @Override
+    public void run(ShardTask task) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(javaCommand);
+        command.addAll(jvmOptions);
+        command.add("-cp");
+        command.add(classPath);
+        command.add(PayrollShardWorker.class.getName());
+        command.add(task.getRosterFile().toString());
+        command.add(task.getRatesFile().toString());
+        command.add(task.getRunDate().toString());
+        command.add(task.getResultFile().toString());
+
+        Process process = new ProcessBuilder(command)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(task.getLogFile().toFile())
+                .start();
+        try {
+            if (!process.waitFor(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                process.destroyForcibly();
+                throw new IOException("El worker del shard " + task.getShard() + " no terminó en " + timeoutMillis + " ms");
+            }
+        } catch (InterruptedException ex) {
+            process.destroyForcibly();
+            throw ex;
+        }
+
+        int status = process.exitValue();
+        if (status == PayrollShardWorker.EXIT_INVALID_DATA) {
+            throw new IllegalArgumentException("Shard " + task.getShard() + ": " + firstLine(task.getLogFile()));
+        }
+        if (status != PayrollShardWorker.EXIT_OK) {
+            throw new IOException("El worker del shard " + task.getShard() + " terminó con código " + status
+                    + " (ver " + task.getLogFile() + ")");
+        }
+    }
+
+    private static String firstLine(Path log) throws IOException {
+        try (BufferedReader in = Files.newBufferedReader(log, StandardCharsets.UTF_8)) {
+            String line = in.readLine();
+            return line == null ? "nómina inválida" : line;
+        }
+    }
+}
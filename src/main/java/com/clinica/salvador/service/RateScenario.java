@@ -0,0 +1,66 @@
+package com.clinica.salvador.service;
+
+import java.math.BigDecimal;
+
+/**
+ * Clase RateScenario
+ *
+ * Escenario hipotético de tasas de deducción y ARL para
+ * RateScenarioCalculator. Las demás reglas (auxilio, horas extra, bonos)
+ * son las de la corrida base.
+ */
+public final class RateScenario {
+
+    private final String name;
+    private final BigDecimal deductionRate;
+    private final BigDecimal arlRate;
+
+    private RateScenario(String name, BigDecimal deductionRate, BigDecimal arlRate) {
+        this.name = name;
+        this.deductionRate = deductionRate;
+        this.arlRate = arlRate;
+    }
+
+    /**
+     * Crea un escenario.
+     *
+     * @param name Nombre del escenario
+     * @param deductionRate Porcentaje de deducciones generales
+     * @param arlRate Porcentaje de deducciones por ARL (puede ser null)
+     * @return Escenario
+     * @throws IllegalArgumentException si deductionRate es null o las tasas
+     *         suman más del 100% (el neto sería negativo)
+     */
+    public static RateScenario of(String name, BigDecimal deductionRate, BigDecimal arlRate) {
+        if (deductionRate == null) throw new IllegalArgumentException("La tasa de deducción no puede ser nula");
+        BigDecimal combined = arlRate == null ? deductionRate : deductionRate.add(arlRate);
+        if (combined.compareTo(BigDecimal.ONE) > 0) {
+            throw new IllegalArgumentException("Las tasas del escenario suman más del 100%: " + combined.toPlainString());
+        }
+        return new RateScenario(name, deductionRate, arlRate);
+    }
+
+    /**
+     * Crea un escenario con un nombre a partir de sus tasas.
+     *
+     * @param deductionRate Porcentaje de deducciones generales
+     * @param arlRate Porcentaje de deducciones por ARL (puede ser null)
+     * @return Escenario
+     * @throws IllegalArgumentException si las tasas no son válidas (ver of)
+     */
+    public static RateScenario of(BigDecimal deductionRate, BigDecimal arlRate) {
+        if (deductionRate == null) throw new IllegalArgumentException("La tasa de deducción no puede ser nula");
+        return of(deductionRate.toPlainString() + "/" + (arlRate == null ? "-" : arlRate.toPlainString()),
+                deductionRate, arlRate);
+    }
+
+    // --- Métodos de acceso (Getters) ---
+    public String getName(){ return name; }
+    public BigDecimal getDeductionRate(){ return deductionRate; }
+    public BigDecimal getArlRate(){ return arlRate; }
+
+    @Override
+    public String toString(){
+        return "RateScenario[" + name + "]";
+    }
+}
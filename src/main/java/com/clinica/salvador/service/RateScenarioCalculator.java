@@ -0,0 +1,93 @@
+package com.clinica.salvador.service;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import com.clinica.salvador.model.Employee;
+import com.clinica.salvador.model.EmployeeType;
+import com.clinica.salvador.util.FixedPoint;
+import com.clinica.salvador.util.PayrollRunContext;
+
+/**
+ * Clase RateScenarioCalculator
+ *
+ * Evalúa una nómina en varios escenarios hipotéticos de tasas de deducción
+ * y ARL ("¿qué pasa si la deducción sube al 4,5%?"). Las tasas no afectan
+ * el salario bruto, así que se calcula una vez por empleado con el
+ * contexto base y se reutiliza en todos los escenarios; cada escenario
+ * solo cambia las deducciones y el neto (ver ScenarioMatrix).
+ *
+ * Cada celda es igual al resultado de PayrollService con el contexto base
+ * y las tasas del escenario. Si algún empleado no es exactamente uno de
+ * los cuatro tipos (EmployeeType.exactOf), puede redefinir las deducciones
+ * o el neto: entonces los totales suman los resultados de cada empleado y
+ * no hay columnas de punto fijo. Igual que processAll, un empleado inválido
+ * lanza la excepción de su cálculo.
+ */
+public class RateScenarioCalculator {
+
+    private final PayrollRunContext context;
+
+    /**
+     * Constructor de RateScenarioCalculator.
+     *
+     * @param context Contexto base: fecha y reglas de la tabla de tasas
+     */
+    public RateScenarioCalculator(PayrollRunContext context) {
+        if (context == null) throw new IllegalArgumentException("El contexto no puede ser nulo");
+        this.context = context;
+    }
+
+    /**
+     * Calcula la matriz empleados × escenarios.
+     *
+     * @param employees Lista de empleados
+     * @param scenarios Escenarios de tasas (al menos uno)
+     * @return Resultados por empleado y escenario
+     */
+    public ScenarioMatrix evaluate(List<Employee> employees, List<RateScenario> scenarios) {
+        if (scenarios.isEmpty()) throw new IllegalArgumentException("Debe indicarse al menos un escenario");
+        List<RateScenario> copy = List.copyOf(scenarios);
+        PayrollRunContext[] contexts = new PayrollRunContext[copy.size()];
+        for (int k = 0; k < contexts.length; k++) {
+            RateScenario s = copy.get(k);
+            contexts[k] = context.withRates(s.getDeductionRate(), s.getArlRate());
+        }
+
+        Employee[] roster = employees.toArray(new Employee[0]);
+        int n = roster.length;
+        BigDecimal[] gross = new BigDecimal[n];
+        BigDecimal total = BigDecimal.ZERO;
+        int scale = 0;
+        boolean negativeGross = false;
+        // Solo los cuatro subtipos exactos usan las deducciones y el neto de Employee
+        boolean linear = true;
+        for (int i = 0; i < n; i++) {
+            Employee e = roster[i];
+            BigDecimal g = e.calculateGross(context);
+            gross[i] = g;
+            total = total.add(g);
+            scale = Math.max(scale, g.scale());
+            negativeGross |= g.signum() < 0;
+            linear &= EmployeeType.exactOf(e) != null;
+        }
+
+        long[] unscaled = null;
+        long maxAbs = 0;
+        if (linear) {
+            unscaled = new long[n];
+            try {
+                for (int i = 0; i < n; i++) {
+                    long u = FixedPoint.rescale(FixedPoint.unscaled(gross[i]), gross[i].scale(), scale);
+                    unscaled[i] = u;
+                    maxAbs = Math.max(maxAbs, Math.abs(u));
+                }
+            } catch (ArithmeticException ex) {
+                // Algún bruto no cabe en un long: sin columnas de punto fijo
+                unscaled = null;
+                maxAbs = 0;
+            }
+        }
+        return new ScenarioMatrix(roster, gross, total, linear, negativeGross, unscaled, scale, maxAbs, copy, contexts);
+    }
+}
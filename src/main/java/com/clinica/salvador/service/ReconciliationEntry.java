@@ -0,0 +1,68 @@
+package com.clinica.salvador.service;
+
+import java.math.BigDecimal;
+
+/**
+ * Clase ReconciliationEntry
+ *
+ * Una diferencia entre dos corridas de nómina encontrada por
+ * PayrollReconciler: un empleado nuevo, uno que ya no está o uno cuyo
+ * neto cambió más que el umbral. Es inmutable.
+ */
+public final class ReconciliationEntry {
+
+    /**
+     * Enum Kind
+     *
+     * Tipo de diferencia.
+     */
+    public enum Kind {
+        /** Solo está en la corrida actual */
+        ADDED,
+        /** Solo está en la corrida anterior */
+        REMOVED,
+        /** Está en ambas y el neto cambió más que el umbral */
+        CHANGED
+    }
+
+    private final Kind kind;
+    private final PayrollResult previous;
+    private final PayrollResult current;
+
+    ReconciliationEntry(Kind kind, PayrollResult previous, PayrollResult current) {
+        this.kind = kind;
+        this.previous = previous;
+        this.current = current;
+    }
+
+    /** @return Tipo de diferencia */
+    public Kind getKind(){ return kind; }
+
+    /** @return Identificador del empleado */
+    public String getEmployeeId(){ return current != null ? current.getEmployeeId() : previous.getEmployeeId(); }
+
+    /** @return Resultado de la corrida anterior (null si el empleado es nuevo) */
+    public PayrollResult getPrevious(){ return previous; }
+
+    /** @return Resultado de la corrida actual (null si el empleado ya no está) */
+    public PayrollResult getCurrent(){ return current; }
+
+    /** @return Cambio del bruto (actual - anterior; un lado ausente cuenta como cero) */
+    public BigDecimal getGrossDelta(){
+        return amount(current == null ? null : current.getGross()).subtract(amount(previous == null ? null : previous.getGross()));
+    }
+
+    /** @return Cambio del neto (actual - anterior; un lado ausente cuenta como cero) */
+    public BigDecimal getNetDelta(){
+        return amount(current == null ? null : current.getNet()).subtract(amount(previous == null ? null : previous.getNet()));
+    }
+
+    private static BigDecimal amount(BigDecimal value){
+        return value == null ? BigDecimal.ZERO : value;
+    }
+
+    @Override
+    public String toString(){
+        return "ReconciliationEntry[" + kind + " " + getEmployeeId() + ", net " + getNetDelta().toPlainString() + "]";
+    }
+}
@@ -0,0 +1,56 @@
+package com.clinica.salvador.service;
+
+/**
+ * Clase ReconciliationReport
+ *
+ * Conteos de una conciliación de PayrollReconciler. Es inmutable.
+ */
+public final class ReconciliationReport {
+
+    private final long previousCount;
+    private final long currentCount;
+    private final long added;
+    private final long removed;
+    private final long changed;
+    private final long withinThreshold;
+    private final int spilledRuns;
+
+    ReconciliationReport(long previousCount, long currentCount, long added, long removed, long changed,
+                         long withinThreshold, int spilledRuns) {
+        this.previousCount = previousCount;
+        this.currentCount = currentCount;
+        this.added = added;
+        this.removed = removed;
+        this.changed = changed;
+        this.withinThreshold = withinThreshold;
+        this.spilledRuns = spilledRuns;
+    }
+
+    /** @return Resultados de la corrida anterior */
+    public long getPreviousCount(){ return previousCount; }
+
+    /** @return Resultados de la corrida actual */
+    public long getCurrentCount(){ return currentCount; }
+
+    /** @return Empleados que solo están en la corrida actual */
+    public long getAdded(){ return added; }
+
+    /** @return Empleados que solo están en la corrida anterior */
+    public long getRemoved(){ return removed; }
+
+    /** @return Empleados cuyo neto cambió más que el umbral */
+    public long getChanged(){ return changed; }
+
+    /** @return Empleados en ambas corridas con un cambio dentro del umbral */
+    public long getWithinThreshold(){ return withinThreshold; }
+
+    /** @return Tramos ordenados que se escribieron a disco (0 si todo cupo en memoria) */
+    public int getSpilledRuns(){ return spilledRuns; }
+
+    @Override
+    public String toString(){
+        return "ReconciliationReport[previous=" + previousCount + ", current=" + currentCount + ", added=" + added
+                + ", removed=" + removed + ", changed=" + changed + ", withinThreshold=" + withinThreshold
+                + ", spilledRuns=" + spilledRuns + "]";
+    }
+}
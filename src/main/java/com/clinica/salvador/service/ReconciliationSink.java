@@ -0,0 +1,21 @@
+package com.clinica.salvador.service;
+
+import java.io.IOException;
+
+/**
+ * Interfaz ReconciliationSink
+ *
+ * Destino de las diferencias de una conciliación, que se entregan en orden
+ * de id de empleado a medida que se encuentran, sin acumularlas.
+ */
+@FunctionalInterface
+public interface ReconciliationSink {
+
+    /**
+     * Recibe una diferencia.
+     *
+     * @param entry Diferencia entre las dos corridas
+     * @throws IOException si el destino no puede escribirla
+     */
+    void accept(ReconciliationEntry entry) throws IOException;
+}
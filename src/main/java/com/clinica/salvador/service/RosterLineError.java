@@ -0,0 +1,42 @@
+package com.clinica.salvador.service;
+
+/**
+ * Clase RosterLineError
+ *
+ * Describe una línea de la nómina que no se pudo procesar: mal formada
+ * o con datos que el cálculo rechaza (ej. horas negativas).
+ */
+public class RosterLineError {
+
+    /** Número de línea en el archivo, empezando en 1 */
+    private final long lineNumber;
+
+    /** Contenido de la línea */
+    private final String line;
+
+    /** Motivo del rechazo */
+    private final String message;
+
+    /**
+     * Constructor de RosterLineError.
+     *
+     * @param lineNumber Número de línea (desde 1)
+     * @param line Contenido de la línea
+     * @param message Motivo del rechazo
+     */
+    public RosterLineError(long lineNumber, String line, String message) {
+        this.lineNumber = lineNumber;
+        this.line = line;
+        this.message = message;
+    }
+
+    // --- Métodos de acceso (Getters) ---
+    public long getLineNumber(){ return lineNumber; }
+    public String getLine(){ return line; }
+    public String getMessage(){ return message; }
+
+    @Override
+    public String toString(){
+        return "Línea " + lineNumber + ": " + message;
+    }
+}
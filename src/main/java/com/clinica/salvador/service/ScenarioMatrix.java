@@ -0,0 +1,252 @@
+package com.clinica.salvador.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.clinica.salvador.model.Employee;
+import com.clinica.salvador.util.FixedPoint;
+import com.clinica.salvador.util.PayrollRunContext;
+
+/**
+ * Clase ScenarioMatrix
+ *
+ * Resultados de una nómina en varios escenarios de tasas (empleados ×
+ * escenarios), calculados por RateScenarioCalculator. Solo guarda el
+ * salario bruto de cada empleado, que es igual en todos los escenarios;
+ * las deducciones y el neto de cada celda se derivan al pedirlos:
+ *
+ * - total: por linealidad, Σdeducciones = Σbruto × tasas del escenario,
+ *   sin recorrer los empleados (si todos son de los cuatro tipos exactos;
+ *   si no, suma los resultados de cada empleado);
+ * - netColumn, deductionsColumn: una columna de punto fijo por escenario,
+ *   un producto de long por empleado;
+ * - result, results: PayrollResult iguales (incluida la escala) a los de
+ *   PayrollService con las tasas del escenario.
+ *
+ * Igual que Employee.calculateNet, todos rechazan un escenario en el que
+ * el neto de algún empleado sería negativo (un bruto negativo con una tasa
+ * combinada menor que 1).
+ *
+ * Es inmutable.
+ */
+public class ScenarioMatrix {
+
+    private final Employee[] employees;
+    private final BigDecimal[] gross;
+    private final BigDecimal totalGross;
+    /** Si todos los empleados usan las deducciones y el neto de Employee (EmployeeType.exactOf) */
+    private final boolean linear;
+    /** Si algún bruto es negativo */
+    private final boolean negativeGross;
+    /** Brutos sin escala en la escala común grossScale (null si alguno no cabe en un long) */
+    private final long[] grossUnscaled;
+    private final int grossScale;
+    /** Mayor |bruto| sin escala, para descartar de antemano el desbordamiento de las columnas */
+    private final long maxAbsGross;
+    private final List<RateScenario> scenarios;
+    private final PayrollRunContext[] contexts;
+
+    ScenarioMatrix(Employee[] employees, BigDecimal[] gross, BigDecimal totalGross, boolean linear, boolean negativeGross,
+                   long[] grossUnscaled, int grossScale, long maxAbsGross,
+                   List<RateScenario> scenarios, PayrollRunContext[] contexts) {
+        this.employees = employees;
+        this.gross = gross;
+        this.totalGross = totalGross;
+        this.linear = linear;
+        this.negativeGross = negativeGross;
+        this.grossUnscaled = grossUnscaled;
+        this.grossScale = grossScale;
+        this.maxAbsGross = maxAbsGross;
+        this.scenarios = scenarios;
+        this.contexts = contexts;
+    }
+
+    /** @return Número de empleados */
+    public int employeeCount(){ return employees.length; }
+
+    /** @return Número de escenarios */
+    public int scenarioCount(){ return scenarios.size(); }
+
+    /** @return Escenarios, en el orden pedido */
+    public List<RateScenario> getScenarios(){ return scenarios; }
+
+    /**
+     * Salario bruto de un empleado (el mismo en todos los escenarios).
+     *
+     * @param employee Posición del empleado en la lista de entrada
+     * @return Salario bruto
+     */
+    public BigDecimal gross(int employee){
+        return gross[employee];
+    }
+
+    /**
+     * Totales de un escenario. Tienen el mismo valor (compareTo) que la
+     * suma de los resultados de la corrida con esas tasas.
+     *
+     * @param scenario Posición del escenario
+     * @return Totales del escenario
+     * @throws IllegalArgumentException si el neto de algún empleado es negativo
+     */
+    public PayrollTotals total(int scenario){
+        if (!linear) {
+            BigDecimal deductions = BigDecimal.ZERO;
+            BigDecimal net = BigDecimal.ZERO;
+            for (int i = 0; i < employees.length; i++) {
+                PayrollResult r = result(i, scenario);
+                deductions = deductions.add(r.getDeductions());
+                net = net.add(r.getNet());
+            }
+            return new PayrollTotals(employees.length, totalGross, deductions, net);
+        }
+        requireNonNegativeNet(scenario);
+        PayrollRunContext context = contexts[scenario];
+        BigDecimal deductions = totalGross.multiply(context.getDeductionRate());
+        if (context.isArlApplied()) {
+            deductions = deductions.add(totalGross.multiply(context.getArlRate()));
+        }
+        return new PayrollTotals(employees.length, totalGross, deductions, totalGross.subtract(deductions));
+    }
+
+    /**
+     * Resultado de un empleado en un escenario.
+     *
+     * @param employee Posición del empleado en la lista de entrada
+     * @param scenario Posición del escenario
+     * @return Resultado de esa celda
+     */
+    public PayrollResult result(int employee, int scenario){
+        Employee e = employees[employee];
+        BigDecimal g = gross[employee];
+        BigDecimal deductions = e.calculateDeductions(g, contexts[scenario]);
+        return new PayrollResult(e.getId(), g, deductions, e.calculateNet(g, deductions));
+    }
+
+    /**
+     * Resultados de todos los empleados en un escenario.
+     *
+     * @param scenario Posición del escenario
+     * @return Resultados en el orden de la lista de empleados
+     */
+    public List<PayrollResult> results(int scenario){
+        List<PayrollResult> results = new ArrayList<>(employees.length);
+        for (int i = 0; i < employees.length; i++) {
+            results.add(result(i, scenario));
+        }
+        return results;
+    }
+
+    /**
+     * Indica si las columnas de punto fijo de un escenario se pueden
+     * calcular: todos los empleados son de los cuatro tipos exactos, los
+     * brutos y la tasa combinada caben en un long y sus productos no
+     * desbordan.
+     *
+     * @param scenario Posición del escenario
+     * @return true si netColumn y deductionsColumn están disponibles
+     */
+    public boolean isFixedPoint(int scenario){
+        return linear && grossUnscaled != null && combinedRate(scenario) >= 0;
+    }
+
+    /** @return Escala de los valores de netColumn y deductionsColumn del escenario */
+    public int columnScale(int scenario){
+        return grossScale + rateScale(contexts[scenario]);
+    }
+
+    /**
+     * Deducciones de cada empleado en un escenario, en punto fijo con la
+     * escala columnScale. Cada valor es igual (compareTo) a las deducciones
+     * de result.
+     *
+     * @param scenario Posición del escenario
+     * @return Deducciones sin escala, en el orden de la lista de empleados
+     * @throws ArithmeticException si el escenario no es de punto fijo
+     * @throws IllegalArgumentException si el neto de algún empleado es negativo
+     */
+    public long[] deductionsColumn(int scenario){
+        requireNonNegativeNet(scenario);
+        return column(fixedRate(scenario));
+    }
+
+    /**
+     * Neto de cada empleado en un escenario, en punto fijo con la escala
+     * columnScale. Cada valor es igual (compareTo) al neto de result.
+     *
+     * @param scenario Posición del escenario
+     * @return Netos sin escala, en el orden de la lista de empleados
+     * @throws ArithmeticException si el escenario no es de punto fijo
+     * @throws IllegalArgumentException si el neto de algún empleado es negativo
+     */
+    public long[] netColumn(int scenario){
+        requireNonNegativeNet(scenario);
+        long rate = fixedRate(scenario);
+        // neto = bruto × (1 - tasa combinada); la tasa es a lo sumo 1, así que 10^r - rate >= 0
+        return column(FixedPoint.pow10(rateScale(contexts[scenario])) - rate);
+    }
+
+    /**
+     * Misma comprobación que Employee.calculateNet para todo el escenario:
+     * neto = bruto × (1 - tasa combinada), y la tasa combinada es a lo sumo
+     * 1, así que algún neto es negativo solo si hay un bruto negativo y la
+     * tasa es menor que 1.
+     */
+    private void requireNonNegativeNet(int scenario){
+        if (!linear || !negativeGross) return;
+        PayrollRunContext context = contexts[scenario];
+        BigDecimal rate = context.isArlApplied() ? context.getDeductionRate().add(context.getArlRate())
+                : context.getDeductionRate();
+        if (rate.compareTo(BigDecimal.ONE) < 0) {
+            throw new IllegalArgumentException("El salario neto no puede ser negativo");
+        }
+    }
+
+    /** Un producto por empleado, sin ramas ni comprobaciones: el desbordamiento se descartó antes */
+    private long[] column(long factor){
+        long[] g = grossUnscaled;
+        long[] out = new long[g.length];
+        for (int i = 0; i < g.length; i++) {
+            out[i] = g[i] * factor;
+        }
+        return out;
+    }
+
+    private long fixedRate(int scenario){
+        if (!isFixedPoint(scenario)) {
+            throw new ArithmeticException("El escenario " + scenarios.get(scenario).getName()
+                    + " no se puede representar en punto fijo");
+        }
+        return combinedRate(scenario);
+    }
+
+    /**
+     * Tasa combinada sin escala (escala rateScale) si ella, su complemento y
+     * sus productos por todos los brutos caben en un long; -1 si no.
+     * Una tasa combinada negativa tampoco va por punto fijo.
+     */
+    private long combinedRate(int scenario){
+        PayrollRunContext context = contexts[scenario];
+        BigDecimal rate = context.isArlApplied() ? context.getDeductionRate().add(context.getArlRate())
+                : context.getDeductionRate();
+        int scale = rateScale(context);
+        if (rate.signum() < 0 || scale > 18) return -1;
+        long unscaled = rate.setScale(scale).unscaledValue().longValue();
+        long keep = FixedPoint.pow10(scale) - unscaled;
+        long max = Math.max(unscaled, keep);
+        if (maxAbsGross != 0 && max > Long.MAX_VALUE / maxAbsGross) return -1;
+        return unscaled;
+    }
+
+    /** Escala común de las tasas del escenario (no negativa) */
+    private static int rateScale(PayrollRunContext context){
+        int scale = Math.max(0, context.getDeductionRate().scale());
+        if (context.isArlApplied()) scale = Math.max(scale, context.getArlRate().scale());
+        return scale;
+    }
+
+    @Override
+    public String toString(){
+        return "ScenarioMatrix[employees=" + employees.length + ", scenarios=" + scenarios.size() + "]";
+    }
+}
@@ -0,0 +1,38 @@
+package com.clinica.salvador.service;
+
+import java.io.IOException;
+
+/**
+ * Interfaz ShardLauncher
+ *
+ * Ejecuta el worker de un shard y espera a que termine. El worker lee la
+ * nómina y las tasas de los archivos del ShardTask y deja sus resultados en
+ * getResultFile() (ver PayrollShardWorker).
+ *
+ * - ProcessShardLauncher lo ejecuta en una JVM aparte.
+ * - inProcess() lo ejecuta en el mismo proceso, como sustituto local para
+ *   pruebas o para máquinas donde no conviene lanzar otras JVM.
+ */
+@FunctionalInterface
+public interface ShardLauncher {
+
+    /**
+     * Ejecuta un intento del shard.
+     *
+     * @param task Archivos y fecha del intento
+     * @throws IOException si el worker murió o no terminó bien (el shard se reintenta)
+     * @throws IllegalArgumentException si los datos del shard no son válidos (no se reintenta)
+     * @throws InterruptedException si se interrumpió la espera
+     */
+    void run(ShardTask task) throws IOException, InterruptedException;
+
+    /**
+     * Ejecuta el worker en el proceso actual.
+     *
+     * @return Launcher local
+     */
+    static ShardLauncher inProcess() {
+        return task -> PayrollShardWorker.run(task.getRosterFile(), task.getRatesFile(), task.getRunDate(),
+                task.getResultFile());
+    }
+}
@@ -0,0 +1,48 @@
+package com.clinica.salvador.service;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+/**
+ * Clase ShardTask
+ *
+ * Intento de cálculo de un shard: los archivos que lee y escribe el worker
+ * y la fecha de la corrida. Cada intento tiene su propio archivo de
+ * resultados y de log, así que la salida de un intento fallido nunca se
+ * confunde con la de un reintento.
+ */
+public final class ShardTask {
+
+    private final int shard;
+    private final int attempt;
+    private final Path rosterFile;
+    private final Path ratesFile;
+    private final LocalDate runDate;
+    private final Path resultFile;
+    private final Path logFile;
+
+    ShardTask(int shard, int attempt, Path rosterFile, Path ratesFile, LocalDate runDate,
+              Path resultFile, Path logFile) {
+        this.shard = shard;
+        this.attempt = attempt;
+        this.rosterFile = rosterFile;
+        this.ratesFile = ratesFile;
+        this.runDate = runDate;
+        this.resultFile = resultFile;
+        this.logFile = logFile;
+    }
+
+    // --- Métodos de acceso (Getters) ---
+    public int getShard(){ return shard; }
+    public int getAttempt(){ return attempt; }
+    public Path getRosterFile(){ return rosterFile; }
+    public Path getRatesFile(){ return ratesFile; }
+    public LocalDate getRunDate(){ return runDate; }
+    public Path getResultFile(){ return resultFile; }
+    public Path getLogFile(){ return logFile; }
+
+    @Override
+    public String toString(){
+        return "ShardTask[shard=" + shard + ", attempt=" + attempt + "]";
+    }
+}
@@ -0,0 +1,226 @@
+package com.clinica.salvador.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import com.clinica.salvador.io.RosterCsvFormat;
+import com.clinica.salvador.model.Employee;
+import com.clinica.salvador.util.PayrollRunContext;
+
+/**
+ * Clase ShardedPayrollCoordinator
+ *
+ * Reparte la nómina en N shards según el hash de Employee.getId() y calcula
+ * cada shard con un worker aparte (ver ShardLauncher), normalmente una JVM
+ * por shard en la misma máquina. La comunicación es por archivos en un
+ * directorio de trabajo:
+ *
+ * 1. Se escriben la tabla de tasas de la corrida y la nómina de cada shard
+ *    (RosterCsvFormat), en el orden de entrada.
+ * 2. Los shards se ejecutan a la vez; si un worker muere o deja resultados
+ *    incompletos, el shard se vuelve a ejecutar, hasta maxAttempts veces.
+ * 3. Los resultados se devuelven al orden de entrada y se acumulan sus
+ *    totales (PayrollSummary).
+ *
+ * Todos los workers usan la misma fecha y la misma tabla de tasas, las del
+ * contexto de la corrida, por lo que los resultados son iguales a los de
+ * PayrollService.processAllWithSummary. Si un shard tiene datos inválidos
+ * se lanza IllegalArgumentException sin reintentar: el resultado sería el
+ * mismo. El directorio de la corrida se borra al terminar bien y se
+ * conserva si falla, con los logs de los workers.
+ */
+public class ShardedPayrollCoordinator {
+
+    /** Intentos por shard por defecto */
+    public static final int DEFAULT_MAX_ATTEMPTS = 3;
+
+    private final int shards;
+    private final ShardLauncher launcher;
+    private final Path workDir;
+    private final int maxAttempts;
+
+    /**
+     * Constructor de ShardedPayrollCoordinator con DEFAULT_MAX_ATTEMPTS intentos por shard.
+     *
+     * @param shards Número de shards (mayor que 0)
+     * @param launcher Ejecutor de los workers
+     * @param workDir Directorio donde se crea el directorio de cada corrida
+     */
+    public ShardedPayrollCoordinator(int shards, ShardLauncher launcher, Path workDir) {
+        this(shards, launcher, workDir, DEFAULT_MAX_ATTEMPTS);
+    }
+
+    /**
+     * Constructor de ShardedPayrollCoordinator.
+     *
+     * @param shards Número de shards (mayor que 0)
+     * @param launcher Ejecutor de los workers
+     * @param workDir Directorio donde se crea el directorio de cada corrida
+     * @param maxAttempts Intentos por shard antes de abandonar la corrida (mayor que 0)
+     */
+    public ShardedPayrollCoordinator(int shards, ShardLauncher launcher, Path workDir, int maxAttempts) {
+        if (shards <= 0) throw new IllegalArgumentException("El número de shards debe ser mayor que 0");
+        if (maxAttempts <= 0) throw new IllegalArgumentException("El número de intentos debe ser mayor que 0");
+        if (launcher == null) throw new IllegalArgumentException("El launcher no puede ser nulo");
+        this.shards = shards;
+        this.launcher = launcher;
+        this.workDir = workDir;
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * Shard de un empleado: el hash de su id módulo el número de shards.
+     * String.hashCode está definido por la especificación, así que el
+     * reparto es el mismo en cualquier JVM.
+     *
+     * @param id Identificador del empleado
+     * @param shards Número de shards
+     * @return Shard entre 0 y shards - 1
+     */
+    public static int shardOf(String id, int shards) {
+        int h = id.hashCode();
+        return Math.floorMod(h ^ (h >>> 16), shards);
+    }
+
+    /**
+     * Calcula la nómina repartida en shards.
+     *
+     * @param employees Empleados de la corrida
+     * @param context Fecha y tasas de la corrida, iguales para todos los shards
+     * @return Resultados en el orden de entrada y sus totales
+     * @throws IOException si un shard falla en todos sus intentos
+     * @throws IllegalArgumentException si un empleado no es válido
+     * @throws InterruptedException si se interrumpe la espera de los workers
+     */
+    public PayrollRun run(List<Employee> employees, PayrollRunContext context) throws IOException, InterruptedException {
+        // Posiciones de entrada de cada shard, en orden
+        int[] sizes = new int[shards];
+        int[] shardOf = new int[employees.size()];
+        for (int i = 0; i < shardOf.length; i++) {
+            shardOf[i] = shardOf(employees.get(i).getId(), shards);
+            sizes[shardOf[i]]++;
+        }
+        int[][] positions = new int[shards][];
+        for (int s = 0; s < shards; s++) {
+            positions[s] = new int[sizes[s]];
+        }
+        int[] filled = new int[shards];
+        for (int i = 0; i < shardOf.length; i++) {
+            int s = shardOf[i];
+            positions[s][filled[s]++] = i;
+        }
+
+        Files.createDirectories(workDir);
+        Path runDir = Files.createTempDirectory(workDir, "payroll-run-");
+        Path ratesFile = runDir.resolve("rates.properties");
+        context.getRates().store(ratesFile);
+        for (int s = 0; s < shards; s++) {
+            if (sizes[s] > 0) writeRoster(runDir.resolve(rosterName(s)), employees, positions[s]);
+        }
+
+        PayrollResult[] merged = new PayrollResult[employees.size()];
+        List<Integer> active = new ArrayList<>();
+        for (int s = 0; s < shards; s++) {
+            if (sizes[s] > 0) active.add(s);
+        }
+        if (!active.isEmpty()) {
+            ExecutorService pool = Executors.newFixedThreadPool(active.size(), task -> {
+                Thread t = new Thread(task, "payroll-shard");
+                t.setDaemon(true);
+                return t;
+            });
+            try {
+                List<Future<List<PayrollResult>>> futures = new ArrayList<>(active.size());
+                for (int s : active) {
+                    futures.add(pool.submit(() -> runShard(s, sizes[s], runDir, ratesFile, context)));
+                }
+                for (int k = 0; k < active.size(); k++) {
+                    int s = active.get(k);
+                    List<PayrollResult> results = await(futures.get(k));
+                    int[] shardPositions = positions[s];
+                    for (int j = 0; j < shardPositions.length; j++) {
+                        PayrollResult r = results.get(j);
+                        String expectedId = employees.get(shardPositions[j]).getId();
+                        if (!expectedId.equals(r.getEmployeeId())) {
+                            throw new IOException("El shard " + s + " devolvió " + r.getEmployeeId() + " en lugar de " + expectedId);
+                        }
+                        merged[shardPositions[j]] = r;
+                    }
+                }
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+
+        PayrollSummary summary = new PayrollSummary();
+        for (int i = 0; i < merged.length; i++) {
+            summary.accept(employees.get(i), merged[i]);
+        }
+        deleteRecursively(runDir);
+        return new PayrollRun(Arrays.asList(merged), summary);
+    }
+
+    /** Ejecuta un shard hasta que termine bien o se agoten los intentos */
+    private List<PayrollResult> runShard(int shard, int size, Path runDir, Path ratesFile, PayrollRunContext context)
+            throws IOException, InterruptedException {
+        IOException last = null;
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            String prefix = "shard-" + shard + "-attempt-" + attempt;
+            ShardTask task = new ShardTask(shard, attempt, runDir.resolve(rosterName(shard)), ratesFile,
+                    context.getRunDate(), runDir.resolve(prefix + ".results"), runDir.resolve(prefix + ".log"));
+            try {
+                launcher.run(task);
+                return PayrollShardWorker.readResults(task.getResultFile(), size);
+            } catch (IOException ex) {
+                last = ex;
+            }
+        }
+        throw new IOException("El shard " + shard + " falló en sus " + maxAttempts + " intentos", last);
+    }
+
+    private static List<PayrollResult> await(Future<List<PayrollResult>> future) throws IOException, InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof IOException) throw (IOException) cause;
+            if (cause instanceof InterruptedException) throw (InterruptedException) cause;
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new IOException(cause);
+        }
+    }
+
+    private static String rosterName(int shard) {
+        return "shard-" + shard + ".csv";
+    }
+
+    private static void writeRoster(Path file, List<Employee> employees, int[] positions) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int position : positions) {
+                out.write(RosterCsvFormat.format(employees.get(position)));
+                out.write('\n');
+            }
+        }
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path p : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(p);
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.clinica.salvador.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.clinica.salvador.io.RosterCsvFormat;
+import com.clinica.salvador.model.Employee;
+import com.clinica.salvador.util.PayrollRunContext;
+
+/**
+ * Clase StreamingPayrollProcessor
+ *
+ * Procesa la nómina leyendo los empleados de un archivo (ver RosterCsvFormat)
+ * línea por línea: cada empleado se lee, se calcula y su resultado se entrega
+ * al destino antes de pasar a la siguiente línea. La memoria usada no depende
+ * del tamaño de la nómina, porque nunca hay más de un empleado en memoria.
+ *
+ * Una línea mal formada, o cuyo cálculo falla, no detiene la corrida: se
+ * informa con su número de línea y se continúa con la siguiente. Todas las
+ * líneas de una corrida usan la misma fecha (ver PayrollRunContext).
+ */
+public class StreamingPayrollProcessor {
+
+    /** Cálculo de nómina por empleado */
+    private final PayrollService calculator;
+
+    /**
+     * Constructor de StreamingPayrollProcessor.
+     *
+     * @param deductionRate Porcentaje de deducciones generales
+     * @param arlRate Porcentaje de deducciones por ARL
+     */
+    public StreamingPayrollProcessor(BigDecimal deductionRate, BigDecimal arlRate) {
+        this.calculator = new PayrollService(List.of(), deductionRate, arlRate);
+    }
+
+    /**
+     * Procesa un archivo de nómina en UTF-8.
+     *
+     * @param rosterFile Archivo de nómina
+     * @param sink Destino de los resultados
+     * @param errors Receptor de las líneas rechazadas
+     * @return Resumen de la corrida
+     * @throws IOException si falla la lectura o el destino
+     */
+    public StreamingRunReport process(Path rosterFile, PayrollResultSink sink, Consumer<RosterLineError> errors)
+            throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(rosterFile, StandardCharsets.UTF_8)) {
+            return process(reader, sink, errors);
+        }
+    }
+
+    /**
+     * Procesa una nómina leída de un Reader. El Reader no se cierra.
+     *
+     * @param roster Fuente de la nómina
+     * @param sink Destino de los resultados
+     * @param errors Receptor de las líneas rechazadas
+     * @return Resumen de la corrida
+     * @throws IOException si falla la lectura o el destino
+     */
+    public StreamingRunReport process(Reader roster, PayrollResultSink sink, Consumer<RosterLineError> errors)
+            throws IOException {
+        BufferedReader reader = roster instanceof BufferedReader ? (BufferedReader) roster : new BufferedReader(roster);
+        long lineNumber = 0;
+        long processed = 0;
+        long rejected = 0;
+        PayrollRunContext context = calculator.runContext();
+        PayrollSummary summary = new PayrollSummary();
+        List<PayrollError> rejections = new ArrayList<>(1);
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (RosterCsvFormat.isSkippable(line)) continue;
+
+            Employee e;
+            try {
+                e = RosterCsvFormat.parse(line);
+            } catch (IllegalArgumentException ex) {
+                // Línea mal formada: se informa y se sigue
+                rejected++;
+                errors.accept(new RosterLineError(lineNumber, line, ex.getMessage()));
+                continue;
+            }
+            // Datos que el cálculo rechaza: se informan sin lanzar excepciones
+            PayrollResult result = calculator.calculateCollecting(e, context, (int) Math.min(lineNumber - 1, Integer.MAX_VALUE), rejections);
+            if (result == null) {
+                rejected++;
+                errors.accept(new RosterLineError(lineNumber, line, rejections.get(0).getMessage()));
+                rejections.clear();
+                continue;
+            }
+            // Los errores del destino sí detienen la corrida
+            sink.accept(result);
+            summary.accept(e, result);
+            processed++;
+        }
+        return new StreamingRunReport(lineNumber, processed, rejected, summary);
+    }
+}
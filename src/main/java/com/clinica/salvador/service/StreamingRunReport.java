@@ -0,0 +1,40 @@
+package com.clinica.salvador.service;
+
+/**
+ * Clase StreamingRunReport
+ *
+ * Resumen de una corrida de nómina en streaming: cuántas líneas se leyeron,
+ * cuántos empleados se procesaron y cuántas líneas se rechazaron, junto con
+ * los totales (PayrollSummary) de los empleados procesados.
+ */
+public class StreamingRunReport {
+
+    private final long linesRead;
+    private final long processed;
+    private final long rejected;
+    private final PayrollSummary summary;
+
+    StreamingRunReport(long linesRead, long processed, long rejected, PayrollSummary summary) {
+        this.linesRead = linesRead;
+        this.processed = processed;
+        this.rejected = rejected;
+        this.summary = summary;
+    }
+
+    /** @return Total de líneas leídas, incluidas vacías y comentarios */
+    public long getLinesRead(){ return linesRead; }
+
+    /** @return Empleados cuyo resultado se entregó al destino */
+    public long getProcessed(){ return processed; }
+
+    /** @return Líneas rechazadas */
+    public long getRejected(){ return rejected; }
+
+    /** @return Totales de los empleados procesados */
+    public PayrollSummary getSummary(){ return summary; }
+
+    @Override
+    public String toString(){
+        return "StreamingRunReport[linesRead=" + linesRead + ", processed=" + processed + ", rejected=" + rejected + "]";
+    }
+}
@@ -0,0 +1,173 @@
+package com.clinica.salvador.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.clinica.salvador.model.CommissionEmployee;
+import com.clinica.salvador.model.Employee;
+import com.clinica.salvador.model.HourlyEmployee;
+import com.clinica.salvador.model.SalariedEmployee;
+import com.clinica.salvador.model.TemporaryEmployee;
+import com.clinica.salvador.util.PayrollRunContext;
+
+/**
+ * Clase TypePartitionedPayrollCalculator
+ *
+ * Calcula una corrida agrupando la nómina por subtipo concreto y
+ * procesando cada grupo con su propio ciclo. En processAll las llamadas a
+ * calculateGross, calculateDeductions y calculateNet ven los cuatro
+ * subtipos intercalados, y el JIT las deja como llamadas virtuales; aquí
+ * cada ciclo solo ve una clase, sus llamadas son monomórficas y se pueden
+ * inlinear.
+ *
+ * - Los ciclos están repetidos a propósito, uno por subtipo: el perfil de
+ *   tipos del JIT es por sitio de llamada en el bytecode, y un método
+ *   auxiliar común volvería a mezclar los cuatro tipos.
+ * - Se agrupa por clase exacta. Las subclases de los subtipos y los
+ *   subtipos no reconocidos van a un ciclo genérico.
+ * - Los resultados se escriben en la posición original de cada empleado,
+ *   así que la salida tiene el mismo orden que la lista de entrada.
+ *
+ * Cada resultado es igual (incluida la escala) al de processAll con el
+ * mismo contexto. Si el cálculo de un empleado lanza cualquier
+ * RuntimeException (un dato inválido, pero también, por ejemplo, un
+ * NullPointerException por una fecha nula o el error de una subclase) se
+ * repite la corrida en el orden original, de modo que se lanza la misma
+ * excepción que processAll: la del primer empleado que falla en la lista,
+ * no la del primer grupo.
+ *
+ * No es un modo de PayrollService: en JMH es más lento que processAll con
+ * 1M empleados (la aritmética de BigDecimal domina cada llamada y no
+ * compensa las escrituras dispersas). Se conserva para comparar en
+ * PayrollServiceBenchmark.
+ */
+public class TypePartitionedPayrollCalculator {
+
+    private static final int SALARIED = 0;
+    private static final int HOURLY = 1;
+    private static final int COMMISSION = 2;
+    private static final int TEMPORARY = 3;
+    private static final int OTHER = 4;
+
+    private final PayrollRunContext context;
+
+    /**
+     * Constructor de TypePartitionedPayrollCalculator.
+     *
+     * @param context Contexto de la corrida
+     */
+    public TypePartitionedPayrollCalculator(PayrollRunContext context) {
+        if (context == null) throw new IllegalArgumentException("El contexto no puede ser nulo");
+        this.context = context;
+    }
+
+    /**
+     * Calcula la nómina de una lista de empleados.
+     *
+     * @param employees Lista de empleados
+     * @return Resultados en el orden de la lista
+     * @throws RuntimeException la del primer empleado que falla, igual que processAll
+     */
+    public List<PayrollResult> calculate(List<Employee> employees) {
+        Employee[] roster = employees.toArray(new Employee[0]);
+        int n = roster.length;
+
+        // Posiciones de cada grupo, en orden: counting sort por clase
+        byte[] group = new byte[n];
+        int[] counts = new int[OTHER + 1];
+        for (int i = 0; i < n; i++) {
+            int g = groupOf(roster[i]);
+            group[i] = (byte) g;
+            counts[g]++;
+        }
+        int[][] positions = new int[OTHER + 1][];
+        for (int g = 0; g <= OTHER; g++) {
+            positions[g] = new int[counts[g]];
+        }
+        int[] filled = new int[OTHER + 1];
+        for (int i = 0; i < n; i++) {
+            int g = group[i];
+            positions[g][filled[g]++] = i;
+        }
+
+        PayrollResult[] out = new PayrollResult[n];
+        try {
+            salaried(roster, positions[SALARIED], out);
+            hourly(roster, positions[HOURLY], out);
+            commission(roster, positions[COMMISSION], out);
+            temporary(roster, positions[TEMPORARY], out);
+            other(roster, positions[OTHER], out);
+        } catch (RuntimeException ex) {
+            // Se lanza la excepción del primero que falla en el orden original
+            for (Employee e : roster) {
+                calculate(e);
+            }
+            throw ex;
+        }
+        return new ArrayList<>(Arrays.asList(out));
+    }
+
+    private static int groupOf(Employee e) {
+        Class<?> type = e.getClass();
+        if (type == SalariedEmployee.class) return SALARIED;
+        if (type == HourlyEmployee.class) return HOURLY;
+        if (type == CommissionEmployee.class) return COMMISSION;
+        if (type == TemporaryEmployee.class) return TEMPORARY;
+        return OTHER;
+    }
+
+    private void salaried(Employee[] roster, int[] positions, PayrollResult[] out) {
+        PayrollRunContext ctx = context;
+        for (int i : positions) {
+            SalariedEmployee e = (SalariedEmployee) roster[i];
+            BigDecimal gross = e.calculateGross(ctx);
+            BigDecimal deductions = e.calculateDeductions(gross, ctx);
+            out[i] = new PayrollResult(e.getId(), gross, deductions, e.calculateNet(gross, deductions));
+        }
+    }
+
+    private void hourly(Employee[] roster, int[] positions, PayrollResult[] out) {
+        PayrollRunContext ctx = context;
+        for (int i : positions) {
+            HourlyEmployee e = (HourlyEmployee) roster[i];
+            BigDecimal gross = e.calculateGross(ctx);
+            BigDecimal deductions = e.calculateDeductions(gross, ctx);
+            out[i] = new PayrollResult(e.getId(), gross, deductions, e.calculateNet(gross, deductions));
+        }
+    }
+
+    private void commission(Employee[] roster, int[] positions, PayrollResult[] out) {
+        PayrollRunContext ctx = context;
+        for (int i : positions) {
+            CommissionEmployee e = (CommissionEmployee) roster[i];
+            BigDecimal gross = e.calculateGross(ctx);
+            BigDecimal deductions = e.calculateDeductions(gross, ctx);
+            out[i] = new PayrollResult(e.getId(), gross, deductions, e.calculateNet(gross, deductions));
+        }
+    }
+
+    private void temporary(Employee[] roster, int[] positions, PayrollResult[] out) {
+        PayrollRunContext ctx = context;
+        for (int i : positions) {
+            TemporaryEmployee e = (TemporaryEmployee) roster[i];
+            BigDecimal gross = e.calculateGross(ctx);
+            BigDecimal deductions = e.calculateDeductions(gross, ctx);
+            out[i] = new PayrollResult(e.getId(), gross, deductions, e.calculateNet(gross, deductions));
+        }
+    }
+
+    private void other(Employee[] roster, int[] positions, PayrollResult[] out) {
+        for (int i : positions) {
+            out[i] = calculate(roster[i]);
+        }
+    }
+
+    /** Cálculo genérico, el mismo de processAll */
+    private PayrollResult calculate(Employee e) {
+        BigDecimal gross = e.calculateGross(context);
+        BigDecimal deductions = e.calculateDeductions(gross, context);
+        return new PayrollResult(e.getId(), gross, deductions, e.calculateNet(gross, deductions));
+    }
+}
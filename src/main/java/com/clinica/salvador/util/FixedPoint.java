@@ -0,0 +1,132 @@
+package com.clinica.salvador.util;
+
+import java.math.BigDecimal;
+
+/**
+ * Clase FixedPoint
+ *
+ * Aritmética decimal de punto fijo sobre long. Un monto se representa con
+ * dos primitivos: el valor sin escala (unscaled) y la escala, igual que
+ * BigDecimal pero sin crear objetos. Por ejemplo 1234.50 es (123450, 2).
+ *
+ * Las operaciones siguen las mismas reglas de escala que BigDecimal
+ * (la multiplicación suma escalas, la suma usa la mayor), de modo que
+ * toBigDecimal devuelve exactamente el mismo valor, con la misma escala,
+ * que la operación equivalente con BigDecimal. La escala del resultado
+ * la lleva quien llama.
+ *
+ * Ninguna operación pierde precisión: si un resultado no cabe en un long
+ * se lanza ArithmeticException, y quien llama debe volver a BigDecimal.
+ */
+public final class FixedPoint {
+
+    /** Potencias de 10 representables en un long */
+    private static final long[] POW10 = {
+        1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L,
+        100_000_000L, 1_000_000_000L, 10_000_000_000L, 100_000_000_000L,
+        1_000_000_000_000L, 10_000_000_000_000L, 100_000_000_000_000L,
+        1_000_000_000_000_000L, 10_000_000_000_000_000L, 100_000_000_000_000_000L,
+        1_000_000_000_000_000_000L
+    };
+
+    /** Constructor privado para evitar instanciación */
+    private FixedPoint(){}
+
+    /**
+     * Obtiene el valor sin escala de un BigDecimal.
+     * Se usa scaleByPowerOfTen en lugar de unscaledValue porque este último
+     * crea un BigInteger en cada llamada, mientras que el BigDecimal
+     * intermedio lo elimina el JIT (análisis de escape).
+     *
+     * Con 18 dígitos o menos el valor siempre cabe en un long; ese caso va
+     * por una rama que nunca lanza excepción, para que los montos enormes
+     * (que sí la lanzan) no impidan que el JIT elimine el intermedio.
+     *
+     * @param value Monto
+     * @return Valor sin escala
+     * @throws ArithmeticException si no cabe en un long
+     */
+    public static long unscaled(BigDecimal value) {
+        if (value.precision() <= 18) {
+            return value.scaleByPowerOfTen(value.scale()).longValue();
+        }
+        return value.scaleByPowerOfTen(value.scale()).longValueExact();
+    }
+
+    /**
+     * Devuelve 10 elevado a n.
+     *
+     * @param n Exponente, entre 0 y 18
+     * @return 10^n
+     * @throws ArithmeticException si 10^n no cabe en un long
+     */
+    public static long pow10(int n) {
+        if (n < 0 || n >= POW10.length) throw new ArithmeticException("Escala fuera de rango");
+        return POW10[n];
+    }
+
+    /**
+     * Lleva un valor de la escala from a una escala mayor o igual.
+     *
+     * @param unscaled Valor sin escala
+     * @param from Escala actual
+     * @param to Escala destino (to &gt;= from)
+     * @return Valor sin escala en la escala destino
+     * @throws ArithmeticException si el resultado no cabe en un long
+     */
+    public static long rescale(long unscaled, int from, int to) {
+        int shift = to - from;
+        if (shift == 0) return unscaled;
+        if (shift < 0 || shift >= POW10.length) throw new ArithmeticException("Escala fuera de rango");
+        return Math.multiplyExact(unscaled, POW10[shift]);
+    }
+
+    /**
+     * Suma dos montos. La escala del resultado es max(s1, s2).
+     *
+     * @throws ArithmeticException si el resultado no cabe en un long
+     */
+    public static long add(long u1, int s1, long u2, int s2) {
+        int scale = Math.max(s1, s2);
+        return Math.addExact(rescale(u1, s1, scale), rescale(u2, s2, scale));
+    }
+
+    /**
+     * Resta dos montos. La escala del resultado es max(s1, s2).
+     *
+     * @throws ArithmeticException si el resultado no cabe en un long
+     */
+    public static long subtract(long u1, int s1, long u2, int s2) {
+        int scale = Math.max(s1, s2);
+        return Math.subtractExact(rescale(u1, s1, scale), rescale(u2, s2, scale));
+    }
+
+    /**
+     * Multiplica dos montos. La escala del resultado es s1 + s2.
+     *
+     * @throws ArithmeticException si el resultado no cabe en un long
+     */
+    public static long multiply(long u1, long u2) {
+        return Math.multiplyExact(u1, u2);
+    }
+
+    /**
+     * Compara dos montos por valor, como BigDecimal.compareTo.
+     *
+     * @return negativo, cero o positivo si el primero es menor, igual o mayor
+     * @throws ArithmeticException si no se pueden alinear las escalas en un long
+     */
+    public static int compare(long u1, int s1, long u2, int s2) {
+        int scale = Math.max(s1, s2);
+        return Long.compare(rescale(u1, s1, scale), rescale(u2, s2, scale));
+    }
+
+    /**
+     * Convierte un monto de punto fijo a BigDecimal.
+     *
+     * @return BigDecimal con el mismo valor y la misma escala
+     */
+    public static BigDecimal toBigDecimal(long unscaled, int scale) {
+        return BigDecimal.valueOf(unscaled, scale);
+    }
+}
@@ -0,0 +1,107 @@
+package com.clinica.salvador.util;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Clase PayrollRunContext
+ *
+ * Datos fijos de una corrida de nómina: la fecha de la corrida y la versión
+ * de la tabla de tasas (RateTable) con la que se calcula. Se resuelven una
+ * sola vez al inicio y todos los empleados de la corrida se calculan con
+ * los mismos valores, por lo que una corrida que cruza la medianoche (o el
+ * 31 de diciembre), o durante la cual se recarga la tabla de tasas, no
+ * mezcla fechas ni versiones, y el cálculo de cada empleado no necesita
+ * leer el reloj ni crear constantes.
+ *
+ * Es inmutable y puede compartirse entre hilos.
+ */
+public final class PayrollRunContext {
+
+    /** Fecha de la corrida (define los años de servicio) */
+    private final LocalDate runDate;
+
+    /** Tasas y reglas fijadas para la corrida */
+    private final RateTable rates;
+
+    /**
+     * Indica si la ARL cambia el resultado de las deducciones. Una ARL nula,
+     * o cero con escala no mayor que la de deductionRate, no altera ni el
+     * valor ni la escala del total, así que no hace falta calcularla.
+     */
+    private final boolean arlApplied;
+
+    private PayrollRunContext(LocalDate runDate, RateTable rates) {
+        if (runDate == null) throw new IllegalArgumentException("La fecha de la corrida no puede ser nula");
+        if (rates == null) throw new IllegalArgumentException("La tabla de tasas no puede ser nula");
+        this.runDate = runDate;
+        this.rates = rates;
+        BigDecimal arlRate = rates.getArlRate();
+        this.arlApplied = arlRate != null
+                && (arlRate.signum() != 0 || arlRate.scale() > rates.getDeductionRate().scale());
+    }
+
+    /**
+     * Crea el contexto de una corrida con las reglas por defecto y las tasas
+     * indicadas.
+     *
+     * @param runDate Fecha de la corrida
+     * @param deductionRate Porcentaje de deducciones generales
+     * @param arlRate Porcentaje de deducciones por ARL (puede ser null)
+     * @return Contexto de la corrida
+     */
+    public static PayrollRunContext of(LocalDate runDate, BigDecimal deductionRate, BigDecimal arlRate) {
+        if (deductionRate == null) throw new IllegalArgumentException("La tasa de deducción no puede ser nula");
+        return new PayrollRunContext(runDate, RateTable.withRates(deductionRate, arlRate));
+    }
+
+    /**
+     * Crea el contexto de una corrida con una versión de la tabla de tasas.
+     *
+     * @param runDate Fecha de la corrida
+     * @param rates Tabla de tasas
+     * @return Contexto de la corrida
+     */
+    public static PayrollRunContext of(LocalDate runDate, RateTable rates) {
+        return new PayrollRunContext(runDate, rates);
+    }
+
+    /**
+     * Crea el contexto de una corrida con fecha de hoy y la tabla por defecto.
+     *
+     * @return Contexto de la corrida
+     */
+    public static PayrollRunContext today() {
+        return of(LocalDate.now(), RateTable.defaults());
+    }
+
+    /**
+     * Devuelve una copia del contexto con otra fecha de corrida.
+     *
+     * @param date Nueva fecha
+     * @return Contexto con la misma tabla y la fecha indicada
+     */
+    public PayrollRunContext withRunDate(LocalDate date) {
+        return new PayrollRunContext(date, rates);
+    }
+
+    /**
+     * Devuelve una copia del contexto con otras tasas de deducción y ARL y
+     * las demás reglas de su tabla.
+     *
+     * @param deductionRate Porcentaje de deducciones generales
+     * @param arlRate Porcentaje de deducciones por ARL (puede ser null)
+     * @return Contexto con la misma fecha y esas tasas
+     */
+    public PayrollRunContext withRates(BigDecimal deductionRate, BigDecimal arlRate) {
+        return new PayrollRunContext(runDate, rates.withDeductionRates(deductionRate, arlRate));
+    }
+
+    // --- Métodos de acceso (Getters) ---
+    public LocalDate getRunDate(){ return runDate; }
+    public RateTable getRates(){ return rates; }
+    public BigDecimal getDeductionRate(){ return rates.getDeductionRate(); }
+    public BigDecimal getArlRate(){ return rates.getArlRate(); }
+    public BigDecimal getFoodAllowance(){ return rates.getFoodAllowance(); }
+    public boolean isArlApplied(){ return arlApplied; }
+}
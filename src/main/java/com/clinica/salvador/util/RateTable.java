@@ -0,0 +1,260 @@
+package com.clinica.salvador.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+
+import com.clinica.salvador.model.CommissionEmployee;
+import com.clinica.salvador.model.HourlyEmployee;
+import com.clinica.salvador.model.SalariedEmployee;
+
+/**
+ * Clase RateTable
+ *
+ * Versión de las tasas y reglas de la nómina: tasas de deducción y ARL,
+ * auxilio de alimentación, horas normales y recargo de horas extra, bono
+ * de antigüedad y bonificación por ventas. Es inmutable; un cambio de
+ * tasas es una tabla nueva con otra versión.
+ *
+ * Se lee de un archivo .properties con estas claves, todas obligatorias
+ * (fromProperties, en cambio, completa las que falten con el valor por
+ * defecto de Config y de las subclases de Employee):
+ *
+ * <pre>
+ * version=2025-01
+ * deduction.rate=0.04
+ * arl.rate=0            (vacío: sin ARL)
+ * food.allowance=1000000
+ * hourly.regular.hours=40
+ * hourly.overtime.multiplier=1.5
+ * salaried.tenure.bonus.years=5
+ * salaried.tenure.bonus.percent=0.10
+ * commission.bonus.threshold=20000000
+ * commission.bonus.percent=0.03
+ * </pre>
+ *
+ * Los montos conservan la escala escrita en el archivo, igual que si se
+ * escribieran como constantes con new BigDecimal("...").
+ *
+ * Exigir todas las claves hace que un archivo truncado o escrito a medias
+ * se rechace en lugar de mezclar tasas nuevas con las por defecto. Quien
+ * reemplace el archivo de una tabla en uso debe escribirlo en un temporal
+ * y renombrarlo sobre el original, como hace store.
+ */
+public final class RateTable {
+
+    /** Versión de los valores por defecto */
+    public static final String DEFAULT_VERSION = "default";
+
+    /** Claves que load exige en el archivo */
+    private static final String[] KEYS = {"version", "deduction.rate", "arl.rate", "food.allowance",
+            "hourly.regular.hours", "hourly.overtime.multiplier",
+            "salaried.tenure.bonus.years", "salaried.tenure.bonus.percent",
+            "commission.bonus.threshold", "commission.bonus.percent"};
+
+    private static final RateTable DEFAULTS = new RateTable(DEFAULT_VERSION,
+            Config.DEDUCTION_RATE, Config.ARL_RATE, Config.FOOD_ALLOWANCE,
+            HourlyEmployee.REGULAR_HOURS, HourlyEmployee.OVERTIME_MULTIPLIER,
+            SalariedEmployee.TENURE_BONUS_YEARS, SalariedEmployee.TENURE_BONUS_PERCENT,
+            CommissionEmployee.BONUS_THRESHOLD, CommissionEmployee.BONUS_PERCENT);
+
+    private final String version;
+    private final BigDecimal deductionRate;
+    private final BigDecimal arlRate;
+    private final BigDecimal foodAllowance;
+    private final BigDecimal regularHours;
+    private final BigDecimal overtimeMultiplier;
+    private final int tenureBonusYears;
+    private final BigDecimal tenureBonusPercent;
+    private final BigDecimal commissionBonusThreshold;
+    private final BigDecimal commissionBonusPercent;
+
+    private RateTable(String version, BigDecimal deductionRate, BigDecimal arlRate, BigDecimal foodAllowance,
+                      BigDecimal regularHours, BigDecimal overtimeMultiplier,
+                      int tenureBonusYears, BigDecimal tenureBonusPercent,
+                      BigDecimal commissionBonusThreshold, BigDecimal commissionBonusPercent) {
+        if (version == null || version.isBlank()) throw new IllegalArgumentException("La versión de la tabla no puede estar vacía");
+        if (deductionRate == null) throw new IllegalArgumentException("La tasa de deducción no puede ser nula");
+        this.version = version;
+        this.deductionRate = deductionRate;
+        this.arlRate = arlRate;
+        this.foodAllowance = requireNonNegative("food.allowance", foodAllowance);
+        this.regularHours = requireNonNegative("hourly.regular.hours", regularHours);
+        this.overtimeMultiplier = requireNonNegative("hourly.overtime.multiplier", overtimeMultiplier);
+        if (tenureBonusYears < 0) throw new IllegalArgumentException("salaried.tenure.bonus.years no puede ser negativo");
+        this.tenureBonusYears = tenureBonusYears;
+        this.tenureBonusPercent = requireNonNegative("salaried.tenure.bonus.percent", tenureBonusPercent);
+        this.commissionBonusThreshold = requireNonNegative("commission.bonus.threshold", commissionBonusThreshold);
+        this.commissionBonusPercent = requireNonNegative("commission.bonus.percent", commissionBonusPercent);
+    }
+
+    private static BigDecimal requireNonNegative(String key, BigDecimal value) {
+        if (value == null || value.signum() < 0) {
+            throw new IllegalArgumentException(key + " debe ser un número no negativo");
+        }
+        return value;
+    }
+
+    /**
+     * Tabla con los valores de Config y de las constantes de las subclases
+     * de Employee.
+     *
+     * @return Tabla por defecto
+     */
+    public static RateTable defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * Copia de la tabla por defecto con otras tasas de deducción y ARL.
+     *
+     * @param deductionRate Porcentaje de deducciones generales
+     * @param arlRate Porcentaje de deducciones por ARL (puede ser null)
+     * @return Tabla con esas tasas
+     */
+    public static RateTable withRates(BigDecimal deductionRate, BigDecimal arlRate) {
+        if (deductionRate == Config.DEDUCTION_RATE && arlRate == Config.ARL_RATE) return DEFAULTS;
+        return new RateTable(DEFAULT_VERSION, deductionRate, arlRate, DEFAULTS.foodAllowance,
+                DEFAULTS.regularHours, DEFAULTS.overtimeMultiplier,
+                DEFAULTS.tenureBonusYears, DEFAULTS.tenureBonusPercent,
+                DEFAULTS.commissionBonusThreshold, DEFAULTS.commissionBonusPercent);
+    }
+
+    /**
+     * Copia de esta tabla (misma versión y reglas) con otras tasas de
+     * deducción y ARL, para evaluar escenarios hipotéticos.
+     *
+     * @param deductionRate Porcentaje de deducciones generales
+     * @param arlRate Porcentaje de deducciones por ARL (puede ser null)
+     * @return Tabla con esas tasas
+     */
+    public RateTable withDeductionRates(BigDecimal deductionRate, BigDecimal arlRate) {
+        return new RateTable(version, deductionRate, arlRate, foodAllowance, regularHours, overtimeMultiplier,
+                tenureBonusYears, tenureBonusPercent, commissionBonusThreshold, commissionBonusPercent);
+    }
+
+    /**
+     * Lee una tabla de un archivo .properties en UTF-8.
+     *
+     * @param file Archivo de tasas
+     * @return Tabla leída
+     * @throws IOException si no se puede leer el archivo
+     * @throws IllegalArgumentException si falta una clave o un valor no es válido
+     */
+    public static RateTable load(Path file) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            Properties properties = new Properties();
+            properties.load(reader);
+            for (String key : KEYS) {
+                if (properties.getProperty(key) == null) {
+                    throw new IllegalArgumentException("Falta la clave " + key + " en " + file);
+                }
+            }
+            return fromProperties(properties);
+        }
+    }
+
+    /**
+     * Construye una tabla a partir de propiedades (ver claves en la
+     * descripción de la clase).
+     *
+     * @param p Propiedades
+     * @return Tabla
+     * @throws IllegalArgumentException si falta la versión o un valor no es válido
+     */
+    public static RateTable fromProperties(Properties p) {
+        String version = p.getProperty("version");
+        if (version == null || version.isBlank()) throw new IllegalArgumentException("Falta la clave version");
+        String arl = p.getProperty("arl.rate");
+        return new RateTable(version.trim(),
+                decimal(p, "deduction.rate", DEFAULTS.deductionRate),
+                arl == null ? DEFAULTS.arlRate : arl.isBlank() ? null : decimal(p, "arl.rate", null),
+                decimal(p, "food.allowance", DEFAULTS.foodAllowance),
+                decimal(p, "hourly.regular.hours", DEFAULTS.regularHours),
+                decimal(p, "hourly.overtime.multiplier", DEFAULTS.overtimeMultiplier),
+                integer(p, "salaried.tenure.bonus.years", DEFAULTS.tenureBonusYears),
+                decimal(p, "salaried.tenure.bonus.percent", DEFAULTS.tenureBonusPercent),
+                decimal(p, "commission.bonus.threshold", DEFAULTS.commissionBonusThreshold),
+                decimal(p, "commission.bonus.percent", DEFAULTS.commissionBonusPercent));
+    }
+
+    /**
+     * Convierte la tabla en propiedades con las claves de fromProperties.
+     * Los montos se escriben con BigDecimal.toString, que conserva la escala,
+     * así que fromProperties(toProperties()) es una tabla igual.
+     *
+     * @return Propiedades de la tabla
+     */
+    public Properties toProperties() {
+        Properties p = new Properties();
+        p.setProperty("version", version);
+        p.setProperty("deduction.rate", deductionRate.toString());
+        p.setProperty("arl.rate", arlRate == null ? "" : arlRate.toString());
+        p.setProperty("food.allowance", foodAllowance.toString());
+        p.setProperty("hourly.regular.hours", regularHours.toString());
+        p.setProperty("hourly.overtime.multiplier", overtimeMultiplier.toString());
+        p.setProperty("salaried.tenure.bonus.years", Integer.toString(tenureBonusYears));
+        p.setProperty("salaried.tenure.bonus.percent", tenureBonusPercent.toString());
+        p.setProperty("commission.bonus.threshold", commissionBonusThreshold.toString());
+        p.setProperty("commission.bonus.percent", commissionBonusPercent.toString());
+        return p;
+    }
+
+    /**
+     * Guarda la tabla en un archivo .properties en UTF-8 que load puede leer.
+     *
+     * @param file Archivo destino
+     * @throws IOException si no se puede escribir el archivo
+     */
+    public void store(Path file) throws IOException {
+        // Se escribe aparte y se renombra: quien lea el archivo ve la tabla anterior o la nueva completa
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            toProperties().store(writer, "Tabla de tasas " + version);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static BigDecimal decimal(Properties p, String key, BigDecimal defaultValue) {
+        String value = p.getProperty(key);
+        if (value == null) return defaultValue;
+        try {
+            return new BigDecimal(value.trim());
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Valor inválido para " + key + ": " + value);
+        }
+    }
+
+    private static int integer(Properties p, String key, int defaultValue) {
+        String value = p.getProperty(key);
+        if (value == null) return defaultValue;
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Valor inválido para " + key + ": " + value);
+        }
+    }
+
+    // --- Métodos de acceso (Getters) ---
+    public String getVersion(){ return version; }
+    public BigDecimal getDeductionRate(){ return deductionRate; }
+    public BigDecimal getArlRate(){ return arlRate; }
+    public BigDecimal getFoodAllowance(){ return foodAllowance; }
+    public BigDecimal getRegularHours(){ return regularHours; }
+    public BigDecimal getOvertimeMultiplier(){ return overtimeMultiplier; }
+    public int getTenureBonusYears(){ return tenureBonusYears; }
+    public BigDecimal getTenureBonusPercent(){ return tenureBonusPercent; }
+    public BigDecimal getCommissionBonusThreshold(){ return commissionBonusThreshold; }
+    public BigDecimal getCommissionBonusPercent(){ return commissionBonusPercent; }
+
+    @Override
+    public String toString(){
+        return "RateTable[version=" + version + "]";
+    }
+}
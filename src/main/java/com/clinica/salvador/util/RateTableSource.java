@@ -0,0 +1,197 @@
+package com.clinica.salvador.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDate;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Clase RateTableSource
+ *
+ * Mantiene en memoria la versión vigente de la tabla de tasas (RateTable)
+ * leída de un archivo .properties, y la reemplaza cuando el archivo cambia,
+ * sin reiniciar el proceso.
+ *
+ * - current() es una lectura de una referencia atómica; no hay bloqueos.
+ * - El reemplazo es atómico: quien lee ve la tabla anterior completa o la
+ *   nueva completa, nunca una mezcla.
+ * - Cada corrida fija una versión con newRunContext() y la usa hasta el
+ *   final, aunque entre tanto se cargue otra.
+ * - Si el archivo nuevo no se puede leer o no es válido, se conserva la
+ *   tabla vigente y el error queda disponible en getLastReloadError().
+ *
+ * Los cambios se detectan por fecha de modificación y tamaño del archivo,
+ * con reloadIfChanged() o periódicamente con watch(). Como esa marca no
+ * basta para saber que el archivo terminó de escribirse, se vuelve a tomar
+ * después de leerlo: si cambió durante la lectura se repite, y RateTable
+ * rechaza un archivo al que le falte alguna clave. Aun así, quien edite el
+ * archivo debe escribirlo en un temporal y renombrarlo (RateTable.store lo
+ * hace), para que nunca se vea a medias.
+ */
+public final class RateTableSource implements Closeable {
+
+    /** Fecha de modificación y tamaño del archivo cargado */
+    private static final class FileStamp {
+        final FileTime modified;
+        final long size;
+
+        FileStamp(FileTime modified, long size) {
+            this.modified = modified;
+            this.size = size;
+        }
+
+        boolean sameAs(FileStamp other) {
+            return other != null && modified.equals(other.modified) && size == other.size;
+        }
+    }
+
+    /** Tabla leída y la marca del archivo que no cambió durante la lectura */
+    private static final class Loaded {
+        final RateTable table;
+        final FileStamp stamp;
+
+        Loaded(RateTable table, FileStamp stamp) {
+            this.table = table;
+            this.stamp = stamp;
+        }
+    }
+
+    /** Lecturas de un archivo que cambia mientras se lee antes de desistir */
+    private static final int READ_ATTEMPTS = 3;
+
+    /** Archivo de tasas; null para una tabla fija */
+    private final Path file;
+
+    private final AtomicReference<RateTable> current;
+
+    private FileStamp loadedStamp;
+    private volatile Exception lastReloadError;
+    private ScheduledExecutorService watcher;
+
+    private RateTableSource(Path file, RateTable initial, FileStamp stamp) {
+        this.file = file;
+        this.current = new AtomicReference<>(initial);
+        this.loadedStamp = stamp;
+    }
+
+    /**
+     * Carga la tabla de un archivo. La primera carga debe ser válida.
+     *
+     * @param file Archivo de tasas (.properties)
+     * @return Fuente con la tabla cargada
+     * @throws IOException si no se puede leer el archivo
+     * @throws IllegalArgumentException si el archivo no es una tabla válida
+     */
+    public static RateTableSource load(Path file) throws IOException {
+        Loaded loaded = read(file);
+        return new RateTableSource(file, loaded.table, loaded.stamp);
+    }
+
+    /**
+     * Fuente con una tabla fija, sin archivo (ej. la tabla por defecto).
+     *
+     * @param table Tabla de tasas
+     * @return Fuente que siempre devuelve esa tabla
+     */
+    public static RateTableSource fixed(RateTable table) {
+        if (table == null) throw new IllegalArgumentException("La tabla de tasas no puede ser nula");
+        return new RateTableSource(null, table, null);
+    }
+
+    private static FileStamp stamp(Path file) throws IOException {
+        return new FileStamp(Files.getLastModifiedTime(file), Files.size(file));
+    }
+
+    /**
+     * Lee la tabla y comprueba que el archivo no cambió mientras se leía.
+     *
+     * @throws IOException si no se puede leer o sigue cambiando tras varios intentos
+     */
+    private static Loaded read(Path file) throws IOException {
+        for (int attempt = 0; attempt < READ_ATTEMPTS; attempt++) {
+            FileStamp before = stamp(file);
+            RateTable table = RateTable.load(file);
+            if (before.sameAs(stamp(file))) return new Loaded(table, before);
+        }
+        throw new IOException("El archivo de tasas cambió durante la lectura: " + file);
+    }
+
+    /** @return Versión vigente de la tabla */
+    public RateTable current(){ return current.get(); }
+
+    /**
+     * Contexto de una corrida con la fecha de hoy y la tabla vigente.
+     *
+     * @return Contexto de la corrida
+     */
+    public PayrollRunContext newRunContext() {
+        return newRunContext(LocalDate.now());
+    }
+
+    /**
+     * Contexto de una corrida con la tabla vigente.
+     *
+     * @param runDate Fecha de la corrida
+     * @return Contexto de la corrida
+     */
+    public PayrollRunContext newRunContext(LocalDate runDate) {
+        return PayrollRunContext.of(runDate, current.get());
+    }
+
+    /**
+     * Vuelve a cargar el archivo si cambió desde la última carga.
+     *
+     * @return true si se reemplazó la tabla vigente
+     */
+    public synchronized boolean reloadIfChanged() {
+        if (file == null) return false;
+        try {
+            if (stamp(file).sameAs(loadedStamp)) return false;
+            Loaded loaded = read(file);
+            loadedStamp = loaded.stamp;
+            current.set(loaded.table);
+            lastReloadError = null;
+            return true;
+        } catch (IOException | IllegalArgumentException ex) {
+            // Se conserva la tabla vigente; el archivo se reintenta en la próxima revisión
+            lastReloadError = ex;
+            return false;
+        }
+    }
+
+    /**
+     * Revisa el archivo periódicamente en un hilo daemon y recarga la tabla
+     * cuando cambia. Llamarlo de nuevo reemplaza el período anterior.
+     *
+     * @param periodMillis Milisegundos entre revisiones (mayor que 0)
+     */
+    public synchronized void watch(long periodMillis) {
+        if (periodMillis <= 0) throw new IllegalArgumentException("El período debe ser mayor que 0");
+        if (file == null) return;
+        if (watcher != null) watcher.shutdownNow();
+        watcher = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread t = new Thread(task, "rate-table-watcher");
+            t.setDaemon(true);
+            return t;
+        });
+        watcher.scheduleWithFixedDelay(this::reloadIfChanged, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /** @return Error de la última recarga fallida, o null si la última fue correcta */
+    public Exception getLastReloadError(){ return lastReloadError; }
+
+    /** Detiene la revisión periódica, si estaba activa */
+    @Override
+    public synchronized void close() {
+        if (watcher != null) {
+            watcher.shutdownNow();
+            watcher = null;
+        }
+    }
+}
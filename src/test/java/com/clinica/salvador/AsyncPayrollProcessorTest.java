@@ -0,0 +1,181 @@
+package com.clinica.salvador;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.clinica.salvador.model.Employee;
+import com.clinica.salvador.model.HourlyEmployee;
+import com.clinica.salvador.service.AsyncPayrollProcessor;
+import com.clinica.salvador.service.PayrollResult;
+import com.clinica.salvador.service.PayrollService;
+import com.clinica.salvador.util.Config;
+
+/**
+ * Pruebas unitarias para AsyncPayrollProcessor.
+ * Validamos orden de salida, límite de empleados en curso y propagación de errores.
+ */
+public class AsyncPayrollProcessorTest {
+
+    @Test
+    void async_keepsOrderAndBoundsInFlight() throws Exception {
+        List<Employee> roster = PayrollServiceTest.mixedRoster(2_000);
+        int maxInFlight = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            ListPublisher source = new ListPublisher(roster);
+            AsyncPayrollProcessor processor = new AsyncPayrollProcessor(Config.DEDUCTION_RATE, Config.ARL_RATE, pool, maxInFlight);
+            source.subscribe(processor);
+            // Suscriptor lento: pide de a un resultado
+            CollectingSubscriber sink = new CollectingSubscriber(source);
+            processor.subscribe(sink);
+
+            assertTrue(sink.done.await(30, TimeUnit.SECONDS));
+            assertNull(sink.error);
+            List<PayrollResult> expected = new PayrollService(roster, Config.DEDUCTION_RATE, Config.ARL_RATE).processAll();
+            assertEquals(expected.size(), sink.results.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i).getEmployeeId(), sink.results.get(i).getEmployeeId());
+                assertEquals(expected.get(i).getNet(), sink.results.get(i).getNet());
+            }
+            // Nunca se pidieron a la fuente más de maxInFlight empleados por delante del suscriptor
+            assertTrue(sink.maxAhead <= maxInFlight, "Adelantados: " + sink.maxAhead);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void async_worksOnVirtualThreadExecutor_andPropagatesErrors() throws Exception {
+        List<Employee> roster = PayrollServiceTest.mixedRoster(100);
+        roster.add(60, new HourlyEmployee("BAD", "Horas negativas", LocalDate.now(), false,
+                new BigDecimal("20000"), new BigDecimal("-2"), 1, false));
+        ExecutorService executor = AsyncPayrollProcessor.virtualThreadExecutor();
+        try {
+            ListPublisher source = new ListPublisher(roster);
+            AsyncPayrollProcessor processor = new AsyncPayrollProcessor(Config.DEDUCTION_RATE, Config.ARL_RATE, executor, 16);
+            source.subscribe(processor);
+            CollectingSubscriber sink = new CollectingSubscriber(source);
+            processor.subscribe(sink);
+
+            assertTrue(sink.done.await(30, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalArgumentException.class, sink.error);
+            assertTrue(sink.results.size() <= 60);
+            assertTrue(source.cancelled);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /** Publicador de una lista que respeta la demanda y cuenta lo pedido */
+    static final class ListPublisher implements Flow.Publisher<Employee> {
+        final List<Employee> items;
+        final AtomicLong requested = new AtomicLong();
+        volatile boolean cancelled;
+
+        ListPublisher(List<Employee> items) {
+            this.items = items;
+        }
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super Employee> subscriber) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                private long demand;
+                private int index;
+                private boolean emitting;
+                private boolean completed;
+
+                @Override
+                public void request(long n) {
+                    synchronized (this) {
+                        requested.addAndGet(n);
+                        demand += n;
+                        if (emitting) return;
+                        emitting = true;
+                    }
+                    while (true) {
+                        Employee next = null;
+                        boolean complete = false;
+                        synchronized (this) {
+                            if (cancelled || (demand == 0 && index < items.size()) || completed) {
+                                emitting = false;
+                                return;
+                            }
+                            if (index >= items.size()) {
+                                completed = true;
+                                complete = true;
+                            } else {
+                                demand--;
+                                next = items.get(index++);
+                            }
+                        }
+                        if (complete) {
+                            subscriber.onComplete();
+                            synchronized (this) {
+                                emitting = false;
+                            }
+                            return;
+                        }
+                        subscriber.onNext(next);
+                    }
+                }
+
+                @Override
+                public void cancel() {
+                    cancelled = true;
+                }
+            });
+        }
+    }
+
+    /** Suscriptor que pide de a un resultado y registra cuánto se adelantó la fuente */
+    static final class CollectingSubscriber implements Flow.Subscriber<PayrollResult> {
+        final List<PayrollResult> results = new ArrayList<>();
+        final CountDownLatch done = new CountDownLatch(1);
+        final ListPublisher source;
+        volatile Throwable error;
+        long maxAhead;
+        Flow.Subscription subscription;
+
+        CollectingSubscriber(ListPublisher source) {
+            this.source = source;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription s) {
+            subscription = s;
+            s.request(1);
+        }
+
+        @Override
+        public void onNext(PayrollResult item) {
+            results.add(item);
+            maxAhead = Math.max(maxAhead, source.requested.get() - results.size());
+            subscription.request(1);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            done.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            done.countDown();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.clinica.salvador;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.clinica.salvador.io.CsvResultWriter;
+import com.clinica.salvador.io.PayrollJournal;
+import com.clinica.salvador.io.PayrollLedgerWriter;
+import com.clinica.salvador.model.Employee;
+import com.clinica.salvador.model.HourlyEmployee;
+import com.clinica.salvador.service.CheckpointedPayrollRunner;
+import com.clinica.salvador.service.CheckpointedRun;
+import com.clinica.salvador.service.PayrollResult;
+import com.clinica.salvador.service.PayrollService;
+import com.clinica.salvador.util.PayrollRunContext;
+import com.clinica.salvador.util.RateTable;
+
+/**
+ * Pruebas unitarias para CheckpointedPayrollRunner y PayrollJournal.
+ * Una corrida interrumpida debe continuar desde el diario y terminar con
+ * la misma salida, byte a byte, que una corrida sin interrupciones.
+ */
+public class CheckpointedPayrollRunnerTest {
+
+    private static final PayrollRunContext CONTEXT = PayrollRunContext.of(LocalDate.of(2025, 6, 30), RateTable.defaults());
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void resume_afterFailedEmployee_outputIsByteIdentical() throws IOException {
+        List<Employee> roster = PayrollServiceTest.mixedRoster(2_000);
+        List<Employee> broken = new ArrayList<>(roster);
+        broken.set(1_500, new HourlyEmployee(roster.get(1_500).getId(), "Horas", LocalDate.of(2020, 1, 1), false,
+                new BigDecimal("15000"), new BigDecimal("-1"), 0, false));
+        Path journal = dir.resolve("nomina.journal");
+        CheckpointedPayrollRunner runner = new CheckpointedPayrollRunner(journal, 128, 2);
+
+        assertThrows(IllegalArgumentException.class, () -> runner.run(broken, CONTEXT));
+
+        // Corregido el empleado, se continúa donde quedó: el lote en curso también se guardó
+        CheckpointedRun resumed = runner.run(roster, CONTEXT);
+        assertEquals(1_500, resumed.getResumed());
+        assertEquals(500, resumed.getCalculated());
+
+        List<PayrollResult> uninterrupted = new PayrollService(roster, CONTEXT).processAll();
+        assertEquals(csv(uninterrupted), csv(resumed.getResults()));
+        assertEquals(-1L, Files.mismatch(ledger(uninterrupted, "a.ledger"), ledger(resumed.getResults(), "b.ledger")));
+    }
+
+    @Test
+    void resume_discardsHalfWrittenBatch() throws IOException {
+        List<Employee> roster = PayrollServiceTest.mixedRoster(300);
+        List<PayrollResult> expected = new PayrollService(roster, CONTEXT).processAll();
+        Path journal = dir.resolve("caida.journal");
+
+        try (PayrollJournal j = PayrollJournal.open(journal, CONTEXT.getRunDate(), CONTEXT.getRates(), 1)) {
+            j.commit(expected.subList(0, 100));
+            j.commit(expected.subList(100, 200));
+        }
+        long committedSize = Files.size(journal);
+        // El proceso murió escribiendo el tercer lote: líneas sin #commit y una cortada
+        Files.writeString(journal, "E200,1,0,1\nE201,2,0,2\nE20", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        CheckpointedRun run = new CheckpointedPayrollRunner(journal, 64, 1).run(roster, CONTEXT);
+        assertEquals(200, run.getResumed());
+        PayrollServiceTest.assertSameResults(expected, run.getResults());
+
+        // Lo que quedó a medias se descartó y el diario sigue siendo válido
+        try (PayrollJournal j = PayrollJournal.open(journal, CONTEXT.getRunDate(), CONTEXT.getRates(), 1)) {
+            assertEquals(300, j.getRecovered().size());
+            PayrollServiceTest.assertSameResults(expected, j.getRecovered());
+        }
+        assertTrue(Files.size(journal) > committedSize);
+    }
+
+    @Test
+    void resume_rejectsCorruptedBatch() throws IOException {
+        List<Employee> roster = PayrollServiceTest.mixedRoster(100);
+        List<PayrollResult> expected = new PayrollService(roster, CONTEXT).processAll();
+        Path journal = dir.resolve("corrupto.journal");
+        try (PayrollJournal j = PayrollJournal.open(journal, CONTEXT.getRunDate(), CONTEXT.getRates(), 1)) {
+            j.commit(expected.subList(0, 50));
+            j.commit(expected.subList(50, 100));
+        }
+        // Un monto del segundo lote cambia en disco: su crc32 ya no coincide
+        String text = Files.readString(journal);
+        int second = text.indexOf("#commit,50,") + 1;
+        int digit = text.indexOf(',', text.indexOf('\n', second) + 1) + 1;
+        char c = text.charAt(digit);
+        Files.writeString(journal, text.substring(0, digit) + (c == '9' ? '8' : (char) (c + 1)) + text.substring(digit + 1));
+
+        CheckpointedRun run = new CheckpointedPayrollRunner(journal, 64, 1).run(roster, CONTEXT);
+        assertEquals(50, run.getResumed());
+        PayrollServiceTest.assertSameResults(expected, run.getResults());
+    }
+
+    @Test
+    void completeJournal_isReusedWithoutRecalculating() throws IOException {
+        List<Employee> roster = PayrollServiceTest.mixedRoster(250);
+        Path journal = dir.resolve("completo.journal");
+        CheckpointedPayrollRunner runner = new CheckpointedPayrollRunner(journal, 100, 1);
+
+        CheckpointedRun first = runner.run(roster, CONTEXT);
+        CheckpointedRun second = runner.run(roster, CONTEXT);
+
+        assertEquals(250, first.getCalculated());
+        assertEquals(0, second.getCalculated());
+        PayrollServiceTest.assertSameResults(first.getResults(), second.getResults());
+    }
+
+    @Test
+    void journal_belongsToOneRun() throws IOException {
+        List<Employee> roster = PayrollServiceTest.mixedRoster(50);
+        Path journal = dir.resolve("otra.journal");
+        new CheckpointedPayrollRunner(journal, 10, 1).run(roster, CONTEXT);
+
+        CheckpointedPayrollRunner runner = new CheckpointedPayrollRunner(journal, 10, 1);
+        // Otra fecha u otras tasas
+        assertThrows(IllegalArgumentException.class, () -> runner.run(roster, CONTEXT.withRunDate(LocalDate.of(2025, 7, 31))));
+        assertThrows(IllegalArgumentException.class, () -> runner.run(roster,
+                PayrollRunContext.of(CONTEXT.getRunDate(), RateTable.withRates(new BigDecimal("0.05"), null))));
+        // Otra nómina
+        assertThrows(IllegalArgumentException.class, () -> runner.run(PayrollServiceTest.mixedRoster(50).subList(1, 50), CONTEXT));
+    }
+
+    private static String csv(List<PayrollResult> results) throws IOException {
+        StringWriter out = new StringWriter();
+        CsvResultWriter writer = new CsvResultWriter(out);
+        writer.writeHeader();
+        for (PayrollResult r : results) {
+            writer.accept(r);
+        }
+        return out.toString();
+    }
+
+    private Path ledger(List<PayrollResult> results, String name) throws IOException {
+        Path file = dir.resolve(name);
+        try (PayrollLedgerWriter writer = new PayrollLedgerWriter(file)) {
+            for (PayrollResult r : results) {
+                writer.accept(r);
+            }
+        }
+        return file;
+    }
+}
@@ -0,0 +1,144 @@
+package com.clinica.salvador;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.clinica.salvador.model.CommissionEmployee;
+import com.clinica.salvador.model.Employee;
+import com.clinica.salvador.model.HourlyEmployee;
+import com.clinica.salvador.model.PayrollRule;
+import com.clinica.salvador.model.TemporaryEmployee;
+import com.clinica.salvador.service.CollectedPayrollRun;
+import com.clinica.salvador.service.PayrollError;
+import com.clinica.salvador.service.PayrollMetrics;
+import com.clinica.salvador.service.PayrollResult;
+import com.clinica.salvador.service.PayrollService;
+import com.clinica.salvador.util.PayrollRunContext;
+import com.clinica.salvador.util.RateTable;
+
+/**
+ * Pruebas unitarias para el modo de PayrollService que acumula errores.
+ */
+public class CollectedPayrollRunTest {
+
+    private static final LocalDate HIRED = LocalDate.of(2020, 1, 1);
+    private static final PayrollRunContext CONTEXT = PayrollRunContext.of(LocalDate.of(2025, 6, 30), RateTable.defaults());
+
+    @Test
+    void collecting_reportsEachBadEmployeeAndKeepsGoing() {
+        List<Employee> clean = PayrollServiceTest.mixedRoster(200);
+        List<Employee> dirty = new ArrayList<>(clean);
+        dirty.add(10, new HourlyEmployee("H-MAL", "Horas", HIRED, false,
+                new BigDecimal("15000"), new BigDecimal("-3"), 0, false));
+        dirty.add(100, new CommissionEmployee("C-MAL", "Ventas", HIRED, false,
+                new BigDecimal("1000000"), new BigDecimal("-250.5"), new BigDecimal("0.05")));
+
+        CollectedPayrollRun run = new PayrollService(dirty, CONTEXT).processAllCollecting();
+
+        assertFalse(run.isClean());
+        assertEquals(2, run.getErrors().size());
+        PayrollError hours = run.getErrors().get(0);
+        assertEquals(10, hours.getPosition());
+        assertEquals("H-MAL", hours.getEmployeeId());
+        assertEquals(PayrollRule.NEGATIVE_HOURS, hours.getRule());
+        assertEquals(new BigDecimal("-3"), hours.getValues().get("hoursWorked"));
+        assertEquals("Las horas trabajadas no pueden ser negativas (hoursWorked=-3)", hours.getMessage());
+
+        PayrollError sales = run.getErrors().get(1);
+        assertEquals(100, sales.getPosition());
+        assertEquals(PayrollRule.NEGATIVE_SALES, sales.getRule());
+        assertEquals(new BigDecimal("-250.5"), sales.getValues().get("salesAmount"));
+
+        // Los válidos salen igual que en el modo estricto sobre la nómina limpia
+        List<PayrollResult> expected = new PayrollService(clean, CONTEXT).processAll();
+        PayrollServiceTest.assertSameResults(expected, run.getResults());
+        assertEquals(new PayrollService(clean, CONTEXT).processAllWithSummary().getSummary().total().getNet(),
+                run.getSummary().total().getNet());
+
+        // El modo estricto sigue disponible y se detiene en el primero
+        assertThrows(IllegalArgumentException.class, () -> new PayrollService(dirty, CONTEXT).processAll());
+    }
+
+    @Test
+    void collecting_negativeNetCarriesTheAmounts() {
+        PayrollRunContext excessive = PayrollRunContext.of(CONTEXT.getRunDate(), new BigDecimal("1.5"), null);
+        List<Employee> roster = List.of(new TemporaryEmployee("T1", "Temporal", HIRED, false, new BigDecimal("1000000")));
+
+        CollectedPayrollRun run = new PayrollService(roster, excessive).processAllCollecting();
+
+        assertTrue(run.getResults().isEmpty());
+        PayrollError error = run.getErrors().get(0);
+        assertEquals(PayrollRule.NEGATIVE_NET, error.getRule());
+        assertEquals(List.of("gross", "deductions", "net"), new ArrayList<>(error.getValues().keySet()));
+        assertEquals(0, new BigDecimal("-500000").compareTo(error.getValues().get("net")));
+    }
+
+    @Test
+    void collecting_unknownSubtypeValidationIsInvalidInput() {
+        Employee custom = new TemporaryEmployee("X1", "Propio", HIRED, false, new BigDecimal("1000000")) {
+            @Override
+            public BigDecimal calculateGross(PayrollRunContext context) {
+                throw new IllegalArgumentException("Contrato vencido");
+            }
+        };
+
+        CollectedPayrollRun run = new PayrollService(List.of(custom), CONTEXT).processAllCollecting();
+
+        PayrollError error = run.getErrors().get(0);
+        assertEquals(PayrollRule.INVALID_INPUT, error.getRule());
+        assertEquals("Datos del empleado no válidos: Contrato vencido", error.getMessage());
+    }
+
+    @Test
+    void collecting_usesTheEmployeesOwnNet() {
+        // Embargo de 100.000 sobre el neto; con sueldo bajo la subclase lo rechaza
+        class Garnished extends TemporaryEmployee {
+            Garnished(String id, String salary) {
+                super(id, "Embargado", HIRED, false, new BigDecimal(salary));
+            }
+
+            @Override
+            public BigDecimal calculateNet(BigDecimal gross, BigDecimal deductions) {
+                BigDecimal net = super.calculateNet(gross, deductions).subtract(new BigDecimal("100000"));
+                if (net.signum() < 0) throw new IllegalArgumentException("El embargo supera el neto");
+                return net;
+            }
+        }
+        List<Employee> roster = List.of(new Garnished("G1", "1000000"), new Garnished("G2", "50000"));
+
+        CollectedPayrollRun run = new PayrollService(roster, CONTEXT).processAllCollecting();
+
+        assertEquals(new PayrollService(roster.subList(0, 1), CONTEXT).processAll().get(0).getNet(),
+                run.getResults().get(0).getNet());
+        PayrollError error = run.getErrors().get(0);
+        assertEquals("G2", error.getEmployeeId());
+        assertEquals(PayrollRule.INVALID_INPUT, error.getRule());
+        assertEquals("Datos del empleado no válidos: El embargo supera el neto", error.getMessage());
+    }
+
+    @Test
+    void collecting_countsFailuresInMetrics() {
+        PayrollMetrics metrics = new PayrollMetrics();
+        List<Employee> roster = new ArrayList<>(PayrollServiceTest.mixedRoster(40));
+        roster.add(new HourlyEmployee("H1", "Horas", HIRED, false, new BigDecimal("15000"), new BigDecimal("-1"), 0, false));
+        roster.add(new HourlyEmployee("H2", "Horas", HIRED, false, new BigDecimal("15000"), new BigDecimal("-2"), 0, false));
+        roster.add(new CommissionEmployee("C1", "Ventas", HIRED, false,
+                new BigDecimal("1000000"), new BigDecimal("-5"), new BigDecimal("0.05")));
+
+        CollectedPayrollRun run = new PayrollService(roster, CONTEXT, metrics).processAllCollecting();
+
+        assertEquals(40, run.getResults().size());
+        assertEquals(40, metrics.getEmployeesProcessed());
+        assertEquals(2, metrics.getNegativeHoursFailures());
+        assertEquals(1, metrics.getNegativeSalesFailures());
+        assertEquals(3, metrics.getFailures());
+    }
+}
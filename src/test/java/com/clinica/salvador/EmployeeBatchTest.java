@@ -0,0 +1,113 @@
+package com.clinica.salvador;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+import com.clinica.salvador.model.CommissionEmployee;
+import com.clinica.salvador.model.Employee;
+import com.clinica.salvador.model.EmployeeBatch;
+import com.clinica.salvador.model.EmployeeType;
+import com.clinica.salvador.model.HourlyEmployee;
+import com.clinica.salvador.model.SalariedEmployee;
+import com.clinica.salvador.model.TemporaryEmployee;
+import com.clinica.salvador.service.BatchPayrollCalculator;
+import com.clinica.salvador.service.PayrollBatchResult;
+import com.clinica.salvador.service.PayrollResult;
+import com.clinica.salvador.service.PayrollService;
+import com.clinica.salvador.util.Config;
+import com.clinica.salvador.util.PayrollRunContext;
+
+/**
+ * Pruebas unitarias para EmployeeBatch y BatchPayrollCalculator.
+ * El cálculo por columnas debe dar los mismos montos que PayrollService.
+ */
+public class EmployeeBatchTest {
+
+    @Test
+    void batch_columnsFollowRosterOrder() {
+        List<Employee> roster = PayrollServiceTest.mixedRoster(8);
+        EmployeeBatch batch = EmployeeBatch.from(roster);
+
+        assertEquals(8, batch.size());
+        assertEquals("E5", batch.ids()[5]);
+        assertEquals(EmployeeType.HOURLY.ordinal(), batch.types()[5]);
+        // Tarifa 18500.50 en la escala de su columna (2 decimales)
+        assertEquals(2, batch.hourlyRateScale());
+        assertEquals(1_850_050L, batch.hourlyRate()[5]);
+    }
+
+    @Test
+    void batch_matchesPayrollService() {
+        List<Employee> roster = PayrollServiceTest.mixedRoster(3_000);
+        LocalDate now = LocalDate.now();
+        roster.add(new HourlyEmployee("H41", "Decimales", now, false, new BigDecimal("20000.25"), new BigDecimal("41.5"), 1, false));
+        roster.add(new CommissionEmployee("C21", "Umbral", now, true, new BigDecimal("2000000"),
+                new BigDecimal("20000000.001"), new BigDecimal("0.1")));
+        roster.add(new SalariedEmployee("S6", "Seis años", now.minusYears(6), false, new BigDecimal("4000000.5")));
+        // No cabe en un long: se calcula por respaldo
+        roster.add(new TemporaryEmployee("TBIG", "Enorme", now, false, new BigDecimal("92233720368547758070000")));
+        // Subtipo desconocido: también por respaldo
+        roster.add(new Employee("X1", "Otro", now, true) {
+            @Override
+            public BigDecimal calculateGross() {
+                return new BigDecimal("777");
+            }
+        });
+
+        assertSameAmounts(roster, Config.DEDUCTION_RATE, Config.ARL_RATE);
+        assertSameAmounts(roster, new BigDecimal("0.04"), new BigDecimal("0.00522"));
+        assertSameAmounts(roster, new BigDecimal("0.085"), null);
+    }
+
+    @Test
+    void subclassesAndMissingHireDates_matchPayrollService() {
+        List<Employee> roster = PayrollServiceTest.mixedRoster(8);
+        LocalDate now = LocalDate.now();
+        roster.add(new SalariedEmployee("SX", "Redefinido", now.minusYears(2), true, new BigDecimal("5000000")) {
+            @Override
+            public BigDecimal calculateGross(PayrollRunContext context) {
+                return new BigDecimal("10000000");
+            }
+        });
+        roster.add(new HourlyEmployee("HN", "Sin fecha", null, false, new BigDecimal("20000"), new BigDecimal("42"), 3, false));
+
+        EmployeeBatch batch = EmployeeBatch.from(roster);
+        assertEquals(EmployeeBatch.UNSUPPORTED, batch.types()[8]);
+        assertEquals(EmployeeType.HOURLY.ordinal(), batch.types()[9]);
+        assertSameAmounts(roster, Config.DEDUCTION_RATE, Config.ARL_RATE);
+    }
+
+    @Test
+    void batch_invalidRowThrowsLikeProcessAll() {
+        List<Employee> roster = PayrollServiceTest.mixedRoster(10);
+        roster.add(new CommissionEmployee("BAD", "Ventas negativas", LocalDate.now(), false,
+                new BigDecimal("2000000"), new BigDecimal("-5"), new BigDecimal("0.10")));
+        EmployeeBatch batch = EmployeeBatch.from(roster);
+
+        BatchPayrollCalculator calculator = new BatchPayrollCalculator(Config.DEDUCTION_RATE, Config.ARL_RATE);
+        assertThrows(IllegalArgumentException.class, () -> calculator.calculate(batch));
+    }
+
+    /** Compara por valor (compareTo) cada fila del lote con PayrollService */
+    private static void assertSameAmounts(List<Employee> roster, BigDecimal deductionRate, BigDecimal arlRate) {
+        List<PayrollResult> expected = new PayrollService(roster, deductionRate, arlRate).processAll();
+        PayrollBatchResult actual = new BatchPayrollCalculator(deductionRate, arlRate).calculate(EmployeeBatch.from(roster));
+
+        assertEquals(expected.size(), actual.size());
+        List<PayrollResult> materialized = actual.toResults();
+        for (int i = 0; i < expected.size(); i++) {
+            PayrollResult e = expected.get(i);
+            assertEquals(e.getEmployeeId(), actual.getEmployeeId(i));
+            assertEquals(0, e.getGross().compareTo(actual.getGross(i)), e.getEmployeeId());
+            assertEquals(0, e.getDeductions().compareTo(actual.getDeductions(i)), e.getEmployeeId());
+            assertEquals(0, e.getNet().compareTo(actual.getNet(i)), e.getEmployeeId());
+            assertEquals(0, e.getNet().compareTo(materialized.get(i).getNet()));
+        }
+    }
+}
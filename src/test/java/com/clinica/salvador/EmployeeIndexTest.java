@@ -0,0 +1,117 @@
+package com.clinica.salvador;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.clinica.salvador.model.Employee;
+import com.clinica.salvador.model.EmployeeIndex;
+import com.clinica.salvador.model.SalariedEmployee;
+import com.clinica.salvador.service.PayrollResult;
+import com.clinica.salvador.service.PayrollService;
+import com.clinica.salvador.util.PayrollRunContext;
+import com.clinica.salvador.util.RateTable;
+
+/**
+ * Pruebas unitarias para EmployeeIndex y el cálculo por id de PayrollService.
+ */
+public class EmployeeIndexTest {
+
+    private static final PayrollRunContext CONTEXT = PayrollRunContext.of(LocalDate.of(2025, 6, 30), RateTable.defaults());
+
+    @Test
+    void index_findsEveryEmployeeBySlot() {
+        List<Employee> roster = PayrollServiceTest.mixedRoster(10_000);
+        EmployeeIndex index = EmployeeIndex.of(roster);
+
+        assertEquals(10_000, index.size());
+        for (int i = 0; i < roster.size(); i++) {
+            assertEquals(i, index.slotOf(roster.get(i).getId()));
+            assertSame(roster.get(i), index.get(roster.get(i).getId()));
+        }
+        assertEquals(-1, index.slotOf("NO-EXISTE"));
+        assertNull(index.get("E10000"));
+        assertFalse(EmployeeIndex.of(List.of()).contains("E0"));
+    }
+
+    @Test
+    void index_handlesCollidingHashes() {
+        // "Aa" y "BB" tienen el mismo String.hashCode
+        List<Employee> roster = new ArrayList<>();
+        for (String id : new String[] {"Aa", "BB", "AaAa", "AaBB", "BBAa", "BBBB"}) {
+            roster.add(new SalariedEmployee(id, "Colisión", LocalDate.of(2020, 1, 1), false, new BigDecimal("1000000")));
+        }
+        EmployeeIndex index = EmployeeIndex.of(roster);
+        for (int i = 0; i < roster.size(); i++) {
+            assertEquals(i, index.slotOf(roster.get(i).getId()));
+        }
+        assertEquals(-1, index.slotOf("AaAB"));
+    }
+
+    @Test
+    void index_rejectsDuplicateIds() {
+        List<Employee> roster = new ArrayList<>(PayrollServiceTest.mixedRoster(10));
+        roster.add(roster.get(3));
+        assertThrows(IllegalArgumentException.class, () -> EmployeeIndex.of(roster));
+    }
+
+    @Test
+    void service_calculatesAndRecalculatesById() {
+        List<Employee> roster = PayrollServiceTest.mixedRoster(1_000);
+        PayrollService service = new PayrollService(roster, CONTEXT);
+        List<PayrollResult> all = service.processAll();
+
+        PayrollResult one = service.calculateFor("E417");
+        assertEquals(all.get(417).getNet(), one.getNet());
+
+        List<PayrollResult> some = service.recalculate(List.of("E999", "E0", "E500"));
+        assertEquals("E999", some.get(0).getEmployeeId());
+        assertEquals(all.get(0).getGross(), some.get(1).getGross());
+        assertEquals(all.get(500).getDeductions(), some.get(2).getDeductions());
+
+        assertThrows(IllegalArgumentException.class, () -> service.calculateFor("X1"));
+        assertThrows(IllegalArgumentException.class, () -> service.recalculate(List.of("E1", "X1")));
+    }
+
+    @Test
+    void service_lookupsRunConcurrentlyWithARun() throws Exception {
+        List<Employee> roster = PayrollServiceTest.mixedRoster(20_000);
+        PayrollService service = new PayrollService(roster, CONTEXT);
+        List<PayrollResult> expected = service.processAll();
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            Future<List<PayrollResult>> run = pool.submit(() -> service.processAll());
+            List<Future<Integer>> readers = new ArrayList<>();
+            for (int t = 0; t < 3; t++) {
+                int offset = t;
+                readers.add(pool.submit(() -> {
+                    int checked = 0;
+                    for (int i = offset; i < roster.size(); i += 7) {
+                        assertEquals(expected.get(i).getNet(), service.calculateFor("E" + i).getNet());
+                        checked++;
+                    }
+                    return checked;
+                }));
+            }
+            assertEquals(expected.size(), run.get().size());
+            for (Future<Integer> r : readers) {
+                assertTrue(r.get() > 0);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.clinica.salvador;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.clinica.salvador.io.EmployeeStore;
+import com.clinica.salvador.io.RosterCsvFormat;
+import com.clinica.salvador.model.Employee;
+import com.clinica.salvador.model.HourlyEmployee;
+import com.clinica.salvador.model.RuleBasedEmployee;
+import com.clinica.salvador.model.SalariedEmployee;
+import com.clinica.salvador.service.PayrollResult;
+import com.clinica.salvador.service.PayrollService;
+import com.clinica.salvador.util.PayrollRunContext;
+import com.clinica.salvador.util.RateTable;
+
+/**
+ * Pruebas unitarias para EmployeeStore.
+ */
+public class EmployeeStoreTest {
+
+    private static final PayrollRunContext CONTEXT = PayrollRunContext.of(LocalDate.of(2025, 6, 30), RateTable.defaults());
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void reopenedStore_hasTheSameRosterAndPayroll() throws IOException {
+        List<Employee> roster = PayrollServiceTest.mixedRoster(2_000);
+        try (EmployeeStore store = EmployeeStore.open(dir, 700)) {
+            for (Employee e : roster) {
+                store.hire(e);
+            }
+            store.update(new SalariedEmployee("E0", "Con ñ y tildes: Martín", LocalDate.of(2010, 2, 28), true,
+                    new BigDecimal("123456789012345678901234567890.12")));
+            store.update(new HourlyEmployee("E4", null, null, false, new BigDecimal("20000.5"), null, 3, true));
+            store.terminate("E5");
+            store.hire(new SalariedEmployee("E5", "Reingreso", LocalDate.of(2025, 1, 2), false, new BigDecimal("3000000")));
+            assertEquals(2, store.getGeneration());
+        }
+
+        try (EmployeeStore store = EmployeeStore.open(dir, 700)) {
+            assertEquals(roster.size(), store.size());
+            assertEquals("Con ñ y tildes: Martín", store.get("E0").getName());
+            assertNull(store.get("E4").getName());
+            assertNull(((HourlyEmployee) store.get("E4")).getHoursWorked());
+
+            List<Employee> loaded = store.roster();
+            assertEquals("E0", loaded.get(0).getId());
+            assertEquals("E5", loaded.get(loaded.size() - 1).getId());
+            for (Employee e : loaded) {
+                if (!e.getId().equals("E4")) {
+                    Employee expected = e.getId().equals("E0") || e.getId().equals("E5") ? e : roster.get(index(e));
+                    assertEquals(RosterCsvFormat.format(expected), RosterCsvFormat.format(e));
+                }
+            }
+
+            List<String> changed = List.of("E0", "E4", "E5");
+            List<Employee> unchanged = new ArrayList<>(loaded);
+            unchanged.removeIf(e -> changed.contains(e.getId()));
+            List<Employee> original = new ArrayList<>(roster);
+            original.removeIf(e -> changed.contains(e.getId()));
+            List<PayrollResult> expected = new PayrollService(original, CONTEXT).processAll();
+            assertEquals(expected.toString(), new PayrollService(unchanged, CONTEXT).processAll().toString());
+        }
+    }
+
+    @Test
+    void tornLogEntry_isDiscardedOnRecovery() throws IOException {
+        try (EmployeeStore store = EmployeeStore.open(dir)) {
+            for (Employee e : PayrollServiceTest.mixedRoster(10)) {
+                store.hire(e);
+            }
+        }
+        Path log = dir.resolve(EmployeeStore.LOG_FILE);
+        long complete = Files.size(log);
+        try (EmployeeStore store = EmployeeStore.open(dir)) {
+            store.terminate("E3");
+        }
+        // El proceso se cayó a mitad de la última escritura
+        try (FileChannel channel = FileChannel.open(log, StandardOpenOption.WRITE)) {
+            channel.truncate(Files.size(log) - 2);
+        }
+
+        try (EmployeeStore store = EmployeeStore.open(dir)) {
+            assertEquals(10, store.size());
+            assertTrue(store.contains("E3"));
+            assertEquals(10, store.getLogEntries());
+            assertEquals(complete, Files.size(log));
+            store.terminate("E9");
+        }
+        try (EmployeeStore store = EmployeeStore.open(dir)) {
+            assertEquals(9, store.size());
+            assertFalse(store.contains("E9"));
+        }
+    }
+
+    @Test
+    void logFromAnOlderGeneration_isIgnoredAfterCompaction() throws IOException {
+        Path log = dir.resolve(EmployeeStore.LOG_FILE);
+        Path stale = dir.resolve("stale.log");
+        try (EmployeeStore store = EmployeeStore.open(dir)) {
+            for (Employee e : PayrollServiceTest.mixedRoster(20)) {
+                store.hire(e);
+            }
+            Files.copy(log, stale);
+            store.compact();
+            assertEquals(0, store.getLogEntries());
+        }
+        // Caída entre el renombre de la foto y el reinicio del registro
+        Files.copy(stale, log, StandardCopyOption.REPLACE_EXISTING);
+        Files.writeString(dir.resolve(EmployeeStore.SNAPSHOT_FILE + ".tmp"), "foto a medias");
+
+        try (EmployeeStore store = EmployeeStore.open(dir)) {
+            assertEquals(20, store.size());
+            assertEquals(1, store.getGeneration());
+            assertEquals(0, store.getLogEntries());
+            assertFalse(Files.exists(dir.resolve(EmployeeStore.SNAPSHOT_FILE + ".tmp")));
+        }
+    }
+
+    @Test
+    void logFromALaterGeneration_isRejectedWithoutItsSnapshot() throws IOException {
+        try (EmployeeStore store = EmployeeStore.open(dir)) {
+            for (Employee e : PayrollServiceTest.mixedRoster(20)) {
+                store.hire(e);
+            }
+            store.compact();
+            store.terminate("E0");
+        }
+        Path log = dir.resolve(EmployeeStore.LOG_FILE);
+        byte[] before = Files.readAllBytes(log);
+        Files.delete(dir.resolve(EmployeeStore.SNAPSHOT_FILE));
+
+        assertThrows(IOException.class, () -> EmployeeStore.open(dir));
+        // El registro queda intacto
+        assertArrayEquals(before, Files.readAllBytes(log));
+    }
+
+    @Test
+    void failedAutomaticCompaction_keepsTheOperationAndIsRetried() throws IOException {
+        List<Employee> roster = PayrollServiceTest.mixedRoster(4);
+        Path temp = dir.resolve(EmployeeStore.SNAPSHOT_FILE + ".tmp");
+        try (EmployeeStore store = EmployeeStore.open(dir, 3)) {
+            store.hire(roster.get(0));
+            store.hire(roster.get(1));
+            // Un directorio en lugar de la foto temporal hace fallar su escritura
+            Files.createDirectory(temp);
+            IOException failure = assertThrows(IOException.class, () -> store.hire(roster.get(2)));
+            assertTrue(failure.getMessage().contains("quedó registrada"));
+            assertTrue(store.contains(roster.get(2).getId()));
+            assertEquals(0, store.getGeneration());
+            assertEquals(3, store.getLogEntries());
+
+            store.hire(roster.get(3));
+            assertEquals(1, store.getGeneration());
+            assertEquals(0, store.getLogEntries());
+        }
+        try (EmployeeStore store = EmployeeStore.open(dir)) {
+            PayrollServiceTest.assertSameResults(new PayrollService(roster, CONTEXT).processAll(),
+                    new PayrollService(store.roster(), CONTEXT).processAll());
+        }
+    }
+
+    @Test
+    void snapshot_writesFixedTypeCodes() throws IOException {
+        List<Employee> roster = PayrollServiceTest.mixedRoster(4);
+        byte[] codes = new byte[roster.size()];
+        for (int i = 0; i < roster.size(); i++) {
+            Path single = dir.resolve("tipo" + i);
+            try (EmployeeStore store = EmployeeStore.open(single)) {
+                store.hire(roster.get(i));
+                store.compact();
+            }
+            // El cuerpo de la foto empieza tras el encabezado de 32 bytes con el código del tipo
+            codes[i] = Files.readAllBytes(single.resolve(EmployeeStore.SNAPSHOT_FILE))[32];
+        }
+        // Asalariado, por horas, comisión y temporal, como en archivos ya escritos
+        assertArrayEquals(new byte[] {0, 1, 2, 3}, codes);
+    }
+
+    @Test
+    void invalidOperations_andCorruptSnapshots_areRejected() throws IOException {
+        try (EmployeeStore store = EmployeeStore.open(dir)) {
+            Employee e = PayrollServiceTest.mixedRoster(1).get(0);
+            store.hire(e);
+            assertThrows(IllegalArgumentException.class, () -> store.hire(e));
+            assertThrows(IllegalArgumentException.class, () -> store.terminate("X"));
+            assertThrows(IllegalArgumentException.class, () -> store.update(
+                    new SalariedEmployee("X", "Nadie", LocalDate.of(2020, 1, 1), true, BigDecimal.ONE)));
+            assertThrows(IllegalArgumentException.class, () -> store.hire(RuleBasedEmployee.from(
+                    new SalariedEmployee("R1", "Reglas", LocalDate.of(2020, 1, 1), true, BigDecimal.ONE))));
+            // Una subclase no se guarda como su tipo base
+            Employee subclass = new SalariedEmployee("S1", "Subclase", LocalDate.of(2020, 1, 1), true, BigDecimal.ONE) {
+                @Override
+                public BigDecimal calculateGross(PayrollRunContext context) {
+                    return BigDecimal.TEN;
+                }
+            };
+            assertThrows(IllegalArgumentException.class, () -> store.hire(subclass));
+            assertThrows(IllegalArgumentException.class, () -> store.update(
+                    new SalariedEmployee(e.getId(), "Subclase", LocalDate.of(2020, 1, 1), true, BigDecimal.ONE) {
+                        @Override
+                        public BigDecimal calculateGross(PayrollRunContext context) {
+                            return BigDecimal.TEN;
+                        }
+                    }));
+            assertFalse(store.contains("S1"));
+            assertEquals(1, store.getLogEntries());
+
+            assertThrows(IOException.class, () -> EmployeeStore.open(dir));
+            store.compact();
+        }
+
+        Path snapshot = dir.resolve(EmployeeStore.SNAPSHOT_FILE);
+        byte[] bytes = Files.readAllBytes(snapshot);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(snapshot, bytes);
+        assertThrows(IOException.class, () -> EmployeeStore.open(dir));
+        assertThrows(IllegalArgumentException.class, () -> EmployeeStore.open(dir, 0));
+    }
+
+    private static int index(Employee e) {
+        return Integer.parseInt(e.getId().substring(1));
+    }
+}
@@ -0,0 +1,114 @@
+package com.clinica.salvador;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+import com.clinica.salvador.model.CommissionEmployee;
+import com.clinica.salvador.model.Employee;
+import com.clinica.salvador.model.HourlyEmployee;
+import com.clinica.salvador.model.SalariedEmployee;
+import com.clinica.salvador.model.TemporaryEmployee;
+import com.clinica.salvador.service.FixedPointPayrollEngine;
+import com.clinica.salvador.service.PayrollResult;
+import com.clinica.salvador.service.PayrollService;
+import com.clinica.salvador.util.Config;
+import com.clinica.salvador.util.PayrollRunContext;
+
+/**
+ * Pruebas unitarias para FixedPointPayrollEngine.
+ * El motor de punto fijo debe dar exactamente los mismos montos (y escalas)
+ * que el cálculo con BigDecimal de PayrollService.
+ */
+public class FixedPointPayrollEngineTest {
+
+    @Test
+    void fixedPoint_matchesBigDecimalPath_forMixedRoster() {
+        List<Employee> roster = PayrollServiceTest.mixedRoster(2_000);
+        assertSameAsBigDecimal(roster, Config.DEDUCTION_RATE, Config.ARL_RATE);
+        // Con ARL distinto de cero y con más decimales (clase de riesgo I: 0.522%)
+        assertSameAsBigDecimal(roster, new BigDecimal("0.04"), new BigDecimal("0.00522"));
+        // Sin ARL
+        assertSameAsBigDecimal(roster, new BigDecimal("0.085"), null);
+    }
+
+    @Test
+    void fixedPoint_matchesBigDecimalPath_onEdgeCases() {
+        LocalDate now = LocalDate.now();
+        List<Employee> roster = new ArrayList<>();
+        // Exactamente 40 horas, horas con decimales y horas en notación científica
+        roster.add(new HourlyEmployee("H40", "Límite", now, false, new BigDecimal("20000"), new BigDecimal("40"), 1, false));
+        roster.add(new HourlyEmployee("H41", "Decimales", now, false, new BigDecimal("20000.25"), new BigDecimal("41.5"), 1, false));
+        roster.add(new HourlyEmployee("HE", "Científica", now, false, new BigDecimal("2E+4"), new BigDecimal("4.5E+1"), 1, false));
+        roster.add(new HourlyEmployee("H0", "Sin horas", now, false, new BigDecimal("20000"), BigDecimal.ZERO, 1, false));
+        // Ventas exactamente en el umbral y justo por encima
+        roster.add(new CommissionEmployee("C20", "Umbral", now, true, new BigDecimal("2000000"),
+                new BigDecimal("20000000.00"), new BigDecimal("0.10")));
+        roster.add(new CommissionEmployee("C21", "Encima", now, false, new BigDecimal("2000000"),
+                new BigDecimal("20000000.01"), new BigDecimal("0.1")));
+        // Antigüedad de 5 y 6 años
+        roster.add(new SalariedEmployee("S5", "Cinco", now.minusYears(5), true, new BigDecimal("4000000.50")));
+        roster.add(new SalariedEmployee("S6", "Seis", now.minusYears(6), true, new BigDecimal("4000000.50")));
+        // Montos que no caben en un long: deben resolverse con BigDecimal
+        roster.add(new TemporaryEmployee("TBIG", "Enorme", now, false, new BigDecimal("92233720368547758070000")));
+        roster.add(new SalariedEmployee("SBIG", "Desborde", now.minusYears(10), true, new BigDecimal("9000000000000000.000")));
+
+        assertSameAsBigDecimal(roster, Config.DEDUCTION_RATE, Config.ARL_RATE);
+        assertSameAsBigDecimal(roster, new BigDecimal("0.04"), new BigDecimal("0.00522"));
+    }
+
+    @Test
+    void subclassesThatOverrideGross_useTheirOwnFormula() {
+        LocalDate now = LocalDate.now();
+        List<Employee> roster = List.of(
+                new SalariedEmployee("SX", "Redefinido", now.minusYears(2), true, new BigDecimal("5000000")) {
+                    @Override
+                    public BigDecimal calculateGross(PayrollRunContext context) {
+                        return new BigDecimal("10000000");
+                    }
+                },
+                new TemporaryEmployee("TX", "Redefinido", now, false, new BigDecimal("1000000")) {
+                    @Override
+                    public BigDecimal calculateGross(PayrollRunContext context) {
+                        return new BigDecimal("1500000.5");
+                    }
+                },
+                new SalariedEmployee("S", "Normal", now.minusYears(2), true, new BigDecimal("5000000")));
+
+        assertSameAsBigDecimal(roster, Config.DEDUCTION_RATE, Config.ARL_RATE);
+        PayrollResult overridden = new FixedPointPayrollEngine(roster, Config.DEDUCTION_RATE, Config.ARL_RATE)
+                .processAll().get(0);
+        assertEquals(new BigDecimal("10000000"), overridden.getGross());
+    }
+
+    @Test
+    void fixedPoint_throwsSameValidationErrors() {
+        LocalDate now = LocalDate.now();
+        Employee negativeHours = new HourlyEmployee("H", "Negativas", now, false,
+                new BigDecimal("20000"), new BigDecimal("-3"), 1, false);
+        Employee negativeSales = new CommissionEmployee("C", "Negativas", now, false,
+                new BigDecimal("2000000"), new BigDecimal("-1"), new BigDecimal("0.10"));
+        Employee negativeNet = new TemporaryEmployee("T", "Neto negativo", now, false, new BigDecimal("1000"));
+
+        FixedPointPayrollEngine engine = new FixedPointPayrollEngine(List.of(), Config.DEDUCTION_RATE, Config.ARL_RATE);
+        assertThrows(IllegalArgumentException.class, () -> engine.calculateFor(negativeHours));
+        assertThrows(IllegalArgumentException.class, () -> engine.calculateFor(negativeSales));
+
+        // Deducción del 150%: el neto queda negativo
+        FixedPointPayrollEngine greedy = new FixedPointPayrollEngine(List.of(), new BigDecimal("1.5"), null);
+        assertThrows(IllegalArgumentException.class, () -> greedy.calculateFor(negativeNet));
+    }
+
+    /** Compara resultado a resultado ambos motores (equals de BigDecimal compara también la escala) */
+    private static void assertSameAsBigDecimal(List<Employee> roster, BigDecimal deductionRate, BigDecimal arlRate) {
+        List<PayrollResult> expected = new PayrollService(roster, deductionRate, arlRate).processAll();
+        List<PayrollResult> actual = new FixedPointPayrollEngine(roster, deductionRate, arlRate).processAll();
+
+        PayrollServiceTest.assertSameResults(expected, actual);
+    }
+}
@@ -0,0 +1,106 @@
+package com.clinica.salvador;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import org.junit.jupiter.api.Test;
+
+import com.clinica.salvador.model.Employee;
+import com.clinica.salvador.model.HourlyEmployee;
+import com.clinica.salvador.model.SalariedEmployee;
+import com.clinica.salvador.model.TemporaryEmployee;
+import com.clinica.salvador.service.IncrementalPayrollCalculator;
+import com.clinica.salvador.service.IncrementalRun;
+import com.clinica.salvador.service.PayrollResult;
+import com.clinica.salvador.util.Config;
+import com.clinica.salvador.util.PayrollRunContext;
+
+/**
+ * Pruebas unitarias para IncrementalPayrollCalculator.
+ * Solo deben recalcularse los empleados cuyos datos (o tasas) cambiaron.
+ */
+public class IncrementalPayrollCalculatorTest {
+
+    @Test
+    void incremental_reusesUnchangedEmployees() {
+        List<Employee> roster = PayrollServiceTest.mixedRoster(1_000);
+        IncrementalPayrollCalculator calculator = new IncrementalPayrollCalculator();
+
+        IncrementalRun first = calculator.run(roster, Config.DEDUCTION_RATE, Config.ARL_RATE);
+        assertEquals(0, first.getHits());
+        assertEquals(1_000, first.getMisses());
+
+        // Segunda corrida: un empleado cambia sus horas y entra uno nuevo
+        List<Employee> next = new ArrayList<>(roster);
+        next.set(1, new HourlyEmployee("E1", "Por horas", LocalDate.now(), false,
+                new BigDecimal("18500.50"), new BigDecimal("48"), 12, false));
+        next.add(new HourlyEmployee("NEW", "Nuevo", LocalDate.now(), false,
+                new BigDecimal("15000"), new BigDecimal("40"), 0, false));
+        IncrementalRun second = calculator.run(next, Config.DEDUCTION_RATE, Config.ARL_RATE);
+
+        assertEquals(999, second.getHits());
+        assertEquals(2, second.getMisses());
+        assertSame(first.getResults().get(0), second.getResults().get(0));
+        assertEquals(0, new BigDecimal("18500.50").multiply(new BigDecimal("52"))
+                .compareTo(second.getResults().get(1).getGross()));
+
+        // Cambiar la tasa de deducción invalida todo
+        IncrementalRun third = calculator.run(next, new BigDecimal("0.05"), Config.ARL_RATE);
+        assertEquals(0, third.getHits());
+    }
+
+    @Test
+    void incremental_recalculatesWhenTenureThresholdIsCrossed() {
+        // La antigüedad avanza entre corridas con la fecha de cada corrida
+        SalariedEmployee emp = new SalariedEmployee("S1", "Antigüedad", LocalDate.of(2019, 3, 1), false,
+                new BigDecimal("4000000"));
+        IncrementalPayrollCalculator calculator = new IncrementalPayrollCalculator();
+
+        PayrollResult before = calculator.run(List.of(emp), runOn(LocalDate.of(2024, 12, 31))).getResults().get(0);
+        assertEquals(0, new BigDecimal("4000000").compareTo(before.getGross()));
+
+        IncrementalRun after = calculator.run(List.of(emp), runOn(LocalDate.of(2025, 1, 1)));
+        assertEquals(1, after.getMisses());
+        assertEquals(0, new BigDecimal("4400000").compareTo(after.getResults().get(0).getGross()));
+
+        // Seguir acumulando años por encima del umbral no cambia el resultado
+        assertEquals(1, calculator.run(List.of(emp), runOn(LocalDate.of(2026, 6, 30))).getHits());
+    }
+
+    @Test
+    void fingerprintCollisions_andSubclasses_areRecalculated() {
+        // Mismo hashCode de BigInteger (31 * alto + bajo) y más de 18 dígitos
+        BigInteger high = BigInteger.valueOf(10_000_000_000L).shiftLeft(32);
+        BigDecimal first = new BigDecimal(high.add(BigInteger.valueOf(1_000)), 2);
+        BigDecimal second = new BigDecimal(high.add(BigInteger.ONE.shiftLeft(32)).add(BigInteger.valueOf(1_000 - 31)), 2);
+        assertEquals(first.unscaledValue().hashCode(), second.unscaledValue().hashCode());
+        IncrementalPayrollCalculator calculator = new IncrementalPayrollCalculator();
+        LocalDate hired = LocalDate.of(2020, 1, 1);
+
+        calculator.run(List.of(new TemporaryEmployee("T1", "Grande", hired, false, first)), runOn(LocalDate.of(2025, 6, 30)));
+        IncrementalRun changed = calculator.run(List.of(new TemporaryEmployee("T1", "Grande", hired, false, second)),
+                runOn(LocalDate.of(2025, 6, 30)));
+        assertEquals(1, changed.getMisses());
+        assertEquals(second, changed.getResults().get(0).getGross());
+
+        Employee subclass = new SalariedEmployee("S1", "Redefinido", hired, false, new BigDecimal("4000000")) {
+            @Override
+            public BigDecimal calculateGross(PayrollRunContext context) {
+                return new BigDecimal("10000000");
+            }
+        };
+        calculator.run(List.of(subclass), runOn(LocalDate.of(2025, 6, 30)));
+        IncrementalRun again = calculator.run(List.of(subclass), runOn(LocalDate.of(2025, 6, 30)));
+        assertEquals(0, again.getHits());
+        assertEquals(new BigDecimal("10000000"), again.getResults().get(0).getGross());
+    }
+
+    private static PayrollRunContext runOn(LocalDate date) {
+        return PayrollRunContext.of(date, Config.DEDUCTION_RATE, Config.ARL_RATE);
+    }
+}
@@ -0,0 +1,150 @@
+package com.clinica.salvador;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.clinica.salvador.model.Employee;
+import com.clinica.salvador.model.HourlyEmployee;
+import com.clinica.salvador.model.SalariedEmployee;
+import com.clinica.salvador.service.MultiPeriodPayrollCalculator;
+import com.clinica.salvador.service.PayrollMatrix;
+import com.clinica.salvador.service.PayrollResult;
+import com.clinica.salvador.service.PayrollService;
+import com.clinica.salvador.service.PayrollTotals;
+import com.clinica.salvador.util.PayrollRunContext;
+import com.clinica.salvador.util.RateTable;
+
+/**
+ * Pruebas unitarias para MultiPeriodPayrollCalculator.
+ * Cada celda de la matriz debe ser igual a una corrida de PayrollService
+ * con la fecha de su período.
+ */
+public class MultiPeriodPayrollCalculatorTest {
+
+    private static final RateTable RATES = RateTable.defaults();
+
+    @Test
+    void matrix_matchesOneRunPerPeriod() {
+        List<Employee> roster = PayrollServiceTest.mixedRoster(600);
+        List<LocalDate> periods = months(YearMonth.of(2021, 1), 60);
+
+        PayrollMatrix matrix = new MultiPeriodPayrollCalculator(RATES).calculate(roster, periods);
+
+        assertEquals(600, matrix.employeeCount());
+        assertEquals(60, matrix.periodCount());
+        for (int k = 0; k < periods.size(); k++) {
+            List<PayrollResult> expected = new PayrollService(roster, PayrollRunContext.of(periods.get(k), RATES)).processAll();
+            PayrollServiceTest.assertSameResults(expected, matrix.period(k));
+            PayrollTotals totals = matrix.summary(k).total();
+            assertEquals(0, totals.getNet().compareTo(sumNet(expected)));
+        }
+        // A lo sumo dos resultados por empleado, no uno por celda
+        assertTrue(matrix.distinctResults() <= 2 * roster.size());
+    }
+
+    @Test
+    void matrix_evaluatesTenurePerPeriod() {
+        SalariedEmployee emp = new SalariedEmployee("S1", "Antigüedad", LocalDate.of(2019, 7, 15), false,
+                new BigDecimal("2000000"));
+        // 2024: 5 años (sin bono); 2025: 6 años (bono del 10%)
+        List<LocalDate> periods = List.of(LocalDate.of(2023, 12, 31), LocalDate.of(2024, 12, 31),
+                LocalDate.of(2025, 1, 31), LocalDate.of(2026, 1, 31));
+
+        PayrollMatrix matrix = new MultiPeriodPayrollCalculator(RATES).calculate(List.of(emp), periods);
+
+        assertEquals(0, new BigDecimal("2000000").compareTo(matrix.get(0, 0).getGross()));
+        assertEquals(0, new BigDecimal("2000000").compareTo(matrix.get(0, 1).getGross()));
+        assertEquals(0, new BigDecimal("2200000").compareTo(matrix.get(0, 2).getGross()));
+        assertSame(matrix.get(0, 0), matrix.get(0, 1));
+        assertSame(matrix.get(0, 2), matrix.get(0, 3));
+        assertEquals(2, matrix.distinctResults());
+    }
+
+    @Test
+    void matrix_reusesPeriodIndependentResults() {
+        List<Employee> roster = PayrollServiceTest.mixedRoster(8);
+        PayrollMatrix matrix = new PayrollService(roster, PayrollRunContext.of(LocalDate.now(), RATES))
+                .processPeriods(months(YearMonth.of(2024, 1), 12));
+        // Por horas (posiciones 1 y 5): el mismo resultado en todos los períodos
+        for (int k = 1; k < 12; k++) {
+            assertSame(matrix.get(1, 0), matrix.get(1, k));
+            assertSame(matrix.get(5, 0), matrix.get(5, k));
+        }
+    }
+
+    @Test
+    void matrix_unknownSubtypeIsCalculatedPerPeriod() {
+        // Subtipo cuyo bruto depende del mes de la corrida
+        Employee seasonal = new Employee("X1", "Temporada", LocalDate.of(2020, 1, 1), false) {
+            @Override
+            public BigDecimal calculateGross() {
+                return calculateGross(PayrollRunContext.today());
+            }
+
+            @Override
+            public BigDecimal calculateGross(PayrollRunContext context) {
+                return BigDecimal.valueOf(1_000_000L + 1_000L * context.getRunDate().getMonthValue());
+            }
+        };
+        List<LocalDate> periods = months(YearMonth.of(2025, 1), 3);
+        PayrollMatrix matrix = new MultiPeriodPayrollCalculator(RATES).calculate(List.of(seasonal), periods);
+
+        assertEquals(0, new BigDecimal("1001000").compareTo(matrix.get(0, 0).getGross()));
+        assertEquals(0, new BigDecimal("1003000").compareTo(matrix.get(0, 2).getGross()));
+        assertNotSame(matrix.get(0, 0), matrix.get(0, 1));
+    }
+
+    @Test
+    void matrix_subclassOfAKnownTypeIsCalculatedPerPeriod() {
+        // Por horas, pero con un recargo que depende del mes de la corrida
+        Employee seasonal = new HourlyEmployee("H1", "Temporada", LocalDate.of(2020, 1, 1), false,
+                new BigDecimal("10000"), new BigDecimal("40"), 0, false) {
+            @Override
+            public BigDecimal calculateGross(PayrollRunContext context) {
+                return super.calculateGross(context).add(BigDecimal.valueOf(1_000L * context.getRunDate().getMonthValue()));
+            }
+        };
+        List<LocalDate> periods = months(YearMonth.of(2025, 1), 3);
+        PayrollMatrix matrix = new MultiPeriodPayrollCalculator(RATES).calculate(List.of(seasonal), periods);
+
+        for (int k = 0; k < periods.size(); k++) {
+            PayrollResult expected = new PayrollService(List.of(seasonal), PayrollRunContext.of(periods.get(k), RATES))
+                    .processAll().get(0);
+            assertEquals(expected.getGross(), matrix.get(0, k).getGross());
+            assertEquals(expected.getNet(), matrix.get(0, k).getNet());
+        }
+        assertNotSame(matrix.get(0, 0), matrix.get(0, 1));
+    }
+
+    @Test
+    void matrix_requiresPeriods() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new MultiPeriodPayrollCalculator(RATES).calculate(PayrollServiceTest.mixedRoster(4), List.of()));
+    }
+
+    private static List<LocalDate> months(YearMonth first, int count) {
+        List<LocalDate> periods = new ArrayList<>(count);
+        for (int k = 0; k < count; k++) {
+            periods.add(first.plusMonths(k).atEndOfMonth());
+        }
+        return periods;
+    }
+
+    private static BigDecimal sumNet(List<PayrollResult> results) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (PayrollResult r : results) {
+            total = total.add(r.getNet());
+        }
+        return total;
+    }
+}
@@ -0,0 +1,163 @@
+package com.clinica.salvador;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.clinica.salvador.model.Employee;
+import com.clinica.salvador.model.EmployeeType;
+import com.clinica.salvador.model.PayRuleSet;
+import com.clinica.salvador.model.PayrollRule;
+import com.clinica.salvador.model.RuleBasedEmployee;
+import com.clinica.salvador.model.SalariedEmployee;
+import com.clinica.salvador.service.CollectedPayrollRun;
+import com.clinica.salvador.service.PayrollService;
+import com.clinica.salvador.util.PayrollRunContext;
+import com.clinica.salvador.util.RateTable;
+
+/**
+ * Pruebas unitarias para PayRuleSet y RuleBasedEmployee.
+ */
+public class PayRuleSetTest {
+
+    private static final LocalDate RUN_DATE = LocalDate.of(2025, 6, 30);
+    private static final LocalDate HIRED = LocalDate.of(2015, 3, 1);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void standardRules_matchTheSubclasses() {
+        List<Employee> roster = PayrollServiceTest.mixedRoster(2_000);
+        List<Employee> ruleBased = new ArrayList<>();
+        for (Employee e : roster) {
+            ruleBased.add(RuleBasedEmployee.from(e));
+        }
+
+        Properties custom = RateTable.defaults().toProperties();
+        custom.setProperty("version", "2026-01");
+        custom.setProperty("hourly.regular.hours", "38.5");
+        custom.setProperty("hourly.overtime.multiplier", "1.75");
+        custom.setProperty("salaried.tenure.bonus.years", "6");
+        custom.setProperty("commission.bonus.threshold", "16000000");
+        custom.setProperty("food.allowance", "1200000.00");
+        for (RateTable rates : List.of(RateTable.defaults(), RateTable.fromProperties(custom))) {
+            PayrollRunContext context = PayrollRunContext.of(RUN_DATE, rates);
+            PayrollServiceTest.assertSameResults(new PayrollService(roster, context).processAll(),
+                    new PayrollService(ruleBased, context).processAll());
+        }
+    }
+
+    @Test
+    void newCategory_isDefinedInData() throws IOException {
+        Path file = dir.resolve("enfermeria.properties");
+        Files.writeString(file, String.join("\n",
+                "name=nurse",
+                "inputs=hourlyRate,hoursWorked,nightHours,nightSurcharge",
+                "validate.1=nonNegative hoursWorked NEGATIVE_HOURS",
+                "validate.2=nonNegative nightHours NEGATIVE_HOURS",
+                "gross.1=tiered hoursWorked hourlyRate 44 1.25",
+                "gross.2=product nightHours nightSurcharge",
+                "gross.3=tenureBonus hourlyRate 5 20",
+                "gross.4=permanentAllowance rate:food.allowance"));
+        PayRuleSet nurse = PayRuleSet.load(file);
+        Employee e = new RuleBasedEmployee("N1", "Enfermera", HIRED, true, nurse, Map.of(
+                "hourlyRate", new BigDecimal("20000"), "hoursWorked", new BigDecimal("48"),
+                "nightHours", new BigDecimal("10"), "nightSurcharge", new BigDecimal("7000")));
+
+        // 44 * 20000 + 4 * 20000 * 1.25 + 10 * 7000 + 20000 * 20 + 1000000
+        BigDecimal expected = new BigDecimal("2450000.00");
+        assertEquals(expected, e.calculateGross(PayrollRunContext.of(RUN_DATE, RateTable.defaults())));
+        assertEquals(List.of("hourlyRate", "hoursWorked", "nightHours", "nightSurcharge"), nurse.getInputs());
+    }
+
+    @Test
+    void invalidInputs_areRejectedInBothModes() {
+        PayrollRunContext context = PayrollRunContext.of(RUN_DATE, RateTable.defaults());
+        Employee bad = new RuleBasedEmployee("H1", "Horas", HIRED, false, PayRuleSet.standard(EmployeeType.HOURLY),
+                Map.of("hourlyRate", new BigDecimal("15000"), "hoursWorked", new BigDecimal("-2")));
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> new PayrollService(List.of(bad), context).processAll());
+        assertEquals(PayrollRule.NEGATIVE_HOURS.getDescription(), ex.getMessage());
+
+        CollectedPayrollRun run = new PayrollService(List.of(bad), context).processAllCollecting();
+        assertEquals(PayrollRule.NEGATIVE_HOURS, run.getErrors().get(0).getRule());
+        assertEquals(new BigDecimal("-2"), run.getErrors().get(0).getValues().get("hoursWorked"));
+    }
+
+    @Test
+    void malformedRules_areRejected() {
+        assertThrows(IllegalArgumentException.class, () -> rules("inputs=a\ngross.1=amount a"));
+        assertThrows(IllegalArgumentException.class, () -> rules("name=x\ninputs=a"));
+        assertThrows(IllegalArgumentException.class, () -> rules("name=x\ninputs=a\ngross.1=amount b"));
+        assertThrows(IllegalArgumentException.class, () -> rules("name=x\ninputs=a\ngross.1=power a 2"));
+        assertThrows(IllegalArgumentException.class, () -> rules("name=x\ninputs=a\ngross.1=product a"));
+        assertThrows(IllegalArgumentException.class, () -> rules("name=x\ninputs=a\ngross.1=product a 1.2.3"));
+        assertThrows(IllegalArgumentException.class, () -> rules("name=x\ninputs=a\nvalidate.1=nonNegative a NOPE\ngross.1=amount a"));
+        assertThrows(IllegalArgumentException.class, () -> rules("name=x\ninputs=a,a\ngross.1=amount a"));
+
+        // Una clave rate: que la tabla no tiene se detecta al compilar para la corrida
+        PayRuleSet unknownRate = rules("name=x\ninputs=a\ngross.1=product a rate:no.existe");
+        Employee e = new RuleBasedEmployee("X1", "X", HIRED, false, unknownRate, Map.of("a", BigDecimal.TEN));
+        assertThrows(IllegalArgumentException.class, () -> e.calculateGross(PayrollRunContext.of(RUN_DATE, RateTable.defaults())));
+
+        // Datos que faltan o que las reglas no declaran
+        PayRuleSet one = rules("name=x\ninputs=a\ngross.1=amount a");
+        assertThrows(IllegalArgumentException.class, () -> new RuleBasedEmployee("X2", "X", HIRED, false, one, Map.of()));
+        assertThrows(IllegalArgumentException.class, () -> new RuleBasedEmployee("X3", "X", HIRED, false, one,
+                Map.of("a", BigDecimal.ONE, "b", BigDecimal.ONE)));
+    }
+
+    @Test
+    void interleavedRunsWithDifferentTables_keepTheirOwnRules() {
+        Properties custom = RateTable.defaults().toProperties();
+        custom.setProperty("version", "recargada");
+        custom.setProperty("hourly.overtime.multiplier", "2");
+        custom.setProperty("food.allowance", "1200000.00");
+        PayrollRunContext before = PayrollRunContext.of(RUN_DATE, RateTable.defaults());
+        PayrollRunContext after = PayrollRunContext.of(RUN_DATE, RateTable.fromProperties(custom));
+
+        // Dos corridas que se alternan empleado por empleado, como alrededor de una recarga
+        for (Employee e : PayrollServiceTest.mixedRoster(200)) {
+            Employee rules = RuleBasedEmployee.from(e);
+            assertEquals(e.calculateGross(before), rules.calculateGross(before));
+            assertEquals(e.calculateGross(after), rules.calculateGross(after));
+        }
+    }
+
+    @Test
+    void from_rejectsSubclassesOfTheFourTypes() {
+        // Las reglas estándar perderían el bruto redefinido
+        Employee subclass = new SalariedEmployee("S1", "Subclase", HIRED, true, new BigDecimal("3000000")) {
+            @Override
+            public BigDecimal calculateGross(PayrollRunContext context) {
+                return new BigDecimal("10000000");
+            }
+        };
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> RuleBasedEmployee.from(subclass));
+        assertEquals("Subtipo no reconocido: " + subclass.getClass().getName(), ex.getMessage());
+    }
+
+    private static PayRuleSet rules(String text) {
+        Properties p = new Properties();
+        try {
+            p.load(new StringReader(text));
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+        return PayRuleSet.fromProperties(p);
+    }
+}
@@ -0,0 +1,76 @@
+package com.clinica.salvador;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.clinica.salvador.io.PayrollLedgerReader;
+import com.clinica.salvador.io.PayrollLedgerWriter;
+import com.clinica.salvador.service.PayrollResult;
+import com.clinica.salvador.service.PayrollService;
+import com.clinica.salvador.util.Config;
+
+/**
+ * Pruebas unitarias para el ledger binario de nómina.
+ * Lo escrito debe leerse igual (valores y escalas), por acceso aleatorio
+ * y por recorrido secuencial.
+ */
+public class PayrollLedgerTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void ledger_roundTripPreservesValuesAndOrder() throws IOException {
+        List<PayrollResult> results = new PayrollService(PayrollServiceTest.mixedRoster(3_000),
+                Config.DEDUCTION_RATE, new BigDecimal("0.00522")).processAll();
+        Path file = dir.resolve("corrida.ledger");
+        try (PayrollLedgerWriter writer = new PayrollLedgerWriter(file)) {
+            for (PayrollResult r : results) {
+                writer.accept(r);
+            }
+        }
+        assertEquals(32 + 64L * results.size(), Files.size(file));
+
+        try (PayrollLedgerReader ledger = PayrollLedgerReader.open(file)) {
+            assertEquals(results.size(), ledger.size());
+
+            // Acceso aleatorio
+            for (int i : new int[] {0, 1, 1234, results.size() - 1}) {
+                PayrollResult expected = results.get(i);
+                PayrollResult actual = ledger.toResult(i);
+                assertEquals(expected.getEmployeeId(), actual.getEmployeeId());
+                assertEquals(expected.getGross(), actual.getGross());
+                assertEquals(expected.getDeductions(), actual.getDeductions());
+                assertEquals(expected.getNet(), actual.getNet());
+            }
+
+            // Recorrido secuencial: total neto sin crear objetos por registro
+            BigDecimal expectedTotal = results.stream().map(PayrollResult::getNet).reduce(BigDecimal.ZERO, BigDecimal::add);
+            BigDecimal[] total = {BigDecimal.ZERO};
+            ledger.scan((i, g, gs, d, ds, n, ns) -> total[0] = total[0].add(BigDecimal.valueOf(n, ns)));
+            assertEquals(0, expectedTotal.compareTo(total[0]));
+        }
+    }
+
+    @Test
+    void ledger_rejectsInvalidInput() throws IOException {
+        Path file = dir.resolve("invalido.ledger");
+        try (PayrollLedgerWriter writer = new PayrollLedgerWriter(file)) {
+            PayrollResult longId = new PayrollResult("X".repeat(32), BigDecimal.ONE, BigDecimal.ZERO, BigDecimal.ONE);
+            assertThrows(IllegalArgumentException.class, () -> writer.accept(longId));
+            assertEquals(0, writer.getCount());
+        }
+
+        Path notLedger = dir.resolve("texto.csv");
+        Files.writeString(notLedger, "id,gross,deductions,net\nE1,1,0,1\n");
+        assertThrows(IOException.class, () -> PayrollLedgerReader.open(notLedger));
+    }
+}
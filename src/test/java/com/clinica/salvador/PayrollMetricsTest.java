@@ -0,0 +1,153 @@
+package com.clinica.salvador;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.clinica.salvador.model.CommissionEmployee;
+import com.clinica.salvador.model.Employee;
+import com.clinica.salvador.model.EmployeeType;
+import com.clinica.salvador.model.HourlyEmployee;
+import com.clinica.salvador.model.TemporaryEmployee;
+import com.clinica.salvador.service.PayrollMetrics;
+import com.clinica.salvador.service.PayrollService;
+import com.clinica.salvador.util.Config;
+import com.clinica.salvador.util.PayrollRunContext;
+
+/**
+ * Pruebas unitarias para PayrollMetrics.
+ * Las métricas deben contar cada cálculo y cada rechazo, también en
+ * corridas en paralelo, y publicarse por JMX.
+ */
+public class PayrollMetricsTest {
+
+    private static final PayrollRunContext CONTEXT =
+            PayrollRunContext.of(LocalDate.now(), Config.DEDUCTION_RATE, Config.ARL_RATE);
+
+    @Test
+    void metrics_countEmployeesRunsAndLatencyPerSubtype() {
+        List<Employee> roster = PayrollServiceTest.mixedRoster(1_000);
+        PayrollMetrics metrics = new PayrollMetrics(1);
+        PayrollService service = new PayrollService(roster, CONTEXT, metrics);
+
+        service.processAll();
+
+        assertEquals(1_000, metrics.getEmployeesProcessed());
+        assertEquals(1, metrics.getRunsCompleted());
+        assertEquals(1_000, metrics.getLastRunEmployees());
+        assertTrue(metrics.getLastRunEmployeesPerSecond() > 0);
+        for (EmployeeType type : EmployeeType.values()) {
+            assertEquals(250, metrics.getEmployeesProcessed(type));
+            assertEquals(250, sum(metrics.latencyHistogram(type)));
+            assertTrue(metrics.latencyPercentileNanos(type.name(), 50)
+                    <= metrics.latencyPercentileNanos(type.name(), 99));
+        }
+        assertEquals(0, sum(metrics.latencyHistogram("OTHER")));
+    }
+
+    @Test
+    void metrics_countValidationFailuresByReason() {
+        PayrollMetrics metrics = new PayrollMetrics();
+        LocalDate now = LocalDate.now();
+        PayrollService service = new PayrollService(List.of(), CONTEXT, metrics);
+
+        Employee negativeHours = new HourlyEmployee("H1", "Horas", now, false,
+                new BigDecimal("15000"), new BigDecimal("-1"), 0, false);
+        Employee negativeSales = new CommissionEmployee("C1", "Ventas", now, false,
+                new BigDecimal("1000000"), new BigDecimal("-5"), new BigDecimal("0.05"));
+        assertThrows(IllegalArgumentException.class, () -> service.calculateFor(negativeHours));
+        assertThrows(IllegalArgumentException.class, () -> service.calculateFor(negativeSales));
+
+        // Deducción mayor al 100%: neto negativo
+        PayrollService excessive = new PayrollService(List.of(),
+                PayrollRunContext.of(now, new BigDecimal("1.5"), null), metrics);
+        assertThrows(IllegalArgumentException.class, () -> excessive.calculateFor(
+                new TemporaryEmployee("T1", "Temporal", now, false, new BigDecimal("1000000"))));
+
+        assertEquals(1, metrics.getNegativeHoursFailures());
+        assertEquals(1, metrics.getNegativeSalesFailures());
+        assertEquals(1, metrics.getNegativeNetFailures());
+        assertEquals(3, metrics.getFailures());
+        assertEquals(0, metrics.getEmployeesProcessed());
+    }
+
+    @Test
+    void metrics_parallelRunCountsEveryEmployee() {
+        List<Employee> roster = PayrollServiceTest.mixedRoster(20_000);
+        PayrollMetrics metrics = new PayrollMetrics();
+        PayrollService service = new PayrollService(roster, CONTEXT, metrics);
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            service.processAllParallel(pool, 64);
+        } finally {
+            pool.shutdown();
+        }
+
+        // Conteos exactos; latencia solo de una muestra
+        assertEquals(20_000, metrics.getEmployeesProcessed());
+        long sampled = 0;
+        for (EmployeeType type : EmployeeType.values()) {
+            assertEquals(5_000, metrics.getEmployeesProcessed(type));
+            sampled += sum(metrics.latencyHistogram(type));
+        }
+        assertTrue(sampled > 0 && sampled < 20_000);
+        assertEquals(20_000, metrics.getLastRunEmployees());
+
+        metrics.reset();
+        assertEquals(0, metrics.getEmployeesProcessed());
+        assertEquals(0, metrics.getRunsCompleted());
+    }
+
+    @Test
+    void metrics_sampleRateMustBePowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new PayrollMetrics(3));
+        assertThrows(IllegalArgumentException.class, () -> new PayrollMetrics(0));
+    }
+
+    @Test
+    void metrics_disabledRegistryStaysEmpty() {
+        PayrollMetrics disabled = PayrollMetrics.disabled();
+        assertFalse(disabled.isEnabled());
+        new PayrollService(PayrollServiceTest.mixedRoster(100), CONTEXT, disabled).processAll();
+        assertEquals(0, disabled.getEmployeesProcessed());
+        assertEquals(0, disabled.getRunsCompleted());
+    }
+
+    @Test
+    void metrics_publishedAsMBean() throws Exception {
+        PayrollMetrics metrics = new PayrollMetrics(1);
+        ObjectName name = metrics.register("prueba-jmx");
+        try {
+            new PayrollService(PayrollServiceTest.mixedRoster(40), CONTEXT, metrics).processAll();
+
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            assertEquals(40L, server.getAttribute(name, "EmployeesProcessed"));
+            assertEquals(1L, server.getAttribute(name, "RunsCompleted"));
+            Object p99 = server.invoke(name, "latencyPercentileNanos",
+                    new Object[] {"HOURLY", 99.0}, new String[] {String.class.getName(), double.class.getName()});
+            assertTrue((Long) p99 > 0);
+        } finally {
+            metrics.unregister();
+        }
+        assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+    }
+
+    private static long sum(long[] counts) {
+        long total = 0;
+        for (long c : counts) total += c;
+        return total;
+    }
+}
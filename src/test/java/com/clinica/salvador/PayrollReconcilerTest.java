@@ -0,0 +1,161 @@
+package com.clinica.salvador;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.clinica.salvador.io.PayrollLedgerWriter;
+import com.clinica.salvador.service.PayrollReconciler;
+import com.clinica.salvador.service.PayrollResult;
+import com.clinica.salvador.service.PayrollService;
+import com.clinica.salvador.service.ReconciliationEntry;
+import com.clinica.salvador.service.ReconciliationReport;
+import com.clinica.salvador.util.PayrollRunContext;
+import com.clinica.salvador.util.RateTable;
+
+/**
+ * Pruebas unitarias para PayrollReconciler.
+ */
+public class PayrollReconcilerTest {
+
+    private static final PayrollRunContext CONTEXT = PayrollRunContext.of(LocalDate.of(2025, 6, 30), RateTable.defaults());
+    private static final BigDecimal THRESHOLD = new BigDecimal("50000");
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void spilledRuns_matchAnInMemoryDiff() throws IOException {
+        List<PayrollResult> previous = new PayrollService(PayrollServiceTest.mixedRoster(5_000), CONTEXT).processAll();
+        List<PayrollResult> current = new ArrayList<>();
+        for (int i = 0; i < previous.size(); i++) {
+            PayrollResult r = previous.get(i);
+            if (i % 97 == 0) continue;
+            BigDecimal bump = i % 13 == 0 ? new BigDecimal("80000") : i % 7 == 0 ? THRESHOLD : BigDecimal.ZERO;
+            current.add(new PayrollResult(r.getEmployeeId(), r.getGross().add(bump), r.getDeductions(), r.getNet().add(bump)));
+        }
+        for (int i = 0; i < 300; i++) {
+            current.add(new PayrollResult("N" + i, new BigDecimal("1000000"), new BigDecimal("40000"), new BigDecimal("960000")));
+        }
+        Collections.shuffle(current, new java.util.Random(7));
+
+        // 100 resultados por tramo y mezcla de a 3: ~50 tramos por corrida y varias pasadas
+        List<ReconciliationEntry> entries = new ArrayList<>();
+        ReconciliationReport report = new PayrollReconciler(dir, THRESHOLD, 100, 3)
+                .reconcile(previous.iterator(), current.iterator(), entries::add);
+
+        Map<String, ReconciliationEntry.Kind> expected = expectedDiff(previous, current);
+        assertEquals(expected.size(), entries.size());
+        List<String> ids = new ArrayList<>();
+        for (ReconciliationEntry e : entries) {
+            assertEquals(expected.get(e.getEmployeeId()), e.getKind(), e.getEmployeeId());
+            ids.add(e.getEmployeeId());
+        }
+        List<String> sorted = new ArrayList<>(ids);
+        Collections.sort(sorted);
+        assertEquals(sorted, ids);
+
+        assertEquals(previous.size(), report.getPreviousCount());
+        assertEquals(current.size(), report.getCurrentCount());
+        assertEquals(300, report.getAdded());
+        assertEquals(count(expected, ReconciliationEntry.Kind.REMOVED), report.getRemoved());
+        assertEquals(count(expected, ReconciliationEntry.Kind.CHANGED), report.getChanged());
+        assertEquals(previous.size() - report.getRemoved() - report.getChanged(), report.getWithinThreshold());
+        assertTrue(report.getSpilledRuns() >= 100);
+        try (var left = Files.list(dir)) {
+            assertEquals(0, left.count());
+        }
+    }
+
+    @Test
+    void ledgers_areReconciledAndDeltasReported() throws IOException {
+        Path before = dir.resolve("mayo.ledger");
+        Path after = dir.resolve("junio.ledger");
+        try (PayrollLedgerWriter writer = new PayrollLedgerWriter(before)) {
+            writer.accept(new PayrollResult("B", new BigDecimal("2000000"), new BigDecimal("80000"), new BigDecimal("1920000")));
+            writer.accept(new PayrollResult("A", new BigDecimal("1000000"), new BigDecimal("40000"), new BigDecimal("960000")));
+            writer.accept(new PayrollResult("C", new BigDecimal("500000"), new BigDecimal("20000"), new BigDecimal("480000")));
+        }
+        try (PayrollLedgerWriter writer = new PayrollLedgerWriter(after)) {
+            writer.accept(new PayrollResult("D", new BigDecimal("700000"), new BigDecimal("28000"), new BigDecimal("672000")));
+            writer.accept(new PayrollResult("A", new BigDecimal("1100000"), new BigDecimal("44000"), new BigDecimal("1056000")));
+            writer.accept(new PayrollResult("B", new BigDecimal("2000000.00"), new BigDecimal("80000"), new BigDecimal("1920000.00")));
+        }
+
+        List<ReconciliationEntry> entries = new ArrayList<>();
+        ReconciliationReport report = new PayrollReconciler(dir, THRESHOLD).reconcile(before, after, entries::add);
+
+        assertEquals(3, entries.size());
+        assertEquals(ReconciliationEntry.Kind.CHANGED, entries.get(0).getKind());
+        assertEquals(new BigDecimal("96000"), entries.get(0).getNetDelta());
+        assertEquals(new BigDecimal("100000"), entries.get(0).getGrossDelta());
+        assertEquals(ReconciliationEntry.Kind.REMOVED, entries.get(1).getKind());
+        assertEquals("C", entries.get(1).getEmployeeId());
+        assertNull(entries.get(1).getCurrent());
+        assertEquals(new BigDecimal("-480000"), entries.get(1).getNetDelta());
+        assertEquals(ReconciliationEntry.Kind.ADDED, entries.get(2).getKind());
+        assertEquals("D", entries.get(2).getEmployeeId());
+        assertEquals(1, report.getWithinThreshold());
+        assertEquals(0, report.getSpilledRuns());
+    }
+
+    @Test
+    void repeatedIds_andInvalidSettings_areRejected() throws IOException {
+        List<PayrollResult> previous = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            previous.add(new PayrollResult("E" + i, BigDecimal.TEN, BigDecimal.ONE, new BigDecimal("9")));
+        }
+        previous.add(new PayrollResult("E17", BigDecimal.TEN, BigDecimal.ONE, new BigDecimal("9")));
+        PayrollReconciler reconciler = new PayrollReconciler(dir, BigDecimal.ZERO, 8, 2);
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> reconciler.reconcile(previous.iterator(), List.<PayrollResult>of().iterator(), e -> { }));
+        assertTrue(ex.getMessage().contains("E17"));
+        try (var left = Files.list(dir)) {
+            assertEquals(0, left.count());
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> new PayrollReconciler(dir, new BigDecimal("-1")));
+        assertThrows(IllegalArgumentException.class, () -> new PayrollReconciler(dir, BigDecimal.ONE, 0, 2));
+        assertThrows(IllegalArgumentException.class, () -> new PayrollReconciler(dir, BigDecimal.ONE, 10, 1));
+    }
+
+    private static Map<String, ReconciliationEntry.Kind> expectedDiff(List<PayrollResult> previous, List<PayrollResult> current) {
+        Map<String, PayrollResult> before = new HashMap<>();
+        for (PayrollResult r : previous) {
+            before.put(r.getEmployeeId(), r);
+        }
+        Map<String, ReconciliationEntry.Kind> diff = new TreeMap<>();
+        for (PayrollResult r : current) {
+            PayrollResult old = before.remove(r.getEmployeeId());
+            if (old == null) {
+                diff.put(r.getEmployeeId(), ReconciliationEntry.Kind.ADDED);
+            } else if (r.getNet().subtract(old.getNet()).abs().compareTo(THRESHOLD) > 0) {
+                diff.put(r.getEmployeeId(), ReconciliationEntry.Kind.CHANGED);
+            }
+        }
+        for (String id : before.keySet()) {
+            diff.put(id, ReconciliationEntry.Kind.REMOVED);
+        }
+        return diff;
+    }
+
+    private static long count(Map<String, ReconciliationEntry.Kind> diff, ReconciliationEntry.Kind kind) {
+        return diff.values().stream().filter(kind::equals).count();
+    }
+}
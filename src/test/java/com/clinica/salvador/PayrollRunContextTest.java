@@ -0,0 +1,154 @@
+package com.clinica.salvador;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import org.junit.jupiter.api.Test;
+
+import com.clinica.salvador.model.Employee;
+import com.clinica.salvador.model.EmployeeBatch;
+import com.clinica.salvador.model.HourlyEmployee;
+import com.clinica.salvador.model.SalariedEmployee;
+import com.clinica.salvador.model.TemporaryEmployee;
+import com.clinica.salvador.service.BatchPayrollCalculator;
+import com.clinica.salvador.service.FixedPointPayrollEngine;
+import com.clinica.salvador.service.PayrollResult;
+import com.clinica.salvador.service.PayrollService;
+import com.clinica.salvador.util.Config;
+import com.clinica.salvador.util.PayrollRunContext;
+
+/**
+ * Pruebas unitarias para PayrollRunContext.
+ * Una corrida debe usar una sola fecha y, con el contexto resuelto, el
+ * cálculo por empleado no debe crear más objetos que el propio resultado.
+ */
+public class PayrollRunContextTest {
+
+    /**
+     * Bytes que ocupa un PayrollResult con sus tres BigDecimal (con punteros
+     * comprimidos: 32 del resultado y 40 por monto, 152 en total), con margen para JVMs
+     * con otra disposición de objetos.
+     */
+    private static final long RESULT_BYTES_BUDGET = 200;
+
+    @Test
+    void context_usesRunDateForWholeRun() {
+        SalariedEmployee emp = new SalariedEmployee("S1", "Fin de año", LocalDate.of(2019, 7, 15), true,
+                new BigDecimal("3000000"));
+        List<Employee> roster = List.of(emp);
+
+        PayrollRunContext dec31 = PayrollRunContext.of(LocalDate.of(2024, 12, 31), Config.DEDUCTION_RATE, Config.ARL_RATE);
+        PayrollRunContext jan1 = dec31.withRunDate(LocalDate.of(2025, 1, 1));
+
+        // 5 años: sin bono; 6 años: bono del 10%
+        assertEquals(0, new BigDecimal("4000000").compareTo(
+                new PayrollService(roster, dec31).processAll().get(0).getGross()));
+        assertEquals(0, new BigDecimal("4300000").compareTo(
+                new PayrollService(roster, jan1).processAll().get(0).getGross()));
+
+        // Los demás motores respetan la misma fecha
+        assertEquals(0, new BigDecimal("4300000").compareTo(
+                new FixedPointPayrollEngine(roster, jan1).processAll().get(0).getGross()));
+        assertEquals(0, new BigDecimal("4000000").compareTo(
+                new BatchPayrollCalculator(Config.DEDUCTION_RATE, Config.ARL_RATE)
+                        .calculate(EmployeeBatch.from(roster), dec31).getGross(0)));
+    }
+
+    @Test
+    void context_matchesLegacyPath_includingScale() {
+        List<Employee> roster = PayrollServiceTest.mixedRoster(500);
+        assertSameAsLegacy(roster, Config.DEDUCTION_RATE, Config.ARL_RATE);
+        // ARL cero con más decimales que la deducción: sí cambia la escala
+        assertSameAsLegacy(roster, new BigDecimal("0.04"), new BigDecimal("0.000000"));
+        assertSameAsLegacy(roster, new BigDecimal("0.04"), new BigDecimal("0.00522"));
+        assertSameAsLegacy(roster, new BigDecimal("0.085"), null);
+    }
+
+    @Test
+    void fixedPointPath_allocatesOnlyTheResult() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+
+        List<Employee> roster = PayrollServiceTest.mixedRoster(10_000);
+        PayrollRunContext context = PayrollRunContext.of(LocalDate.now(), Config.DEDUCTION_RATE, Config.ARL_RATE);
+        FixedPointPayrollEngine engine = new FixedPointPayrollEngine(roster, context);
+
+        // Se mide ronda por ronda y se toma la menor: las primeras rondas
+        // corren interpretadas, antes de que el compilador JIT optimice el cálculo
+        long threadId = Thread.currentThread().getId();
+        long sink = 0;
+        long perEmployee = Long.MAX_VALUE;
+        for (int round = 0; round < 300 && perEmployee > RESULT_BYTES_BUDGET; round++) {
+            long before = threads.getThreadAllocatedBytes(threadId);
+            sink += calculateAll(engine, roster);
+            long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+            perEmployee = Math.min(perEmployee, allocated / roster.size());
+        }
+
+        assertTrue(sink != 0);
+        assertTrue(perEmployee <= RESULT_BYTES_BUDGET,
+                "Bytes por empleado: " + perEmployee + " (máximo " + RESULT_BYTES_BUDGET + ")");
+    }
+
+    private static long calculateAll(FixedPointPayrollEngine engine, List<Employee> roster) {
+        long sum = 0;
+        for (int i = 0; i < roster.size(); i++) {
+            sum += engine.calculateFor(roster.get(i)).getNet().signum();
+        }
+        return sum;
+    }
+
+    @Test
+    void context_matchesHandComputedAmounts_includingScale() {
+        LocalDate runDate = LocalDate.of(2025, 6, 30);
+        List<Employee> roster = List.of(
+                new TemporaryEmployee("T1", "Temporal", LocalDate.of(2024, 1, 1), false, new BigDecimal("1200000")),
+                new HourlyEmployee("H1", "Por horas", LocalDate.of(2020, 1, 1), false,
+                        new BigDecimal("20000"), new BigDecimal("45"), 12, false));
+
+        assertAmounts(roster, runDate, new BigDecimal("0.04"), null,
+                "1200000", "48000.00", "1152000.00", "950000.0", "38000.000", "912000.000");
+        // ARL cero con más decimales que la deducción: la escala pasa a 6 y 7
+        assertAmounts(roster, runDate, new BigDecimal("0.04"), new BigDecimal("0.000000"),
+                "1200000", "48000.000000", "1152000.000000", "950000.0", "38000.0000000", "912000.0000000");
+        assertAmounts(roster, runDate, new BigDecimal("0.04"), new BigDecimal("0.00522"),
+                "1200000", "54264.00000", "1145736.00000", "950000.0", "42959.000000", "907041.000000");
+    }
+
+    /**
+     * Compara con la aritmética anterior al contexto: calculateGross sin
+     * argumentos y calculateDeductions con las tasas sueltas.
+     */
+    private static void assertSameAsLegacy(List<Employee> roster, BigDecimal deductionRate, BigDecimal arlRate) {
+        PayrollRunContext context = PayrollRunContext.of(LocalDate.now(), deductionRate, arlRate);
+        List<PayrollResult> withContext = new PayrollService(roster, context).processAll();
+
+        assertEquals(roster.size(), withContext.size());
+        for (int i = 0; i < roster.size(); i++) {
+            Employee e = roster.get(i);
+            BigDecimal gross = e.calculateGross();
+            BigDecimal deductions = e.calculateDeductions(gross, deductionRate, arlRate);
+            assertEquals(gross, withContext.get(i).getGross(), e.getId());
+            assertEquals(deductions, withContext.get(i).getDeductions(), e.getId());
+            assertEquals(e.calculateNet(gross, deductions), withContext.get(i).getNet(), e.getId());
+        }
+    }
+
+    /** Compara con equals (valor y escala) bruto, deducciones y neto de cada empleado */
+    private static void assertAmounts(List<Employee> roster, LocalDate runDate, BigDecimal deductionRate,
+                                      BigDecimal arlRate, String... expected) {
+        List<PayrollResult> results = new PayrollService(roster, PayrollRunContext.of(runDate, deductionRate, arlRate))
+                .processAll();
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(new BigDecimal(expected[3 * i]), results.get(i).getGross());
+            assertEquals(new BigDecimal(expected[3 * i + 1]), results.get(i).getDeductions());
+            assertEquals(new BigDecimal(expected[3 * i + 2]), results.get(i).getNet());
+        }
+    }
+}
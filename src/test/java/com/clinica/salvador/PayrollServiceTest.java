@@ -2,14 +2,22 @@ package com.clinica.salvador;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.Test;
 
+import com.clinica.salvador.model.CommissionEmployee;
+import com.clinica.salvador.model.Employee;
 import com.clinica.salvador.model.HourlyEmployee;
+import com.clinica.salvador.model.SalariedEmployee;
+import com.clinica.salvador.model.TemporaryEmployee;
 import com.clinica.salvador.service.PayrollResult;
 import com.clinica.salvador.service.PayrollService;
 import com.clinica.salvador.util.Config;
@@ -44,4 +52,85 @@ public class PayrollServiceTest {
         // Comprobamos que ningún neto sea negativo
         results.forEach(r -> assertTrue(r.getNet().compareTo(BigDecimal.ZERO) > 0));
     }
+
+    @Test
+    void processAllParallel_matchesSequentialOrderAndValues() {
+        PayrollService service = new PayrollService(mixedRoster(5_000), Config.DEDUCTION_RATE, Config.ARL_RATE);
+        List<PayrollResult> expected = service.processAll();
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            // Distintos tamaños de bloque, incluido uno que no divide la lista
+            for (int chunkSize : new int[] {1, 7, 1000, 10_000}) {
+                List<PayrollResult> actual = service.processAllParallel(pool, chunkSize);
+                assertSameResults(expected, actual);
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        assertSameResults(expected, service.processAllParallel());
+    }
+
+    @Test
+    void processAllParallel_propagatesCalculationErrors() {
+        List<Employee> roster = mixedRoster(100);
+        roster.add(50, new HourlyEmployee("BAD", "Horas negativas", LocalDate.now(), false,
+                new BigDecimal("20000"), new BigDecimal("-1"), 1, false));
+        PayrollService service = new PayrollService(roster, Config.DEDUCTION_RATE, Config.ARL_RATE);
+
+        // Se debe recibir la misma excepción que en el modo secuencial
+        assertThrows(IllegalArgumentException.class, () -> service.processAllParallel(Runnable::run, 8));
+    }
+
+    @Test
+    void processAllParallel_rejectsInvalidChunkSize() {
+        PayrollService service = new PayrollService(mixedRoster(10), Config.DEDUCTION_RATE, Config.ARL_RATE);
+
+        assertThrows(IllegalArgumentException.class, () -> service.processAllParallel(Runnable::run, 0));
+        assertThrows(IllegalArgumentException.class, () -> service.processAllParallel(Runnable::run, -1));
+    }
+
+    /** Verifica que ambas listas tengan los mismos resultados, en el mismo orden y con la misma escala */
+    static void assertSameResults(List<PayrollResult> expected, List<PayrollResult> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            PayrollResult e = expected.get(i);
+            PayrollResult a = actual.get(i);
+            assertEquals(e.getEmployeeId(), a.getEmployeeId());
+            assertEquals(e.getGross(), a.getGross());
+            assertEquals(e.getDeductions(), a.getDeductions());
+            assertEquals(e.getNet(), a.getNet());
+        }
+    }
+
+    /** Nómina mixta con los cuatro tipos de empleado intercalados */
+    static List<Employee> mixedRoster(int size) {
+        List<Employee> roster = new ArrayList<>(size);
+        LocalDate hired = LocalDate.now().minusYears(7);
+        for (int i = 0; i < size; i++) {
+            String id = "E" + i;
+            boolean permanent = i % 3 == 0;
+            switch (i % 4) {
+                case 0:
+                    // 7, 6, 5 y 4 años de servicio: con y sin bono de antigüedad
+                    roster.add(new SalariedEmployee(id, "Asalariado", hired.plusYears((i / 4) % 4), permanent,
+                            BigDecimal.valueOf(3_000_000L + i)));
+                    break;
+                case 1:
+                    roster.add(new HourlyEmployee(id, "Por horas", hired, permanent,
+                            new BigDecimal("18500.50"), BigDecimal.valueOf(35 + i % 12), 12, false));
+                    break;
+                case 2:
+                    roster.add(new CommissionEmployee(id, "Comisión", hired, permanent,
+                            new BigDecimal("2000000"), BigDecimal.valueOf(15_000_000L + 1_000L * i),
+                            new BigDecimal("0.05")));
+                    break;
+                default:
+                    roster.add(new TemporaryEmployee(id, "Temporal", hired, false,
+                            BigDecimal.valueOf(1_200_000L + i)));
+            }
+        }
+        return roster;
+    }
 }
@@ -0,0 +1,141 @@
+package com.clinica.salvador;
+
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+
+import com.clinica.salvador.io.RosterCsvFormat;
+import com.clinica.salvador.model.Employee;
+import com.clinica.salvador.model.EmployeeType;
+import com.clinica.salvador.service.PayrollResult;
+import com.clinica.salvador.service.PayrollRun;
+import com.clinica.salvador.service.PayrollService;
+import com.clinica.salvador.service.PayrollSummary;
+import com.clinica.salvador.service.PayrollTotals;
+import com.clinica.salvador.service.StreamingPayrollProcessor;
+import com.clinica.salvador.service.StreamingRunReport;
+import com.clinica.salvador.util.Config;
+
+/**
+ * Pruebas unitarias para PayrollSummary.
+ * Los totales acumulados durante el cálculo deben ser exactamente la suma
+ * de los resultados individuales, en corridas secuenciales, paralelas y
+ * en streaming.
+ */
+public class PayrollSummaryTest {
+
+    @Test
+    void summary_equalsSumOfIndividualResults() {
+        List<Employee> roster = PayrollServiceTest.mixedRoster(3_000);
+        // Subtipo no reconocido por EmployeeType
+        roster.add(new Employee("X1", "Otro", LocalDate.now(), true) {
+            @Override
+            public BigDecimal calculateGross() {
+                return new BigDecimal("777.5");
+            }
+        });
+
+        PayrollRun run = new PayrollService(roster, Config.DEDUCTION_RATE, Config.ARL_RATE).processAllWithSummary();
+        List<PayrollResult> results = run.getResults();
+        PayrollSummary summary = run.getSummary();
+
+        assertTotals(roster, results, e -> true, summary.total());
+        for (EmployeeType type : EmployeeType.values()) {
+            assertTotals(roster, results, e -> EmployeeType.of(e) == type, summary.byType(type));
+        }
+        assertTotals(roster, results, e -> EmployeeType.of(e) == null, summary.byType(null));
+        assertTotals(roster, results, Employee::isPermanent, summary.byPermanence(true));
+        assertTotals(roster, results, e -> !e.isPermanent(), summary.byPermanence(false));
+        assertEquals(1, summary.byType(null).getCount());
+    }
+
+    @Test
+    void summary_parallelMatchesSequential() {
+        List<Employee> roster = PayrollServiceTest.mixedRoster(10_001);
+        PayrollService service = new PayrollService(roster, new BigDecimal("0.04"), new BigDecimal("0.00522"));
+        PayrollSummary sequential = service.processAllWithSummary().getSummary();
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            for (int chunkSize : new int[] {1, 7, 1024, 20_000}) {
+                PayrollRun parallel = service.processAllParallelWithSummary(pool, chunkSize);
+                assertSameTotals(sequential.total(), parallel.getSummary().total());
+                for (EmployeeType type : EmployeeType.values()) {
+                    assertSameTotals(sequential.byType(type), parallel.getSummary().byType(type));
+                }
+                assertSameTotals(sequential.byPermanence(true), parallel.getSummary().byPermanence(true));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void summary_streamingCountsOnlyProcessedLines() throws Exception {
+        List<Employee> roster = PayrollServiceTest.mixedRoster(200);
+        StringBuilder file = new StringBuilder();
+        for (Employee e : roster) {
+            file.append(RosterCsvFormat.format(e)).append('\n');
+        }
+        file.append("HOURLY,BAD,Mal,2020-01-01,false,abc,40,12,false\n");
+
+        StreamingRunReport report = new StreamingPayrollProcessor(Config.DEDUCTION_RATE, Config.ARL_RATE)
+                .process(new StringReader(file.toString()), r -> { }, err -> { });
+
+        PayrollSummary expected = new PayrollService(roster, Config.DEDUCTION_RATE, Config.ARL_RATE)
+                .processAllWithSummary().getSummary();
+        assertEquals(200, report.getSummary().total().getCount());
+        assertSameTotals(expected.total(), report.getSummary().total());
+        assertSameTotals(expected.byPermanence(false), report.getSummary().byPermanence(false));
+    }
+
+    @Test
+    void summary_emptyRun() {
+        PayrollService service = new PayrollService(new ArrayList<>(), Config.DEDUCTION_RATE, Config.ARL_RATE);
+        PayrollSummary summary = service.processAllWithSummary().getSummary();
+        assertEquals(0, summary.total().getCount());
+        assertEquals(BigDecimal.ZERO, summary.total().getNet());
+
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            assertEquals(0, service.processAllParallelWithSummary(pool, 16).getSummary().total().getCount());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /** Compara los totales con la suma uno a uno de los resultados del grupo (valor y escala) */
+    private static void assertTotals(List<Employee> roster, List<PayrollResult> results,
+                                     Predicate<Employee> group, PayrollTotals totals) {
+        long count = 0;
+        BigDecimal gross = BigDecimal.ZERO;
+        BigDecimal deductions = BigDecimal.ZERO;
+        BigDecimal net = BigDecimal.ZERO;
+        for (int i = 0; i < roster.size(); i++) {
+            if (!group.test(roster.get(i))) continue;
+            count++;
+            gross = gross.add(results.get(i).getGross());
+            deductions = deductions.add(results.get(i).getDeductions());
+            net = net.add(results.get(i).getNet());
+        }
+        assertEquals(count, totals.getCount());
+        assertEquals(gross, totals.getGross());
+        assertEquals(deductions, totals.getDeductions());
+        assertEquals(net, totals.getNet());
+    }
+
+    private static void assertSameTotals(PayrollTotals expected, PayrollTotals actual) {
+        assertEquals(expected.getCount(), actual.getCount());
+        assertEquals(expected.getGross(), actual.getGross());
+        assertEquals(expected.getDeductions(), actual.getDeductions());
+        assertEquals(expected.getNet(), actual.getNet());
+    }
+}
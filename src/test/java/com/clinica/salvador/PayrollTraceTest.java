@@ -0,0 +1,162 @@
+package com.clinica.salvador;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.clinica.salvador.model.CommissionEmployee;
+import com.clinica.salvador.model.Employee;
+import com.clinica.salvador.model.HourlyEmployee;
+import com.clinica.salvador.model.PayLineItem;
+import com.clinica.salvador.model.RuleBasedEmployee;
+import com.clinica.salvador.model.SalariedEmployee;
+import com.clinica.salvador.service.PayLine;
+import com.clinica.salvador.service.PayrollResult;
+import com.clinica.salvador.service.PayrollService;
+import com.clinica.salvador.service.PayrollTrace;
+import com.clinica.salvador.util.PayrollRunContext;
+import com.clinica.salvador.util.RateTable;
+
+/**
+ * Pruebas unitarias para PayrollTrace y PayrollService.processAllTraced.
+ */
+public class PayrollTraceTest {
+
+    private static final PayrollRunContext CONTEXT = PayrollRunContext.of(LocalDate.of(2025, 6, 30),
+            RateTable.withRates(new BigDecimal("0.04"), new BigDecimal("0.00522")));
+
+    @Test
+    void lineItems_addUpToEveryResult() {
+        List<Employee> roster = new ArrayList<>(PayrollServiceTest.mixedRoster(2_000));
+        roster.add(RuleBasedEmployee.from(roster.get(1)));
+        roster.add(new Employee("X1", "Otro", LocalDate.of(2020, 1, 1), true) {
+            @Override
+            public BigDecimal calculateGross() {
+                return new BigDecimal("1234567.89");
+            }
+        });
+        roster.add(new SalariedEmployee("X2", "Exenta", LocalDate.of(2020, 1, 1), false, new BigDecimal("2000000")) {
+            @Override
+            public BigDecimal calculateDeductions(BigDecimal gross, PayrollRunContext context) {
+                return gross.multiply(new BigDecimal("0.01"));
+            }
+        });
+        PayrollService service = new PayrollService(roster, CONTEXT);
+        PayrollTrace trace = new PayrollTrace(16);
+
+        List<PayrollResult> traced = service.processAllTraced(trace);
+
+        List<PayrollResult> expected = service.processAll();
+        assertEquals(roster.size(), trace.employeeCount());
+        for (int i = 0; i < expected.size(); i++) {
+            PayrollResult r = expected.get(i);
+            assertEquals(r.getGross(), traced.get(i).getGross());
+            assertEquals(r.getDeductions(), traced.get(i).getDeductions());
+            assertEquals(r.getNet(), traced.get(i).getNet());
+
+            BigDecimal gross = BigDecimal.ZERO;
+            BigDecimal deductions = BigDecimal.ZERO;
+            for (PayLine line : trace.explain(r.getEmployeeId())) {
+                if (line.getItem().isDeduction()) {
+                    deductions = deductions.add(line.getAmount());
+                } else {
+                    gross = gross.add(line.getAmount());
+                }
+            }
+            assertEquals(0, r.getGross().compareTo(gross), r.getEmployeeId());
+            assertEquals(0, r.getDeductions().compareTo(deductions), r.getEmployeeId());
+        }
+        assertEquals(PayLineItem.OTHER_GROSS, trace.explain("X1").get(0).getItem());
+
+        // Deducciones redefinidas: un solo concepto por el total que devolvió el subtipo
+        List<PayLine> exempt = trace.explain("X2");
+        assertEquals(List.of(PayLineItem.BASE_SALARY, PayLineItem.DEDUCTIONS), items(exempt));
+        assertNull(exempt.get(1).getQuantity());
+    }
+
+    @Test
+    void explain_itemisesEachSubtype() {
+        LocalDate hired = LocalDate.of(2015, 3, 1);
+        List<Employee> roster = List.of(
+                new SalariedEmployee("S1", "Asalariada", hired, true, new BigDecimal("3000000")),
+                new HourlyEmployee("H1", "Por horas", hired, false, new BigDecimal("20000"), new BigDecimal("48"), 12, false),
+                new CommissionEmployee("C1", "Comisión", hired, false, new BigDecimal("2000000"),
+                        new BigDecimal("25000000"), new BigDecimal("0.05")));
+        PayrollTrace trace = new PayrollTrace();
+
+        new PayrollService(roster, CONTEXT).processAllTraced(trace);
+
+        assertEquals(List.of(PayLineItem.BASE_SALARY, PayLineItem.TENURE_BONUS, PayLineItem.FOOD_ALLOWANCE,
+                PayLineItem.DEDUCTIONS, PayLineItem.ARL), items(trace.explain("S1")));
+        assertEquals(new BigDecimal("300000.00"), trace.explain("S1").get(1).getAmount());
+
+        List<PayLine> hourly = trace.explain("H1");
+        assertEquals(List.of(PayLineItem.REGULAR_HOURS, PayLineItem.OVERTIME, PayLineItem.DEDUCTIONS, PayLineItem.ARL),
+                items(hourly));
+        assertEquals(new BigDecimal("40"), hourly.get(0).getQuantity());
+        assertEquals(new BigDecimal("8"), hourly.get(1).getQuantity());
+        assertEquals(0, new BigDecimal("240000").compareTo(hourly.get(1).getAmount()));
+
+        List<PayLine> commission = trace.explain("C1");
+        assertEquals(List.of(PayLineItem.BASE_SALARY, PayLineItem.COMMISSION, PayLineItem.SALES_BONUS,
+                PayLineItem.DEDUCTIONS, PayLineItem.ARL), items(commission));
+        assertNull(commission.get(0).getQuantity());
+        assertEquals(0, new BigDecimal("750000").compareTo(commission.get(2).getAmount()));
+    }
+
+    @Test
+    void trace_isReusedAndRejectsUnknownIds() {
+        PayrollTrace trace = new PayrollTrace(4);
+        new PayrollService(PayrollServiceTest.mixedRoster(100), CONTEXT).processAllTraced(trace);
+        assertTrue(trace.contains("E99"));
+
+        new PayrollService(PayrollServiceTest.mixedRoster(10), CONTEXT).processAllTraced(trace);
+        assertEquals(10, trace.employeeCount());
+        assertFalse(trace.contains("E99"));
+        assertThrows(IllegalArgumentException.class, () -> trace.explain("E99"));
+
+        // Un empleado inválido detiene la corrida; la traza conserva los anteriores y no lo incluye
+        List<Employee> roster = new ArrayList<>(PayrollServiceTest.mixedRoster(5));
+        roster.add(new HourlyEmployee("H-", "Horas", LocalDate.of(2020, 1, 1), false,
+                new BigDecimal("15000"), new BigDecimal("-2"), 12, false));
+        assertThrows(IllegalArgumentException.class, () -> new PayrollService(roster, CONTEXT).processAllTraced(trace));
+        assertTrue(trace.contains("E4"));
+        assertFalse(trace.contains("H-"));
+        assertThrows(IllegalArgumentException.class, () -> trace.explain("H-"));
+
+        // Falla después de registrar su bruto y deducciones: también se descartan
+        PayrollTrace complete = new PayrollTrace();
+        new PayrollService(roster.subList(0, 5), CONTEXT).processAllTraced(complete);
+        List<Employee> negative = new ArrayList<>(roster.subList(0, 5));
+        negative.add(new SalariedEmployee("S-", "Negativo", LocalDate.of(2020, 1, 1), false, new BigDecimal("1000000")) {
+            @Override
+            public BigDecimal calculateDeductions(BigDecimal gross, PayrollRunContext context) {
+                return gross.add(BigDecimal.ONE);
+            }
+        });
+        assertThrows(IllegalArgumentException.class, () -> new PayrollService(negative, CONTEXT).processAllTraced(trace));
+        assertEquals(5, trace.employeeCount());
+        assertEquals(complete.lineCount(), trace.lineCount());
+        assertFalse(trace.contains("S-"));
+        assertEquals(items(complete.explain("E4")), items(trace.explain("E4")));
+
+        PayrollTrace empty = new PayrollTrace();
+        assertThrows(IllegalStateException.class, () -> empty.line(PayLineItem.BASE_SALARY, null, BigDecimal.ONE));
+    }
+
+    private static List<PayLineItem> items(List<PayLine> lines) {
+        List<PayLineItem> items = new ArrayList<>();
+        for (PayLine line : lines) {
+            items.add(line.getItem());
+        }
+        return items;
+    }
+}
@@ -0,0 +1,172 @@
+package com.clinica.salvador;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.clinica.salvador.model.Employee;
+import com.clinica.salvador.model.HourlyEmployee;
+import com.clinica.salvador.model.SalariedEmployee;
+import com.clinica.salvador.service.PayrollResult;
+import com.clinica.salvador.service.PayrollService;
+import com.clinica.salvador.service.PayrollTotals;
+import com.clinica.salvador.service.RateScenario;
+import com.clinica.salvador.service.ScenarioMatrix;
+import com.clinica.salvador.util.PayrollRunContext;
+import com.clinica.salvador.util.RateTable;
+
+/**
+ * Pruebas unitarias para RateScenarioCalculator y ScenarioMatrix.
+ */
+public class RateScenarioCalculatorTest {
+
+    private static final LocalDate RUN_DATE = LocalDate.of(2025, 6, 30);
+
+    @Test
+    void everyScenario_matchesASeparateRun() {
+        Properties custom = RateTable.defaults().toProperties();
+        custom.setProperty("version", "2026-01");
+        custom.setProperty("hourly.regular.hours", "38.5");
+        custom.setProperty("food.allowance", "1200000.00");
+        PayrollRunContext base = PayrollRunContext.of(RUN_DATE, RateTable.fromProperties(custom));
+        List<Employee> roster = PayrollServiceTest.mixedRoster(3_000);
+        List<RateScenario> scenarios = List.of(
+                RateScenario.of(new BigDecimal("0.04"), null),
+                RateScenario.of(new BigDecimal("0.045"), new BigDecimal("0.00522")),
+                RateScenario.of("sin deducciones", BigDecimal.ZERO, BigDecimal.ZERO),
+                RateScenario.of(new BigDecimal("0.1234567"), new BigDecimal("0.01")),
+                RateScenario.of(BigDecimal.ONE, null));
+
+        ScenarioMatrix matrix = new PayrollService(roster, base).evaluateScenarios(scenarios);
+
+        assertEquals(roster.size(), matrix.employeeCount());
+        assertEquals(scenarios.size(), matrix.scenarioCount());
+        for (int k = 0; k < scenarios.size(); k++) {
+            RateScenario s = scenarios.get(k);
+            PayrollService separate = new PayrollService(roster, base.withRates(s.getDeductionRate(), s.getArlRate()));
+            List<PayrollResult> expected = separate.processAll();
+            List<PayrollResult> actual = matrix.results(k);
+            long[] net = matrix.netColumn(k);
+            long[] deductions = matrix.deductionsColumn(k);
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i).getEmployeeId(), actual.get(i).getEmployeeId());
+                assertEquals(expected.get(i).getGross(), actual.get(i).getGross());
+                assertEquals(expected.get(i).getDeductions(), actual.get(i).getDeductions());
+                assertEquals(expected.get(i).getNet(), actual.get(i).getNet());
+                assertEquals(0, expected.get(i).getNet().compareTo(BigDecimal.valueOf(net[i], matrix.columnScale(k))));
+                assertEquals(0, expected.get(i).getDeductions()
+                        .compareTo(BigDecimal.valueOf(deductions[i], matrix.columnScale(k))));
+            }
+            PayrollTotals want = separate.processAllWithSummary().getSummary().total();
+            PayrollTotals got = matrix.total(k);
+            assertEquals(want.getCount(), got.getCount());
+            assertEquals(0, want.getGross().compareTo(got.getGross()));
+            assertEquals(0, want.getDeductions().compareTo(got.getDeductions()));
+            assertEquals(0, want.getNet().compareTo(got.getNet()));
+        }
+    }
+
+    @Test
+    void hugeGross_fallsBackToBigDecimalCells() {
+        PayrollRunContext base = PayrollRunContext.of(RUN_DATE, RateTable.defaults());
+        List<Employee> roster = List.of(
+                new SalariedEmployee("S1", "Grande", LocalDate.of(2020, 1, 1), false, new BigDecimal("1E+20")),
+                new SalariedEmployee("S2", "Normal", LocalDate.of(2020, 1, 1), false, new BigDecimal("3000000")));
+        RateScenario scenario = RateScenario.of(new BigDecimal("0.05"), null);
+
+        ScenarioMatrix matrix = new PayrollService(roster, base).evaluateScenarios(List.of(scenario));
+
+        assertFalse(matrix.isFixedPoint(0));
+        assertThrows(ArithmeticException.class, () -> matrix.netColumn(0));
+        assertEquals(new BigDecimal("9.5E+19").compareTo(matrix.result(0, 0).getNet()), 0);
+        assertEquals(new BigDecimal("2850000.00"), matrix.result(1, 0).getNet());
+
+        ScenarioMatrix small = new PayrollService(roster.subList(1, 2), base).evaluateScenarios(List.of(scenario));
+        assertTrue(small.isFixedPoint(0));
+    }
+
+    @Test
+    void invalidScenariosAndEmployees_areRejected() {
+        assertThrows(IllegalArgumentException.class, () -> RateScenario.of(null, BigDecimal.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> RateScenario.of(new BigDecimal("0.99"), new BigDecimal("0.02")));
+
+        PayrollRunContext base = PayrollRunContext.of(RUN_DATE, RateTable.defaults());
+        List<Employee> roster = PayrollServiceTest.mixedRoster(10);
+        assertThrows(IllegalArgumentException.class, () -> new PayrollService(roster, base).evaluateScenarios(List.of()));
+
+        Employee bad = new HourlyEmployee("H1", "Horas", LocalDate.of(2020, 1, 1), false,
+                new BigDecimal("15000"), new BigDecimal("-2"), 12, false);
+        IllegalArgumentException expected = assertThrows(IllegalArgumentException.class,
+                () -> new PayrollService(List.of(bad), base).processAll());
+        IllegalArgumentException actual = assertThrows(IllegalArgumentException.class,
+                () -> new PayrollService(List.of(bad), base).evaluateScenarios(
+                        List.of(RateScenario.of(new BigDecimal("0.04"), null))));
+        assertEquals(expected.getMessage(), actual.getMessage());
+    }
+
+    @Test
+    void negativeNet_isRejectedByEveryPath() {
+        PayrollRunContext base = PayrollRunContext.of(RUN_DATE, RateTable.defaults());
+        Employee refund = new SalariedEmployee("X1", "Reintegro", LocalDate.of(2024, 1, 1), false,
+                new BigDecimal("-100000"));
+        List<Employee> roster = List.of(PayrollServiceTest.mixedRoster(1).get(0), refund);
+        ScenarioMatrix matrix = new PayrollService(roster, base).evaluateScenarios(List.of(
+                RateScenario.of(new BigDecimal("0.04"), null), RateScenario.of(BigDecimal.ONE, null)));
+
+        IllegalArgumentException expected = assertThrows(IllegalArgumentException.class,
+                () -> new PayrollService(roster, base.withRates(new BigDecimal("0.04"), null)).processAll());
+        assertEquals(expected.getMessage(), assertThrows(IllegalArgumentException.class, () -> matrix.result(1, 0)).getMessage());
+        assertEquals(expected.getMessage(), assertThrows(IllegalArgumentException.class, () -> matrix.total(0)).getMessage());
+        assertEquals(expected.getMessage(), assertThrows(IllegalArgumentException.class, () -> matrix.netColumn(0)).getMessage());
+        assertEquals(expected.getMessage(), assertThrows(IllegalArgumentException.class, () -> matrix.deductionsColumn(0)).getMessage());
+
+        // Con una tasa del 100% el neto es cero en todos los caminos
+        assertEquals(0, matrix.result(1, 1).getNet().signum());
+        assertEquals(0, matrix.total(1).getNet().signum());
+        assertEquals(0, matrix.netColumn(1)[1]);
+    }
+
+    @Test
+    void overriddenDeductions_areSummedPerEmployee() {
+        PayrollRunContext base = PayrollRunContext.of(RUN_DATE, RateTable.defaults());
+        Employee exempt = new SalariedEmployee("X2", "Exenta", LocalDate.of(2020, 1, 1), false,
+                new BigDecimal("2000000")) {
+            @Override
+            public BigDecimal calculateDeductions(BigDecimal gross, PayrollRunContext context) {
+                return BigDecimal.ZERO;
+            }
+        };
+        List<Employee> roster = new ArrayList<>(PayrollServiceTest.mixedRoster(8));
+        roster.add(exempt);
+        List<RateScenario> scenarios = List.of(
+                RateScenario.of(new BigDecimal("0.04"), null), RateScenario.of(new BigDecimal("0.045"), new BigDecimal("0.01")));
+        ScenarioMatrix matrix = new PayrollService(roster, base).evaluateScenarios(scenarios);
+
+        for (int k = 0; k < scenarios.size(); k++) {
+            RateScenario s = scenarios.get(k);
+            List<PayrollResult> expected = new PayrollService(roster, base.withRates(s.getDeductionRate(), s.getArlRate())).processAll();
+            PayrollServiceTest.assertSameResults(expected, matrix.results(k));
+
+            BigDecimal deductions = BigDecimal.ZERO;
+            BigDecimal net = BigDecimal.ZERO;
+            for (PayrollResult r : expected) {
+                deductions = deductions.add(r.getDeductions());
+                net = net.add(r.getNet());
+            }
+            PayrollTotals total = matrix.total(k);
+            assertEquals(0, deductions.compareTo(total.getDeductions()));
+            assertEquals(0, net.compareTo(total.getNet()));
+            assertFalse(matrix.isFixedPoint(k));
+            final int scenario = k;
+            assertThrows(ArithmeticException.class, () -> matrix.netColumn(scenario));
+        }
+    }
+}
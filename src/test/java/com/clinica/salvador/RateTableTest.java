@@ -0,0 +1,255 @@
+package com.clinica.salvador;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.clinica.salvador.model.CommissionEmployee;
+import com.clinica.salvador.model.Employee;
+import com.clinica.salvador.model.EmployeeBatch;
+import com.clinica.salvador.model.HourlyEmployee;
+import com.clinica.salvador.model.SalariedEmployee;
+import com.clinica.salvador.service.BatchPayrollCalculator;
+import com.clinica.salvador.service.FixedPointPayrollEngine;
+import com.clinica.salvador.service.IncrementalPayrollCalculator;
+import com.clinica.salvador.service.PayrollMetrics;
+import com.clinica.salvador.service.PayrollResult;
+import com.clinica.salvador.service.PayrollService;
+import com.clinica.salvador.util.Config;
+import com.clinica.salvador.util.PayrollRunContext;
+import com.clinica.salvador.util.RateTable;
+import com.clinica.salvador.util.RateTableSource;
+
+/**
+ * Pruebas unitarias para RateTable y RateTableSource.
+ * Las tasas se leen de un archivo, se reemplazan cuando cambia y cada
+ * corrida usa una sola versión.
+ */
+public class RateTableTest {
+
+    private static final LocalDate RUN_DATE = LocalDate.of(2025, 6, 30);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void defaults_giveSameResultsAsConfig() {
+        List<Employee> roster = PayrollServiceTest.mixedRoster(400);
+        List<PayrollResult> legacy = new PayrollService(roster, Config.DEDUCTION_RATE, Config.ARL_RATE).processAll();
+        List<PayrollResult> withTable = new PayrollService(roster,
+                PayrollRunContext.of(LocalDate.now(), RateTable.defaults())).processAll();
+
+        for (int i = 0; i < legacy.size(); i++) {
+            assertEquals(legacy.get(i).getGross(), withTable.get(i).getGross());
+            assertEquals(legacy.get(i).getNet(), withTable.get(i).getNet());
+        }
+    }
+
+    @Test
+    void load_readsRules() throws IOException {
+        Path file = write(withDefaults("version=2025-07\n"
+                + "deduction.rate=0.05\n"
+                + "hourly.regular.hours=44\n"
+                + "hourly.overtime.multiplier=2\n"
+                + "salaried.tenure.bonus.years=3\n"
+                + "commission.bonus.threshold=10000000\n"));
+        RateTable table = RateTable.load(file);
+
+        assertEquals("2025-07", table.getVersion());
+        assertEquals(new BigDecimal("0.05"), table.getDeductionRate());
+        assertEquals(Config.ARL_RATE, table.getArlRate());
+        assertEquals(Config.FOOD_ALLOWANCE, table.getFoodAllowance());
+        assertEquals(3, table.getTenureBonusYears());
+
+        PayrollRunContext context = PayrollRunContext.of(RUN_DATE, table);
+        // 46 horas: 44 normales + 2 extra al doble
+        HourlyEmployee hourly = new HourlyEmployee("H1", "Horas", RUN_DATE, false,
+                new BigDecimal("10000"), new BigDecimal("46"), 0, false);
+        assertEquals(0, new BigDecimal("480000").compareTo(hourly.calculateGross(context)));
+        // 4 años: con la tabla ya hay bono de antigüedad
+        SalariedEmployee salaried = new SalariedEmployee("S1", "Asalariado", RUN_DATE.minusYears(4), false,
+                new BigDecimal("2000000"));
+        assertEquals(0, new BigDecimal("2200000").compareTo(salaried.calculateGross(context)));
+        // Ventas de 12M superan el nuevo umbral de 10M
+        CommissionEmployee commission = new CommissionEmployee("C1", "Ventas", RUN_DATE, false,
+                new BigDecimal("1000000"), new BigDecimal("12000000"), new BigDecimal("0.05"));
+        assertEquals(0, new BigDecimal("1960000").compareTo(commission.calculateGross(context)));
+    }
+
+    @Test
+    void load_rejectsInvalidTables() throws IOException {
+        assertThrows(IllegalArgumentException.class, () -> RateTable.load(write(withDefaults("version=\n"))));
+        assertThrows(IllegalArgumentException.class, () -> RateTable.load(write(withDefaults("version=x\ndeduction.rate=abc\n"))));
+        assertThrows(IllegalArgumentException.class, () -> RateTable.load(write(withDefaults("version=x\nfood.allowance=-1\n"))));
+        // ARL vacía: sin ARL
+        assertNull(RateTable.load(write(withDefaults("version=x\narl.rate=\n"))).getArlRate());
+    }
+
+    @Test
+    void load_rejectsTablesWithMissingKeys() throws IOException {
+        // Un archivo truncado no se completa con los valores por defecto
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> RateTable.load(write("version=x\ndeduction.rate=0.05\n")));
+        assertTrue(ex.getMessage().startsWith("Falta la clave arl.rate"));
+        // fromProperties sí los completa
+        Properties partial = new Properties();
+        partial.setProperty("version", "x");
+        assertEquals(Config.FOOD_ALLOWANCE, RateTable.fromProperties(partial).getFoodAllowance());
+    }
+
+    @Test
+    void store_writesATableThatLoadReadsBack() throws IOException {
+        Path file = write(withDefaults("version=v1\n"));
+        RateTable table = RateTable.defaults().withDeductionRates(new BigDecimal("0.05"), null);
+        table.store(file);
+
+        RateTable loaded = RateTable.load(file);
+        assertEquals(new BigDecimal("0.05"), loaded.getDeductionRate());
+        assertNull(loaded.getArlRate());
+        assertFalse(Files.exists(file.resolveSibling(file.getFileName() + ".tmp")));
+    }
+
+    @Test
+    void source_swapsTableForNextRunOnly() throws IOException {
+        Path file = write(withDefaults("version=v1\ndeduction.rate=0.04\n"));
+        try (RateTableSource source = RateTableSource.load(file)) {
+            List<Employee> roster = PayrollServiceTest.mixedRoster(200);
+            PayrollService service = new PayrollService(roster, source, PayrollMetrics.disabled());
+
+            PayrollRunContext pinned = service.runContext();
+            List<PayrollResult> v1 = service.processAll();
+
+            rewrite(file, withDefaults("version=v2\ndeduction.rate=0.06\n"));
+            assertFalse(source.current().getVersion().equals("v2"));
+            assertTrue(source.reloadIfChanged());
+            assertFalse(source.reloadIfChanged());
+            assertEquals("v2", source.current().getVersion());
+
+            // La corrida que ya tenía su contexto sigue con la versión anterior
+            assertEquals("v1", pinned.getRates().getVersion());
+            List<PayrollResult> v2 = service.processAll();
+            assertEquals("v2", service.runContext().getRates().getVersion());
+            for (int i = 0; i < roster.size(); i++) {
+                assertEquals(0, v1.get(i).getGross().compareTo(v2.get(i).getGross()));
+                assertTrue(v2.get(i).getDeductions().compareTo(v1.get(i).getDeductions()) > 0);
+            }
+        }
+    }
+
+    @Test
+    void source_keepsCurrentTableWhenFileIsInvalid() throws IOException {
+        Path file = write(withDefaults("version=v1\ndeduction.rate=0.04\n"));
+        try (RateTableSource source = RateTableSource.load(file)) {
+            RateTable before = source.current();
+
+            rewrite(file, withDefaults("version=v2\ndeduction.rate=cuatro\n"));
+            assertFalse(source.reloadIfChanged());
+            assertSame(before, source.current());
+            assertNotNull(source.getLastReloadError());
+
+            // Archivo a medio escribir: no se mezcla con los valores por defecto
+            rewrite(file, "version=v2\ndeduction.rate=0.06\n");
+            assertFalse(source.reloadIfChanged());
+            assertSame(before, source.current());
+            assertNotNull(source.getLastReloadError());
+
+            rewrite(file, withDefaults("version=v3\ndeduction.rate=0.05\n"));
+            assertTrue(source.reloadIfChanged());
+            assertEquals("v3", source.current().getVersion());
+            assertNull(source.getLastReloadError());
+        }
+    }
+
+    @Test
+    void source_watchReloadsInBackground() throws Exception {
+        Path file = write(withDefaults("version=v1\n"));
+        try (RateTableSource source = RateTableSource.load(file)) {
+            source.watch(10);
+            rewrite(file, withDefaults("version=v2\n"));
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (!source.current().getVersion().equals("v2") && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals("v2", source.current().getVersion());
+        }
+    }
+
+    @Test
+    void customTable_sameResultsOnEveryEngine() throws IOException {
+        RateTable table = RateTable.load(write("version=custom\n"
+                + "deduction.rate=0.045\n"
+                + "arl.rate=0.00522\n"
+                + "food.allowance=1200000\n"
+                + "hourly.regular.hours=44\n"
+                + "hourly.overtime.multiplier=1.75\n"
+                + "salaried.tenure.bonus.years=6\n"
+                + "salaried.tenure.bonus.percent=0.15\n"
+                + "commission.bonus.threshold=25000000\n"
+                + "commission.bonus.percent=0.04\n"));
+        PayrollRunContext context = PayrollRunContext.of(LocalDate.now(), table);
+        List<Employee> roster = PayrollServiceTest.mixedRoster(400);
+
+        List<PayrollResult> expected = new PayrollService(roster, context).processAll();
+        List<PayrollResult> fixed = new FixedPointPayrollEngine(roster, context).processAll();
+        List<PayrollResult> batch = new BatchPayrollCalculator(table.getDeductionRate(), table.getArlRate())
+                .calculate(EmployeeBatch.from(roster), context).toResults();
+        List<PayrollResult> incremental = new IncrementalPayrollCalculator().run(roster, context).getResults();
+
+        PayrollServiceTest.assertSameResults(expected, fixed);
+        PayrollServiceTest.assertSameResults(expected, incremental);
+        for (int i = 0; i < expected.size(); i++) {
+            // El lote usa una escala común: iguales en valor
+            assertEquals(0, expected.get(i).getGross().compareTo(batch.get(i).getGross()));
+            assertEquals(0, expected.get(i).getNet().compareTo(batch.get(i).getNet()));
+        }
+    }
+
+    @Test
+    void incremental_recomputesWhenRulesChange() {
+        List<Employee> roster = PayrollServiceTest.mixedRoster(100);
+        IncrementalPayrollCalculator calculator = new IncrementalPayrollCalculator();
+        calculator.run(roster, PayrollRunContext.of(RUN_DATE, RateTable.defaults()));
+
+        assertEquals(100, calculator.run(roster, PayrollRunContext.of(RUN_DATE, RateTable.defaults())).getHits());
+        Properties changed = new Properties();
+        changed.setProperty("version", "otra");
+        changed.setProperty("hourly.overtime.multiplier", "2");
+        assertEquals(0, calculator.run(roster, PayrollRunContext.of(RUN_DATE, RateTable.fromProperties(changed))).getHits());
+    }
+
+    /** Todas las claves con los valores por defecto, seguidas de las indicadas (las posteriores ganan) */
+    private static String withDefaults(String content) {
+        StringBuilder text = new StringBuilder();
+        RateTable.defaults().toProperties().forEach((key, value) -> text.append(key).append('=').append(value).append('\n'));
+        return text.append(content).toString();
+    }
+
+    private Path write(String content) throws IOException {
+        Path file = Files.createTempFile(dir, "tasas", ".properties");
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        return file;
+    }
+
+    /** Reescribe el archivo y adelanta su fecha para que el cambio se detecte aunque sea en el mismo instante */
+    private static void rewrite(Path file, String content) throws IOException {
+        FileTime previous = Files.getLastModifiedTime(file);
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(previous.toMillis() + 1_000));
+    }
+}
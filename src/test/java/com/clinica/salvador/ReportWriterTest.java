@@ -0,0 +1,120 @@
+package com.clinica.salvador;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.clinica.salvador.io.CsvReportWriter;
+import com.clinica.salvador.io.CsvResultWriter;
+import com.clinica.salvador.io.JsonLinesReportWriter;
+import com.clinica.salvador.service.PayrollResult;
+import com.clinica.salvador.service.PayrollService;
+import com.clinica.salvador.service.PayrollSummary;
+import com.clinica.salvador.util.PayrollRunContext;
+import com.clinica.salvador.util.RateTable;
+
+/**
+ * Pruebas unitarias para CsvReportWriter y JsonLinesReportWriter.
+ */
+public class ReportWriterTest {
+
+    private static final PayrollRunContext CONTEXT = PayrollRunContext.of(LocalDate.of(2025, 6, 30), RateTable.defaults());
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void csv_matchesCsvResultWriterByteForByte() throws IOException {
+        List<PayrollResult> results = new ArrayList<>(new PayrollService(PayrollServiceTest.mixedRoster(5_000), CONTEXT).processAll());
+        // Montos con todas las formas de toPlainString: escalas negativas, ceros, fracciones y más de 18 dígitos
+        results.add(new PayrollResult("Ñandú-😀", new BigDecimal("1E+3"), new BigDecimal("0E+2"), new BigDecimal("0.000")));
+        results.add(new PayrollResult("X", new BigDecimal("-0.05"), new BigDecimal("0.5"), new BigDecimal("-123.4")));
+        results.add(new PayrollResult("Y", new BigDecimal("123456789012345678901234.5678"), new BigDecimal("1E-30"),
+                new BigDecimal("999999999999999999")));
+        // Ids que romperían la fila: van entre comillas
+        for (String id : List.of("A,B", "dice \"hola\"", "dos\nlíneas", "retorno\r")) {
+            results.add(new PayrollResult(id, BigDecimal.ONE, BigDecimal.ZERO, BigDecimal.ONE));
+        }
+
+        Path file = dir.resolve("reporte.csv");
+        try (CsvReportWriter writer = new CsvReportWriter(file, false)) {
+            for (PayrollResult r : results) {
+                writer.accept(r);
+            }
+            assertEquals(results.size(), writer.getCount());
+        }
+
+        StringWriter expected = new StringWriter();
+        CsvResultWriter reference = new CsvResultWriter(expected);
+        reference.writeHeader();
+        for (PayrollResult r : results) {
+            reference.accept(r);
+        }
+        assertArrayEquals(expected.toString().getBytes(StandardCharsets.UTF_8), Files.readAllBytes(file));
+        assertTrue(expected.toString().endsWith("\"A,B\",1,0,1\n\"dice \"\"hola\"\"\",1,0,1\n"
+                + "\"dos\nlíneas\",1,0,1\n\"retorno\r\",1,0,1\n"));
+    }
+
+    @Test
+    void gzip_decompressesToThePlainReport() throws IOException {
+        PayrollService service = new PayrollService(PayrollServiceTest.mixedRoster(20_000), CONTEXT);
+        Path plain = dir.resolve("reporte.jsonl");
+        Path compressed = dir.resolve("reporte.jsonl.gz");
+        try (JsonLinesReportWriter writer = new JsonLinesReportWriter(plain, false)) {
+            service.processAllTo(writer);
+        }
+        try (JsonLinesReportWriter writer = new JsonLinesReportWriter(compressed, true)) {
+            service.processAllTo(writer);
+        }
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(compressed))) {
+            assertArrayEquals(Files.readAllBytes(plain), in.readAllBytes());
+        }
+    }
+
+    @Test
+    void jsonLines_escapesIdsAndKeepsScale() throws IOException {
+        Path file = dir.resolve("escape.jsonl");
+        try (JsonLinesReportWriter writer = new JsonLinesReportWriter(file, false)) {
+            writer.accept(new PayrollResult("A\"B\\C\n\u0001ñ", new BigDecimal("3300000.00"),
+                    new BigDecimal("132000.0000"), new BigDecimal("3168000.0000")));
+        }
+        assertEquals("{\"id\":\"A\\\"B\\\\C\\n\\u0001ñ\",\"gross\":3300000.00,\"deductions\":132000.0000,\"net\":3168000.0000}\n",
+                Files.readString(file, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void processAllTo_streamsTheRunInOrder() throws IOException {
+        PayrollService service = new PayrollService(PayrollServiceTest.mixedRoster(1_000), CONTEXT);
+        List<PayrollResult> received = new ArrayList<>();
+
+        PayrollSummary summary = service.processAllTo(received::add);
+
+        List<PayrollResult> expected = service.processAll();
+        assertEquals(expected.size(), received.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getEmployeeId(), received.get(i).getEmployeeId());
+            assertEquals(expected.get(i).getNet(), received.get(i).getNet());
+        }
+        assertEquals(service.processAllWithSummary().getSummary().total().getNet(), summary.total().getNet());
+
+        Path file = dir.resolve("cerrado.csv");
+        CsvReportWriter writer = new CsvReportWriter(file, false);
+        writer.close();
+        assertThrows(IllegalStateException.class, () -> writer.accept(expected.get(0)));
+    }
+}
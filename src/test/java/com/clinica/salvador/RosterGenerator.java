@@ -0,0 +1,209 @@
+package com.clinica.salvador;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import com.clinica.salvador.model.CommissionEmployee;
+import com.clinica.salvador.model.Employee;
+import com.clinica.salvador.model.HourlyEmployee;
+import com.clinica.salvador.model.SalariedEmployee;
+import com.clinica.salvador.model.TemporaryEmployee;
+import com.clinica.salvador.util.RateTable;
+
+/**
+ * Clase RosterGenerator
+ *
+ * Genera nóminas sintéticas de cualquier tamaño con los cuatro subtipos de
+ * empleado, para pruebas de volumen y de rendimiento. Es determinista: el
+ * empleado i-ésimo depende solo de la semilla y de i (employee), así que
+ * la misma semilla da siempre la misma nómina y una nómina grande se puede
+ * generar por tramos.
+ *
+ * Las proporciones se definen respecto a la fecha de referencia y a la
+ * tabla de tasas, de modo que se cumplen en el cálculo:
+ * - typeWeights: peso de cada subtipo (asalariado, por horas, comisión, temporal);
+ * - overtimeShare: por horas que trabajan más de las horas normales;
+ * - salesOverThresholdShare: por comisión con ventas sobre el umbral de la bonificación;
+ * - tenureShare: empleados con más años de servicio que los del bono de antigüedad;
+ * - permanentShare: permanentes entre los que no son temporales (los temporales nunca lo son).
+ *
+ * Es inmutable; los métodos with devuelven una copia.
+ */
+public final class RosterGenerator {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final BigDecimal COMMISSION_PERCENT = new BigDecimal("0.05");
+
+    private final LocalDate asOf;
+    private final RateTable rates;
+    /** Pesos acumulados y normalizados de asalariado, por horas y comisión (el resto es temporal) */
+    private final double[] typeCutoffs;
+    private final double overtimeShare;
+    private final double salesOverThresholdShare;
+    private final double tenureShare;
+    private final double permanentShare;
+
+    private RosterGenerator(LocalDate asOf, RateTable rates, double[] typeCutoffs, double overtimeShare,
+                            double salesOverThresholdShare, double tenureShare, double permanentShare) {
+        this.asOf = asOf;
+        this.rates = rates;
+        this.typeCutoffs = typeCutoffs;
+        this.overtimeShare = overtimeShare;
+        this.salesOverThresholdShare = salesOverThresholdShare;
+        this.tenureShare = tenureShare;
+        this.permanentShare = permanentShare;
+    }
+
+    /**
+     * Generador con subtipos en partes iguales, 30% de horas extra, 20% de
+     * ventas sobre el umbral, 40% con bono de antigüedad y 50% de permanentes.
+     *
+     * @param asOf Fecha de referencia (la de la corrida) para la antigüedad
+     * @param rates Tabla de tasas con las horas normales, el umbral y los años del bono
+     * @return Generador
+     */
+    public static RosterGenerator of(LocalDate asOf, RateTable rates) {
+        if (asOf == null) throw new IllegalArgumentException("La fecha de referencia no puede ser nula");
+        if (rates == null) throw new IllegalArgumentException("La tabla de tasas no puede ser nula");
+        return new RosterGenerator(asOf, rates, cutoffs(1, 1, 1, 1), 0.3, 0.2, 0.4, 0.5);
+    }
+
+    /**
+     * @param salaried Peso de los asalariados
+     * @param hourly Peso de los empleados por horas
+     * @param commission Peso de los empleados por comisión
+     * @param temporary Peso de los temporales
+     * @return Copia con esos pesos por subtipo
+     */
+    public RosterGenerator withTypeWeights(double salaried, double hourly, double commission, double temporary) {
+        return new RosterGenerator(asOf, rates, cutoffs(salaried, hourly, commission, temporary), overtimeShare,
+                salesOverThresholdShare, tenureShare, permanentShare);
+    }
+
+    /** @return Copia con esa proporción de empleados por horas con horas extra */
+    public RosterGenerator withOvertimeShare(double share) {
+        return new RosterGenerator(asOf, rates, typeCutoffs, share(share), salesOverThresholdShare, tenureShare,
+                permanentShare);
+    }
+
+    /** @return Copia con esa proporción de empleados por comisión con ventas sobre el umbral */
+    public RosterGenerator withSalesOverThresholdShare(double share) {
+        return new RosterGenerator(asOf, rates, typeCutoffs, overtimeShare, share(share), tenureShare, permanentShare);
+    }
+
+    /** @return Copia con esa proporción de empleados con bono de antigüedad */
+    public RosterGenerator withTenureShare(double share) {
+        return new RosterGenerator(asOf, rates, typeCutoffs, overtimeShare, salesOverThresholdShare, share(share),
+                permanentShare);
+    }
+
+    /** @return Copia con esa proporción de permanentes entre los no temporales */
+    public RosterGenerator withPermanentShare(double share) {
+        return new RosterGenerator(asOf, rates, typeCutoffs, overtimeShare, salesOverThresholdShare, tenureShare,
+                share(share));
+    }
+
+    /**
+     * Genera una nómina.
+     *
+     * @param size Número de empleados
+     * @param seed Semilla
+     * @return Empleados 0 a size - 1, con ids "G0", "G1", ...
+     */
+    public List<Employee> generate(int size, long seed) {
+        if (size < 0) throw new IllegalArgumentException("El tamaño no puede ser negativo");
+        List<Employee> roster = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            roster.add(employee(seed, i));
+        }
+        return roster;
+    }
+
+    /**
+     * Genera el empleado i-ésimo de la nómina de una semilla.
+     *
+     * @param seed Semilla
+     * @param index Posición del empleado
+     * @return Empleado con id "G" + index
+     */
+    public Employee employee(long seed, int index) {
+        SplittableRandom random = new SplittableRandom(seed + GOLDEN_GAMMA * (index + 1L));
+        String id = "G" + index;
+        double type = random.nextDouble();
+        LocalDate hireDate = hireDate(random);
+        boolean permanent = random.nextDouble() < permanentShare;
+        if (type < typeCutoffs[0]) {
+            return new SalariedEmployee(id, "Asalariado " + index, hireDate, permanent,
+                    BigDecimal.valueOf(2_000_000L + random.nextInt(6_000_000)));
+        }
+        if (type < typeCutoffs[1]) {
+            return new HourlyEmployee(id, "Por horas " + index, hireDate, permanent,
+                    BigDecimal.valueOf(15_000L + random.nextInt(10_000)), hoursWorked(random),
+                    random.nextInt(120), random.nextBoolean());
+        }
+        if (type < typeCutoffs[2]) {
+            return new CommissionEmployee(id, "Comisión " + index, hireDate, permanent,
+                    BigDecimal.valueOf(1_500_000L + random.nextInt(1_000_000)), sales(random), COMMISSION_PERCENT);
+        }
+        return new TemporaryEmployee(id, "Temporal " + index, hireDate, false,
+                BigDecimal.valueOf(1_000_000L + random.nextInt(2_000_000)));
+    }
+
+    /** Fecha de ingreso con o sin más años de servicio que los del bono, según tenureShare */
+    private LocalDate hireDate(SplittableRandom random) {
+        int bonusYears = rates.getTenureBonusYears();
+        int years = random.nextDouble() < tenureShare
+                ? bonusYears + 1 + random.nextInt(15)
+                : random.nextInt(bonusYears + 1);
+        LocalDate start = LocalDate.of(asOf.getYear() - years, 1, 1);
+        int days = years == 0 ? asOf.getDayOfYear() : start.lengthOfYear();
+        return start.plusDays(random.nextInt(days));
+    }
+
+    /** Horas sobre o hasta las horas normales, según overtimeShare */
+    private BigDecimal hoursWorked(SplittableRandom random) {
+        BigDecimal regular = rates.getRegularHours();
+        if (random.nextDouble() < overtimeShare) {
+            return regular.add(BigDecimal.valueOf(1 + random.nextInt(20)));
+        }
+        int max = regular.setScale(0, RoundingMode.FLOOR).intValue();
+        return BigDecimal.valueOf(random.nextInt(Math.max(max, 0) + 1));
+    }
+
+    /** Ventas sobre o hasta el umbral de la bonificación, según salesOverThresholdShare */
+    private BigDecimal sales(SplittableRandom random) {
+        BigDecimal threshold = rates.getCommissionBonusThreshold();
+        if (random.nextDouble() < salesOverThresholdShare) {
+            return threshold.add(BigDecimal.valueOf(1 + random.nextInt(20_000_000)));
+        }
+        long max = threshold.setScale(0, RoundingMode.FLOOR).longValue();
+        return BigDecimal.valueOf(random.nextLong(Math.max(max, 0) + 1));
+    }
+
+    private static double share(double share) {
+        if (!(share >= 0 && share <= 1)) throw new IllegalArgumentException("La proporción debe estar entre 0 y 1: " + share);
+        return share;
+    }
+
+    private static double[] cutoffs(double salaried, double hourly, double commission, double temporary) {
+        double total = salaried + hourly + commission + temporary;
+        if (!(salaried >= 0 && hourly >= 0 && commission >= 0 && temporary >= 0) || !(total > 0)
+                || Double.isInfinite(total)) {
+            throw new IllegalArgumentException("Los pesos de los subtipos deben ser no negativos y sumar más de 0");
+        }
+        return new double[] {
+                salaried / total,
+                (salaried + hourly) / total,
+                (salaried + hourly + commission) / total
+        };
+    }
+
+    @Override
+    public String toString() {
+        return "RosterGenerator[asOf=" + asOf + ", rates=" + rates.getVersion() + "]";
+    }
+}
@@ -0,0 +1,117 @@
+package com.clinica.salvador;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+import com.clinica.salvador.model.CommissionEmployee;
+import com.clinica.salvador.model.Employee;
+import com.clinica.salvador.model.HourlyEmployee;
+import com.clinica.salvador.model.SalariedEmployee;
+import com.clinica.salvador.model.TemporaryEmployee;
+import com.clinica.salvador.service.PayrollResult;
+import com.clinica.salvador.service.PayrollService;
+import com.clinica.salvador.util.PayrollRunContext;
+import com.clinica.salvador.util.RateTable;
+
+/**
+ * Pruebas unitarias para RosterGenerator.
+ */
+public class RosterGeneratorTest {
+
+    private static final LocalDate RUN_DATE = LocalDate.of(2025, 6, 30);
+    private static final int SIZE = 100_000;
+    private static final double MARGIN = 0.01;
+
+    @Test
+    void sameSeed_generatesTheSameRoster() {
+        RosterGenerator generator = RosterGenerator.of(RUN_DATE, RateTable.defaults());
+        PayrollRunContext context = PayrollRunContext.of(RUN_DATE, RateTable.defaults());
+
+        List<PayrollResult> first = new PayrollService(generator.generate(5_000, 42L), context).processAll();
+        List<PayrollResult> second = new PayrollService(generator.generate(5_000, 42L), context).processAll();
+        List<PayrollResult> other = new PayrollService(generator.generate(5_000, 43L), context).processAll();
+
+        for (int i = 0; i < first.size(); i++) {
+            assertEquals(first.get(i).getEmployeeId(), second.get(i).getEmployeeId());
+            assertEquals(first.get(i).getNet(), second.get(i).getNet());
+        }
+        assertNotEquals(first.get(0).getNet(), other.get(0).getNet());
+        // El empleado i-ésimo no depende de los anteriores
+        assertEquals(first.get(4_321).getNet(),
+                new PayrollService(List.of(generator.employee(42L, 4_321)), context).processAll().get(0).getNet());
+    }
+
+    @Test
+    void distributions_holdAgainstTheRateTable() {
+        Properties custom = RateTable.defaults().toProperties();
+        custom.setProperty("version", "2026-01");
+        custom.setProperty("hourly.regular.hours", "38.5");
+        custom.setProperty("salaried.tenure.bonus.years", "3");
+        custom.setProperty("commission.bonus.threshold", "16000000");
+        RateTable rates = RateTable.fromProperties(custom);
+        List<Employee> roster = RosterGenerator.of(RUN_DATE, rates)
+                .withTypeWeights(4, 3, 2, 1)
+                .withOvertimeShare(0.25)
+                .withSalesOverThresholdShare(0.6)
+                .withTenureShare(0.1)
+                .withPermanentShare(0.8)
+                .generate(SIZE, 7L);
+
+        int salaried = 0, hourly = 0, commission = 0, temporary = 0;
+        int overtime = 0, overThreshold = 0, tenure = 0, permanent = 0;
+        for (Employee e : roster) {
+            if (e instanceof SalariedEmployee) salaried++;
+            if (e instanceof TemporaryEmployee) temporary++;
+            if (e instanceof HourlyEmployee) {
+                hourly++;
+                if (((HourlyEmployee) e).getHoursWorked().compareTo(rates.getRegularHours()) > 0) overtime++;
+            }
+            if (e instanceof CommissionEmployee) {
+                commission++;
+                if (((CommissionEmployee) e).getSalesAmount().compareTo(rates.getCommissionBonusThreshold()) > 0) {
+                    overThreshold++;
+                }
+            }
+            if (e.yearsOfService(RUN_DATE) > rates.getTenureBonusYears()) tenure++;
+            if (e.isPermanent()) permanent++;
+            assertEquals(false, e.getHireDate().isAfter(RUN_DATE), e.getId());
+        }
+        assertShare(0.4, salaried, SIZE);
+        assertShare(0.3, hourly, SIZE);
+        assertShare(0.2, commission, SIZE);
+        assertShare(0.1, temporary, SIZE);
+        assertShare(0.25, overtime, hourly);
+        assertShare(0.6, overThreshold, commission);
+        assertShare(0.1, tenure, SIZE);
+        assertShare(0.8, permanent, SIZE - temporary);
+    }
+
+    @Test
+    void invalidConfiguration_isRejected() {
+        RosterGenerator generator = RosterGenerator.of(RUN_DATE, RateTable.defaults());
+        assertThrows(IllegalArgumentException.class, () -> generator.withOvertimeShare(1.5));
+        assertThrows(IllegalArgumentException.class, () -> generator.withPermanentShare(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> generator.withTypeWeights(0, 0, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> generator.withTypeWeights(1, -1, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> generator.generate(-1, 1L));
+        assertThrows(IllegalArgumentException.class, () -> RosterGenerator.of(null, RateTable.defaults()));
+
+        // Sin temporales ni horas extra
+        for (Employee e : generator.withTypeWeights(0, 1, 0, 0).withOvertimeShare(0).generate(1_000, 3L)) {
+            assertEquals(HourlyEmployee.class, e.getClass());
+            assertEquals(true, ((HourlyEmployee) e).getHoursWorked().compareTo(new BigDecimal("40")) <= 0);
+        }
+    }
+
+    private static void assertShare(double expected, int count, int total) {
+        double actual = (double) count / total;
+        assertEquals(expected, actual, MARGIN, "Proporción " + actual + " en lugar de " + expected);
+    }
+}
@@ -0,0 +1,187 @@
+package com.clinica.salvador;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.clinica.salvador.model.Employee;
+import com.clinica.salvador.model.HourlyEmployee;
+import com.clinica.salvador.model.SalariedEmployee;
+import com.clinica.salvador.service.PayrollRun;
+import com.clinica.salvador.service.PayrollService;
+import com.clinica.salvador.service.PayrollTotals;
+import com.clinica.salvador.service.ProcessShardLauncher;
+import com.clinica.salvador.service.ShardLauncher;
+import com.clinica.salvador.service.ShardedPayrollCoordinator;
+import com.clinica.salvador.util.PayrollRunContext;
+import com.clinica.salvador.util.RateTable;
+
+/**
+ * Pruebas unitarias para ShardedPayrollCoordinator.
+ * La corrida repartida en shards debe dar los mismos resultados, en el
+ * mismo orden, que PayrollService, y reintentar los shards cuyo worker muere.
+ */
+public class ShardedPayrollCoordinatorTest {
+
+    private static final PayrollRunContext CONTEXT = PayrollRunContext.of(LocalDate.of(2025, 6, 30), RateTable.defaults());
+
+    @TempDir
+    Path workDir;
+
+    @Test
+    void sharded_matchesSingleProcessRunInInputOrder() throws Exception {
+        List<Employee> roster = PayrollServiceTest.mixedRoster(1_000);
+        PayrollRun expected = new PayrollService(roster, CONTEXT).processAllWithSummary();
+
+        PayrollRun sharded = new ShardedPayrollCoordinator(4, ShardLauncher.inProcess(), workDir).run(roster, CONTEXT);
+
+        assertSameRun(expected, sharded);
+        // El directorio de la corrida se borra al terminar bien
+        try (var files = Files.list(workDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void sharded_rerunsShardWhoseWorkerDies() throws Exception {
+        List<Employee> roster = PayrollServiceTest.mixedRoster(500);
+        AtomicIntegerArray attempts = new AtomicIntegerArray(3);
+        ShardLauncher local = ShardLauncher.inProcess();
+        ShardLauncher flaky = task -> {
+            attempts.incrementAndGet(task.getShard());
+            if (task.getShard() == 1 && task.getAttempt() == 1) {
+                // El worker muere después de escribir parte de los resultados
+                Files.writeString(task.getResultFile(), "E1,1,0,1\n");
+                throw new IOException("worker terminado");
+            }
+            local.run(task);
+        };
+
+        PayrollRun sharded = new ShardedPayrollCoordinator(3, flaky, workDir).run(roster, CONTEXT);
+
+        assertSameRun(new PayrollService(roster, CONTEXT).processAllWithSummary(), sharded);
+        assertEquals(1, attempts.get(0));
+        assertEquals(2, attempts.get(1));
+        assertEquals(1, attempts.get(2));
+    }
+
+    @Test
+    void sharded_incompleteResultsAreRetried() throws Exception {
+        List<Employee> roster = PayrollServiceTest.mixedRoster(200);
+        AtomicInteger launches = new AtomicInteger();
+        ShardLauncher local = ShardLauncher.inProcess();
+        ShardLauncher truncating = task -> {
+            local.run(task);
+            if (launches.incrementAndGet() == 1) {
+                // Termina "bien" pero el archivo quedó sin la línea final
+                List<String> lines = Files.readAllLines(task.getResultFile());
+                Files.write(task.getResultFile(), lines.subList(0, lines.size() - 1));
+            }
+        };
+
+        PayrollRun sharded = new ShardedPayrollCoordinator(1, truncating, workDir).run(roster, CONTEXT);
+
+        assertEquals(2, launches.get());
+        assertSameRun(new PayrollService(roster, CONTEXT).processAllWithSummary(), sharded);
+    }
+
+    @Test
+    void sharded_failsAfterMaxAttempts() {
+        List<Employee> roster = PayrollServiceTest.mixedRoster(50);
+        AtomicInteger launches = new AtomicInteger();
+        ShardLauncher dead = task -> {
+            launches.incrementAndGet();
+            throw new IOException("worker terminado");
+        };
+
+        IOException ex = assertThrows(IOException.class,
+                () -> new ShardedPayrollCoordinator(1, dead, workDir, 2).run(roster, CONTEXT));
+        assertTrue(ex.getMessage().contains("2 intentos"));
+        assertEquals(2, launches.get());
+    }
+
+    @Test
+    void sharded_invalidEmployeeIsNotRetried() {
+        List<Employee> roster = new ArrayList<>(PayrollServiceTest.mixedRoster(20));
+        roster.add(new HourlyEmployee("MALO", "Horas", LocalDate.of(2020, 1, 1), false,
+                new BigDecimal("15000"), new BigDecimal("-3"), 0, false));
+        AtomicInteger launches = new AtomicInteger();
+        ShardLauncher local = ShardLauncher.inProcess();
+        ShardLauncher counting = task -> {
+            launches.incrementAndGet();
+            local.run(task);
+        };
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new ShardedPayrollCoordinator(1, counting, workDir).run(roster, CONTEXT));
+        assertEquals(1, launches.get());
+    }
+
+    @Test
+    void sharded_rejectsSubclassesInsteadOfRunningThemAsTheirBaseType() {
+        List<Employee> roster = new ArrayList<>(PayrollServiceTest.mixedRoster(20));
+        roster.add(new SalariedEmployee("SX", "Redefinido", LocalDate.of(2020, 1, 1), true, new BigDecimal("5000000")) {
+            @Override
+            public BigDecimal calculateGross(PayrollRunContext context) {
+                return new BigDecimal("10000000");
+            }
+        });
+        AtomicInteger launches = new AtomicInteger();
+        ShardLauncher local = ShardLauncher.inProcess();
+        ShardLauncher counting = task -> {
+            launches.incrementAndGet();
+            local.run(task);
+        };
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> new ShardedPayrollCoordinator(1, counting, workDir).run(roster, CONTEXT));
+        assertTrue(ex.getMessage().startsWith("Tipo de empleado no soportado"));
+        assertEquals(0, launches.get());
+    }
+
+    @Test
+    void sharded_runsWorkersInSeparateJvms() throws Exception {
+        List<Employee> roster = PayrollServiceTest.mixedRoster(300);
+        RateTable custom = RateTable.withRates(new BigDecimal("0.045"), new BigDecimal("0.00522"));
+        PayrollRunContext context = PayrollRunContext.of(LocalDate.of(2025, 6, 30), custom);
+        ShardLauncher processes = ProcessShardLauncher.currentJvm(List.of("-Xmx64m", "-XX:TieredStopAtLevel=1"), 60_000);
+
+        PayrollRun sharded = new ShardedPayrollCoordinator(2, processes, workDir).run(roster, context);
+
+        assertSameRun(new PayrollService(roster, context).processAllWithSummary(), sharded);
+    }
+
+    @Test
+    void shardOf_isStableAndInRange() {
+        assertEquals(ShardedPayrollCoordinator.shardOf("E42", 7), ShardedPayrollCoordinator.shardOf("E42", 7));
+        int[] counts = new int[4];
+        for (int i = 0; i < 4_000; i++) {
+            counts[ShardedPayrollCoordinator.shardOf("E" + i, 4)]++;
+        }
+        for (int c : counts) {
+            assertTrue(c > 500, "Reparto desbalanceado: " + c);
+        }
+    }
+
+    private static void assertSameRun(PayrollRun expected, PayrollRun actual) {
+        PayrollServiceTest.assertSameResults(expected.getResults(), actual.getResults());
+        PayrollTotals et = expected.getSummary().total();
+        PayrollTotals at = actual.getSummary().total();
+        assertEquals(et.getCount(), at.getCount());
+        assertEquals(et.getGross(), at.getGross());
+        assertEquals(et.getDeductions(), at.getDeductions());
+        assertEquals(et.getNet(), at.getNet());
+    }
+}
@@ -0,0 +1,97 @@
+package com.clinica.salvador;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.clinica.salvador.io.CsvResultWriter;
+import com.clinica.salvador.io.RosterCsvFormat;
+import com.clinica.salvador.model.Employee;
+import com.clinica.salvador.service.PayrollResult;
+import com.clinica.salvador.service.PayrollService;
+import com.clinica.salvador.service.RosterLineError;
+import com.clinica.salvador.service.StreamingPayrollProcessor;
+import com.clinica.salvador.service.StreamingRunReport;
+import com.clinica.salvador.util.Config;
+
+/**
+ * Pruebas unitarias para StreamingPayrollProcessor y RosterCsvFormat.
+ * La nómina se lee de un archivo línea por línea y los errores se informan
+ * con su número de línea sin detener la corrida.
+ */
+public class StreamingPayrollProcessorTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void streaming_fileRoundTripMatchesPayrollService() throws Exception {
+        List<Employee> roster = PayrollServiceTest.mixedRoster(400);
+        List<String> lines = new ArrayList<>();
+        lines.add("# type,id,name,hireDate,permanent,...");
+        for (Employee e : roster) {
+            lines.add(RosterCsvFormat.format(e));
+        }
+        Path file = dir.resolve("nomina.csv");
+        Files.write(file, lines, StandardCharsets.UTF_8);
+
+        List<PayrollResult> streamed = new ArrayList<>();
+        List<RosterLineError> errors = new ArrayList<>();
+        StreamingRunReport report = new StreamingPayrollProcessor(Config.DEDUCTION_RATE, Config.ARL_RATE)
+                .process(file, streamed::add, errors::add);
+
+        List<PayrollResult> expected = new PayrollService(roster, Config.DEDUCTION_RATE, Config.ARL_RATE).processAll();
+        assertEquals(401, report.getLinesRead());
+        assertEquals(400, report.getProcessed());
+        assertTrue(errors.isEmpty());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getEmployeeId(), streamed.get(i).getEmployeeId());
+            assertEquals(expected.get(i).getNet(), streamed.get(i).getNet());
+        }
+    }
+
+    @Test
+    void streaming_reportsBadLinesWithLineNumbers() throws Exception {
+        String roster = String.join("\n",
+                "SALARIED,S1,Ana,2015-03-01,true,5000000",
+                "HOURLY,H1,Luis,2020-01-01,false,20000,45,12,false",
+                "",
+                "HOURLY,H2,Horas negativas,2020-01-01,false,20000,-1,12,false",
+                "COMMISSION,C1,Faltan campos,2020-01-01,true,2000000",
+                "MANAGER,M1,Tipo desconocido,2020-01-01,true,1",
+                "TEMPORARY,T1,Fecha mala,2020-13-01,false,1200000",
+                "TEMPORARY,T2,Marta,2023-06-01,false,1200000");
+
+        StringWriter out = new StringWriter();
+        CsvResultWriter writer = new CsvResultWriter(out);
+        writer.writeHeader();
+        List<RosterLineError> errors = new ArrayList<>();
+        StreamingRunReport report = new StreamingPayrollProcessor(Config.DEDUCTION_RATE, Config.ARL_RATE)
+                .process(new StringReader(roster), writer, errors::add);
+
+        assertEquals(3, report.getProcessed());
+        assertEquals(4, report.getRejected());
+        assertEquals(List.of(4L, 5L, 6L, 7L), errors.stream().map(RosterLineError::getLineNumber).toList());
+        assertEquals(List.of(
+                "Línea 4: Las horas trabajadas no pueden ser negativas (hoursWorked=-1)",
+                "Línea 5: Un empleado COMMISSION tiene 8 campos y hay 6",
+                "Línea 6: Tipo de empleado desconocido: MANAGER",
+                "Línea 7: Fecha inválida: 2020-13-01"),
+                errors.stream().map(RosterLineError::toString).toList());
+        assertEquals("MANAGER,M1,Tipo desconocido,2020-01-01,true,1", errors.get(2).getLine());
+
+        String[] written = out.toString().split("\n");
+        assertEquals(CsvResultWriter.HEADER, written[0]);
+        assertEquals("H1,950000.0,38000.000,912000.000", written[2]);
+        assertEquals(4, written.length);
+    }
+}
@@ -0,0 +1,155 @@
+package com.clinica.salvador;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Clase ThroughputBaseline
+ *
+ * Línea base de rendimiento de una corrida de nómina, contra la que se
+ * compara un ThroughputReport. Se lee de un archivo .properties:
+ *
+ * - roster.size, roster.seed: nómina sintética (RosterGenerator) que se mide;
+ * - min.employees.per.second: rendimiento mínimo;
+ * - max.allocated.bytes.per.employee: bytes asignados máximos por empleado;
+ * - max.retained.bytes.per.employee: heap retenido máximo por empleado;
+ * - tolerance: margen relativo sobre cada límite (ej. 0.25 = 25%).
+ *
+ * Un límite vacío o ausente no se comprueba. Es inmutable.
+ */
+public final class ThroughputBaseline {
+
+    private final int rosterSize;
+    private final long rosterSeed;
+    private final double minEmployeesPerSecond;
+    private final long maxAllocatedBytesPerEmployee;
+    private final long maxRetainedBytesPerEmployee;
+    private final double tolerance;
+
+    private ThroughputBaseline(int rosterSize, long rosterSeed, double minEmployeesPerSecond,
+                               long maxAllocatedBytesPerEmployee, long maxRetainedBytesPerEmployee, double tolerance) {
+        this.rosterSize = rosterSize;
+        this.rosterSeed = rosterSeed;
+        this.minEmployeesPerSecond = minEmployeesPerSecond;
+        this.maxAllocatedBytesPerEmployee = maxAllocatedBytesPerEmployee;
+        this.maxRetainedBytesPerEmployee = maxRetainedBytesPerEmployee;
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * Lee una línea base de un archivo .properties en UTF-8.
+     *
+     * @param file Archivo
+     * @return Línea base
+     * @throws IOException si no se puede leer el archivo
+     * @throws IllegalArgumentException si un valor no es válido
+     */
+    public static ThroughputBaseline load(Path file) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            Properties properties = new Properties();
+            properties.load(reader);
+            return fromProperties(properties);
+        }
+    }
+
+    /**
+     * Construye una línea base a partir de propiedades (ver claves en la
+     * descripción de la clase).
+     *
+     * @param p Propiedades
+     * @return Línea base
+     * @throws IllegalArgumentException si falta roster.size o un valor no es válido
+     */
+    public static ThroughputBaseline fromProperties(Properties p) {
+        long size = number(p, "roster.size", -1);
+        if (size < 1 || size > Integer.MAX_VALUE) throw new IllegalArgumentException("roster.size debe ser un entero positivo");
+        double tolerance = decimal(p, "tolerance", 0);
+        return new ThroughputBaseline((int) size, number(p, "roster.seed", 0),
+                decimal(p, "min.employees.per.second", -1),
+                limit(p, "max.allocated.bytes.per.employee"),
+                limit(p, "max.retained.bytes.per.employee"),
+                tolerance);
+    }
+
+    /**
+     * Compara unas mediciones con la línea base y su tolerancia.
+     *
+     * @param report Mediciones
+     * @return Límites superados, uno por línea de texto (vacía si se cumplen todos)
+     */
+    public List<String> violations(ThroughputReport report) {
+        List<String> violations = new ArrayList<>();
+        if (minEmployeesPerSecond >= 0) {
+            double floor = minEmployeesPerSecond * (1 - tolerance);
+            if (report.getEmployeesPerSecond() < floor) {
+                violations.add(String.format("Empleados por segundo: %.0f (mínimo %.0f con %.0f%% de tolerancia)",
+                        report.getEmployeesPerSecond(), floor, tolerance * 100));
+            }
+        }
+        if (maxAllocatedBytesPerEmployee >= 0 && report.getAllocatedBytesPerEmployee() >= 0) {
+            double ceiling = maxAllocatedBytesPerEmployee * (1 + tolerance);
+            if (report.getAllocatedBytesPerEmployee() > ceiling) {
+                violations.add(String.format("Bytes asignados por empleado: %d (máximo %.0f con %.0f%% de tolerancia)",
+                        report.getAllocatedBytesPerEmployee(), ceiling, tolerance * 100));
+            }
+        }
+        if (maxRetainedBytesPerEmployee >= 0) {
+            double ceiling = maxRetainedBytesPerEmployee * (1 + tolerance);
+            if (report.getRetainedBytesPerEmployee() > ceiling) {
+                violations.add(String.format("Bytes retenidos por empleado: %d (máximo %.0f con %.0f%% de tolerancia)",
+                        report.getRetainedBytesPerEmployee(), ceiling, tolerance * 100));
+            }
+        }
+        return violations;
+    }
+
+    // --- Métodos de acceso (Getters) ---
+    public int getRosterSize(){ return rosterSize; }
+    public long getRosterSeed(){ return rosterSeed; }
+    public double getMinEmployeesPerSecond(){ return minEmployeesPerSecond; }
+    public long getMaxAllocatedBytesPerEmployee(){ return maxAllocatedBytesPerEmployee; }
+    public long getMaxRetainedBytesPerEmployee(){ return maxRetainedBytesPerEmployee; }
+    public double getTolerance(){ return tolerance; }
+
+    private static long number(Properties p, String key, long missing) {
+        String value = p.getProperty(key);
+        if (value == null || value.isBlank()) return missing;
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Valor inválido para " + key + ": " + value);
+        }
+    }
+
+    private static long limit(Properties p, String key) {
+        long value = number(p, key, -1);
+        if (value < -1) throw new IllegalArgumentException("Valor inválido para " + key + ": " + value);
+        return value;
+    }
+
+    private static double decimal(Properties p, String key, double missing) {
+        String value = p.getProperty(key);
+        if (value == null || value.isBlank()) return missing;
+        double parsed;
+        try {
+            parsed = Double.parseDouble(value.trim());
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Valor inválido para " + key + ": " + value);
+        }
+        if (!(parsed >= 0) || Double.isInfinite(parsed)) {
+            throw new IllegalArgumentException("Valor inválido para " + key + ": " + value);
+        }
+        return parsed;
+    }
+
+    @Override
+    public String toString(){
+        return "ThroughputBaseline[roster=" + rosterSize + ", tolerance=" + tolerance + "]";
+    }
+}
@@ -0,0 +1,110 @@
+package com.clinica.salvador;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.clinica.salvador.model.Employee;
+import com.clinica.salvador.service.PayrollService;
+import com.clinica.salvador.util.PayrollRunContext;
+import com.clinica.salvador.util.RateTable;
+
+/**
+ * Pruebas de ThroughputBaseline y control de rendimiento de punta a punta.
+ *
+ * La prueba con la etiqueta "perf" mide una nómina sintética de millones
+ * de empleados y falla si supera la línea base (throughput-baseline.properties,
+ * o el archivo de -Dthroughput.baseline). No corre en el build normal:
+ *   mvn -B -Pperf test
+ */
+public class ThroughputGateTest {
+
+    private static final LocalDate RUN_DATE = LocalDate.of(2025, 6, 30);
+
+    @Test
+    @Tag("perf")
+    void endToEndRun_staysWithinTheBaseline() throws IOException {
+        ThroughputBaseline baseline = baseline();
+        RateTable rates = RateTable.defaults();
+        PayrollService service = new PayrollService(
+                RosterGenerator.of(RUN_DATE, rates).generate(baseline.getRosterSize(), baseline.getRosterSeed()),
+                PayrollRunContext.of(RUN_DATE, rates));
+
+        ThroughputReport report = new ThroughputHarness(5, 5).measure(service);
+
+        assertEquals(baseline.getRosterSize(), report.getEmployees());
+        assertTrue(report.getBestNanos() > 0, report.toString());
+        List<String> violations = baseline.violations(report);
+        // El reporte completo va en el mensaje para comparar con la línea base
+        assertTrue(violations.isEmpty(), report + "\n" + String.join("\n", violations));
+    }
+
+    @Test
+    void baseline_appliesTheTolerance() {
+        ThroughputBaseline baseline = ThroughputBaseline.fromProperties(properties(
+                "roster.size=1000\nmin.employees.per.second=1000000\nmax.allocated.bytes.per.employee=200\n"
+                        + "max.retained.bytes.per.employee=100\ntolerance=0.25"));
+
+        // 1000 empleados en 1,25 ms = 800.000/s: dentro del 25%
+        assertTrue(baseline.violations(report(1_000, 1_250_000L, 250, 125)).isEmpty());
+        assertEquals(3, baseline.violations(report(1_000, 1_400_000L, 251, 126)).size());
+
+        // Sin límites solo se valida el tamaño
+        ThroughputBaseline open = ThroughputBaseline.fromProperties(properties("roster.size=10\nroster.seed=-3"));
+        assertTrue(open.violations(report(10, Long.MAX_VALUE, 1 << 20, 1 << 20)).isEmpty());
+        assertEquals(-3L, open.getRosterSeed());
+
+        assertThrows(IllegalArgumentException.class, () -> ThroughputBaseline.fromProperties(properties("tolerance=0.1")));
+        assertThrows(IllegalArgumentException.class,
+                () -> ThroughputBaseline.fromProperties(properties("roster.size=10\ntolerance=-0.1")));
+        assertThrows(IllegalArgumentException.class,
+                () -> ThroughputBaseline.fromProperties(properties("roster.size=10\nmin.employees.per.second=rápido")));
+    }
+
+    @Test
+    void harness_measuresARun() {
+        List<Employee> roster = RosterGenerator.of(RUN_DATE, RateTable.defaults())
+                .generate(20_000, 1L);
+        ThroughputReport report = new ThroughputHarness(1, 2)
+                .measure(new PayrollService(roster, PayrollRunContext.of(RUN_DATE, RateTable.defaults())));
+
+        assertEquals(20_000, report.getEmployees());
+        assertTrue(report.getBestNanos() > 0);
+        assertTrue(report.getEmployeesPerSecond() > 0);
+        assertThrows(IllegalArgumentException.class, () -> new ThroughputHarness(0, 0));
+    }
+
+    private static ThroughputBaseline baseline() throws IOException {
+        String file = System.getProperty("throughput.baseline");
+        if (file != null && !file.isBlank()) return ThroughputBaseline.load(Path.of(file));
+        try (InputStream in = ThroughputGateTest.class.getResourceAsStream("/throughput-baseline.properties")) {
+            Properties p = new Properties();
+            p.load(in);
+            return ThroughputBaseline.fromProperties(p);
+        }
+    }
+
+    private static ThroughputReport report(int employees, long nanos, long allocated, long retained) {
+        return new ThroughputReport(employees, nanos, allocated, retained);
+    }
+
+    private static Properties properties(String text) {
+        Properties p = new Properties();
+        try {
+            p.load(new StringReader(text));
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+        return p;
+    }
+}
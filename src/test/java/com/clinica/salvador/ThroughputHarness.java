@@ -0,0 +1,95 @@
+package com.clinica.salvador;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.lang.ref.Reference;
+import java.util.List;
+
+import com.clinica.salvador.service.PayrollResult;
+import com.clinica.salvador.service.PayrollService;
+
+/**
+ * Clase ThroughputHarness
+ *
+ * Mide de punta a punta una corrida de PayrollService.processAll: unas
+ * corridas de calentamiento para que el JIT compile el cálculo y luego
+ * varias corridas medidas, de las que se toma la mejor (la menos afectada
+ * por el GC y por otros procesos). Mide:
+ * - el tiempo de la corrida, como empleados por segundo;
+ * - los bytes asignados por empleado en el hilo de la corrida, si la JVM
+ *   lo permite (com.sun.management.ThreadMXBean);
+ * - el heap que retienen los resultados: la diferencia del heap usado,
+ *   después de un GC, con y sin la lista de resultados.
+ *
+ * Los resultados se comparan contra una ThroughputBaseline.
+ */
+public class ThroughputHarness {
+
+    private final int warmupRuns;
+    private final int measuredRuns;
+
+    /**
+     * Constructor de ThroughputHarness.
+     *
+     * @param warmupRuns Corridas de calentamiento (no se miden)
+     * @param measuredRuns Corridas medidas (al menos una)
+     */
+    public ThroughputHarness(int warmupRuns, int measuredRuns) {
+        if (warmupRuns < 0) throw new IllegalArgumentException("Las corridas de calentamiento no pueden ser negativas");
+        if (measuredRuns < 1) throw new IllegalArgumentException("Debe medirse al menos una corrida");
+        this.warmupRuns = warmupRuns;
+        this.measuredRuns = measuredRuns;
+    }
+
+    /**
+     * Mide las corridas de un servicio.
+     *
+     * @param service Servicio con la nómina a medir
+     * @return Mediciones
+     */
+    public ThroughputReport measure(PayrollService service) {
+        for (int i = 0; i < warmupRuns; i++) {
+            service.processAll();
+        }
+        com.sun.management.ThreadMXBean allocation = allocationBean();
+        long threadId = Thread.currentThread().getId();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+        long bestNanos = Long.MAX_VALUE;
+        long bestAllocated = Long.MAX_VALUE;
+        List<PayrollResult> results = null;
+        for (int i = 0; i < measuredRuns; i++) {
+            results = null;
+            memory.gc();
+            long allocatedBefore = allocation == null ? 0 : allocation.getThreadAllocatedBytes(threadId);
+            long start = System.nanoTime();
+            results = service.processAll();
+            long elapsed = System.nanoTime() - start;
+            long allocated = allocation == null ? 0 : allocation.getThreadAllocatedBytes(threadId) - allocatedBefore;
+            bestNanos = Math.min(bestNanos, elapsed);
+            bestAllocated = Math.min(bestAllocated, allocated);
+        }
+        int employees = results.size();
+
+        memory.gc();
+        long withResults = memory.getHeapMemoryUsage().getUsed();
+        Reference.reachabilityFence(results);
+        results = null;
+        memory.gc();
+        long withoutResults = memory.getHeapMemoryUsage().getUsed();
+
+        long perEmployee = Math.max(employees, 1);
+        return new ThroughputReport(employees, bestNanos,
+                allocation == null ? -1 : bestAllocated / perEmployee,
+                Math.max(0, withResults - withoutResults) / perEmployee);
+    }
+
+    /** ThreadMXBean con medición de bytes asignados, o null si la JVM no la ofrece */
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (!(threads instanceof com.sun.management.ThreadMXBean)) return null;
+        com.sun.management.ThreadMXBean sun = (com.sun.management.ThreadMXBean) threads;
+        return sun.isThreadAllocatedMemorySupported() && sun.isThreadAllocatedMemoryEnabled() ? sun : null;
+    }
+}
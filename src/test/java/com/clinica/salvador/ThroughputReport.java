@@ -0,0 +1,57 @@
+package com.clinica.salvador;
+
+/**
+ * Clase ThroughputReport
+ *
+ * Mediciones de ThroughputHarness sobre una nómina: tiempo de la mejor
+ * corrida, empleados por segundo, bytes asignados por empleado durante la
+ * corrida y bytes de heap que retienen sus resultados. Es inmutable.
+ */
+public final class ThroughputReport {
+
+    private final int employees;
+    private final long bestNanos;
+    private final long allocatedBytesPerEmployee;
+    private final long retainedBytesPerEmployee;
+
+    /**
+     * Constructor de ThroughputReport (ej. para mediciones guardadas de
+     * otra corrida).
+     *
+     * @param employees Empleados de la nómina medida
+     * @param bestNanos Duración de la corrida más rápida, en nanosegundos
+     * @param allocatedBytesPerEmployee Bytes asignados por empleado, o -1 si no se midieron
+     * @param retainedBytesPerEmployee Bytes retenidos por empleado
+     */
+    public ThroughputReport(int employees, long bestNanos, long allocatedBytesPerEmployee, long retainedBytesPerEmployee) {
+        this.employees = employees;
+        this.bestNanos = bestNanos;
+        this.allocatedBytesPerEmployee = allocatedBytesPerEmployee;
+        this.retainedBytesPerEmployee = retainedBytesPerEmployee;
+    }
+
+    /** @return Empleados de la nómina medida */
+    public int getEmployees(){ return employees; }
+
+    /** @return Duración de la corrida más rápida, en nanosegundos */
+    public long getBestNanos(){ return bestNanos; }
+
+    /** @return Empleados por segundo en la corrida más rápida */
+    public double getEmployeesPerSecond(){
+        return bestNanos == 0 ? 0 : employees * 1e9 / bestNanos;
+    }
+
+    /** @return Menor número de bytes asignados por empleado en una corrida, o -1 si la JVM no lo mide */
+    public long getAllocatedBytesPerEmployee(){ return allocatedBytesPerEmployee; }
+
+    /** @return Bytes de heap retenidos por empleado por la lista de resultados */
+    public long getRetainedBytesPerEmployee(){ return retainedBytesPerEmployee; }
+
+    @Override
+    public String toString(){
+        return String.format("ThroughputReport[employees=%d, best=%.1f ms, %.0f empleados/s, "
+                        + "asignados=%d B/empleado, retenidos=%d B/empleado]",
+                employees, bestNanos / 1e6, getEmployeesPerSecond(), allocatedBytesPerEmployee,
+                retainedBytesPerEmployee);
+    }
+}
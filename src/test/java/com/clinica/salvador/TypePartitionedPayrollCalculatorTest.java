@@ -0,0 +1,80 @@
+package com.clinica.salvador;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.clinica.salvador.model.CommissionEmployee;
+import com.clinica.salvador.model.Employee;
+import com.clinica.salvador.model.HourlyEmployee;
+import com.clinica.salvador.model.SalariedEmployee;
+import com.clinica.salvador.service.PayrollResult;
+import com.clinica.salvador.service.PayrollService;
+import com.clinica.salvador.service.TypePartitionedPayrollCalculator;
+import com.clinica.salvador.util.PayrollRunContext;
+import com.clinica.salvador.util.RateTable;
+
+/**
+ * Pruebas unitarias para TypePartitionedPayrollCalculator.
+ */
+public class TypePartitionedPayrollCalculatorTest {
+
+    private static final LocalDate HIRED = LocalDate.of(2020, 1, 1);
+    private static final PayrollRunContext CONTEXT = PayrollRunContext.of(LocalDate.of(2025, 6, 30), RateTable.defaults());
+    private static final TypePartitionedPayrollCalculator CALCULATOR = new TypePartitionedPayrollCalculator(CONTEXT);
+
+    @Test
+    void partitioned_matchesProcessAllInInputOrder() {
+        List<Employee> roster = new ArrayList<>(PayrollServiceTest.mixedRoster(1_001));
+        // Subclase de un subtipo: va al ciclo genérico
+        roster.add(500, new SalariedEmployee("S-SUB", "Subclase", HIRED, true, new BigDecimal("3000000")) {
+            @Override
+            public BigDecimal calculateGross(PayrollRunContext context) {
+                return super.calculateGross(context).add(BigDecimal.ONE);
+            }
+        });
+        PayrollService service = new PayrollService(roster, CONTEXT);
+
+        List<PayrollResult> expected = service.processAll();
+        List<PayrollResult> actual = CALCULATOR.calculate(roster);
+
+        PayrollServiceTest.assertSameResults(expected, actual);
+        assertTrue(CALCULATOR.calculate(List.of()).isEmpty());
+    }
+
+    @Test
+    void partitioned_throwsTheFirstInvalidEmployeeInInputOrder() {
+        List<Employee> roster = new ArrayList<>(PayrollServiceTest.mixedRoster(100));
+        // Las comisiones se calculan después de los por horas, pero esta va primero en la lista
+        roster.add(5, new CommissionEmployee("C-MAL", "Ventas", HIRED, false,
+                new BigDecimal("1000000"), new BigDecimal("-5"), new BigDecimal("0.05")));
+        roster.add(50, new HourlyEmployee("H-MAL", "Horas", HIRED, false,
+                new BigDecimal("15000"), new BigDecimal("-1"), 0, false));
+        PayrollService service = new PayrollService(roster, CONTEXT);
+
+        IllegalArgumentException strict = assertThrows(IllegalArgumentException.class, service::processAll);
+        IllegalArgumentException partitioned = assertThrows(IllegalArgumentException.class, () -> CALCULATOR.calculate(roster));
+        assertEquals("Sales cannot be negative", strict.getMessage());
+        assertEquals(strict.getMessage(), partitioned.getMessage());
+    }
+
+    @Test
+    void partitioned_replaysInInputOrderForAnyRuntimeException() {
+        List<Employee> roster = new ArrayList<>(PayrollServiceTest.mixedRoster(100));
+        roster.add(5, new HourlyEmployee("H-MAL", "Horas", HIRED, false,
+                new BigDecimal("15000"), new BigDecimal("-1"), 0, false));
+        // Los asalariados se calculan primero; sin fecha de ingreso fallan con NullPointerException
+        roster.add(50, new SalariedEmployee("S-SIN-FECHA", "Sin fecha", null, true, new BigDecimal("3000000")));
+        PayrollService service = new PayrollService(roster, CONTEXT);
+
+        IllegalArgumentException strict = assertThrows(IllegalArgumentException.class, service::processAll);
+        IllegalArgumentException partitioned = assertThrows(IllegalArgumentException.class, () -> CALCULATOR.calculate(roster));
+        assertEquals(strict.getMessage(), partitioned.getMessage());
+    }
+}